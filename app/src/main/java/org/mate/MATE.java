@@ -10,7 +10,10 @@ import org.mate.exploration.Algorithm;
 import org.mate.interaction.DeviceMgr;
 import org.mate.interaction.EnvironmentManager;
 import org.mate.interaction.UIAbstractionLayer;
+import org.mate.model.IGUIModel;
+import org.mate.model.fsm.FSMModel;
 import org.mate.model.util.DotConverter;
+import org.mate.utils.ExecutionMemo;
 import org.mate.utils.MersenneTwister;
 import org.mate.utils.TimeoutRun;
 import org.mate.utils.coverage.Coverage;
@@ -155,6 +158,12 @@ public class MATE {
                 CoverageUtils.logFinalCoverage();
             }
 
+            if (Properties.EXECUTION_MEMO()) {
+                ExecutionMemo.logStatistics();
+            }
+
+            Registry.getUiAbstractionLayer().logResetStatistics();
+
             if (Properties.GRAPH_TYPE() != null && Properties.DRAW_GRAPH() != null) {
                 Registry.getEnvironmentManager().drawGraph();
             }
@@ -163,6 +172,11 @@ public class MATE {
                 DotConverter.convertFinal(Registry.getUiAbstractionLayer().getGuiModel());
             }
 
+            final IGUIModel guiModel = Registry.getUiAbstractionLayer().getGuiModel();
+            if (guiModel instanceof FSMModel) {
+                ((FSMModel) guiModel).closeJournal();
+            }
+
             MATE.log_debug(Registry.getUiAbstractionLayer().getGuiModel().toString());
 
             try {
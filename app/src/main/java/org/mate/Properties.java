@@ -87,6 +87,60 @@ public class Properties {
         return propertyOr(false);
     }
 
+    /**
+     * Whether the surrogate model should fast-forward through cached actions whose outcome it can
+     * predict with high confidence, i.e. those actions are replayed without capturing the screen
+     * state after each action, see {@link #SURROGATE_SPECULATION_CONFIDENCE()}.
+     *
+     * @return Returns {@code true} if cached actions should be replayed speculatively, otherwise
+     *         {@code false} is returned.
+     */
+    public static boolean SURROGATE_SPECULATIVE_REPLAY() {
+        return propertyOr(false);
+    }
+
+    /**
+     * The minimal relative frequency of the most frequent transition of a state and action such
+     * that the surrogate model speculates on that transition.
+     *
+     * @return Returns the minimal confidence for a speculative transition.
+     */
+    public static double SURROGATE_SPECULATION_CONFIDENCE() {
+        return propertyOr(0.9);
+    }
+
+    /**
+     * Whether the GUI model should be incrementally written to a binary snapshot on the device,
+     * see {@link org.mate.model.fsm.snapshot.GUIModelJournal}.
+     *
+     * @return Returns {@code true} if the GUI model should be persisted, otherwise {@code false}
+     *         is returned.
+     */
+    public static boolean GUI_MODEL_SNAPSHOT() {
+        return propertyOr(false);
+    }
+
+    /**
+     * Whether the GUI model should be warm-started from the snapshot of previous runs on the same
+     * AUT, see {@link #GUI_MODEL_SNAPSHOT()}.
+     *
+     * @return Returns {@code true} if the GUI model should be warm-started, otherwise
+     *         {@code false} is returned.
+     */
+    public static boolean GUI_MODEL_WARM_START() {
+        return propertyOr(false);
+    }
+
+    /**
+     * The maximal size of a GUI model snapshot file in kilobytes. A larger snapshot is rotated, see
+     * {@link #GUI_MODEL_SNAPSHOT()}.
+     *
+     * @return Returns the maximal size of a snapshot file in kilobytes.
+     */
+    public static int GUI_MODEL_SNAPSHOT_MAX_SIZE() {
+        return propertyOr(16 * 1024);
+    }
+
     /*
      * Intent fuzzing related properties.
      */
@@ -229,6 +283,68 @@ public class Properties {
         return propertyOr(0.3);
     }
 
+    /**
+     * Whether the genetic algorithm should evolve the population in a steady-state fashion, i.e.
+     * each offspring replaces a chromosome of the population as soon as it has been executed. The
+     * selection and survivor bookkeeping is then performed by a separate thread while the next
+     * offspring is executed on the device. Only supported by the standard GA, NSGA-II and MOSA.
+     * <p>
+     * Note that the termination condition is checked once per breeding instead of once per
+     * generation. In particular, with the ITERATIONS termination condition
+     * {@link #EVO_ITERATIONS_NUMBER()} bounds the number of breedings, i.e. the number of
+     * selected parent pairs, and not the number of generations.
+     *
+     * @return Returns {@code true} if the steady-state mode should be used, otherwise
+     *         {@code false} is returned.
+     */
+    public static boolean STEADY_STATE() {
+        return propertyOr(false);
+    }
+
+    /**
+     * Whether the execution of a test case can be skipped if the same action sequence has been
+     * already executed from the same start state. In this case, the previously executed test case
+     * is re-used. This assumes that the AUT behaves deterministically.
+     *
+     * @return Returns {@code true} if the execution memo should be used, otherwise {@code false}
+     *         is returned.
+     */
+    public static boolean EXECUTION_MEMO() {
+        return propertyOr(false);
+    }
+
+    /**
+     * The maximal number of executions recorded by the execution memo. The least recently used
+     * executions are discarded first.
+     *
+     * @return Returns the capacity of the execution memo.
+     */
+    public static int EXECUTION_MEMO_SIZE() {
+        return propertyOr(1000);
+    }
+
+    /**
+     * The probability with which a recorded execution is verified by executing the action
+     * sequence again, see {@link #EXECUTION_MEMO()}.
+     *
+     * @return Returns the verification probability of the execution memo.
+     */
+    public static double EXECUTION_MEMO_VERIFICATION_RATE() {
+        return propertyOr(0.0);
+    }
+
+    /**
+     * Whether an app reset or restart should wait until the app is ready instead of sleeping a
+     * fixed amount of time, i.e. until the launch activity has been resumed, its window content
+     * doesn't change anymore and its UI is idle.
+     *
+     * @return Returns {@code true} if the readiness-based reset should be used, otherwise
+     *         {@code false} is returned.
+     */
+    public static boolean FAST_RESET() {
+        return propertyOr(false);
+    }
+
     public static double P_SAMPLE_RANDOM() {
         return propertyOr(0.5);
     }
@@ -261,6 +377,8 @@ public class Properties {
 
     public static boolean PIPE_RECORD_PPT() { return propertyOr(false); }
 
+    public static int PIPE_PPT_NODE_BUDGET() { return propertyOr(0); }
+
     public static boolean PROMISING_ACTIONS() { return propertyOr(true); }
 
     public static int TOURNAMENT_SIZE() { return propertyOr(2); }
@@ -298,6 +416,16 @@ public class Properties {
         return propertyOr(null);
     }
 
+    /**
+     * Whether the fitness values of a chromosome should be memoized. This only affects fitness
+     * functions whose fitness value solely depends on the chromosome itself.
+     *
+     * @return Returns {@code true} if fitness values should be memoized, otherwise {@code false}.
+     */
+    public static boolean FITNESS_MEMOIZATION() {
+        return propertyOr(true);
+    }
+
     public static SelectionFunction SELECTION_FUNCTION() {
         return propertyOr(null);
     }
@@ -508,6 +636,17 @@ public class Properties {
         return propertyOr(10.0);
     }
 
+    /**
+     * Whether the subjective opinions of the SOSM should be inferred incrementally, i.e. only the
+     * opinions of the states affected by new traces are re-computed.
+     *
+     * @return Returns {@code true} if the SOSM should be inferred incrementally, otherwise
+     *         {@code false} is returned.
+     */
+    public static boolean SOSM_INCREMENTAL_INFERENCE() {
+        return propertyOr(true);
+    }
+
     /**
      * Determines how much weight should be placed on the disbelief when computing the SOSM-based
      * novelty. We compute novelty as follows:
@@ -655,6 +794,18 @@ public class Properties {
         return propertyOr(3);
     }
 
+    /**
+     * Novelty Search - Controls whether the novelty is computed on the device based on the coverage
+     * vectors of the chromosomes, see {@link #OBJECTIVE()}, using the Jaccard distance. Otherwise,
+     * the novelty is requested from the server for each chromosome.
+     *
+     * @return Returns {@code true} if the novelty should be computed locally, otherwise
+     *         {@code false} is returned.
+     */
+    public static boolean LOCAL_NOVELTY() {
+        return propertyOr(false);
+    }
+
     /**
      * Controls whether quick launch is enabled or disabled.
      *
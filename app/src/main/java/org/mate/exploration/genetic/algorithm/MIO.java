@@ -16,12 +16,7 @@ import org.mate.utils.FitnessUtils;
 import org.mate.utils.Randomness;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 
 /**
  * An implementation of the Many Independent Objective (MIO) Algorithm according to the paper
@@ -48,9 +43,10 @@ public class MIO<T> extends GeneticAlgorithm<T> {
     private final int mutationRateFocusedSearch = 10;
 
     /**
-     * The archive maintains for each target k a population T_k of size up to n.
+     * The archive maintains for each target k a population T_k of size up to n. The populations
+     * are indexed like the fitness functions.
      */
-    private final Map<IFitnessFunction<T>, List<ChromosomeFitnessTuple>> archive;
+    private final List<TargetPopulation<ChromosomeFitnessTuple>> archive;
 
     /**
      * Represents the initial probability P_r for sampling a random chromosome.
@@ -89,8 +85,8 @@ public class MIO<T> extends GeneticAlgorithm<T> {
      */
     private final double focusedSearchStart;
 
-    // represents the variable c_k for each target k
-    private final Map<IFitnessFunction<T>, Integer> samplingCounters;
+    // keeps track of the variable c_k for each target k and selects the next target
+    private final TargetSelector targetSelector;
 
     // tracks the start point of the search to measure when the focused search should start
     private long startTime;
@@ -136,8 +132,9 @@ public class MIO<T> extends GeneticAlgorithm<T> {
                 pCrossover,
                 pMutate);
 
-        this.archive = new HashMap<>(); // (k -> T_k)
-        this.samplingCounters = new HashMap<>(); // (k -> c_k)
+        final int numberOfTargets = this.fitnessFunctions.size();
+        this.archive = new ArrayList<>(numberOfTargets); // (k -> T_k)
+        this.targetSelector = new TargetSelector(numberOfTargets); // (k -> c_k), initially zero
 
         this.pSampleRandom = pSampleRandom; // P_r
         this.populationSize = populationSize; // n
@@ -154,13 +151,11 @@ public class MIO<T> extends GeneticAlgorithm<T> {
         MATE.log_acc("Population size n: " + populationSizeStart);
         MATE.log_acc("Mutation rate m: " + mutationRateStart);
 
-        for (IFitnessFunction<T> fitnessFunction : this.fitnessFunctions) {
-
+        for (int target = 0; target < numberOfTargets; target++) {
             // for each testing target k we keep a population T_k of up to size n
-            archive.put(fitnessFunction, new LinkedList<>());
-
-            // initially the sampling counter c_k for each testing target k is zero
-            samplingCounters.put(fitnessFunction, 0);
+            final int k = target;
+            archive.add(new TargetPopulation<>(
+                    (first, second) -> compareFitnessAndSize(k, first, second)));
         }
     }
 
@@ -177,9 +172,13 @@ public class MIO<T> extends GeneticAlgorithm<T> {
         IChromosome<T> chromosome = chromosomeFactory.createChromosome();
         population.add(chromosome);
 
-        for (IFitnessFunction<T> target : this.fitnessFunctions) {
-            double fitness = target.getNormalizedFitness(chromosome);
-            addToArchive(target, new ChromosomeFitnessTuple(chromosome, fitness));
+        final double[] fitnessVector = getFitnessVector(chromosome);
+        final double fitnessSum = getFitnessSum(fitnessVector);
+        final int size = getSize(chromosome);
+
+        for (int target = 0; target < fitnessVector.length; target++) {
+            addToArchive(target,
+                    new ChromosomeFitnessTuple(chromosome, fitnessVector[target], fitnessSum, size));
         }
 
         logCurrentFitness();
@@ -257,14 +256,13 @@ public class MIO<T> extends GeneticAlgorithm<T> {
             * the lowest sampling counter c_k. Then select randomly a chromosome from the
             * population T_k in the archive.
              */
-            IFitnessFunction<T> target = getBestTarget();
-            ChromosomeFitnessTuple tuple = Randomness.randomElement(archive.get(target));
+            int target = getBestTarget();
+            ChromosomeFitnessTuple tuple = archive.get(target).getRandom();
             IChromosome<T> chromosome = tuple.chromosome;
             MATE.log_acc("Sampled chromosome " + chromosome + " from archive!");
 
             // increase sampling counter c_k, see section 3.3
-            Integer value = samplingCounters.get(target);
-            samplingCounters.put(target, value + 1);
+            targetSelector.increaseSamplingCounter(target);
 
             // sample up to m mutants from the same base chromosome
             for (int i = 0; i < mutationRate; i++) {
@@ -276,11 +274,18 @@ public class MIO<T> extends GeneticAlgorithm<T> {
 
         MATE.log_acc("Updating Archive...");
 
-        // evaluate fitness and update archive
+        // evaluate fitness once per chromosome and update archive
         for (IChromosome<T> chromosome : population) {
-            for (IFitnessFunction<T> target : this.fitnessFunctions) {
-                double fitness = target.getNormalizedFitness(chromosome);
-                updateArchive(target, new ChromosomeFitnessTuple(chromosome, fitness));
+
+            final double[] fitnessVector = getFitnessVector(chromosome);
+            final double fitnessSum = getFitnessSum(fitnessVector);
+            final int size = getSize(chromosome);
+
+            for (int target = 0; target < fitnessVector.length; target++) {
+                if (!isTargetNotReachable(target, fitnessVector[target])) {
+                    updateArchive(target, new ChromosomeFitnessTuple(chromosome,
+                            fitnessVector[target], fitnessSum, size));
+                }
             }
         }
 
@@ -297,9 +302,9 @@ public class MIO<T> extends GeneticAlgorithm<T> {
 
         // clean the cache from time to time, otherwise we end up with an OOM error for large apps
         List<IChromosome<T>> activeChromosomes = new ArrayList<>();
-        for (List<ChromosomeFitnessTuple> tuples : archive.values()) {
-            for (ChromosomeFitnessTuple tuple : tuples) {
-                activeChromosomes.add(tuple.chromosome);
+        for (TargetPopulation<ChromosomeFitnessTuple> targetPopulation : archive) {
+            for (int i = 0; i < targetPopulation.size(); i++) {
+                activeChromosomes.add(targetPopulation.get(i).chromosome);
             }
         }
         FitnessUtils.cleanCache(activeChromosomes);
@@ -308,17 +313,19 @@ public class MIO<T> extends GeneticAlgorithm<T> {
     /**
      * Updates the archive according to the rules described in section 3.1.
      *
-     * @param target The target k.
+     * @param target The index of the target k.
      * @param chromosome The new chromosome that might be added to the archive or that might replace
      *              another chromosome in the archive.
      */
-    private void updateArchive(IFitnessFunction<T> target, ChromosomeFitnessTuple chromosome) {
+    private void updateArchive(int target, ChromosomeFitnessTuple chromosome) {
 
-        if (isTargetNotReachable(target, chromosome)) {
+        final TargetPopulation<ChromosomeFitnessTuple> targetPopulation = archive.get(target);
+
+        if (isTargetNotReachable(target, chromosome.fitness)) {
             // the target is unreachable for the chromosome, ignore it
         } else if (isTargetCovered(target, chromosome)) {
             // the chromosome covers the target, insert it if better
-            if (archive.get(target).isEmpty() || archive.get(target).size() > 1) {
+            if (targetPopulation.isEmpty() || targetPopulation.size() > 1) {
                 /*
                 * No chromosome in the current population T_k covers the target, thus replace
                 * the current population with the new chromosome. Note, the population T_k will
@@ -333,23 +340,23 @@ public class MIO<T> extends GeneticAlgorithm<T> {
                 * of size (shorter). If the size is identical, the chromosomes are compared on the
                 * remaining targets other than k.
                  */
-                ChromosomeFitnessTuple oldChromosome = archive.get(target).get(0);
+                ChromosomeFitnessTuple oldChromosome = targetPopulation.getWorst();
                 if (!isTargetCovered(target, oldChromosome)) {
-                    replaceInArchive(target, chromosome, oldChromosome);
+                    replaceAllInArchive(target, chromosome);
                 } else {
                     if (compareSizeAndOtherTargets(target, chromosome, oldChromosome) > 0) {
-                        replaceInArchive(target, chromosome, oldChromosome);
+                        replaceAllInArchive(target, chromosome);
                     }
                 }
             }
         } else if (!isTargetPopulationFull(target)) {
             // as long as the target population T_k is not full, i.e. |T_k| < n, we add it
             addToArchive(target, chromosome);
-        } else if (isTargetPopulationFull(target)) {
+        } else {
             // replace with worst chromosome in T_k but only if better in terms of fitness and size
-            ChromosomeFitnessTuple worstChromosome = getWorstChromosomeOfTargetPopulation(target);
+            ChromosomeFitnessTuple worstChromosome = targetPopulation.getWorst();
             if (compareFitnessAndSize(target, chromosome, worstChromosome) > 0) {
-                replaceInArchive(target, chromosome, worstChromosome);
+                replaceWorstInArchive(target, chromosome);
             }
         }
     }
@@ -358,67 +365,56 @@ public class MIO<T> extends GeneticAlgorithm<T> {
      * Checks whether the given target is covered, i.e. there exits a single chromosome in the
      * target population T_k that fulfills the target k.
      *
-     * @param target The target k.
+     * @param target The index of the target k.
      * @return Returns {@code true} if the target k is covered, otherwise {@code false} is returned.
      */
-    private boolean isTargetCovered(IFitnessFunction<T> target) {
-        if (archive.get(target).size() != 1) {
-            /*
-            * By construction, the target k is only covered if the population T_k contains
-            * a single chromosome, since the population never expands once a chromosome covers
-            * the target.
-             */
-            return false;
-        } else {
-            // check whether the single chromosome covers the target k
-            ChromosomeFitnessTuple tuple = archive.get(target).get(0);
-            return isTargetCovered(target, tuple);
-        }
+    private boolean isTargetCovered(int target) {
+        return targetSelector.isCovered(target);
     }
 
     /**
      * Checks whether the given chromosome covers the given target.
      *
-     * @param target The target k.
+     * @param target The index of the target k.
      * @param chromosome The chromosome to be checked.
      * @return Returns {@code true} if the given chromosome covers the given target k,
      *          otherwise {@code false} is returned.
      */
-    private boolean isTargetCovered(IFitnessFunction<T> target, ChromosomeFitnessTuple chromosome) {
-        boolean isMaximising = target.isMaximizing();
+    private boolean isTargetCovered(int target, ChromosomeFitnessTuple chromosome) {
+        boolean isMaximising = fitnessFunctions.get(target).isMaximizing();
         return isMaximising ? chromosome.fitness == 1 : chromosome.fitness == 0;
     }
 
     /**
-     * Checks whether the given chromosome can't cover the given target k.
+     * Checks whether a chromosome with the given fitness can't cover the given target k.
      *
-     * @param target The target k.
-     * @param chromosome The chromosome to be checked.
-     * @return Returns {@code true} if the given chromosome does not cover the given target k,
+     * @param target The index of the target k.
+     * @param fitness The fitness of the chromosome to be checked.
+     * @return Returns {@code true} if the chromosome does not cover the given target k,
      *          otherwise {@code false} is returned.
      */
-    private boolean isTargetNotReachable(IFitnessFunction<T> target, ChromosomeFitnessTuple chromosome) {
-        boolean isMaximising = target.isMaximizing();
-        return isMaximising ? chromosome.fitness == 0 : chromosome.fitness == 1;
+    private boolean isTargetNotReachable(int target, double fitness) {
+        boolean isMaximising = fitnessFunctions.get(target).isMaximizing();
+        return isMaximising ? fitness == 0 : fitness == 1;
     }
 
     /**
      * Checks whether the target population T_k is full, i.e. |T_k| >= n.
      *
-     * @param target The target k.
+     * @param target The index of the target k.
      * @return Returns {@code true} if the target population T_k is full.
      */
-    private boolean isTargetPopulationFull(IFitnessFunction<T> target) {
+    private boolean isTargetPopulationFull(int target) {
         return archive.get(target).size() >= populationSize;
     }
 
     /**
      * Adds the given chromosome to the given target population T_k.
      *
-     * @param target The target k.
+     * @param target The index of the target k.
      * @param chromosome The chromosome to be added.
      */
-    private void addToArchive(IFitnessFunction<T> target, ChromosomeFitnessTuple chromosome) {
+    private void addToArchive(int target, ChromosomeFitnessTuple chromosome) {
 
         if (archive.get(target).size() >= populationSize) {
             throw new IllegalStateException("Population T_k of is full, can't store chromosome!");
@@ -427,54 +423,38 @@ public class MIO<T> extends GeneticAlgorithm<T> {
         archive.get(target).add(chromosome);
 
         // reset the sampling counter c_k for target k
-        samplingCounters.put(target, 0);
-    }
+        targetSelector.resetSamplingCounter(target);
 
-    /**
-     * Replaces the old chromosome with the new chromosome in the target population T_k.
-     *
-     * @param target The target k.
-     * @param newChromosome The new chromosome.
-     * @param oldChromosome The old chromosome.
-     */
-    private void replaceInArchive(IFitnessFunction<T> target, ChromosomeFitnessTuple newChromosome,
-                                  ChromosomeFitnessTuple oldChromosome) {
-        archive.get(target).remove(oldChromosome);
-        addToArchive(target, newChromosome);
+        /*
+        * By construction, the target k is only covered if the population T_k contains
+        * a single chromosome, since the population never expands once a chromosome covers
+        * the target.
+         */
+        if (archive.get(target).size() == 1 && isTargetCovered(target, chromosome)) {
+            targetSelector.cover(target);
+        }
     }
 
     /**
-     * Replaces all chromosomes in the target population T_k with the given chromosome.
+     * Replaces the worst chromosome with the new chromosome in the target population T_k.
      *
-     * @param target The target k.
+     * @param target The index of the target k.
      * @param chromosome The new chromosome.
      */
-    private void replaceAllInArchive(IFitnessFunction<T> target, ChromosomeFitnessTuple chromosome) {
-        archive.get(target).clear();
+    private void replaceWorstInArchive(int target, ChromosomeFitnessTuple chromosome) {
+        archive.get(target).removeWorst();
         addToArchive(target, chromosome);
     }
 
     /**
-     * Retrieves the worst chromosome from the target population T_k, i.e. the chromosome with
-     * the worst fitness value and the worst size.
+     * Replaces all chromosomes in the target population T_k with the given chromosome.
      *
-     * @param target The target k.
-     * @return Returns the worst chromosome of the target population T_k.
+     * @param target The index of the target k.
+     * @param chromosome The new chromosome.
      */
-    private ChromosomeFitnessTuple getWorstChromosomeOfTargetPopulation(final IFitnessFunction<T> target) {
-
-        if (archive.get(target).isEmpty()) {
-            throw new IllegalStateException("Can't retrieve worst chromosome from empty archive!");
-        }
-
-        List<ChromosomeFitnessTuple> population = archive.get(target);
-        Collections.sort(population, (o1, o2) -> {
-            int cmp = compareFitness(target, o1, o2);
-            return cmp != 0 ? cmp : compareSize(o1, o2);
-        });
-
-        // the worst chromosome comes first
-        return population.get(0);
+    private void replaceAllInArchive(int target, ChromosomeFitnessTuple chromosome) {
+        archive.get(target).clear();
+        addToArchive(target, chromosome);
     }
 
     /**
@@ -486,19 +466,10 @@ public class MIO<T> extends GeneticAlgorithm<T> {
 
         MATE.log_acc("Shrinking Archive...");
 
-        for (final IFitnessFunction<T> target : fitnessFunctions) {
-            List<ChromosomeFitnessTuple> population = archive.get(target);
-            if (population.size() > populationSize) {
-
-                // we need to discard the worst chromosomes
-                int discardAmount = population.size() - populationSize;
-
-                Collections.sort(population, (o1, o2) -> {
-                    int cmp = compareFitness(target, o1, o2);
-                    return cmp != 0 ? cmp : compareSize(o1, o2);
-                });
-
-                population.subList(0, discardAmount).clear();
+        for (final TargetPopulation<ChromosomeFitnessTuple> targetPopulation : archive) {
+            // we need to discard the worst chromosomes
+            while (targetPopulation.size() > populationSize) {
+                targetPopulation.removeWorst();
             }
         }
     }
@@ -547,51 +518,86 @@ public class MIO<T> extends GeneticAlgorithm<T> {
      * target is only considered if the population size > 0. If all testing targets are covered,
      * we randomly select a target.
      *
-     * @return Returns the testing target having the lowest sampling counter for a non empty
-     *          population. Picks randomly if all testing targets are covered.
+     * @return Returns the index of the testing target having the lowest sampling counter for a
+     *          non empty population. Picks randomly if all testing targets are covered.
      */
-    private IFitnessFunction<T> getBestTarget() {
+    private int getBestTarget() {
 
-        Map.Entry<IFitnessFunction<T>, Integer> bestEntry = null;
+        if (targetSelector.isEveryTargetCovered()) {
+            MATE.log_acc("All testing targets covered, picking random target k.");
+        }
 
-        for (Map.Entry<IFitnessFunction<T>, Integer> entry : samplingCounters.entrySet()) {
+        return targetSelector.getBestTarget();
+    }
 
-            if (archive.get(entry.getKey()).isEmpty() || isTargetCovered(entry.getKey())) {
-                // we can't pick a testing target that has an empty population or is already covered
-                continue;
-            }
+    /**
+     * Evaluates the given chromosome on every target.
+     *
+     * @param chromosome The given chromosome.
+     * @return Returns the normalised fitness value of the chromosome for every target k.
+     */
+    private double[] getFitnessVector(IChromosome<T> chromosome) {
 
-            if (bestEntry == null || bestEntry.getValue() < entry.getValue()) {
-                bestEntry = entry;
-            }
+        final double[] fitnessVector = new double[fitnessFunctions.size()];
+
+        for (int target = 0; target < fitnessVector.length; target++) {
+            fitnessVector[target] = fitnessFunctions.get(target).getNormalizedFitness(chromosome);
         }
 
-        if (bestEntry == null) {
-            MATE.log_acc("All testing targets covered, picking random target k.");
-            // all non empty testing targets are covered, thus pick one randomly among them
-            List<IFitnessFunction<T>> coveredTargets = new ArrayList<>();
+        return fitnessVector;
+    }
 
-            for (IFitnessFunction<T> fitnessFunction : this.fitnessFunctions) {
-                if (isTargetCovered(fitnessFunction)) {
-                    coveredTargets.add(fitnessFunction);
-                }
-            }
+    /**
+     * Sums up the given fitness values.
+     *
+     * @param fitnessVector The normalised fitness values of a chromosome.
+     * @return Returns the sum of the fitness values.
+     */
+    private double getFitnessSum(double[] fitnessVector) {
+
+        double fitnessSum = 0.0;
 
-            return Randomness.randomElement(coveredTargets);
+        for (double fitness : fitnessVector) {
+            fitnessSum += fitness;
+        }
+
+        return fitnessSum;
+    }
+
+    /**
+     * Determines the size of the given chromosome, i.e. the number of actions of a test case or
+     * the number of test cases of a test suite.
+     *
+     * @param chromosome The given chromosome.
+     * @return Returns the size of the chromosome.
+     */
+    private int getSize(IChromosome<T> chromosome) {
+
+        IChromosome<T> phenoType = chromosome;
+
+        if (Properties.GENO_TO_PHENO_TYPE_MAPPING()) {
+            phenoType = GenotypePhenotypeMappedFitnessFunction.getPhenoType(chromosome);
+        }
+
+        if (phenoType.getValue() instanceof TestCase) {
+            return ((TestCase) phenoType.getValue()).getActionSequence().size();
+        } else if (phenoType.getValue() instanceof TestSuite) {
+            return ((TestSuite) phenoType.getValue()).getTestCases().size();
         } else {
-            return bestEntry.getKey();
+            throw new IllegalStateException("Chromosome type " + phenoType.getValue().getClass()
+                    + "not yet supported!");
         }
     }
 
     /**
      * Compares the two chromosomes based on its fitness and size.
      *
-     * @param target The target k.
+     * @param target The index of the target k.
      * @param first The first chromosome.
      * @param second The second chromosome.
      * @return Returns a comparison value that indicates the 'ordering' of the two chromosomes.
      */
-    private int compareFitnessAndSize(final IFitnessFunction<T> target,
+    private int compareFitnessAndSize(int target,
                                       ChromosomeFitnessTuple first, ChromosomeFitnessTuple second) {
         int cmp = compareFitness(target, first, second);
         return cmp != 0 ? cmp : compareSize(first, second);
@@ -600,39 +606,33 @@ public class MIO<T> extends GeneticAlgorithm<T> {
     /**
      * Compares the two chromosomes based on its size and the targets other than k.
      *
-     * @param target The target k.
+     * @param target The index of the target k.
      * @param first The first chromosome.
      * @param second The second chromosome.
      * @return Returns a comparison value that indicates the 'ordering' of the two chromosomes.
      */
-    private int compareSizeAndOtherTargets(final IFitnessFunction<T> target,
+    private int compareSizeAndOtherTargets(int target,
                                            ChromosomeFitnessTuple first, ChromosomeFitnessTuple second) {
         int cmp = compareSize(first, second);
         return cmp != 0 ? cmp : compareOtherTargets(target, first, second);
     }
 
     /**
-     * Compares the two chromosomes based on the fitness values of every target other than k.
+     * Compares the two chromosomes based on the fitness values of every target other than k. The
+     * sum over all targets is computed once when the chromosome is evaluated.
      *
-     * @param target The target k.
+     * @param target The index of the target k.
      * @param first The first chromosome.
      * @param second The second chromosome.
      * @return Returns a comparison value that indicates the 'ordering' of the two chromosomes.
      */
-    private int compareOtherTargets(final IFitnessFunction<T> target,
+    private int compareOtherTargets(int target,
                                     ChromosomeFitnessTuple first, ChromosomeFitnessTuple second) {
 
-        double fitnessValueSumFst = 0.0;
-        double fitnessValueSumSnd = 0.0;
+        double fitnessValueSumFst = first.fitnessSum - first.fitness;
+        double fitnessValueSumSnd = second.fitnessSum - second.fitness;
 
-        for (IFitnessFunction<T> fitnessFunction : fitnessFunctions) {
-            if (!fitnessFunction.equals(target)) {
-                fitnessValueSumFst += target.getNormalizedFitness(first.chromosome);
-                fitnessValueSumSnd += target.getNormalizedFitness(second.chromosome);
-            }
-        }
-
-        return target.isMaximizing()
+        return fitnessFunctions.get(target).isMaximizing()
                 // a higher fitness value is better
                 ? Double.compare(fitnessValueSumFst, fitnessValueSumSnd)
                 // a lower fitness value is better
@@ -643,23 +643,15 @@ public class MIO<T> extends GeneticAlgorithm<T> {
      * Compares the two chromosomes based on its fitness. Regards whether the fitness function
      * is maximising or minimising.
      *
-     * @param target The target k.
+     * @param target The index of the target k.
      * @param first The first chromosome.
      * @param second The second chromosome.
      * @return Returns a comparison value that indicates the 'ordering' of the two chromosomes.
      */
-    private int compareFitness(final IFitnessFunction<T> target,
-                        ChromosomeFitnessTuple first, ChromosomeFitnessTuple second) {
-
-        Comparator<ChromosomeFitnessTuple> comparator = (o1, o2) -> {
-            boolean isMaximising = target.isMaximizing();
-
-            return isMaximising
-                    ? Double.compare(o1.fitness, o2.fitness)
-                    : Double.compare(o2.fitness, o1.fitness);
-        };
-
-        return comparator.compare(first, second);
+    private int compareFitness(int target, ChromosomeFitnessTuple first, ChromosomeFitnessTuple second) {
+        return fitnessFunctions.get(target).isMaximizing()
+                ? Double.compare(first.fitness, second.fitness)
+                : Double.compare(second.fitness, first.fitness);
     }
 
     /**
@@ -671,30 +663,7 @@ public class MIO<T> extends GeneticAlgorithm<T> {
      * @return Returns a comparison value that indicates the 'ordering' of the two chromosomes.
      */
     private int compareSize(ChromosomeFitnessTuple first, ChromosomeFitnessTuple second) {
-
-        Comparator<ChromosomeFitnessTuple> comparator = (o1, o2) -> {
-
-            IChromosome<T> fst = o1.chromosome;
-            IChromosome<T> snd = o2.chromosome;
-
-            if (Properties.GENO_TO_PHENO_TYPE_MAPPING()) {
-                fst = GenotypePhenotypeMappedFitnessFunction.getPhenoType(fst);
-                snd = GenotypePhenotypeMappedFitnessFunction.getPhenoType(snd);
-            }
-
-            if (fst.getValue() instanceof TestCase) {
-                return ((TestCase) snd.getValue()).getActionSequence().size()
-                        - ((TestCase) fst.getValue()).getActionSequence().size();
-            } else if (fst.getValue() instanceof TestSuite) {
-                return ((TestSuite) snd.getValue()).getTestCases().size()
-                        - ((TestSuite) fst.getValue()).getTestCases().size();
-            } else {
-                throw new IllegalStateException("Chromosome type " + fst.getValue().getClass()
-                        + "not yet supported!");
-            }
-        };
-
-        return comparator.compare(first, second);
+        return Integer.compare(second.size, first.size);
     }
 
     /**
@@ -705,9 +674,18 @@ public class MIO<T> extends GeneticAlgorithm<T> {
         private final IChromosome<T> chromosome;
         private final double fitness;
 
-        public ChromosomeFitnessTuple(IChromosome<T> chromosome, double fitness) {
+        // the sum of the fitness values over all targets
+        private final double fitnessSum;
+
+        // the size of the chromosome, see getSize()
+        private final int size;
+
+        public ChromosomeFitnessTuple(IChromosome<T> chromosome, double fitness,
+                                      double fitnessSum, int size) {
             this.chromosome = chromosome;
             this.fitness = fitness;
+            this.fitnessSum = fitnessSum;
+            this.size = size;
         }
 
         public IChromosome<T> getChromosome() {
@@ -720,20 +698,6 @@ public class MIO<T> extends GeneticAlgorithm<T> {
 
         @Override
         public String toString() {
-
-            IChromosome<T> chromosome = this.chromosome;
-            int size = -1;
-
-            if (Properties.GENO_TO_PHENO_TYPE_MAPPING()) {
-                chromosome = GenotypePhenotypeMappedFitnessFunction.getPhenoType(this.chromosome);
-            }
-
-            if (chromosome.getValue() instanceof TestCase) {
-                size = ((TestCase) chromosome.getValue()).getActionSequence().size();
-            } else if (chromosome.getValue() instanceof TestSuite) {
-                size = ((TestSuite) chromosome.getValue()).getTestCases().size();
-            }
-
             return "ChromosomeFitnessTuple{" +
                     "chromosome=" + chromosome +
                     ", fitness=" + fitness +
@@ -747,11 +711,11 @@ public class MIO<T> extends GeneticAlgorithm<T> {
 
         MATE.log_debug("Archive: ");
         int i = 0;
-        for (List<ChromosomeFitnessTuple> population: archive.values()) {
+        for (TargetPopulation<ChromosomeFitnessTuple> population : archive) {
             if (!population.isEmpty()) {
                 MATE.log_debug("Population: " + i);
-                for (ChromosomeFitnessTuple tuple : population) {
-                    MATE.log_debug(tuple.toString());
+                for (int j = 0; j < population.size(); j++) {
+                    MATE.log_debug(population.get(j).toString());
                 }
             }
             i++;
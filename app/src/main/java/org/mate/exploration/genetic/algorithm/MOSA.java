@@ -4,8 +4,10 @@ import org.mate.MATE;
 import org.mate.Properties;
 import org.mate.exploration.genetic.chromosome.IChromosome;
 import org.mate.exploration.genetic.chromosome_factory.IChromosomeFactory;
+import org.mate.exploration.genetic.core.CrowdingDistance;
 import org.mate.exploration.genetic.core.GAUtils;
 import org.mate.exploration.genetic.core.GeneticAlgorithm;
+import org.mate.exploration.genetic.core.NonDominatedSorting;
 import org.mate.exploration.genetic.crossover.ICrossOverFunction;
 import org.mate.exploration.genetic.fitness.GenotypePhenotypeMappedFitnessFunction;
 import org.mate.exploration.genetic.fitness.IFitnessFunction;
@@ -19,12 +21,11 @@ import org.mate.utils.FitnessUtils;
 import org.mate.utils.Randomness;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
 /**
@@ -37,9 +38,22 @@ import java.util.Set;
 public class MOSA<T> extends GeneticAlgorithm<T> {
 
     /**
-     * An archive that keeps track of the best chromosomes for each target.
+     * An archive that keeps track of the best chromosome for each target, i.e. the shortest
+     * chromosome covering the target. The archive is indexed like the fitness functions and
+     * contains {@code null} for targets that haven't been covered yet.
      */
-    private final Map<IFitnessFunction<T>, IChromosome<T>> archive = new HashMap<>();
+    private final List<IChromosome<T>> archive;
+
+    /**
+     * The length of the archived chromosome for each target, {@link Integer#MAX_VALUE} if the
+     * target hasn't been covered yet.
+     */
+    private final int[] archiveLengths;
+
+    /**
+     * The indices of the targets that haven't been covered yet.
+     */
+    private final BitSet uncoveredTargets;
 
     /**
      * The fitness functions or targets that haven't been covered yet.
@@ -79,25 +93,24 @@ public class MOSA<T> extends GeneticAlgorithm<T> {
         super(chromosomeFactory, selectionFunction, crossOverFunctions, mutationFunctions, fitnessFunctions,
                 terminationCondition, populationSize, bigPopulationSize, pCrossover, pMutate);
 
+        final int numberOfTargets = fitnessFunctions.size();
+        archive = new ArrayList<>(Collections.<IChromosome<T>>nCopies(numberOfTargets, null));
+        archiveLengths = new int[numberOfTargets];
+        Arrays.fill(archiveLengths, Integer.MAX_VALUE);
+        uncoveredTargets = new BitSet(numberOfTargets);
+        uncoveredTargets.set(0, numberOfTargets);
         uncoveredFitnessFunctions.addAll(fitnessFunctions);
         this.selectionFunction = (CrowdedTournamentSelectionFunction<T>) selectionFunction;
     }
 
     /**
      * MOSA generates a random population P_t and updates the archive accordingly, see line 3 and 4
-     * of Algorithm 1. In addition, we need to update which fitness functions (targets) have been
-     * covered.
+     * of Algorithm 1. This also updates which fitness functions (targets) have been covered.
      */
     @Override
     public void createInitialPopulation() {
-
         super.createInitialPopulation();
         updateArchive(population);
-
-        // we need to filter the covered fitness functions (targets)
-        Set<IFitnessFunction<T>> coveredFitnessFunctions = getCoveredFitnessFunctions(
-                uncoveredFitnessFunctions, population);
-        uncoveredFitnessFunctions.removeAll(coveredFitnessFunctions);
     }
 
     /**
@@ -108,6 +121,7 @@ public class MOSA<T> extends GeneticAlgorithm<T> {
 
         MATE.log_acc("Creating population #" + (currentGenerationNumber + 1));
         List<IChromosome<T>> newGeneration = new ArrayList<>(population);
+        Set<IChromosome<T>> parentGeneration = new HashSet<>(population);
 
         /*
          * We only need to compute the fronts F (= F1, F2,...) and the crowding distances once
@@ -115,15 +129,15 @@ public class MOSA<T> extends GeneticAlgorithm<T> {
          * fastNonDominatedSort and assign the crowding distances based on the uncovered fitness
          * functions (targets).
          */
-        Map<Integer, List<IChromosome<T>>> paretoFronts = preferenceSorting(population);
-        Map<IChromosome<T>, Integer> rankMap = GAUtils.getRankMap(paretoFronts);
-        Map<IChromosome<T>, Double> crowdingDistanceMap
-                = GAUtils.crowdingDistanceAssignment(population, uncoveredFitnessFunctions);
+        final double[][] objectives
+                = NonDominatedSorting.getObjectiveMatrix(population, uncoveredFitnessFunctions);
+        final int[] ranks = preferenceSorting(population, objectives);
+        final double[] crowdingDistances = CrowdingDistance.getCrowdingDistances(objectives);
 
         while (newGeneration.size() < bigPopulationSize) {
 
             // performs a binary tournament selection that considers both rank and crowding distance
-            List<IChromosome<T>> parents = selectionFunction.select(population, rankMap, crowdingDistanceMap);
+            List<IChromosome<T>> parents = selectionFunction.select(population, ranks, crowdingDistances);
 
             List<IChromosome<T>> offsprings;
 
@@ -148,53 +162,79 @@ public class MOSA<T> extends GeneticAlgorithm<T> {
             }
         }
 
-        // we need to filter the covered fitness functions (targets)
-        Set<IFitnessFunction<T>> coveredFitnessFunctions = getCoveredFitnessFunctions(
-                uncoveredFitnessFunctions, newGeneration);
-        uncoveredFitnessFunctions.removeAll(coveredFitnessFunctions);
+        /*
+         * The archive and the covered fitness functions (targets) only need to be updated with the
+         * new offsprings (line 17), since the parents have been already considered before.
+         */
+        List<IChromosome<T>> newChromosomes = new ArrayList<>();
+        for (IChromosome<T> chromosome : newGeneration.subList(population.size(), newGeneration.size())) {
+            if (!parentGeneration.contains(chromosome)) {
+                newChromosomes.add(chromosome);
+            }
+        }
+        updateArchive(newChromosomes);
 
         population.clear();
         population.addAll(newGeneration);
         List<IChromosome<T>> survivors = getGenerationSurvivors(); // line 8 onwards
         population.clear();
         population.addAll(survivors);
-        List<IChromosome<T>> chromosomes = new ArrayList<>();
-        chromosomes.addAll(population);
-        chromosomes.addAll(archive.values());
-        updateArchive(chromosomes); // line 17
         logCurrentFitness();
         currentGenerationNumber++; // line 18
-
-        // clean the cache from time to time, otherwise we end up with an OOM error for large apps
-        FitnessUtils.cleanCache(chromosomes);
+        cleanCache();
     }
 
     /**
-     * Retrieves the covered fitness functions (targets) for the given chromosomes.
+     * Selects the parents for the next breeding in the steady-state mode. As in
+     * {@link #evolve()}, the ranks are determined by the preference sorting and the crowding
+     * distances w.r.t. the uncovered targets.
      *
-     * @param uncoveredFitnessFunctions The list of uncovered fitness functions so far.
-     * @param chromosomes The given list of chromosomes.
-     * @return Returns the set containing the uncovered fitness functions.
+     * @return Returns the selected parents.
      */
-    private Set<IFitnessFunction<T>> getCoveredFitnessFunctions(
-            List<IFitnessFunction<T>> uncoveredFitnessFunctions, List<IChromosome<T>> chromosomes) {
-
-        Set<IFitnessFunction<T>> coveredFitnessFunctions = new HashSet<>();
+    @Override
+    protected List<IChromosome<T>> selectParents() {
+        final double[][] objectives
+                = NonDominatedSorting.getObjectiveMatrix(population, uncoveredFitnessFunctions);
+        final int[] ranks = preferenceSorting(population, objectives);
+        final double[] crowdingDistances = CrowdingDistance.getCrowdingDistances(objectives);
+        return selectionFunction.select(population, ranks, crowdingDistances);
+    }
 
-        for (IFitnessFunction<T> fitnessFunction : uncoveredFitnessFunctions) {
+    /**
+     * Updates the archive with the given offspring before inserting it into the population in the
+     * steady-state mode.
+     *
+     * @param offspring The executed offspring.
+     */
+    @Override
+    protected void insertOffspring(IChromosome<T> offspring) {
+        if (!population.contains(offspring)) {
+            updateArchive(Collections.singletonList(offspring));
+        }
+        super.insertOffspring(offspring);
+    }
 
-            final boolean isMaximising = fitnessFunction.isMaximizing();
+    /**
+     * Completes a generation in the steady-state mode and cleans the cache.
+     */
+    @Override
+    protected void completeGeneration() {
+        super.completeGeneration();
+        cleanCache();
+    }
 
-            for (IChromosome<T> chromosome : chromosomes) {
-                final double fitness = fitnessFunction.getNormalizedFitness(chromosome);
-                if (isMaximising ? fitness == 1 : fitness == 0) {
-                    coveredFitnessFunctions.add(fitnessFunction);
-                    break;
-                }
+    /**
+     * Cleans the fitness cache from time to time, otherwise we end up with an OOM error for large
+     * apps. Only the chromosomes of the current population and the archive are kept.
+     */
+    private void cleanCache() {
+        Set<IChromosome<T>> chromosomes = new HashSet<>(population);
+        for (IChromosome<T> chromosome : archive) {
+            if (chromosome != null) {
+                chromosomes.add(chromosome);
             }
         }
-
-        return coveredFitnessFunctions;
+        FitnessUtils.cleanCache(new ArrayList<>(chromosomes));
     }
 
     /**
@@ -205,93 +245,121 @@ public class MOSA<T> extends GeneticAlgorithm<T> {
     @Override
     public List<IChromosome<T>> getGenerationSurvivors() {
 
-        List<IChromosome<T>> survivors = new LinkedList<>();
-
         // fill up the new population P_t+1 with the pareto fronts as in NSGA-II
-        Map<Integer, List<IChromosome<T>>> paretoFronts = preferenceSorting(population);
-        int i = 0;
+        final int[] ranks = preferenceSorting(population,
+                NonDominatedSorting.getObjectiveMatrix(population, uncoveredFitnessFunctions));
 
-        // add solutions until a front can't be fully accommodated
-        while (survivors.size() + paretoFronts.get(i).size() < populationSize) {
-            survivors.addAll(paretoFronts.get(i));
-            i = i + 1;
-        }
-
-        // sort last front in descending order of the crowding distance
-        List<IChromosome<T>> lastFront = paretoFronts.get(i);
-        final Map<IChromosome<T>, Double> crowdingDistanceMap
-                = GAUtils.crowdingDistanceAssignment(lastFront, fitnessFunctions);
-        lastFront = GAUtils.sortByCrowdingDistance(lastFront, crowdingDistanceMap);
-
-        // fill up the remaining slots with the least crowded chromosomes of the last front
-        survivors.addAll(lastFront.subList(0, populationSize - survivors.size()));
-        return survivors;
+        // the last front is sorted based on the crowding distance w.r.t. all targets
+        final double[][] objectives
+                = NonDominatedSorting.getObjectiveMatrix(population, fitnessFunctions);
+        return GAUtils.getSurvivors(population, objectives, ranks, populationSize);
     }
 
     /**
      * Performs a preference sorting as described in Algorithm 2.
      *
      * @param population The population T.
-     * @return Returns the pareto fronts, which is a mapping of a rank to a list of chromosomes
-     *          belonging to that rank.
+     * @param objectives The objective matrix of the population w.r.t. the uncovered targets.
+     * @return Returns the rank of each chromosome in the order of the population, where the rank
+     *          {@code 0} refers to the first pareto front F_0.
      */
-    private Map<Integer, List<IChromosome<T>>> preferenceSorting(List<IChromosome<T>> population) {
+    private int[] preferenceSorting(List<IChromosome<T>> population, double[][] objectives) {
 
-        Map<Integer, List<IChromosome<T>>> paretoFronts = new HashMap<>();
-        List<IChromosome<T>> candidates = new ArrayList<>(population);
-        List<IChromosome<T>> firstParetoFront = new ArrayList<>(); // F_0
+        final int[] ranks = new int[population.size()];
+        final boolean[] isInFirstParetoFront = new boolean[population.size()]; // F_0
+        final int[] lengths = new int[population.size()];
+
+        for (int i = 0; i < lengths.length; i++) {
+            lengths[i] = getChromosomeLength(population.get(i));
+        }
 
         // the first pareto front F_0 consists of the 'best' test cases of the uncovered targets
-        for (IFitnessFunction<T> fitnessFunction : uncoveredFitnessFunctions) {
+        for (int objective = 0; objective < uncoveredFitnessFunctions.size(); objective++) {
+
+            // the best chromosome has the best fitness value and the shortest length
+            int best = 0;
 
-            // sort in descending order -> best chromosomes come first
-            candidates = GAUtils.sortByFitnessAndLength(candidates, fitnessFunction);
-            Collections.reverse(candidates);
-            IChromosome<T> best = candidates.get(0);
-            firstParetoFront.add(best);
+            for (int i = 1; i < objectives.length; i++) {
+                if (objectives[i][objective] > objectives[best][objective]
+                        || (objectives[i][objective] == objectives[best][objective]
+                        && lengths[i] <= lengths[best])) {
+                    best = i;
+                }
+            }
+
+            isInFirstParetoFront[best] = true;
         }
 
-        paretoFronts.put(0, firstParetoFront);
+        // for all remaining test cases in T a non-dominated sort is used
+        final List<Integer> candidates = new ArrayList<>();
+        final List<double[]> candidateObjectives = new ArrayList<>();
+
+        for (int i = 0; i < objectives.length; i++) {
+            if (!isInFirstParetoFront[i]) {
+                candidates.add(i);
+                candidateObjectives.add(objectives[i]);
+            }
+        }
 
-        // for all remaining test cases in T a fast-non-dominated-sort is used
-        candidates.removeAll(firstParetoFront);
+        // derive the fronts F_1 .. F_d
+        final int[] candidateRanks = NonDominatedSorting.sort(candidateObjectives.toArray(new double[0][]));
 
-        if (!candidates.isEmpty()) {
-            // derive the fronts F_1 .. F_d
-            paretoFronts.putAll(GAUtils.fastNonDominatedSort(candidates, uncoveredFitnessFunctions));
+        for (int i = 0; i < candidateRanks.length; i++) {
+            ranks[candidates.get(i)] = candidateRanks[i];
         }
 
-        return paretoFronts;
+        return ranks;
     }
 
     /**
-     * Updates the archive as described in Algorithm 3.
+     * Updates the archive as described in Algorithm 3. The archive is updated incrementally, i.e.
+     * each chromosome only needs to be considered once. In addition, the covered fitness functions
+     * (targets) are removed from the uncovered fitness functions.
      *
-     * @param chromosomes The list of chromosomes that might be added to the archive.
+     * @param chromosomes The list of new chromosomes that might be added to the archive.
      */
     private void updateArchive(List<IChromosome<T>> chromosomes) {
 
+        final BitSet newlyCoveredTargets = new BitSet(fitnessFunctions.size());
+
         /*
         * For each fitness function (target) we store the best chromosome in the archive.
         * This is the chromosome with the best fitness values and the shortest length.
          */
-        for (IFitnessFunction<T> fitnessFunction : fitnessFunctions) {
+        for (IChromosome<T> chromosome : chromosomes) {
 
-            IChromosome<T> best = archive.get(fitnessFunction); // null if none present yet
-            double bestLength = best == null ? Double.POSITIVE_INFINITY : getChromosomeLength(best);
+            final int length = getChromosomeLength(chromosome);
+            final BitSet coveredTargets = new BitSet(fitnessFunctions.size());
 
-            boolean maximizing = fitnessFunction.isMaximizing();
+            for (int target = 0; target < fitnessFunctions.size(); target++) {
 
-            for (IChromosome<T> chromosome : chromosomes) {
+                // the chromosome can only replace a longer chromosome, covered or not
+                if (length >= archiveLengths[target]) {
+                    continue;
+                }
 
+                final IFitnessFunction<T> fitnessFunction = fitnessFunctions.get(target);
                 final double fitness = fitnessFunction.getNormalizedFitness(chromosome);
-                final double length = getChromosomeLength(chromosome);
 
-                if ((maximizing ? fitness == 1 : fitness == 0) && length < bestLength) {
-                    archive.put(fitnessFunction, chromosome);
-                    bestLength = length;
+                if (fitnessFunction.isMaximizing() ? fitness == 1 : fitness == 0) {
+                    archive.set(target, chromosome);
+                    archiveLengths[target] = length;
+                    coveredTargets.set(target);
                 }
             }
+
+            coveredTargets.and(uncoveredTargets);
+            newlyCoveredTargets.or(coveredTargets);
+            uncoveredTargets.andNot(coveredTargets);
+        }
+
+        if (!newlyCoveredTargets.isEmpty()) {
+            // we need to filter the covered fitness functions (targets)
+            uncoveredFitnessFunctions.clear();
+            for (int target = uncoveredTargets.nextSetBit(0); target >= 0;
+                 target = uncoveredTargets.nextSetBit(target + 1)) {
+                uncoveredFitnessFunctions.add(fitnessFunctions.get(target));
+            }
         }
     }
 
@@ -3,8 +3,10 @@ package org.mate.exploration.genetic.algorithm;
 import org.mate.MATE;
 import org.mate.exploration.genetic.chromosome.IChromosome;
 import org.mate.exploration.genetic.chromosome_factory.IChromosomeFactory;
+import org.mate.exploration.genetic.core.CrowdingDistance;
 import org.mate.exploration.genetic.core.GAUtils;
 import org.mate.exploration.genetic.core.GeneticAlgorithm;
+import org.mate.exploration.genetic.core.NonDominatedSorting;
 import org.mate.exploration.genetic.crossover.ICrossOverFunction;
 import org.mate.exploration.genetic.fitness.IFitnessFunction;
 import org.mate.exploration.genetic.mutation.IMutationFunction;
@@ -14,9 +16,7 @@ import org.mate.exploration.genetic.termination.ITerminationCondition;
 import org.mate.utils.Randomness;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Provides an implementation of the NSGA-II algorithm as proposed in the paper
@@ -77,16 +77,15 @@ public class NSGAII<T> extends GeneticAlgorithm<T> {
         * We only need to compute the fronts F (= F1, F2,...) and the crowding distances once
         * for the selection function.
          */
-        Map<Integer, List<IChromosome<T>>> paretoFronts
-                = GAUtils.fastNonDominatedSort(population, fitnessFunctions);
-        Map<IChromosome<T>, Integer> rankMap = GAUtils.getRankMap(paretoFronts);
-        Map<IChromosome<T>, Double> crowdingDistanceMap
-                = GAUtils.crowdingDistanceAssignment(population, fitnessFunctions);
+        final double[][] objectives
+                = NonDominatedSorting.getObjectiveMatrix(population, fitnessFunctions);
+        final int[] ranks = NonDominatedSorting.sort(objectives);
+        final double[] crowdingDistances = CrowdingDistance.getCrowdingDistances(objectives);
 
         while (newGeneration.size() < bigPopulationSize) {
 
             // performs a binary tournament selection that considers both rank and crowding distance
-            List<IChromosome<T>> parents = selectionFunction.select(population, rankMap, crowdingDistanceMap);
+            List<IChromosome<T>> parents = selectionFunction.select(population, ranks, crowdingDistances);
 
             List<IChromosome<T>> offsprings;
 
@@ -121,6 +120,21 @@ public class NSGAII<T> extends GeneticAlgorithm<T> {
         currentGenerationNumber++;
     }
 
+    /**
+     * Selects the parents for the next breeding in the steady-state mode by a binary tournament
+     * that considers both rank and crowding distance w.r.t. the current population.
+     *
+     * @return Returns the selected parents.
+     */
+    @Override
+    protected List<IChromosome<T>> selectParents() {
+        final double[][] objectives
+                = NonDominatedSorting.getObjectiveMatrix(population, fitnessFunctions);
+        final int[] ranks = NonDominatedSorting.sort(objectives);
+        final double[] crowdingDistances = CrowdingDistance.getCrowdingDistances(objectives);
+        return selectionFunction.select(population, ranks, crowdingDistances);
+    }
+
     /**
      * Retrieves the survivors for the next generation. In NSGA-II the new population is filled
      * with the solutions from the first pareto fronts. The (last) front that could not be fully
@@ -143,25 +157,9 @@ public class NSGAII<T> extends GeneticAlgorithm<T> {
         * solutions in the last front will be added to the new population until the population size
         * of N is reached.
          */
-        List<IChromosome<T>> survivors = new LinkedList<>();
-        Map<Integer, List<IChromosome<T>>> paretoFronts
-                = GAUtils.fastNonDominatedSort(population, fitnessFunctions);
-        int i = 1;
-
-        // add solutions until a front can't be fully accommodated
-        while (survivors.size() + paretoFronts.get(i).size() < populationSize) {
-            survivors.addAll(paretoFronts.get(i));
-            i = i + 1;
-        }
-
-        // sort last front in descending order of the crowding distance
-        List<IChromosome<T>> lastFront = paretoFronts.get(i);
-        final Map<IChromosome<T>, Double> crowdingDistanceMap
-                = GAUtils.crowdingDistanceAssignment(lastFront, fitnessFunctions);
-        lastFront = GAUtils.sortByCrowdingDistance(lastFront, crowdingDistanceMap);
-
-        // fill up the remaining slots with the least crowded chromosomes of the last front
-        survivors.addAll(lastFront.subList(0, populationSize - survivors.size()));
-        return survivors;
+        final double[][] objectives
+                = NonDominatedSorting.getObjectiveMatrix(population, fitnessFunctions);
+        final int[] ranks = NonDominatedSorting.sort(objectives);
+        return GAUtils.getSurvivors(population, objectives, ranks, populationSize);
     }
 }
@@ -14,6 +14,7 @@ import org.mate.exploration.genetic.mutation.IMutationFunction;
 import org.mate.exploration.genetic.selection.ISelectionFunction;
 import org.mate.exploration.genetic.selection.NoveltyRankSelectionFunction;
 import org.mate.exploration.genetic.termination.ITerminationCondition;
+import org.mate.exploration.genetic.util.novelty.CoverageNoveltyIndex;
 import org.mate.utils.Randomness;
 import org.mate.utils.coverage.Coverage;
 import org.mate.utils.coverage.CoverageUtils;
@@ -64,6 +65,12 @@ public class NoveltySearch<T> extends GeneticAlgorithm<T> {
      */
     private final NoveltyRankSelectionFunction<T> noveltySelectionFunction;
 
+    /**
+     * Computes the novelty on the device and maintains the novelty of the archive if enabled,
+     * otherwise {@code null}, see {@link Properties#LOCAL_NOVELTY()}.
+     */
+    private final CoverageNoveltyIndex<T> noveltyIndex;
+
     /**
      * Saves pairs where a pair associates a chromosome with its novelty value.
      */
@@ -107,6 +114,8 @@ public class NoveltySearch<T> extends GeneticAlgorithm<T> {
         this.noveltyThreshold = noveltyThreshold; // the novelty threshold T
         this.noveltyFitnessFunction = (NoveltyFitnessFunction<T>) fitnessFunctions.get(0);
         this.noveltySelectionFunction = (NoveltyRankSelectionFunction<T>) selectionFunction;
+        this.noveltyIndex = Properties.LOCAL_NOVELTY()
+                ? new CoverageNoveltyIndex<>(nearestNeighbours, archiveLimit) : null;
     }
 
     /**
@@ -120,8 +129,7 @@ public class NoveltySearch<T> extends GeneticAlgorithm<T> {
         for (int i = 0; i < populationSize; i++) {
             IChromosome<T> chromosome = chromosomeFactory.createChromosome();
 
-            double novelty = noveltyFitnessFunction
-                    .getFitness(chromosome, population, archive, nearestNeighbours);
+            double novelty = getNovelty(chromosome, population);
             noveltyPairs.add(new Pair<>(chromosome, novelty));
 
             population.add(chromosome);
@@ -175,8 +183,7 @@ public class NoveltySearch<T> extends GeneticAlgorithm<T> {
             * TODO: Should we exclude in the new generation the current population? At least this
             *  would be consistent with the invocation of getFitness() in createInitialPopulation().
              */
-            double novelty = noveltyFitnessFunction
-                    .getFitness(offspring, newGeneration, archive, nearestNeighbours);
+            double novelty = getNovelty(offspring, newGeneration);
             noveltyPairs.add(new Pair<>(offspring, novelty));
 
             newGeneration.add(offspring);
@@ -213,9 +220,9 @@ public class NoveltySearch<T> extends GeneticAlgorithm<T> {
         }
 
         MATE.log_acc("Novelty of chromosomes in archive: ");
-        List<Double> noveltyScores = noveltyFitnessFunction.getFitness(archive, nearestNeighbours);
+        List<Double> noveltyScores = getArchiveNovelty();
         for (int i = 0; i < archive.size(); i++) {
-            MATE.log_acc("Chromosome " + archive.get(i) + ": " + noveltyScores.get(0));
+            MATE.log_acc("Chromosome " + archive.get(i) + ": " + noveltyScores.get(i));
         }
 
         if (Properties.COVERAGE() != Coverage.NO_COVERAGE) {
@@ -228,6 +235,40 @@ public class NoveltySearch<T> extends GeneticAlgorithm<T> {
         }
     }
 
+    /**
+     * Computes the novelty of the given chromosome with respect to the given population and the
+     * archive.
+     *
+     * @param chromosome The chromosome for which the novelty should be computed.
+     * @param population The chromosomes to compare with besides the archive.
+     * @return Returns the novelty of the given chromosome.
+     */
+    private double getNovelty(IChromosome<T> chromosome, List<IChromosome<T>> population) {
+        if (noveltyIndex != null) {
+            return noveltyIndex.getNovelty(chromosome, population);
+        } else {
+            return noveltyFitnessFunction.getFitness(chromosome, population, archive, nearestNeighbours);
+        }
+    }
+
+    /**
+     * Computes the novelty of each chromosome in the archive with respect to the other chromosomes
+     * in the archive.
+     *
+     * @return Returns the novelty of the archive chromosomes in the order of the archive.
+     */
+    private List<Double> getArchiveNovelty() {
+        if (noveltyIndex != null) {
+            List<Double> noveltyScores = new ArrayList<>(archive.size());
+            for (int i = 0; i < archive.size(); i++) {
+                noveltyScores.add(noveltyIndex.getArchiveNovelty(i));
+            }
+            return noveltyScores;
+        } else {
+            return noveltyFitnessFunction.getFitness(archive, nearestNeighbours);
+        }
+    }
+
     /**
      * Updates the archive with the new chromosome if one of the following conditions hold:
      *
@@ -241,35 +282,58 @@ public class NoveltySearch<T> extends GeneticAlgorithm<T> {
 
         if (archive.isEmpty()) {
             // the first chromosome always goes into the archive
-            archive.add(chromosome);
+            addToArchive(chromosome, archive);
         } else {
 
             /*
              * Here we compute the novelty again, but only compare the chromosome with the
              * chromosomes from the archive and don't include the current population.
              */
-            double novelty = noveltyFitnessFunction
-                    .getFitness(chromosome, Collections.emptyList(), archive, nearestNeighbours);
+            double novelty = getNovelty(chromosome, Collections.emptyList());
 
             if (novelty > noveltyThreshold) {
 
                 if (archive.size() < archiveLimit) {
-                    archive.add(chromosome);
+                    addToArchive(chromosome, archive);
                 } else {
                     // replace 'worst' chromosome in the archive
-                    List<Double> noveltyScores = noveltyFitnessFunction.getFitness(archive, nearestNeighbours);
-                    double worstNovelty = Collections.min(noveltyScores);
-                    IChromosome<T> worst = archive.get(noveltyScores.indexOf(worstNovelty));
+                    int worstIndex;
+                    double worstNovelty;
+
+                    if (noveltyIndex != null) {
+                        // the least novel chromosome is maintained incrementally
+                        worstIndex = noveltyIndex.getLeastNovelArchiveEntry();
+                        worstNovelty = noveltyIndex.getArchiveNovelty(worstIndex);
+                    } else {
+                        List<Double> noveltyScores = getArchiveNovelty();
+                        worstNovelty = Collections.min(noveltyScores);
+                        worstIndex = noveltyScores.indexOf(worstNovelty);
+                    }
 
                     if (novelty > worstNovelty) {
                         // only replace if better than worst chromosome in the archive
-                        MATE.log_acc("Replacing chromosome " + worst + " with chromosome "
-                                + chromosome + " in archive!");
-                        archive.remove(worst);
-                        archive.add(chromosome);
+                        MATE.log_acc("Replacing chromosome " + archive.get(worstIndex)
+                                + " with chromosome " + chromosome + " in archive!");
+                        archive.set(worstIndex, chromosome);
+                        if (noveltyIndex != null) {
+                            noveltyIndex.set(worstIndex, chromosome);
+                        }
                     }
                 }
             }
         }
     }
+
+    /**
+     * Appends the given chromosome to the archive.
+     *
+     * @param chromosome The chromosome that should be added.
+     * @param archive The current archive.
+     */
+    private void addToArchive(IChromosome<T> chromosome, List<IChromosome<T>> archive) {
+        archive.add(chromosome);
+        if (noveltyIndex != null) {
+            noveltyIndex.add(chromosome);
+        }
+    }
 }
@@ -5,6 +5,7 @@ import org.mate.exploration.genetic.chromosome.IChromosome;
 import org.mate.exploration.genetic.chromosome_factory.IChromosomeFactory;
 import org.mate.exploration.genetic.core.GAUtils;
 import org.mate.exploration.genetic.core.GeneticAlgorithm;
+import org.mate.exploration.genetic.core.NonDominatedSorting;
 import org.mate.exploration.genetic.crossover.ICrossOverFunction;
 import org.mate.exploration.genetic.fitness.IFitnessFunction;
 import org.mate.exploration.genetic.mutation.IMutationFunction;
@@ -13,9 +14,7 @@ import org.mate.exploration.genetic.termination.ITerminationCondition;
 import org.mate.utils.Randomness;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Provides an implementation of the Sapienz approach as described in the paper
@@ -128,25 +127,9 @@ public class Sapienz<T> extends GeneticAlgorithm<T> {
          * solutions in the last front will be added to the new population until the population size
          * of N is reached.
          */
-        List<IChromosome<T>> survivors = new LinkedList<>();
-        Map<Integer, List<IChromosome<T>>> paretoFronts
-                = GAUtils.fastNonDominatedSort(population, fitnessFunctions);
-        int i = 1;
-
-        // add solutions until a front can't be fully accommodated
-        while (survivors.size() + paretoFronts.get(i).size() < populationSize) {
-            survivors.addAll(paretoFronts.get(i));
-            i = i + 1;
-        }
-
-        // sort last front in descending order of the crowding distance
-        List<IChromosome<T>> lastFront = paretoFronts.get(i);
-        final Map<IChromosome<T>, Double> crowdingDistanceMap
-                = GAUtils.crowdingDistanceAssignment(lastFront, fitnessFunctions);
-        lastFront = GAUtils.sortByCrowdingDistance(lastFront, crowdingDistanceMap);
-
-        // fill up the remaining slots with the least crowded chromosomes of the last front
-        survivors.addAll(lastFront.subList(0, populationSize - survivors.size()));
-        return survivors;
+        final double[][] objectives
+                = NonDominatedSorting.getObjectiveMatrix(population, fitnessFunctions);
+        final int[] ranks = NonDominatedSorting.sort(objectives);
+        return GAUtils.getSurvivors(population, objectives, ranks, populationSize);
     }
 }
@@ -1,5 +1,6 @@
 package org.mate.exploration.genetic.algorithm;
 
+import org.mate.exploration.genetic.chromosome.IChromosome;
 import org.mate.exploration.genetic.chromosome_factory.IChromosomeFactory;
 import org.mate.exploration.genetic.core.GeneticAlgorithm;
 import org.mate.exploration.genetic.crossover.ICrossOverFunction;
@@ -52,4 +53,41 @@ public class StandardGeneticAlgorithm<T> extends GeneticAlgorithm<T> {
                 pCrossover,
                 pMutate);
     }
+
+    /**
+     * Inserts the given offspring into the population in the steady-state mode. Once the
+     * population exceeds the {@link #populationSize}, the worst chromosome is dropped instead of
+     * the oldest one. Among equally fit chromosomes, the oldest one is dropped.
+     *
+     * @param offspring The executed offspring.
+     */
+    @Override
+    protected void insertOffspring(IChromosome<T> offspring) {
+
+        if (population.contains(offspring)) {
+            return;
+        }
+
+        population.add(offspring);
+
+        if (population.size() > populationSize) {
+
+            // like the selection functions, we only consider the first fitness function
+            final IFitnessFunction<T> fitnessFunction = fitnessFunctions.get(0);
+            final boolean isMaximizing = fitnessFunction.isMaximizing();
+
+            int worst = 0;
+            double worstFitness = fitnessFunction.getNormalizedFitness(population.get(0));
+
+            for (int i = 1; i < population.size(); i++) {
+                final double fitness = fitnessFunction.getNormalizedFitness(population.get(i));
+                if (isMaximizing ? fitness < worstFitness : fitness > worstFitness) {
+                    worst = i;
+                    worstFitness = fitness;
+                }
+            }
+
+            population.remove(worst);
+        }
+    }
 }
@@ -0,0 +1,170 @@
+package org.mate.exploration.genetic.algorithm;
+
+import org.mate.utils.Randomness;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The population T_k of a target k used by {@link MIO}. The population is a binary heap ordered
+ * by the given comparator such that the worst chromosome is at the root. Thus, the worst
+ * chromosome can be retrieved in constant time and replaced in logarithmic time.
+ *
+ * @param <E> The type of the chromosomes, e.g. a chromosome paired with its fitness.
+ */
+final class TargetPopulation<E> {
+
+    /**
+     * Compares two chromosomes, a chromosome that compares less is worse.
+     */
+    private final Comparator<? super E> comparator;
+
+    /**
+     * The chromosomes in heap order, the worst chromosome comes first.
+     */
+    private final List<E> heap = new ArrayList<>();
+
+    /**
+     * Creates a new empty target population.
+     *
+     * @param comparator Compares two chromosomes, a chromosome that compares less is worse.
+     */
+    TargetPopulation(final Comparator<? super E> comparator) {
+        this.comparator = comparator;
+    }
+
+    /**
+     * Returns the number of chromosomes.
+     *
+     * @return Returns the size of the population.
+     */
+    int size() {
+        return heap.size();
+    }
+
+    /**
+     * Checks whether the population is empty.
+     *
+     * @return Returns {@code true} if the population is empty, otherwise {@code false} is returned.
+     */
+    boolean isEmpty() {
+        return heap.isEmpty();
+    }
+
+    /**
+     * Returns the chromosome at the given position of the heap.
+     *
+     * @param index The position in the heap.
+     * @return Returns the chromosome at the given position.
+     */
+    E get(final int index) {
+        return heap.get(index);
+    }
+
+    /**
+     * Returns a random chromosome of the population.
+     *
+     * @return Returns a random chromosome.
+     */
+    E getRandom() {
+        return Randomness.randomElement(heap);
+    }
+
+    /**
+     * Returns the worst chromosome of the population.
+     *
+     * @return Returns the worst chromosome.
+     */
+    E getWorst() {
+
+        if (heap.isEmpty()) {
+            throw new IllegalStateException("Can't retrieve worst chromosome from empty archive!");
+        }
+
+        return heap.get(0);
+    }
+
+    /**
+     * Adds the given chromosome to the population.
+     *
+     * @param chromosome The chromosome to be added.
+     */
+    void add(final E chromosome) {
+        heap.add(chromosome);
+        siftUp(heap.size() - 1);
+    }
+
+    /**
+     * Removes the worst chromosome from the population.
+     */
+    void removeWorst() {
+
+        if (heap.isEmpty()) {
+            throw new IllegalStateException("Can't remove worst chromosome from empty archive!");
+        }
+
+        final E last = heap.remove(heap.size() - 1);
+
+        if (!heap.isEmpty()) {
+            heap.set(0, last);
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Removes all chromosomes from the population.
+     */
+    void clear() {
+        heap.clear();
+    }
+
+    /**
+     * Moves the chromosome at the given heap position up until its parent is not better.
+     *
+     * @param position The heap position.
+     */
+    private void siftUp(int position) {
+
+        final E chromosome = heap.get(position);
+
+        while (position > 0) {
+            final int parent = (position - 1) >>> 1;
+            if (comparator.compare(chromosome, heap.get(parent)) >= 0) {
+                break;
+            }
+            heap.set(position, heap.get(parent));
+            position = parent;
+        }
+
+        heap.set(position, chromosome);
+    }
+
+    /**
+     * Moves the chromosome at the given heap position down until none of its children is worse.
+     *
+     * @param position The heap position.
+     */
+    private void siftDown(int position) {
+
+        final E chromosome = heap.get(position);
+        final int size = heap.size();
+
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && comparator.compare(heap.get(child + 1), heap.get(child)) < 0) {
+                child++;
+            }
+            if (comparator.compare(heap.get(child), chromosome) >= 0) {
+                break;
+            }
+            heap.set(position, heap.get(child));
+            position = child;
+        }
+
+        heap.set(position, chromosome);
+    }
+}
@@ -0,0 +1,135 @@
+package org.mate.exploration.genetic.algorithm;
+
+import org.mate.utils.IndexedMinPriorityQueue;
+import org.mate.utils.Randomness;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps track of the sampling counters c_k of the targets used by {@link MIO} and selects the
+ * target from whose population T_k the next chromosome is sampled, see section 3.3 of the MIO
+ * paper. The targets whose population is neither empty nor covered are kept in a priority queue
+ * ordered by their sampling counter, thus the target with the lowest sampling counter is picked in
+ * constant time.
+ */
+final class TargetSelector {
+
+    /**
+     * The sampling counter c_k of each target k.
+     */
+    private final int[] samplingCounters;
+
+    /**
+     * The targets k where T_k is neither empty nor covered ordered by the sampling counter c_k.
+     */
+    private final IndexedMinPriorityQueue uncoveredTargets;
+
+    /**
+     * The targets k that are covered, a covered target never becomes uncovered again.
+     */
+    private final List<Integer> coveredTargets = new ArrayList<>();
+
+    /**
+     * Whether a target k is covered.
+     */
+    private final boolean[] isCovered;
+
+    /**
+     * Creates a new target selector where all sampling counters are initially zero and no target
+     * is selectable.
+     *
+     * @param numberOfTargets The number of targets.
+     */
+    TargetSelector(final int numberOfTargets) {
+        samplingCounters = new int[numberOfTargets];
+        uncoveredTargets = new IndexedMinPriorityQueue(numberOfTargets);
+        isCovered = new boolean[numberOfTargets];
+    }
+
+    /**
+     * Returns the sampling counter c_k of the given target.
+     *
+     * @param target The index of the target k.
+     * @return Returns the sampling counter.
+     */
+    int getSamplingCounter(final int target) {
+        return samplingCounters[target];
+    }
+
+    /**
+     * Checks whether the given target is covered.
+     *
+     * @param target The index of the target k.
+     * @return Returns {@code true} if the target is covered, otherwise {@code false} is returned.
+     */
+    boolean isCovered(final int target) {
+        return isCovered[target];
+    }
+
+    /**
+     * Resets the sampling counter c_k of the given target after a chromosome has been added to
+     * the population T_k. Hence, the target becomes selectable.
+     *
+     * @param target The index of the target k.
+     */
+    void resetSamplingCounter(final int target) {
+        samplingCounters[target] = 0;
+        if (!isCovered[target]) {
+            uncoveredTargets.put(target, 0);
+        }
+    }
+
+    /**
+     * Increases the sampling counter c_k of the given target after a chromosome has been sampled
+     * from the population T_k.
+     *
+     * @param target The index of the target k.
+     */
+    void increaseSamplingCounter(final int target) {
+        samplingCounters[target]++;
+        if (!isCovered[target]) {
+            uncoveredTargets.put(target, samplingCounters[target]);
+        }
+    }
+
+    /**
+     * Marks the given target as covered.
+     *
+     * @param target The index of the target k.
+     */
+    void cover(final int target) {
+        if (!isCovered[target]) {
+            isCovered[target] = true;
+            coveredTargets.add(target);
+            uncoveredTargets.remove(target);
+        }
+    }
+
+    /**
+     * Picks the uncovered target where the sampling counter has the lowest value. Targets having
+     * the same sampling counter are ordered by their index. If all selectable targets are covered,
+     * we randomly select a covered target.
+     *
+     * @return Returns the index of the selected target.
+     */
+    int getBestTarget() {
+
+        if (uncoveredTargets.isEmpty()) {
+            // all non empty testing targets are covered, thus pick one randomly among them
+            return Randomness.randomElement(coveredTargets);
+        } else {
+            return uncoveredTargets.peek();
+        }
+    }
+
+    /**
+     * Checks whether all selectable targets are covered.
+     *
+     * @return Returns {@code true} if no uncovered target is selectable, otherwise {@code false}
+     *          is returned.
+     */
+    boolean isEveryTargetCovered() {
+        return uncoveredTargets.isEmpty();
+    }
+}
@@ -51,6 +51,7 @@ import org.mate.exploration.genetic.fitness.GenotypePhenotypeMappedFitnessFuncti
 import org.mate.exploration.genetic.fitness.IFitnessFunction;
 import org.mate.exploration.genetic.fitness.LineCoverageFitnessFunction;
 import org.mate.exploration.genetic.fitness.LineCoveredPercentageFitnessFunction;
+import org.mate.exploration.genetic.fitness.MemoizedFitnessFunction;
 import org.mate.exploration.genetic.fitness.MethodCoverageFitnessFunction;
 import org.mate.exploration.genetic.fitness.NoveltyFitnessFunction;
 import org.mate.exploration.genetic.fitness.SOSMNoveltyFitnessFunction;
@@ -911,13 +912,13 @@ public class GeneticAlgorithmProvider {
                 for (int i = 0; i < rawFitnessFunctions.length; i++) {
                     final IFitnessFunction<T> fitnessFunction
                             = initializeGenoToPhenoFitnessFunction(rawFitnessFunctions[i], i);
-                    fitnessFunctions.add(fitnessFunction);
+                    fitnessFunctions.add(memoize(rawFitnessFunctions[i], fitnessFunction));
                 }
             } else {
                 for (int i = 0; i < rawFitnessFunctions.length; i++) {
                     final IFitnessFunction<T> fitnessFunction
                             = initializeFitnessFunction(rawFitnessFunctions[i], i);
-                    fitnessFunctions.add(fitnessFunction);
+                    fitnessFunctions.add(memoize(rawFitnessFunctions[i], fitnessFunction));
                 }
             }
 
@@ -925,6 +926,39 @@ public class GeneticAlgorithmProvider {
         }
     }
 
+    /**
+     * Memoizes the given fitness function if enabled. Fitness functions whose fitness value depends
+     * on the population or an archive, i.e. the novelty-based fitness functions, are not memoized.
+     * Neither are the multi-objective fitness functions, which cache their fitness values already.
+     *
+     * @param type The fitness function type.
+     * @param fitnessFunction The initialized fitness function.
+     * @param <T> The type of the chromosome used by the fitness function.
+     * @return Returns the memoized or the given fitness function.
+     */
+    private <T> IFitnessFunction<T> memoize(final FitnessFunction type,
+                                            final IFitnessFunction<T> fitnessFunction) {
+
+        if (!org.mate.Properties.FITNESS_MEMOIZATION()) {
+            return fitnessFunction;
+        }
+
+        switch (type) {
+            case NOVELTY:
+            case SOSM_NOVELTY:
+            case SOSM_NOVELTY_WITH_COVERAGE:
+                return fitnessFunction;
+            case BRANCH_MULTI_OBJECTIVE:
+            case BRANCH_DISTANCE_MULTI_OBJECTIVE:
+            case BASIC_BLOCK_MULTI_OBJECTIVE:
+            case LINE_PERCENTAGE_COVERAGE:
+                // these fitness functions share an objective matrix, which caches the fitness values
+                return fitnessFunction;
+            default:
+                return new MemoizedFitnessFunction<>(fitnessFunction);
+        }
+    }
+
     /**
      * Initializes a single fitness function.
      *
@@ -0,0 +1,254 @@
+package org.mate.exploration.genetic.core;
+
+/**
+ * Computes the crowding distances as described in the NSGA-II paper on the bottom of page 185
+ * based on a precomputed objective matrix, see {@link NonDominatedSorting#getObjectiveMatrix}.
+ * <p>
+ * Instead of re-sorting the chromosomes for every objective and re-requesting their fitness values,
+ * a single permutation of row indices is sorted by the respective column of the matrix. The
+ * crowding distances are returned as an array aligned with the rows of the matrix, which in turn
+ * allows to perform the survivor selection of NSGA-II and MOSA solely on indices.
+ */
+public final class CrowdingDistance {
+
+    private CrowdingDistance() {
+        throw new UnsupportedOperationException("Utility class!");
+    }
+
+    /**
+     * Computes the crowding distance of every solution described by the given objective matrix.
+     *
+     * @param objectives The objective matrix, a higher value is considered better.
+     * @return Returns the crowding distance of each solution (row).
+     */
+    public static double[] getCrowdingDistances(final double[][] objectives) {
+
+        final int[] solutions = new int[objectives.length];
+
+        for (int i = 0; i < solutions.length; i++) {
+            solutions[i] = i;
+        }
+
+        return getCrowdingDistances(objectives, solutions);
+    }
+
+    /**
+     * Computes the crowding distance of the given solutions, i.e. the distances only consider the
+     * given rows of the objective matrix.
+     *
+     * @param objectives The objective matrix, a higher value is considered better.
+     * @param solutions The rows of the solutions for which the crowding distance should be computed.
+     * @return Returns the crowding distance of each given solution in the order of the solutions.
+     */
+    public static double[] getCrowdingDistances(final double[][] objectives, final int[] solutions) {
+
+        final int length = solutions.length;
+        final double[] crowdingDistances = new double[length];
+
+        if (length == 0) {
+            return crowdingDistances;
+        }
+
+        final int numberOfObjectives = objectives[solutions[0]].length;
+        final double[] values = new double[length];
+        final int[] order = new int[length];
+        final int[] buffer = new int[length];
+
+        for (int i = 0; i < length; i++) {
+            order[i] = i;
+        }
+
+        for (int objective = 0; objective < numberOfObjectives; objective++) {
+
+            for (int i = 0; i < length; i++) {
+                values[i] = objectives[solutions[i]][objective];
+            }
+
+            // sort in ascending order of magnitude, i.e. from the worst to the best solution
+            sort(order, buffer, values);
+
+            final double worstValue = values[order[0]];
+            final double bestValue = values[order[length - 1]];
+
+            // set crowding distance of boundary solutions to infinity (these solutions will be always included)
+            int start = 0;
+            int end = length - 1;
+
+            for (int i = 0; i < length; i++) {
+
+                final double value = values[order[i]];
+
+                if (value == worstValue) {
+                    crowdingDistances[order[i]] = Double.POSITIVE_INFINITY;
+                    start = i;
+                } else if (value == bestValue) {
+                    crowdingDistances[order[i]] = Double.POSITIVE_INFINITY;
+                    if (i < end) {
+                        end = i;
+                    }
+                }
+            }
+
+            /*
+             * Since the matrix contains normalised fitness values bounded in [0,1], the term
+             * (fmax - fmin) of the original formula gets resolved to 1 - 0 = 1, hence no division.
+             */
+            for (int i = start + 1; i < end; i++) {
+                crowdingDistances[order[i]] = crowdingDistances[order[i]]
+                        + values[order[i + 1]] - values[order[i - 1]];
+            }
+        }
+
+        return crowdingDistances;
+    }
+
+    /**
+     * Selects the survivors for the next generation as in NSGA-II. The survivors are filled up
+     * with the solutions of the first pareto fronts. Only the least crowded solutions of the
+     * (last) front that can't be fully accommodated are selected.
+     *
+     * @param objectives The objective matrix used for the crowding distances of the last front.
+     * @param ranks The rank of each solution, a lower rank is better.
+     * @param size The number of survivors.
+     * @return Returns the rows of the survivors ordered by their rank.
+     */
+    public static int[] getSurvivors(final double[][] objectives, final int[] ranks, final int size) {
+
+        final int length = ranks.length;
+        int minRank = Integer.MAX_VALUE;
+        int maxRank = Integer.MIN_VALUE;
+
+        for (final int rank : ranks) {
+            minRank = Math.min(minRank, rank);
+            maxRank = Math.max(maxRank, rank);
+        }
+
+        final int[] order = sortByRank(ranks, minRank, maxRank);
+
+        if (length < size) {
+            // all solutions survive
+            return order;
+        }
+
+        final int[] survivors = new int[size];
+        int numberOfSurvivors = 0;
+        int frontStart = 0;
+
+        // add solutions until a front can't be fully accommodated
+        while (numberOfSurvivors < size) {
+
+            int frontEnd = frontStart;
+
+            while (frontEnd < length && ranks[order[frontEnd]] == ranks[order[frontStart]]) {
+                frontEnd++;
+            }
+
+            final int frontSize = frontEnd - frontStart;
+
+            if (numberOfSurvivors + frontSize < size) {
+                System.arraycopy(order, frontStart, survivors, numberOfSurvivors, frontSize);
+                numberOfSurvivors += frontSize;
+                frontStart = frontEnd;
+                continue;
+            }
+
+            // sort last front in descending order of the crowding distance
+            final int[] lastFront = new int[frontSize];
+            System.arraycopy(order, frontStart, lastFront, 0, frontSize);
+            final double[] crowdingDistances = getCrowdingDistances(objectives, lastFront);
+            final int[] lastFrontOrder = new int[frontSize];
+
+            for (int i = 0; i < frontSize; i++) {
+                lastFrontOrder[i] = i;
+                crowdingDistances[i] = -crowdingDistances[i];
+            }
+
+            sort(lastFrontOrder, new int[frontSize], crowdingDistances);
+
+            // fill up the remaining slots with the least crowded solutions of the last front
+            for (int i = 0; numberOfSurvivors < size; i++) {
+                survivors[numberOfSurvivors++] = lastFront[lastFrontOrder[i]];
+            }
+        }
+
+        return survivors;
+    }
+
+    /**
+     * Sorts the solutions in ascending order of their rank while preserving their relative order
+     * within a rank (counting sort).
+     *
+     * @param ranks The rank of each solution.
+     * @param minRank The minimal rank.
+     * @param maxRank The maximal rank.
+     * @return Returns the solutions sorted by their rank.
+     */
+    private static int[] sortByRank(final int[] ranks, final int minRank, final int maxRank) {
+
+        final int[] order = new int[ranks.length];
+
+        if (ranks.length == 0) {
+            return order;
+        }
+
+        final int[] offsets = new int[maxRank - minRank + 2];
+
+        for (final int rank : ranks) {
+            offsets[rank - minRank + 1]++;
+        }
+
+        for (int i = 1; i < offsets.length; i++) {
+            offsets[i] += offsets[i - 1];
+        }
+
+        for (int i = 0; i < ranks.length; i++) {
+            order[offsets[ranks[i] - minRank]++] = i;
+        }
+
+        return order;
+    }
+
+    /**
+     * Sorts the given permutation in ascending order of the given values. The sort is stable, i.e.
+     * the permutation of a previous objective decides about solutions having the same value.
+     *
+     * @param order The permutation of indices into the values, which is sorted in place.
+     * @param buffer A buffer of the same length as the permutation.
+     * @param values The values to sort by.
+     */
+    private static void sort(final int[] order, final int[] buffer, final double[] values) {
+
+        final int length = order.length;
+        int[] source = order;
+        int[] target = buffer;
+
+        // bottom-up merge sort
+        for (int width = 1; width < length; width *= 2) {
+
+            for (int low = 0; low < length; low += 2 * width) {
+
+                final int middle = Math.min(low + width, length);
+                final int high = Math.min(low + 2 * width, length);
+                int left = low;
+                int right = middle;
+
+                for (int i = low; i < high; i++) {
+                    if (left < middle && (right >= high
+                            || Double.compare(values[source[right]], values[source[left]]) >= 0)) {
+                        target[i] = source[left++];
+                    } else {
+                        target[i] = source[right++];
+                    }
+                }
+            }
+
+            final int[] swap = source;
+            source = target;
+            target = swap;
+        }
+
+        if (source != order) {
+            System.arraycopy(source, 0, order, 0, length);
+        }
+    }
+}
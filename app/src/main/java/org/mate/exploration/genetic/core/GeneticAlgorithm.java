@@ -10,12 +10,23 @@ import org.mate.exploration.genetic.fitness.IFitnessFunction;
 import org.mate.exploration.genetic.mutation.IMutationFunction;
 import org.mate.exploration.genetic.selection.ISelectionFunction;
 import org.mate.exploration.genetic.termination.ITerminationCondition;
+import org.mate.utils.MateInterruptedException;
+import org.mate.utils.MersenneTwister;
 import org.mate.utils.Randomness;
 import org.mate.utils.coverage.Coverage;
 import org.mate.utils.coverage.CoverageUtils;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Provides an abstraction for the genetic algorithm.
@@ -24,6 +35,12 @@ import java.util.List;
  */
 public abstract class GeneticAlgorithm<T> implements IGeneticAlgorithm<T> {
 
+    /**
+     * How long (in seconds) to wait for the bookkeeping thread of the steady-state mode to
+     * terminate after the evolution has ended.
+     */
+    private static final long BOOKKEEPING_TERMINATION_TIMEOUT = 30;
+
     /**
      * The used chromosome factory, see {@link IChromosomeFactory}.
      */
@@ -153,8 +170,12 @@ public abstract class GeneticAlgorithm<T> implements IGeneticAlgorithm<T> {
     @Override
     public void run() {
         createInitialPopulation();
-        while (!terminationCondition.isMet()) {
-            evolve();
+        if (Properties.STEADY_STATE()) {
+            evolveSteadyState();
+        } else {
+            while (!terminationCondition.isMet()) {
+                evolve();
+            }
         }
     }
 
@@ -235,6 +256,227 @@ public abstract class GeneticAlgorithm<T> implements IGeneticAlgorithm<T> {
         currentGenerationNumber++;
     }
 
+    /**
+     * Evolves the population in a steady-state fashion until the termination condition is met.
+     * The evolution is split into a two-stage pipeline: The calling thread executes the offsprings
+     * on the device, while a separate bookkeeping thread inserts the executed offsprings into the
+     * population and prepares the next breeding, i.e. selects the parents and decides about
+     * crossover and mutation. Hence, the bookkeeping of the next offspring overlaps with the
+     * execution of the current offspring.
+     * <p>
+     * The breeding i + 1 is always prepared based on the population containing the offsprings of
+     * the breedings 0 to i - 1, independent of the timing of the two threads. Since the
+     * bookkeeping thread uses its own random number generator that is seeded from the main one,
+     * a run with a fixed {@link Properties#RANDOM_SEED()} remains reproducible. The termination
+     * condition is checked before each breeding, see {@link Properties#STEADY_STATE()}.
+     */
+    protected void evolveSteadyState() {
+
+        switch (Properties.ALGORITHM()) {
+            case STANDARD_GA:
+            case NSGAII:
+            case MOSA:
+                break;
+            default:
+                throw new IllegalStateException("Steady-state mode not supported for "
+                        + Properties.ALGORITHM() + "!");
+        }
+
+        if (Properties.GENO_TO_PHENO_TYPE_MAPPING()) {
+            // the genotype phenotype mapping requires the device for evaluating the fitness
+            throw new IllegalStateException("Steady-state mode not supported for a genotype "
+                    + "phenotype mapping!");
+        }
+
+        MATE.log_acc("Evolving population in steady-state mode...");
+
+        /*
+        * There are at most two pending breedings, the one that is currently executed and the one
+        * prepared in the meantime. The end of the evolution is signaled by an empty list.
+         */
+        final BlockingQueue<Breeding<T>> breedings = new ArrayBlockingQueue<>(2);
+        final BlockingQueue<List<IChromosome<T>>> offsprings = new ArrayBlockingQueue<>(1);
+        final Random random = new MersenneTwister(Randomness.getRnd().nextLong());
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final Future<Void> bookkeeping = executor.submit(() -> {
+
+            Randomness.registerThreadRandom(random);
+
+            try {
+                breedings.put(breed());
+                breedings.put(breed());
+
+                int numberOfOffsprings = 0;
+                List<IChromosome<T>> executed;
+
+                while (!(executed = offsprings.take()).isEmpty()) {
+
+                    for (IChromosome<T> offspring : executed) {
+                        insertOffspring(offspring);
+                        if (++numberOfOffsprings % populationSize == 0) {
+                            completeGeneration();
+                        }
+                    }
+
+                    breedings.put(breed());
+                }
+            } finally {
+                Randomness.unregisterThreadRandom();
+            }
+
+            return null;
+        });
+
+        try {
+            while (!terminationCondition.isMet()) {
+
+                Breeding<T> breeding;
+
+                while ((breeding = breedings.poll(1, TimeUnit.SECONDS)) == null) {
+                    checkBookkeeping(bookkeeping);
+                }
+
+                final List<IChromosome<T>> executed = execute(breeding);
+
+                while (!offsprings.offer(executed, 1, TimeUnit.SECONDS)) {
+                    checkBookkeeping(bookkeeping);
+                }
+            }
+
+            // wait until the last offsprings have been inserted into the population
+            while (!offsprings.offer(Collections.emptyList(), 1, TimeUnit.SECONDS)) {
+                checkBookkeeping(bookkeeping);
+            }
+
+            bookkeeping.get();
+        } catch (InterruptedException e) {
+            throw new MateInterruptedException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Steady-state bookkeeping failed!", e.getCause());
+        } finally {
+            executor.shutdownNow();
+            awaitTermination(executor);
+        }
+    }
+
+    /**
+     * Checks whether the bookkeeping thread of the steady-state mode terminated prematurely, i.e.
+     * before the end of the evolution has been signaled.
+     *
+     * @param bookkeeping The bookkeeping task.
+     * @throws ExecutionException If the bookkeeping thread terminated exceptionally.
+     * @throws InterruptedException If the current thread has been interrupted.
+     */
+    private static void checkBookkeeping(Future<Void> bookkeeping)
+            throws ExecutionException, InterruptedException {
+
+        if (bookkeeping.isDone()) {
+            bookkeeping.get();
+            throw new IllegalStateException("Steady-state bookkeeping terminated prematurely!");
+        }
+    }
+
+    /**
+     * Waits until the bookkeeping thread of the steady-state mode has terminated, such that it
+     * doesn't touch the population or request fitness values after the evolution has ended.
+     *
+     * @param executor The executor running the bookkeeping thread.
+     */
+    private static void awaitTermination(ExecutorService executor) {
+        try {
+            if (!executor.awaitTermination(BOOKKEEPING_TERMINATION_TIMEOUT, TimeUnit.SECONDS)) {
+                MATE.log_warn("Steady-state bookkeeping didn't terminate in time!");
+            }
+        } catch (InterruptedException e) {
+            // preserve the interrupt for the caller
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Prepares the next breeding without requiring the device, i.e. selects the parents and
+     * decides whether the parents undergo a crossover and whether the offsprings are mutated.
+     *
+     * @return Returns the next breeding.
+     */
+    private Breeding<T> breed() {
+
+        final List<IChromosome<T>> parents = selectParents();
+        final boolean crossover = Randomness.getRnd().nextDouble() < pCrossover;
+        final boolean[] mutate = new boolean[parents.size()];
+
+        for (int i = 0; i < mutate.length; i++) {
+            mutate[i] = Randomness.getRnd().nextDouble() < pMutate;
+        }
+
+        return new Breeding<>(parents, crossover, mutate);
+    }
+
+    /**
+     * Executes the given breeding on the device, i.e. performs the crossover and mutation.
+     *
+     * @param breeding The breeding to be executed.
+     * @return Returns the resulting offsprings.
+     */
+    private List<IChromosome<T>> execute(Breeding<T> breeding) {
+
+        final List<IChromosome<T>> offsprings = breeding.crossover
+                ? crossOverFunction.cross(breeding.parents) : breeding.parents;
+        final List<IChromosome<T>> executed = new ArrayList<>(offsprings.size());
+
+        for (int i = 0; i < offsprings.size(); i++) {
+            IChromosome<T> offspring = offsprings.get(i);
+            if (i < breeding.mutate.length && breeding.mutate[i]) {
+                offspring = mutationFunction.mutate(offspring);
+            }
+            executed.add(offspring);
+        }
+
+        return executed;
+    }
+
+    /**
+     * Selects the parents for the next breeding in the steady-state mode.
+     *
+     * @return Returns the selected parents.
+     */
+    protected List<IChromosome<T>> selectParents() {
+        return selectionFunction.select(population, fitnessFunctions);
+    }
+
+    /**
+     * Inserts the given offspring into the population in the steady-state mode. By default, the
+     * offspring is added and the survivors are determined once the population exceeds the
+     * {@link #populationSize}. Offsprings that are already contained in the population, e.g.
+     * parents that neither underwent crossover nor mutation, are ignored.
+     *
+     * @param offspring The executed offspring.
+     */
+    protected void insertOffspring(IChromosome<T> offspring) {
+
+        if (population.contains(offspring)) {
+            return;
+        }
+
+        population.add(offspring);
+
+        if (population.size() > populationSize) {
+            List<IChromosome<T>> survivors = getGenerationSurvivors();
+            population.clear();
+            population.addAll(survivors);
+        }
+    }
+
+    /**
+     * Completes a generation in the steady-state mode, i.e. after {@link #populationSize}
+     * offsprings have been inserted into the population.
+     */
+    protected void completeGeneration() {
+        logCurrentFitness();
+        currentGenerationNumber++;
+    }
+
     /**
      * Determines the survivors of the current generation. By default, the newly created offsprings
      * constitute the survivors.
@@ -310,4 +552,34 @@ public abstract class GeneticAlgorithm<T> implements IGeneticAlgorithm<T> {
             }
         }
     }
+
+    /**
+     * Describes a breeding that has been prepared by the bookkeeping thread and is executed on
+     * the device in the steady-state mode.
+     *
+     * @param <T> The type of the chromosomes.
+     */
+    private static final class Breeding<T> {
+
+        /**
+         * The selected parents.
+         */
+        private final List<IChromosome<T>> parents;
+
+        /**
+         * Whether the parents undergo a crossover.
+         */
+        private final boolean crossover;
+
+        /**
+         * Whether the i-th offspring is mutated.
+         */
+        private final boolean[] mutate;
+
+        private Breeding(List<IChromosome<T>> parents, boolean crossover, boolean[] mutate) {
+            this.parents = parents;
+            this.crossover = crossover;
+            this.mutate = mutate;
+        }
+    }
 }
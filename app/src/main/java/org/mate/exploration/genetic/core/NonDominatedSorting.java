@@ -0,0 +1,197 @@
+package org.mate.exploration.genetic.core;
+
+import org.mate.exploration.genetic.chromosome.IChromosome;
+import org.mate.exploration.genetic.fitness.IFitnessFunction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sorts solutions into pareto fronts based on a precomputed objective matrix. This implements the
+ * efficient non-dominated sort with binary search (ENS-BS), see Zhang et al., "An Efficient
+ * Approach to Nondominated Sorting for Evolutionary Multiobjective Optimization", IEEE TEVC 2015.
+ * <p>
+ * The solutions are sorted lexicographically first, such that a solution can only be dominated by
+ * a preceding solution. Then, each solution is assigned to the first front, which is determined by
+ * a binary search, that doesn't contain a solution dominating it. In contrast to the textbook
+ * fast-non-dominated-sort, which compares all pairs of solutions, this typically requires far
+ * fewer comparisons and doesn't need any bookkeeping beyond the fronts.
+ */
+public final class NonDominatedSorting {
+
+    private NonDominatedSorting() {
+        throw new UnsupportedOperationException("Utility class!");
+    }
+
+    /**
+     * Computes the objective matrix of the given population, i.e. the i-th row contains the
+     * normalised fitness values of the i-th chromosome. The fitness values of minimising fitness
+     * functions are negated such that a higher value is always better.
+     *
+     * @param population The given population.
+     * @param fitnessFunctions The list of objective (fitness) functions.
+     * @param <T> The type of the chromosomes.
+     * @return Returns the objective matrix of the given population.
+     */
+    public static <T> double[][] getObjectiveMatrix(final List<IChromosome<T>> population,
+                                                    final List<IFitnessFunction<T>> fitnessFunctions) {
+
+        final int numberOfObjectives = fitnessFunctions.size();
+        final double[][] objectives = new double[population.size()][numberOfObjectives];
+
+        for (int objective = 0; objective < numberOfObjectives; objective++) {
+
+            final IFitnessFunction<T> fitnessFunction = fitnessFunctions.get(objective);
+            final boolean isMaximizing = fitnessFunction.isMaximizing();
+
+            for (int i = 0; i < objectives.length; i++) {
+                final double fitness = fitnessFunction.getNormalizedFitness(population.get(i));
+                objectives[i][objective] = isMaximizing ? fitness : -fitness;
+            }
+        }
+
+        return objectives;
+    }
+
+    /**
+     * Sorts the solutions described by the given objective matrix into pareto fronts.
+     *
+     * @param objectives The objective matrix, see {@link #getObjectiveMatrix(List, List)}.
+     * @return Returns for each solution its rank, i.e. the index of its pareto front starting at 1.
+     */
+    public static int[] sort(final double[][] objectives) {
+
+        final int[] ranks = new int[objectives.length];
+        final Integer[] order = new Integer[objectives.length];
+
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+
+        // a solution can't be dominated by any succeeding solution
+        Arrays.sort(order, (i, j) -> compareLexicographically(objectives[j], objectives[i]));
+
+        final List<List<Integer>> fronts = new ArrayList<>();
+
+        for (final int solution : order) {
+
+            // the fronts dominating the solution form a prefix of all fronts
+            int low = 0;
+            int high = fronts.size();
+
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                if (isDominated(objectives, fronts.get(middle), solution)) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+
+            if (low == fronts.size()) {
+                fronts.add(new ArrayList<>());
+            }
+
+            fronts.get(low).add(solution);
+            ranks[solution] = low + 1;
+        }
+
+        return ranks;
+    }
+
+    /**
+     * Groups the given population into pareto fronts according to the given ranks.
+     *
+     * @param population The given population.
+     * @param ranks The rank of each chromosome, see {@link #sort(double[][])}.
+     * @param <T> The type of the chromosomes.
+     * @return Returns the pareto fronts, i.e. a mapping of a rank to the chromosomes having that
+     *          rank in the order of the population.
+     */
+    public static <T> Map<Integer, List<IChromosome<T>>> getParetoFronts(
+            final List<IChromosome<T>> population, final int[] ranks) {
+
+        final Map<Integer, List<IChromosome<T>>> paretoFronts = new HashMap<>();
+
+        for (int i = 0; i < ranks.length; i++) {
+            List<IChromosome<T>> paretoFront = paretoFronts.get(ranks[i]);
+            if (paretoFront == null) {
+                paretoFront = new ArrayList<>();
+                paretoFronts.put(ranks[i], paretoFront);
+            }
+            paretoFront.add(population.get(i));
+        }
+
+        return paretoFronts;
+    }
+
+    /**
+     * Checks whether the given solution is dominated by any solution of the given front. The front
+     * is traversed backwards, since the lastly added solutions are the most similar ones.
+     *
+     * @param objectives The objective matrix.
+     * @param front The solutions of the front.
+     * @param solution The given solution.
+     * @return Returns {@code true} if the solution is dominated, otherwise {@code false}.
+     */
+    private static boolean isDominated(final double[][] objectives, final List<Integer> front,
+                                       final int solution) {
+
+        for (int i = front.size() - 1; i >= 0; i--) {
+            if (dominates(objectives[front.get(i)], objectives[solution])) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks whether the first solution dominates the second solution, i.e. whether the first
+     * solution is at least as good in every objective and better in at least one objective.
+     *
+     * @param first The objective values of the first solution.
+     * @param second The objective values of the second solution.
+     * @return Returns {@code true} if the first solution dominates the second solution, otherwise
+     *          {@code false} is returned.
+     */
+    private static boolean dominates(final double[] first, final double[] second) {
+
+        boolean isBetterInOneObjective = false;
+
+        for (int objective = 0; objective < first.length; objective++) {
+            if (first[objective] < second[objective]) {
+                return false;
+            } else if (first[objective] > second[objective]) {
+                isBetterInOneObjective = true;
+            }
+        }
+
+        return isBetterInOneObjective;
+    }
+
+    /**
+     * Compares the objective values of two solutions lexicographically.
+     *
+     * @param first The objective values of the first solution.
+     * @param second The objective values of the second solution.
+     * @return Returns a negative value if the first solution precedes the second solution, a
+     *          positive value if the second solution precedes the first solution and {@code 0} if
+     *          both solutions have the same objective values.
+     */
+    private static int compareLexicographically(final double[] first, final double[] second) {
+
+        for (int objective = 0; objective < first.length; objective++) {
+            if (first[objective] < second[objective]) {
+                return -1;
+            } else if (first[objective] > second[objective]) {
+                return 1;
+            }
+        }
+
+        return 0;
+    }
+}
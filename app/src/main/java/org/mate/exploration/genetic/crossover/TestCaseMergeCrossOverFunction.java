@@ -9,6 +9,7 @@ import org.mate.interaction.action.Action;
 import org.mate.model.Edge;
 import org.mate.model.TestCase;
 import org.mate.model.fsm.surrogate.SurrogateModel;
+import org.mate.utils.ExecutionMemo;
 import org.mate.utils.FitnessUtils;
 import org.mate.utils.Optional;
 import org.mate.utils.Randomness;
@@ -193,7 +194,29 @@ public class TestCaseMergeCrossOverFunction implements ICrossOverFunction<TestCa
         testCase.getActionSequence().addAll(all);
 
         if (executeActions) {
-            TestCase executedTestCase = TestCase.fromDummy(testCase);
+
+            ExecutionMemo.Key key = null;
+            TestCase executedTestCase;
+
+            /*
+            * The outcome of the execution only depends on the merged actions if there is no need to
+            * fill up the test case with random actions.
+             */
+            if (Properties.EXECUTION_MEMO() && !Properties.SURROGATE_MODEL() && all.size() >= finalSize) {
+
+                Registry.getUiAbstractionLayer().resetApp();
+                key = ExecutionMemo.newKey(all.subList(0, finalSize));
+                IChromosome<TestCase> recorded = ExecutionMemo.lookup(key);
+
+                if (recorded != null) {
+                    return recorded;
+                }
+
+                executedTestCase = TestCase.executeDummy(testCase);
+            } else {
+                executedTestCase = TestCase.fromDummy(testCase);
+            }
+
             Chromosome<TestCase> chromosome = new Chromosome<>(executedTestCase);
 
             if (Properties.SURROGATE_MODEL()) {
@@ -209,6 +232,10 @@ public class TestCaseMergeCrossOverFunction implements ICrossOverFunction<TestCa
 
             executedTestCase.finish();
 
+            if (key != null) {
+                ExecutionMemo.record(key, chromosome);
+            }
+
             return chromosome;
         }
 
@@ -29,7 +29,8 @@ public class ActionFitnessFunctionWrapper implements IFitnessFunction<TestCase>
      * @param fitnessFunction The underlying fitness function.
      */
     public ActionFitnessFunctionWrapper(IFitnessFunction<TestCase> fitnessFunction) {
-        this.fitnessFunction = fitnessFunction;
+        // the fitness is recorded after each action, thus it must not be memoized
+        this.fitnessFunction = MemoizedFitnessFunction.unwrap(fitnessFunction);
     }
 
     /**
@@ -5,11 +5,7 @@ import org.mate.exploration.genetic.chromosome.IChromosome;
 import org.mate.utils.FitnessUtils;
 
 import java.util.BitSet;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 
 /**
  * Provides a fitness metric based on basic block coverage for multi-objective algorithms. This
@@ -21,42 +17,10 @@ import java.util.Set;
 public class BasicBlockMultiObjectiveFitnessFunction<T> implements IFitnessFunction<T> {
 
     /**
-     * The cache is essentially a flat two-dimensional array where the first dimension describes
-     * the position of a chromosome and the second dimension the position of the n-th basic block
-     * or fitness function. Hence, by having a chromosome index, see {@link #chromosomeToCacheIndex},
-     * and the fitness function index, see {@link #index}, we can look up the fitness for each
-     * chromosome and basic block.
-     *
-     * A visual representation of the cache would look as follows:
-     *
-     *      chromosome 1 || chromosome 2 || ... || chromosome n
-     *      [1,0,1,0,..]    [0,1,0,1,..]           [1,1,0,1,..]
-     *      block 1 to n    block 1 to n           block 1 to n
-     *
-     * We could also say that we joined together multiple bit sets, where each bit set represents
-     * the fitness values of a chromosome. To get the fitness value for a given chromosome and
-     * basic block (objective), we can use the following formula:
-     *
-     *      fitness = cache[chromosomeIndex * numberOfBasicBlocks + indexOfBasicBlock]
-     */
-    private static final BitSet cache = new BitSet();
-
-    /**
-     * Maps a chromosome to its index in the cache.
-     */
-    private static final Map<IChromosome, Integer> chromosomeToCacheIndex = new HashMap<>();
-
-    /**
-     * We keep track of the used cache indices. Since we clean the cache from time to time, certain
-     * indices get available again, which we re-use when assigning a new index, see
-     * {@link #assignNewCacheIndex(IChromosome)}.
-     */
-    private static final BitSet usedCacheIndices = new BitSet();
-
-    /**
-     * Tracks the total number of basic blocks / fitness functions.
+     * Caches the fitness values of all basic blocks (objectives) for each chromosome, see
+     * {@link ObjectiveMatrix}. The number of objectives matches the number of basic blocks.
      */
-    private static int numberOfBasicBlocks;
+    private static final ObjectiveMatrix cache = ObjectiveMatrix.ofBits();
 
     /**
      * Represents the index of the n-th basic block / fitness function.
@@ -70,7 +34,7 @@ public class BasicBlockMultiObjectiveFitnessFunction<T> implements IFitnessFunct
      */
     public BasicBlockMultiObjectiveFitnessFunction(int index) {
         this.index = index;
-        numberOfBasicBlocks++;
+        cache.addObjective();
     }
 
     /**
@@ -84,36 +48,16 @@ public class BasicBlockMultiObjectiveFitnessFunction<T> implements IFitnessFunct
     @Override
     public double getFitness(IChromosome<T> chromosome) {
 
-        Integer cacheIndex = chromosomeToCacheIndex.get(chromosome);
+        int row = cache.getRow(chromosome);
 
-        if (cacheIndex == null) {
-            // the chromosome isn't cached yet
-            cacheIndex = assignNewCacheIndex(chromosome);
-
-            // retrieve the fitness value for every single basic block
-            final BitSet basicBlockFitnessVector
-                    = FitnessUtils.getBasicBlockFitnessVector(chromosome, numberOfBasicBlocks);
-
-            // update cache
-            for (int i = 0; i < numberOfBasicBlocks; i++) {
-                cache.set(cacheIndex * numberOfBasicBlocks + i, basicBlockFitnessVector.get(i));
-            }
+        if (row < 0) {
+            // the chromosome isn't cached yet, retrieve the fitness value for every single basic block
+            final BitSet fitnessVector
+                    = FitnessUtils.getBasicBlockFitnessVector(chromosome, cache.getNumberOfObjectives());
+            row = cache.addRow(chromosome, fitnessVector);
         }
 
-        return cache.get(cacheIndex * numberOfBasicBlocks + index) ? 1.0 : 0.0;
-    }
-
-    /**
-     * Assigns to the given chromosome a new index in the cache.
-     *
-     * @param chromosome The given chromosome.
-     * @return Returns the new cache index of the chromosome.
-     */
-    private int assignNewCacheIndex(final IChromosome<T> chromosome) {
-        final int newIndex = usedCacheIndices.nextClearBit(0);
-        usedCacheIndices.set(newIndex);
-        chromosomeToCacheIndex.put(chromosome, newIndex);
-        return newIndex;
+        return cache.get(row, index);
     }
 
     /**
@@ -145,18 +89,7 @@ public class BasicBlockMultiObjectiveFitnessFunction<T> implements IFitnessFunct
      * @param activeChromosomes The list of active chromosomes.
      */
     public static <T> void cleanCache(List<IChromosome<T>> activeChromosomes) {
-
-        Set<IChromosome<T>> cachedChromosomes = new HashSet(chromosomeToCacheIndex.keySet());
-
-        for (IChromosome<T> activeChromosome : activeChromosomes) {
-            cachedChromosomes.remove(activeChromosome);
-        }
-
-        for (IChromosome<T> inactiveChromosome : cachedChromosomes) {
-            final int index = chromosomeToCacheIndex.remove(inactiveChromosome);
-            usedCacheIndices.clear(index);
-        }
-
-        MATE.log_acc("Cleaning cache: " + cachedChromosomes.size() + " inactive chromosome removed.");
+        final int removed = cache.retainAll(activeChromosomes);
+        MATE.log_acc("Cleaning cache: " + removed + " inactive chromosome removed.");
     }
 }
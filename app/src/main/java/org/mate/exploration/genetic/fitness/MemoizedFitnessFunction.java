@@ -0,0 +1,111 @@
+package org.mate.exploration.genetic.fitness;
+
+import org.mate.exploration.genetic.chromosome.IChromosome;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Memoizes the fitness values of another fitness function, i.e. the fitness value and the
+ * normalised fitness value of a chromosome are only requested once from the underlying fitness
+ * function, which typically needs to contact the server. Sorting a population or computing the
+ * crowding distance thus doesn't leave the device anymore.
+ * <p>
+ * The memoized values are weakly referenced by their chromosome, i.e. a value is evicted as soon
+ * as its chromosome is neither part of the population nor of an archive anymore. Note that the
+ * underlying fitness function must solely depend on the chromosome, i.e. fitness functions that
+ * depend on the population or an archive, e.g. novelty, must not be memoized.
+ *
+ * @param <T> The type of the chromosome.
+ */
+public class MemoizedFitnessFunction<T> implements IFitnessFunction<T> {
+
+    /**
+     * The underlying fitness function.
+     */
+    private final IFitnessFunction<T> fitnessFunction;
+
+    /**
+     * The memoized fitness values.
+     */
+    private final Map<IChromosome<T>, Double> fitnessValues = new WeakHashMap<>();
+
+    /**
+     * The memoized normalised fitness values.
+     */
+    private final Map<IChromosome<T>, Double> normalizedFitnessValues = new WeakHashMap<>();
+
+    /**
+     * Memoizes the given fitness function.
+     *
+     * @param fitnessFunction The fitness function that should be memoized.
+     */
+    public MemoizedFitnessFunction(IFitnessFunction<T> fitnessFunction) {
+        this.fitnessFunction = fitnessFunction;
+    }
+
+    /**
+     * Returns the fitness function that is actually evaluated for the given fitness function, i.e.
+     * a memoized fitness function is unwrapped. This is required whenever the fitness of a
+     * chromosome is requested while the chromosome is still under construction.
+     *
+     * @param fitnessFunction The given fitness function.
+     * @param <T> The type of the chromosome.
+     * @return Returns the underlying fitness function.
+     */
+    public static <T> IFitnessFunction<T> unwrap(IFitnessFunction<T> fitnessFunction) {
+        if (fitnessFunction instanceof MemoizedFitnessFunction) {
+            return ((MemoizedFitnessFunction<T>) fitnessFunction).fitnessFunction;
+        } else {
+            return fitnessFunction;
+        }
+    }
+
+    /**
+     * Returns the memoized fitness value of the given chromosome. The fitness value is computed by
+     * the underlying fitness function upon the first request.
+     *
+     * @param chromosome The chromosome for which the fitness should be evaluated.
+     * @return Returns the fitness of the chromosome.
+     */
+    @Override
+    public double getFitness(IChromosome<T> chromosome) {
+
+        Double fitness = fitnessValues.get(chromosome);
+
+        if (fitness == null) {
+            fitness = fitnessFunction.getFitness(chromosome);
+            fitnessValues.put(chromosome, fitness);
+        }
+
+        return fitness;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMaximizing() {
+        return fitnessFunction.isMaximizing();
+    }
+
+    /**
+     * Returns the memoized normalised fitness value of the given chromosome. The normalised fitness
+     * value is computed by the underlying fitness function upon the first request.
+     *
+     * @param chromosome The chromosome for which the normalised fitness should be evaluated.
+     * @return Returns the normalized fitness value in range [0,1].
+     */
+    @Override
+    public double getNormalizedFitness(IChromosome<T> chromosome) {
+
+        Double normalizedFitness = normalizedFitnessValues.get(chromosome);
+
+        if (normalizedFitness == null) {
+            normalizedFitness = fitnessFunction.getNormalizedFitness(chromosome);
+            normalizedFitnessValues.put(chromosome, normalizedFitness);
+        }
+
+        return normalizedFitness;
+    }
+}
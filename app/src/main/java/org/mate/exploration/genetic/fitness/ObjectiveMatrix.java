@@ -0,0 +1,289 @@
+package org.mate.exploration.genetic.fitness;
+
+import org.mate.exploration.genetic.chromosome.IChromosome;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Caches the fitness values of chromosomes for a fixed number of objectives, e.g. the branches of
+ * a multi-objective fitness function. Each cached chromosome is assigned a row and each objective
+ * corresponds to a column. The values are stored in a single primitive slab, either as floats or
+ * as bits for binary objectives, in column-major order:
+ *
+ *      value = slab[objective * capacity + row]
+ *
+ * Hence, the values of a single objective for all chromosomes, which are compared by
+ * multi-objective algorithms like MOSA or MIO, are stored contiguously. The rows of evicted
+ * chromosomes are recycled, see {@link #retainAll(Collection)}.
+ */
+public final class ObjectiveMatrix {
+
+    /**
+     * The initial number of rows.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Whether the objectives are binary, i.e. the values are either 0 or 1.
+     */
+    private final boolean binary;
+
+    /**
+     * Maps a chromosome to its row.
+     */
+    private final Map<IChromosome<?>, Integer> rows = new HashMap<>();
+
+    /**
+     * Tracks the used rows, the rows of evicted chromosomes are re-used when assigning a new row.
+     */
+    private final BitSet usedRows = new BitSet();
+
+    /**
+     * The number of objectives (columns).
+     */
+    private int numberOfObjectives = 0;
+
+    /**
+     * The number of rows per objective.
+     */
+    private int capacity = 0;
+
+    /**
+     * The slab of non-binary values.
+     */
+    private float[] values = new float[0];
+
+    /**
+     * The slab of binary values.
+     */
+    private long[] bits = new long[0];
+
+    private ObjectiveMatrix(final boolean binary) {
+        this.binary = binary;
+    }
+
+    /**
+     * Creates a new matrix storing arbitrary fitness values.
+     *
+     * @return Returns the new matrix.
+     */
+    public static ObjectiveMatrix ofFloats() {
+        return new ObjectiveMatrix(false);
+    }
+
+    /**
+     * Creates a new matrix storing binary fitness values, i.e. either 0 or 1.
+     *
+     * @return Returns the new matrix.
+     */
+    public static ObjectiveMatrix ofBits() {
+        return new ObjectiveMatrix(true);
+    }
+
+    /**
+     * Adds a new objective. Since the size of a row changes, all cached values are evicted.
+     *
+     * @return Returns the index of the new objective.
+     */
+    public int addObjective() {
+        rows.clear();
+        usedRows.clear();
+        capacity = 0;
+        values = new float[0];
+        bits = new long[0];
+        return numberOfObjectives++;
+    }
+
+    /**
+     * Returns the number of objectives.
+     *
+     * @return Returns the number of objectives.
+     */
+    public int getNumberOfObjectives() {
+        return numberOfObjectives;
+    }
+
+    /**
+     * Returns the row of the given chromosome.
+     *
+     * @param chromosome The given chromosome.
+     * @return Returns the row of the given chromosome or {@code -1} if the chromosome isn't cached.
+     */
+    public int getRow(final IChromosome<?> chromosome) {
+        final Integer row = rows.get(chromosome);
+        return row == null ? -1 : row;
+    }
+
+    /**
+     * Caches the fitness values of the given chromosome.
+     *
+     * @param chromosome The given chromosome.
+     * @param fitnessVector The fitness value of each objective.
+     * @return Returns the row of the chromosome.
+     */
+    public int addRow(final IChromosome<?> chromosome, final List<Float> fitnessVector) {
+
+        if (binary) {
+            throw new IllegalStateException("Can't store non-binary values in a binary matrix!");
+        }
+
+        final int row = assignRow(chromosome);
+
+        for (int objective = 0; objective < numberOfObjectives; objective++) {
+            values[objective * capacity + row] = fitnessVector.get(objective);
+        }
+
+        return row;
+    }
+
+    /**
+     * Caches the binary fitness values of the given chromosome.
+     *
+     * @param chromosome The given chromosome.
+     * @param fitnessVector The fitness vector, a set bit refers to the value 1.
+     * @return Returns the row of the chromosome.
+     */
+    public int addRow(final IChromosome<?> chromosome, final BitSet fitnessVector) {
+
+        if (!binary) {
+            throw new IllegalStateException("Can't store binary values in a non-binary matrix!");
+        }
+
+        final int row = assignRow(chromosome);
+
+        for (int objective = 0; objective < numberOfObjectives; objective++) {
+            set(objective * capacity + row, fitnessVector.get(objective) ? 1 : 0);
+        }
+
+        return row;
+    }
+
+    /**
+     * Returns the cached fitness value.
+     *
+     * @param row The row of the chromosome.
+     * @param objective The index of the objective.
+     * @return Returns the cached fitness value.
+     */
+    public float get(final int row, final int objective) {
+
+        final int index = objective * capacity + row;
+
+        if (binary) {
+            return (bits[index >>> 6] & (1L << index)) != 0 ? 1 : 0;
+        } else {
+            return values[index];
+        }
+    }
+
+    /**
+     * Evicts all chromosomes that are not active anymore. Their rows are re-used afterwards.
+     *
+     * @param activeChromosomes The active chromosomes.
+     * @return Returns the number of evicted chromosomes.
+     */
+    public int retainAll(final Collection<? extends IChromosome<?>> activeChromosomes) {
+
+        final Set<IChromosome<?>> active = new HashSet<>(activeChromosomes);
+        final Iterator<Map.Entry<IChromosome<?>, Integer>> iterator = rows.entrySet().iterator();
+        int evicted = 0;
+
+        while (iterator.hasNext()) {
+            final Map.Entry<IChromosome<?>, Integer> entry = iterator.next();
+            if (!active.contains(entry.getKey())) {
+                usedRows.clear(entry.getValue());
+                iterator.remove();
+                evicted++;
+            }
+        }
+
+        return evicted;
+    }
+
+    /**
+     * Assigns a new row to the given chromosome, the slab is enlarged if necessary.
+     *
+     * @param chromosome The given chromosome.
+     * @return Returns the new row.
+     */
+    private int assignRow(final IChromosome<?> chromosome) {
+
+        final int row = usedRows.nextClearBit(0);
+
+        if (row >= capacity) {
+            grow(Math.max(INITIAL_CAPACITY, capacity * 2));
+        }
+
+        usedRows.set(row);
+        rows.put(chromosome, row);
+        return row;
+    }
+
+    /**
+     * Enlarges the slab to the given number of rows per objective.
+     *
+     * @param newCapacity The new number of rows.
+     */
+    private void grow(final int newCapacity) {
+
+        final int size = numberOfObjectives * newCapacity;
+
+        if (binary) {
+            final long[] oldBits = bits;
+            final int oldCapacity = capacity;
+            bits = new long[(size + 63) >>> 6];
+            capacity = newCapacity;
+
+            for (int objective = 0; objective < numberOfObjectives; objective++) {
+                for (int row = 0; row < oldCapacity; row++) {
+                    final int oldIndex = objective * oldCapacity + row;
+                    if ((oldBits[oldIndex >>> 6] & (1L << oldIndex)) != 0) {
+                        set(objective * newCapacity + row, 1);
+                    }
+                }
+            }
+        } else {
+            final float[] newValues = new float[size];
+
+            for (int objective = 0; objective < numberOfObjectives; objective++) {
+                System.arraycopy(values, objective * capacity, newValues,
+                        objective * newCapacity, capacity);
+            }
+
+            values = newValues;
+            capacity = newCapacity;
+        }
+    }
+
+    /**
+     * Sets the binary value at the given position of the slab.
+     *
+     * @param index The position in the slab.
+     * @param value The binary value.
+     */
+    private void set(final int index, final int value) {
+        if (value != 0) {
+            bits[index >>> 6] |= 1L << index;
+        } else {
+            bits[index >>> 6] &= ~(1L << index);
+        }
+    }
+
+    /**
+     * Provides a textual representation of the matrix.
+     *
+     * @return Returns a textual representation of the matrix.
+     */
+    @Override
+    public String toString() {
+        return "ObjectiveMatrix{objectives: " + numberOfObjectives + ", rows: " + rows.size()
+                + ", capacity: " + capacity + ", binary: " + binary + "}";
+    }
+}
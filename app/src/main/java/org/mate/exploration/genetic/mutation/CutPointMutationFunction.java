@@ -89,7 +89,7 @@ public class CutPointMutationFunction implements IMutationFunction<TestCase> {
 
                     // Check that the ui action is still applicable.
                     if (newAction instanceof UIAction
-                            && !uiAbstractionLayer.getExecutableUIActions().contains(newAction)) {
+                            && !uiAbstractionLayer.isExecutable((UIAction) newAction)) {
                         MATE.log_warn("CutPointMutationFunction: Action (" + i + ") "
                                 + newAction.toShortString() + " not applicable!");
                         break; // Fill up with random actions.
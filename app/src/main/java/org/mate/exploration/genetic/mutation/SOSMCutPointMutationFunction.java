@@ -101,7 +101,7 @@ public class SOSMCutPointMutationFunction implements ISOSMMutationFunction {
                     newAction = Randomness.randomElement(uiAbstractionLayer.getExecutableActions());
                 }
                 if ((newAction instanceof UIAction
-                        && !uiAbstractionLayer.getExecutableUIActions().contains(newAction))
+                        && !uiAbstractionLayer.isExecutable((UIAction) newAction))
                         || !mutant.updateTestCase(newAction, i)) {
                     break;
                 }
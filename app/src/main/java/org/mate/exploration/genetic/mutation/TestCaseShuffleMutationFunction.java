@@ -13,6 +13,7 @@ import org.mate.model.TestCase;
 import org.mate.model.fsm.surrogate.SurrogateModel;
 import org.mate.state.IScreenState;
 import org.mate.state.equivalence.IStateEquivalence;
+import org.mate.utils.ExecutionMemo;
 import org.mate.utils.FitnessUtils;
 import org.mate.utils.Randomness;
 import org.mate.utils.coverage.CoverageUtils;
@@ -156,6 +157,21 @@ public class TestCaseShuffleMutationFunction implements IMutationFunction<TestCa
 
         uiAbstractionLayer.resetApp();
 
+        /*
+        * The outcome of the execution only depends on the shuffled actions if there is no need to
+        * fill up the test case with random actions.
+         */
+        final ExecutionMemo.Key key = Properties.EXECUTION_MEMO() && !Properties.SURROGATE_MODEL()
+                && !isTestSuiteExecution && actions.size() >= maxNumEvents
+                ? ExecutionMemo.newKey(actions) : null;
+
+        if (key != null) {
+            final IChromosome<TestCase> recorded = ExecutionMemo.lookup(key);
+            if (recorded != null) {
+                return recorded;
+            }
+        }
+
         final TestCase mutant = TestCase.newInitializedTestCase();
         final IChromosome<TestCase> mutatedChromosome = new Chromosome<>(mutant);
 
@@ -209,6 +225,10 @@ public class TestCaseShuffleMutationFunction implements IMutationFunction<TestCa
 
             mutant.finish();
             MATE.log_debug("Sequence length after mutation: " + mutant.getActionSequence().size());
+
+            if (key != null) {
+                ExecutionMemo.record(key, mutatedChromosome);
+            }
         }
 
         return mutatedChromosome;
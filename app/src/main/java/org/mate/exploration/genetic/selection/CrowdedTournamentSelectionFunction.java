@@ -7,8 +7,6 @@ import org.mate.exploration.genetic.fitness.IFitnessFunction;
 import org.mate.utils.Randomness;
 
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
@@ -44,25 +42,75 @@ public class CrowdedTournamentSelectionFunction<T> implements ISelectionFunction
                                        Map<IChromosome<T>, Integer> rankMap,
                                        Map<IChromosome<T>, Double> crowdingDistanceMap) {
 
+        final int[] ranks = new int[population.size()];
+        final double[] crowdingDistances = new double[population.size()];
+
+        for (int i = 0; i < ranks.length; i++) {
+            ranks[i] = rankMap.get(population.get(i));
+            crowdingDistances[i] = crowdingDistanceMap.get(population.get(i));
+        }
+
+        return select(population, ranks, crowdingDistances);
+    }
+
+    /**
+     * Performs a binary tournament selection that considers both rank and the crowding distance
+     * as suggested in the NSGA-II algorithm. The tournament is solely performed on the indices of
+     * the population, i.e. no comparator or map lookup is involved.
+     *
+     * @param population The current population.
+     * @param ranks The rank of each chromosome in the order of the population.
+     * @param crowdingDistances The crowding distance of each chromosome in the order of the population.
+     * @return Returns {@link Properties#DEFAULT_SELECTION_SIZE()} chromosomes.
+     */
+    public List<IChromosome<T>> select(List<IChromosome<T>> population, int[] ranks,
+                                       double[] crowdingDistances) {
+
         List<IChromosome<T>> selection = new ArrayList<>();
-        List<IChromosome<T>> candidates = new LinkedList<>(population);
-        int size = Math.min(Properties.DEFAULT_SELECTION_SIZE(), candidates.size());
-        Comparator<IChromosome<T>> crowdedComparisonOperator = new CrowdedComparator<>(crowdingDistanceMap, rankMap);
+        int[] candidates = new int[population.size()];
+        int numberOfCandidates = candidates.length;
+        int size = Math.min(Properties.DEFAULT_SELECTION_SIZE(), numberOfCandidates);
+
+        for (int i = 0; i < numberOfCandidates; i++) {
+            candidates[i] = i;
+        }
 
         for (int i = 0; i < size; i++) {
 
             // pick two chromosomes randomly
-            List<IChromosome<T>> randomElements = Randomness.randomElements(candidates, 2);
+            int first = Randomness.getRnd().nextInt(numberOfCandidates);
+            int second = Randomness.getRnd().nextInt(numberOfCandidates);
 
             // pick the best among those two chromosomes if one is better, otherwise take the second
-            int cmp = crowdedComparisonOperator.compare(randomElements.get(0), randomElements.get(1));
-            IChromosome<T> best = cmp < 0 ? randomElements.get(0) : randomElements.get(1);
-            selection.add(best);
+            int best = isBetter(candidates[first], candidates[second], ranks, crowdingDistances)
+                    ? first : second;
+            selection.add(population.get(candidates[best]));
 
             // remove for next iteration
-            candidates.remove(best);
+            candidates[best] = candidates[--numberOfCandidates];
         }
 
         return selection;
     }
+
+    /**
+     * Compares two chromosomes based on their rank and the crowding distance, see
+     * {@link CrowdedComparator}.
+     *
+     * @param first The index of the first chromosome.
+     * @param second The index of the second chromosome.
+     * @param ranks The rank of each chromosome.
+     * @param crowdingDistances The crowding distance of each chromosome.
+     * @return Returns {@code true} if the first chromosome has a lower rank or the same rank and
+     *          a higher crowding distance than the second chromosome, otherwise {@code false}.
+     */
+    private static boolean isBetter(int first, int second, int[] ranks, double[] crowdingDistances) {
+        // a lower rank is better
+        if (ranks[first] != ranks[second]) {
+            return ranks[first] < ranks[second];
+        } else {
+            // a higher crowding distance is better
+            return Double.compare(crowdingDistances[first], crowdingDistances[second]) > 0;
+        }
+    }
 }
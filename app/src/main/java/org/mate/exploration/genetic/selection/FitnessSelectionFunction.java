@@ -2,12 +2,8 @@ package org.mate.exploration.genetic.selection;
 
 import org.mate.Properties;
 import org.mate.exploration.genetic.chromosome.IChromosome;
-import org.mate.exploration.genetic.core.GAUtils;
 import org.mate.exploration.genetic.fitness.IFitnessFunction;
-import org.mate.utils.Randomness;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 /**
@@ -19,7 +15,13 @@ import java.util.List;
 public class FitnessSelectionFunction<T> implements ISelectionFunction<T> {
 
     /**
-     * Performs a selection based on the order of the fitness values.
+     * The selection context of the last selected population, which holds the ranking.
+     */
+    private SelectionContext<T> context;
+
+    /**
+     * Performs a selection based on the order of the fitness values. The population is only
+     * sorted once, see {@link SelectionContext}.
      *
      * @param population The current population.
      * @param fitnessFunctions The list of fitness functions. Only the first one is used here.
@@ -28,19 +30,17 @@ public class FitnessSelectionFunction<T> implements ISelectionFunction<T> {
     @Override
     public List<IChromosome<T>> select(List<IChromosome<T>> population, final List<IFitnessFunction<T>> fitnessFunctions) {
 
-        final IFitnessFunction<T> fitnessFunction = fitnessFunctions.get(0);
-        List<IChromosome<T>> candidates = new ArrayList<>(population);
+        context = SelectionContext.of(context, population, fitnessFunctions.get(0));
+        int size = Math.min(Properties.DEFAULT_SELECTION_SIZE(), population.size());
 
-        /*
-         * We shuffle the list that chromosomes with an identical fitness value get a 'fair'
-         * chance to be selected.
-         */
-        Randomness.shuffleList(candidates);
+        // the ranking is in ascending order, i.e. the best chromosomes come last
+        final int[] ranking = context.getRanking();
+        final int[] best = new int[size];
 
-        // sort in descending order, i.e. the best chromosomes come first
-        List<IChromosome<T>> sorted = GAUtils.sortByFitness(candidates, fitnessFunction);
-        Collections.reverse(sorted);
+        for (int i = 0; i < size; i++) {
+            best[i] = ranking[ranking.length - 1 - i];
+        }
 
-        return sorted.subList(0, Math.min(Properties.DEFAULT_SELECTION_SIZE(), sorted.size()));
+        return context.get(best);
     }
 }
@@ -0,0 +1,422 @@
+package org.mate.exploration.genetic.selection;
+
+import org.mate.exploration.genetic.chromosome.IChromosome;
+import org.mate.exploration.genetic.fitness.IFitnessFunction;
+import org.mate.utils.AliasTable;
+import org.mate.utils.Randomness;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Describes the selection distributions of a population, which are built once per population
+ * (generation) and shared by all selections from the same population. The normalised fitness
+ * values are requested at most once per chromosome, the roulette wheels for the fitness
+ * proportionate and the rank-based selection are represented by {@link AliasTable}s, such that a
+ * chromosome can be drawn in constant time.
+ * <p>
+ * The selections are performed without replacement, i.e. a chromosome is selected at most once.
+ * Instead of rebuilding the roulette wheel after each draw, a draw of an already selected
+ * chromosome is rejected. This is equivalent to spinning the roulette wheel of the remaining
+ * chromosomes.
+ *
+ * @param <T> The type of the chromosomes.
+ */
+final class SelectionContext<T> {
+
+    /**
+     * The maximal number of rejected draws before the remaining roulette wheel is spun directly.
+     */
+    private static final int MAX_REJECTIONS = 16;
+
+    /**
+     * The population for which the context was built.
+     */
+    private final List<IChromosome<T>> population;
+
+    /**
+     * The fitness function used for the selection.
+     */
+    private final IFitnessFunction<T> fitnessFunction;
+
+    /**
+     * The normalised fitness value of each chromosome.
+     */
+    private final double[] fitness;
+
+    /**
+     * Whether the fitness value of the respective chromosome has been already requested.
+     */
+    private final boolean[] isEvaluated;
+
+    /**
+     * The roulette wheel proportionate to the (inverted if minimising) fitness values, or
+     * {@code null} if not built yet.
+     */
+    private AliasTable fitnessWheel;
+
+    /**
+     * The weight of each chromosome on the fitness roulette wheel.
+     */
+    private double[] fitnessWeights;
+
+    /**
+     * The chromosomes sorted in ascending order of their fitness, i.e. the worst chromosome comes
+     * first, or {@code null} if not sorted yet.
+     */
+    private int[] ranking;
+
+    /**
+     * The roulette wheel over the ranking, where the i-th position has the weight i + 1, or
+     * {@code null} if not built yet.
+     */
+    private AliasTable rankWheel;
+
+    /**
+     * Creates a new selection context for the given population.
+     *
+     * @param population The current population.
+     * @param fitnessFunction The fitness function used for the selection.
+     */
+    private SelectionContext(final List<IChromosome<T>> population,
+                             final IFitnessFunction<T> fitnessFunction) {
+        this.population = new ArrayList<>(population);
+        this.fitnessFunction = fitnessFunction;
+        this.fitness = new double[population.size()];
+        this.isEvaluated = new boolean[population.size()];
+    }
+
+    /**
+     * Returns the given selection context if it has been built for the given population and
+     * fitness function, otherwise a new selection context is created.
+     *
+     * @param context The selection context of a previous selection or {@code null}.
+     * @param population The current population.
+     * @param fitnessFunction The fitness function used for the selection.
+     * @param <T> The type of the chromosomes.
+     * @return Returns a selection context for the given population.
+     */
+    static <T> SelectionContext<T> of(final SelectionContext<T> context,
+                                      final List<IChromosome<T>> population,
+                                      final IFitnessFunction<T> fitnessFunction) {
+
+        if (context != null && context.isBuiltFor(population, fitnessFunction)) {
+            return context;
+        }
+
+        return new SelectionContext<>(population, fitnessFunction);
+    }
+
+    /**
+     * Checks whether this context has been built for the given population and fitness function.
+     * The population is compared element-wise by identity, since the population list itself is
+     * typically modified in place from one generation to the next.
+     *
+     * @param population The current population.
+     * @param fitnessFunction The fitness function used for the selection.
+     * @return Returns {@code true} if the context can be re-used, otherwise {@code false}.
+     */
+    private boolean isBuiltFor(final List<IChromosome<T>> population,
+                               final IFitnessFunction<T> fitnessFunction) {
+
+        if (this.fitnessFunction != fitnessFunction || this.population.size() != population.size()) {
+            return false;
+        }
+
+        for (int i = 0; i < population.size(); i++) {
+            if (this.population.get(i) != population.get(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the number of chromosomes.
+     *
+     * @return Returns the population size.
+     */
+    int size() {
+        return population.size();
+    }
+
+    /**
+     * Returns the chromosome at the given index.
+     *
+     * @param index The index of the chromosome.
+     * @return Returns the chromosome at the given index.
+     */
+    IChromosome<T> get(final int index) {
+        return population.get(index);
+    }
+
+    /**
+     * Returns the chromosomes at the given indices.
+     *
+     * @param indices The indices of the chromosomes.
+     * @return Returns the chromosomes at the given indices.
+     */
+    List<IChromosome<T>> get(final int[] indices) {
+
+        final List<IChromosome<T>> chromosomes = new ArrayList<>(indices.length);
+
+        for (final int index : indices) {
+            chromosomes.add(population.get(index));
+        }
+
+        return chromosomes;
+    }
+
+    /**
+     * Returns the normalised fitness value of the chromosome at the given index. The fitness
+     * value is only requested once from the fitness function.
+     *
+     * @param index The index of the chromosome.
+     * @return Returns the normalised fitness value.
+     */
+    double getFitness(final int index) {
+
+        if (!isEvaluated[index]) {
+            fitness[index] = fitnessFunction.getNormalizedFitness(population.get(index));
+            isEvaluated[index] = true;
+        }
+
+        return fitness[index];
+    }
+
+    /**
+     * Checks whether the first chromosome has a better fitness than the second chromosome.
+     *
+     * @param first The index of the first chromosome.
+     * @param second The index of the second chromosome.
+     * @return Returns {@code true} if the first chromosome is strictly better, otherwise
+     *          {@code false} is returned.
+     */
+    boolean isBetter(final int first, final int second) {
+        return fitnessFunction.isMaximizing()
+                ? getFitness(first) > getFitness(second)
+                : getFitness(first) < getFitness(second);
+    }
+
+    /**
+     * Returns the chromosomes sorted in ascending order of their fitness, i.e. the worst
+     * chromosome comes first. Chromosomes with an identical fitness value are ordered randomly.
+     *
+     * @return Returns the indices of the chromosomes in ascending order of their fitness.
+     */
+    int[] getRanking() {
+
+        if (ranking == null) {
+
+            final List<Integer> indices = new ArrayList<>(population.size());
+
+            for (int i = 0; i < population.size(); i++) {
+                indices.add(i);
+            }
+
+            /*
+             * We shuffle the list that chromosomes with an identical fitness value get a 'fair'
+             * chance to be selected. Otherwise, the rank of those chromosomes is fixed by the
+             * order of the population.
+             */
+            Randomness.shuffleList(indices);
+
+            // a stable sort keeps the shuffled order of identical fitness values
+            indices.sort((first, second) -> isBetter(first, second) ? 1 : isBetter(second, first) ? -1 : 0);
+
+            ranking = new int[indices.size()];
+
+            for (int i = 0; i < ranking.length; i++) {
+                ranking[i] = indices.get(i);
+            }
+        }
+
+        return ranking;
+    }
+
+    /**
+     * Selects the given number of distinct chromosomes by spinning a roulette wheel, where each
+     * chromosome covers a range proportionate to its fitness value (inverted if minimising). If
+     * all remaining chromosomes have a fitness of zero, a random chromosome is picked.
+     *
+     * @param size The number of chromosomes to be selected.
+     * @return Returns the indices of the selected chromosomes.
+     */
+    int[] selectByFitness(final int size) {
+
+        if (fitnessWheel == null) {
+
+            fitnessWeights = new double[population.size()];
+            double sum = 0.0;
+
+            for (int i = 0; i < fitnessWeights.length; i++) {
+                final double value = getFitness(i);
+                fitnessWeights[i] = fitnessFunction.isMaximizing() ? value : 1.0 - value;
+                sum += fitnessWeights[i];
+            }
+
+            if (sum > 0.0) {
+                fitnessWheel = new AliasTable(fitnessWeights);
+            }
+        }
+
+        final Random random = Randomness.getRnd();
+        final int[] selection = new int[size];
+        final boolean[] isSelected = new boolean[population.size()];
+
+        for (int i = 0; i < size; i++) {
+
+            int selected = -1;
+
+            if (fitnessWheel != null) {
+                for (int rejections = 0; rejections < MAX_REJECTIONS && selected == -1; rejections++) {
+                    final int candidate = fitnessWheel.sample(random);
+                    if (!isSelected[candidate]) {
+                        selected = candidate;
+                    }
+                }
+            }
+
+            if (selected == -1) {
+                selected = spinRemainingWheel(fitnessWeights, isSelected, random);
+            }
+
+            selection[i] = selected;
+            isSelected[selected] = true;
+        }
+
+        return selection;
+    }
+
+    /**
+     * Selects the given number of distinct chromosomes by spinning a roulette wheel, where each
+     * chromosome covers a range proportionate to its rank. The worst chromosome has rank 1, the
+     * second worst chromosome rank 2 and so on. The ranks are only assigned to the chromosomes
+     * that have not been selected yet.
+     *
+     * @param size The number of chromosomes to be selected.
+     * @return Returns the indices of the selected chromosomes.
+     */
+    int[] selectByRank(final int size) {
+
+        final int[] ranking = getRanking();
+
+        if (rankWheel == null) {
+
+            final double[] ranks = new double[ranking.length];
+
+            for (int position = 0; position < ranks.length; position++) {
+                ranks[position] = position + 1;
+            }
+
+            rankWheel = new AliasTable(ranks);
+        }
+
+        final Random random = Randomness.getRnd();
+        final int[] selection = new int[size];
+        final boolean[] isSelected = new boolean[ranking.length];
+
+        for (int i = 0; i < size; i++) {
+
+            int selected = -1;
+
+            for (int rejections = 0; rejections < MAX_REJECTIONS && selected == -1; rejections++) {
+
+                final int position = rankWheel.sample(random);
+
+                if (!isSelected[position]) {
+
+                    // the rank among the remaining chromosomes decreases by each selected worse one
+                    int rank = position + 1;
+
+                    for (int j = 0; j < i; j++) {
+                        if (selection[j] < position) {
+                            rank--;
+                        }
+                    }
+
+                    if (random.nextDouble() * (position + 1) < rank) {
+                        selected = position;
+                    }
+                }
+            }
+
+            if (selected == -1) {
+
+                final double[] ranks = new double[ranking.length];
+                int rank = 1;
+
+                for (int position = 0; position < ranks.length; position++) {
+                    if (!isSelected[position]) {
+                        ranks[position] = rank++;
+                    }
+                }
+
+                selected = spinRemainingWheel(ranks, isSelected, random);
+            }
+
+            selection[i] = selected;
+            isSelected[selected] = true;
+        }
+
+        final int[] chromosomes = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            chromosomes[i] = ranking[selection[i]];
+        }
+
+        return chromosomes;
+    }
+
+    /**
+     * Spins a roulette wheel that only consists of the chromosomes that have not been selected
+     * yet. If the remaining weights sum up to zero, a random remaining chromosome is picked.
+     *
+     * @param weights The weight of each chromosome.
+     * @param isSelected Whether the respective chromosome has been already selected.
+     * @param random The random number generator.
+     * @return Returns the index of the selected chromosome.
+     */
+    private static int spinRemainingWheel(final double[] weights, final boolean[] isSelected,
+                                          final Random random) {
+
+        double sum = 0.0;
+        int remaining = 0;
+
+        for (int i = 0; i < weights.length; i++) {
+            if (!isSelected[i]) {
+                sum += weights[i];
+                remaining++;
+            }
+        }
+
+        if (sum == 0.0) {
+            // we pick random if all remaining chromosomes have a weight of 0.0
+            int chosen = random.nextInt(remaining);
+            for (int i = 0; i < weights.length; i++) {
+                if (!isSelected[i] && chosen-- == 0) {
+                    return i;
+                }
+            }
+        }
+
+        final double rnd = random.nextDouble() * sum;
+        double end = 0.0;
+        int last = -1;
+
+        for (int i = 0; i < weights.length; i++) {
+            if (!isSelected[i]) {
+                end += weights[i];
+                last = i;
+                if (rnd < end) {
+                    return i;
+                }
+            }
+        }
+
+        // only reachable due to rounding errors
+        return last;
+    }
+}
@@ -2,13 +2,11 @@ package org.mate.exploration.genetic.selection;
 
 import org.mate.Properties;
 import org.mate.exploration.genetic.chromosome.IChromosome;
-import org.mate.exploration.genetic.core.GAUtils;
 import org.mate.exploration.genetic.fitness.IFitnessFunction;
 import org.mate.utils.Randomness;
 
-import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Random;
 
 /**
  * Provides a tournament selection function for a single objective that returns
@@ -23,6 +21,11 @@ public class TournamentSelectionFunction<T> implements ISelectionFunction<T> {
      */
     private final int tournamentSize;
 
+    /**
+     * The selection context of the last selected population, which caches the fitness values.
+     */
+    private SelectionContext<T> context;
+
     /**
      * Initialises the selection function with the given tournament size.
      *
@@ -34,7 +37,8 @@ public class TournamentSelectionFunction<T> implements ISelectionFunction<T> {
 
     /**
      * Performs a tournament selection for single objective search. The selection is repeated
-     * until a selection of {@link Properties#DEFAULT_SELECTION_SIZE()} is formed.
+     * until a selection of {@link Properties#DEFAULT_SELECTION_SIZE()} is formed. The fitness value
+     * of a chromosome is only requested once per population, see {@link SelectionContext}.
      *
      * @param population The current population.
      * @param fitnessFunctions The list of fitness functions. Only the first one is used.
@@ -43,25 +47,37 @@ public class TournamentSelectionFunction<T> implements ISelectionFunction<T> {
     @Override
     public List<IChromosome<T>> select(List<IChromosome<T>> population, List<IFitnessFunction<T>> fitnessFunctions) {
 
-        final IFitnessFunction<T> fitnessFunction = fitnessFunctions.get(0);
+        context = SelectionContext.of(context, population, fitnessFunctions.get(0));
+
+        final Random random = Randomness.getRnd();
+        final int[] selection = new int[Math.min(Properties.DEFAULT_SELECTION_SIZE(), population.size())];
+
+        // the first remaining many entries refer to the chromosomes that can be still selected
+        final int[] candidates = new int[context.size()];
+        int remaining = candidates.length;
+
+        for (int i = 0; i < candidates.length; i++) {
+            candidates[i] = i;
+        }
 
-        List<IChromosome<T>> selection = new ArrayList<>();
-        List<IChromosome<T>> candidates = new LinkedList<>(population);
-        int size = Math.min(Properties.DEFAULT_SELECTION_SIZE(), candidates.size());
+        for (int i = 0; i < selection.length; i++) {
 
-        for (int i = 0; i < size; i++) {
+            // pick tournament size many chromosomes randomly and keep the best among them
+            int best = random.nextInt(remaining);
 
-            // pick tournament size many chromosomes randomly
-            List<IChromosome<T>> randomElements = Randomness.randomElements(candidates, tournamentSize);
+            for (int j = 1; j < tournamentSize; j++) {
+                final int candidate = random.nextInt(remaining);
+                if (context.isBetter(candidates[candidate], candidates[best])) {
+                    best = candidate;
+                }
+            }
 
-            // pick the best among those random elements
-            IChromosome<T> best = GAUtils.getBest(randomElements, fitnessFunction);
-            selection.add(best);
+            selection[i] = candidates[best];
 
             // remove for next iteration
-            candidates.remove(best);
+            candidates[best] = candidates[--remaining];
         }
 
-        return selection;
+        return context.get(selection);
     }
 }
@@ -1,8 +1,8 @@
 package org.mate.exploration.genetic.util.eda.pipe;
 
+import org.mate.exploration.genetic.util.eda.pipe.ppt.ApplicationStateTree.ApplicationStateNode;
 import org.mate.interaction.action.Action;
 
-import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -11,9 +11,14 @@ import java.util.Objects;
 public class NodeWithPickedAction {
 
     /**
-     * The action probabilities at the given node.
+     * The chosen node in the PPT.
      */
-    private final Map<Action, Double> actionProbabilities;
+    private final ApplicationStateNode node;
+
+    /**
+     * The index of the chosen action in the given node.
+     */
+    private final int pickedAction;
 
     /**
      * The chosen action at the given node.
@@ -25,9 +30,10 @@ public class NodeWithPickedAction {
      */
     public final int actionIndex;
 
-    NodeWithPickedAction(Map<Action, Double> actionProbabilities, Action action, int actionIndex) {
-        this.actionProbabilities = actionProbabilities;
-        this.action = action;
+    NodeWithPickedAction(ApplicationStateNode node, int pickedAction, int actionIndex) {
+        this.node = node;
+        this.pickedAction = pickedAction;
+        this.action = node.getAction(pickedAction);
         this.actionIndex = actionIndex;
     }
 
@@ -37,7 +43,7 @@ public class NodeWithPickedAction {
      * @return Returns the action probability.
      */
     public double getProbabilityOfAction() {
-        return actionProbabilities.get(action);
+        return node.getProbability(pickedAction);
     }
 
     /**
@@ -46,16 +52,25 @@ public class NodeWithPickedAction {
      * @param newProb The new action probability.
      */
     public void setProbabilityOfAction(double newProb) {
-        actionProbabilities.put(action, newProb);
+        node.setProbability(pickedAction, newProb);
+    }
+
+    /**
+     * Retrieves the index of the action in the given node.
+     *
+     * @return Returns the index of the picked action.
+     */
+    public int getPickedAction() {
+        return pickedAction;
     }
 
     /**
-     * Retrieves the action probabilities of the given node.
+     * Retrieves the given node.
      *
-     * @return Returns the action probabilities of the given node.
+     * @return Returns the given node.
      */
-    public Map<Action, Double> getActionProbabilities() {
-        return actionProbabilities;
+    public ApplicationStateNode getNode() {
+        return node;
     }
 
     /**
@@ -76,8 +91,7 @@ public class NodeWithPickedAction {
         }
 
         final NodeWithPickedAction that = (NodeWithPickedAction) o;
-        return Objects.equals(actionProbabilities, that.actionProbabilities)
-                && Objects.equals(action, that.action);
+        return node == that.node && pickedAction == that.pickedAction;
     }
 
     /**
@@ -87,6 +101,6 @@ public class NodeWithPickedAction {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(actionProbabilities, action);
+        return Objects.hash(System.identityHashCode(node), pickedAction);
     }
 }
@@ -8,6 +8,7 @@ import org.mate.exploration.genetic.fitness.IFitnessFunction;
 import org.mate.exploration.genetic.util.eda.IProbabilisticModel;
 import org.mate.exploration.genetic.util.eda.pipe.dot.DotConverter;
 import org.mate.exploration.genetic.util.eda.pipe.ppt.ApplicationStateTree;
+import org.mate.exploration.genetic.util.eda.pipe.ppt.ApplicationStateTree.ApplicationStateNode;
 import org.mate.interaction.action.Action;
 import org.mate.model.TestCase;
 import org.mate.state.IScreenState;
@@ -72,6 +73,11 @@ public class PIPE implements IProbabilisticModel<TestCase> {
      */
     private final double mutationRate;
 
+    /**
+     * The maximal number of nodes in the PPT. A non-positive budget disables pruning.
+     */
+    private final int nodeBudget = Properties.PIPE_PPT_NODE_BUDGET();
+
     /**
      * Stores the best chromosome seen so far.
      */
@@ -145,7 +151,7 @@ public class PIPE implements IProbabilisticModel<TestCase> {
      */
     @Override
     public void updatePositionImmutable(final IScreenState currentScreenState) {
-        ppt.updatePositionImmutable(currentScreenState);
+        ppt.updatePositionImmutable(currentScreenState.getId());
     }
 
     /**
@@ -330,7 +336,7 @@ public class PIPE implements IProbabilisticModel<TestCase> {
 
         // Compute the list of nodes traversed by the best test case.
         final List<NodeWithPickedAction> nodes = new LinkedList<NodeWithPickedAction>() {{
-            new TestCaseModelIterator(PIPE.this, bestTestCase.getValue())
+            new TestCaseModelIterator(ppt, bestTestCase.getValue())
                     .forEachRemaining(this::add);
         }};
 
@@ -366,20 +372,25 @@ public class PIPE implements IProbabilisticModel<TestCase> {
 
         // Traverse over all nodes of the best test case.
         final Iterator<NodeWithPickedAction> testCaseModelIterator
-                = new TestCaseModelIterator(this, bestTestCase);
+                = new TestCaseModelIterator(ppt, bestTestCase);
 
         while (testCaseModelIterator.hasNext()) {
 
             final NodeWithPickedAction nodeWithPickedAction = testCaseModelIterator.next();
+            final ApplicationStateNode node = nodeWithPickedAction.getNode();
+            final int pickedAction = nodeWithPickedAction.getPickedAction();
             final double probAction = nodeWithPickedAction.getProbabilityOfAction();
-            final double sum = nodeWithPickedAction.getActionProbabilities().values().stream()
-                    .mapToDouble(d -> d).sum();
+
+            double sum = 0;
+            for (int i = 0; i < node.getNumberOfActions(); i++) {
+                sum += node.getProbability(i);
+            }
 
             // Normalize the action probabilities of the traversed node.
-            for (final Map.Entry<Action, Double> entry : nodeWithPickedAction.getActionProbabilities().entrySet()) {
-                if (!entry.getKey().equals(nodeWithPickedAction.action)) {
-                    double probBefore = entry.getValue();
-                    entry.setValue(probBefore * (1 - (1 - sum) / (probAction - sum)));
+            final double factor = 1 - (1 - sum) / (probAction - sum);
+            for (int i = 0; i < node.getNumberOfActions(); i++) {
+                if (i != pickedAction) {
+                    node.setProbability(i, node.getProbability(i) * factor);
                 }
             }
         }
@@ -402,28 +413,28 @@ public class PIPE implements IProbabilisticModel<TestCase> {
             double pMP = pMutation / (z * Math.sqrt(bestTestCase.getValue().getActionSequence().size()));
 
             final Iterator<NodeWithPickedAction> testCaseModelIterator
-                    = new TestCaseModelIterator(this, bestTestCase.getValue());
+                    = new TestCaseModelIterator(ppt, bestTestCase.getValue());
 
             // Mutate the action probabilities of the best test case.
             while (testCaseModelIterator.hasNext()) {
 
-                final NodeWithPickedAction nodeWithPickedAction = testCaseModelIterator.next();
+                final ApplicationStateNode node = testCaseModelIterator.next().getNode();
+                double sum = 0;
 
                 // TODO: Do we really mutate all action probabilities of every node that were traversed by
                 //  the best test case or only the action probabilities of the best test case?
-                for (final Map.Entry<Action, Double> entry : nodeWithPickedAction.getActionProbabilities().entrySet()) {
+                for (int i = 0; i < node.getNumberOfActions(); i++) {
                     if (Randomness.getRnd().nextDouble() < pMP) {
-                        final double probBefore = entry.getValue();
+                        final double probBefore = node.getProbability(i);
                         // PIPE paper 4.5
-                        entry.setValue(probBefore + mutationRate * (1 - probBefore));
+                        node.setProbability(i, probBefore + mutationRate * (1 - probBefore));
                     }
+                    sum += node.getProbability(i);
                 }
 
                 // Normalise to form a valid probability distribution at the given node.
-                double sum = nodeWithPickedAction.getActionProbabilities().values().stream()
-                        .mapToDouble(d -> d).sum();
-                for (final Map.Entry<Action, Double> entry : nodeWithPickedAction.getActionProbabilities().entrySet()) {
-                    entry.setValue(entry.getValue() / sum);
+                for (int i = 0; i < node.getNumberOfActions(); i++) {
+                    node.setProbability(i, node.getProbability(i) / sum);
                 }
             }
         }
@@ -431,11 +442,18 @@ public class PIPE implements IProbabilisticModel<TestCase> {
 
     /**
      * Performs the pruning of the PPT, i.e. it removes subtrees that became irrelevant over time.
+     * The PPT is only pruned if it exceeds the node budget, in which case the subtrees that are
+     * least likely to be reached are removed. The path of the elitist is always kept, since it is
+     * traversed again by elitist learning.
      */
     private void pptPruning() {
+
         MATE.log_acc("Pruning of PPT...");
-        // TODO Remove subtrees which are very unlikely to be reached, ignoring for now, since this
-        //  is only a performance/memory optimization.
+
+        if (nodeBudget > 0 && ppt.size() > nodeBudget) {
+            final int removed = ppt.prune(nodeBudget, elitist.getValue().getStateSequence());
+            MATE.log_acc("Pruned " + removed + " nodes of PPT, remaining nodes: " + ppt.size());
+        }
     }
 
     /**
@@ -7,17 +7,15 @@ import org.mate.interaction.action.ui.UIAction;
 import org.mate.model.IGUIModel;
 import org.mate.state.IScreenState;
 
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.function.BiFunction;
 
 /**
  * The (default) initialization strategy of weights/probabilities for each action of a state.
  */
-public class ProbabilityInitialization implements BiFunction<List<Action>, IScreenState, Map<Action, Double>> {
+public class ProbabilityInitialization implements BiFunction<List<Action>, IScreenState, double[]> {
 
     /**
      * An additional weight factor for promising actions.
@@ -38,12 +36,14 @@ public class ProbabilityInitialization implements BiFunction<List<Action>, IScre
      *
      * @param prevActions The list of actions that have been executed so far.
      * @param state The state for which the action probabilities should be computed.
-     * @return Returns a map defining for each action the probability.
+     * @return Returns the probabilities, i.e. the i-th probability belongs to the i-th action of
+     *          the state.
      */
     @Override
-    public Map<Action, Double> apply(final List<Action> prevActions, final IScreenState state) {
+    public double[] apply(final List<Action> prevActions, final IScreenState state) {
 
-        final Map<Action, Double> probabilities = new HashMap<>();
+        final List<Action> actions = state.getActions();
+        final double[] weights = new double[actions.size()];
         final Set<Action> promisingActions
                 = new HashSet<>(Registry.getUiAbstractionLayer().getPromisingActions(state));
 
@@ -53,33 +53,34 @@ public class ProbabilityInitialization implements BiFunction<List<Action>, IScre
 
         // P_j(I) = P_T / l, where I elem promising actions
         // P_j(I) = (1 - P_T) / l, where I not elem promising actions
-        for (final Action action : state.getActions()) {
-            double weight = getActionWeight(prevActions, state, action) *
+        for (int i = 0; i < weights.length; i++) {
+            final Action action = actions.get(i);
+            weights[i] = getActionWeight(prevActions, state, action) *
                     (promisingActions.contains(action) ? pPromisingAction : (1 - pPromisingAction));
-            probabilities.put(action, weight);
         }
 
-        return toProbabilities(probabilities);
+        return toProbabilities(weights);
     }
 
     /**
      * Converts the action weights to probabilities. The sum over the probabilities must be 1.
      *
-     * @param weights The map of action weights.
+     * @param weights The action weights, which are converted in place.
      * @return Returns the probability for each action.
      */
-    private Map<Action, Double> toProbabilities(final Map<Action, Double> weights) {
+    private double[] toProbabilities(final double[] weights) {
 
-        final Map<Action, Double> probabilities = new HashMap<>();
-
-        double sum = weights.values().stream().mapToDouble(Number::doubleValue).sum();
+        double sum = 0;
+        for (final double weight : weights) {
+            sum += weight;
+        }
 
         // Assign to each action a probability proportionate to its weight.
-        for (Map.Entry<Action, Double> weightEntry : weights.entrySet()) {
-            probabilities.put(weightEntry.getKey(), weightEntry.getValue() / sum);
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] /= sum;
         }
 
-        return probabilities;
+        return weights;
     }
 
     /**
@@ -1,11 +1,10 @@
 package org.mate.exploration.genetic.util.eda.pipe;
 
 import org.mate.MATE;
-import org.mate.Registry;
-import org.mate.exploration.genetic.util.eda.IProbabilisticModel;
+import org.mate.exploration.genetic.util.eda.pipe.ppt.ApplicationStateTree;
+import org.mate.exploration.genetic.util.eda.pipe.ppt.ApplicationStateTree.ApplicationStateNode;
 import org.mate.interaction.action.Action;
 import org.mate.model.TestCase;
-import org.mate.state.IScreenState;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
@@ -18,7 +17,7 @@ class TestCaseModelIterator implements Iterator<NodeWithPickedAction> {
     /**
      * The probabilistic model (PPT).
      */
-    private final IProbabilisticModel<TestCase> probabilisticModel;
+    private final ApplicationStateTree ppt;
 
     /**
      * An iterator over the action sequence of the test case.
@@ -26,9 +25,9 @@ class TestCaseModelIterator implements Iterator<NodeWithPickedAction> {
     private final Iterator<Action> actionIterator;
 
     /**
-     * An iterator over the screen state sequence of the test case.
+     * An iterator over the screen state ids of the test case.
      */
-    private final Iterator<IScreenState> stateIterator;
+    private final Iterator<String> stateIterator;
 
     /**
      * The position of the iterator.
@@ -38,25 +37,23 @@ class TestCaseModelIterator implements Iterator<NodeWithPickedAction> {
     /**
      * Initialises a new test case iterator over the probabilistic model.
      *
-     * @param probabilisticModel The probabilistic model.
+     * @param ppt The probabilistic model.
      * @param testCase The test case for which the iterator in the PPT should be constructed.
      */
-    TestCaseModelIterator(IProbabilisticModel<TestCase> probabilisticModel, TestCase testCase) {
+    TestCaseModelIterator(ApplicationStateTree ppt, TestCase testCase) {
 
-        this.probabilisticModel = probabilisticModel;
+        this.ppt = ppt;
         this.actionIterator = testCase.getActionSequence().iterator();
-        this.stateIterator = testCase.getStateSequence().stream()
-                .map(stateId -> Registry.getUiAbstractionLayer().getGuiModel().getScreenStateById(stateId))
-                .iterator();
+        this.stateIterator = testCase.getStateSequence().iterator();
 
         MATE.log_debug("PPT: ");
-        MATE.log_debug(probabilisticModel.toString());
+        MATE.log_debug(ppt.toString());
 
         // Reset cursor to root node of PPT.
-        probabilisticModel.resetPosition();
+        ppt.resetPosition();
 
         // This skips the root node.
-        if (!stateIterator.next().equals(probabilisticModel.getState())) {
+        if (!stateIterator.next().equals(ppt.getCurrentNode().getStateId())) {
             MATE.log_warn("Test case does not start at root node...");
         }
 
@@ -85,14 +82,20 @@ class TestCaseModelIterator implements Iterator<NodeWithPickedAction> {
         }
 
         final Action currentAction = actionIterator.next();
+        final ApplicationStateNode node = ppt.getCurrentNode();
+        final int pickedAction = node.indexOf(currentAction);
+
+        if (pickedAction < 0) {
+            throw new IllegalStateException("Action " + currentAction.toShortString()
+                    + " is not part of the PPT node " + node.getStateId() + "!");
+        }
+
         final NodeWithPickedAction nodeWithPickedAction
-                = new NodeWithPickedAction(probabilisticModel.getActionProbabilities(),
-                currentAction, returnedNodes);
+                = new NodeWithPickedAction(node, pickedAction, returnedNodes);
 
         // Move the cursor in the PPT to the next state.
         if (stateIterator.hasNext()) {
-            final IScreenState nextState = stateIterator.next();
-            probabilisticModel.updatePositionImmutable(nextState);
+            ppt.updatePositionImmutable(stateIterator.next());
         }
 
         returnedNodes++;
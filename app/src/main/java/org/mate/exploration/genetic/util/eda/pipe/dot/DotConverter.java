@@ -3,8 +3,6 @@ package org.mate.exploration.genetic.util.eda.pipe.dot;
 import org.mate.Registry;
 import org.mate.exploration.genetic.util.eda.pipe.ppt.ApplicationStateTree;
 import org.mate.exploration.genetic.util.eda.pipe.ppt.TreeNode;
-import org.mate.interaction.action.Action;
-import org.mate.state.IScreenState;
 import org.mate.utils.Tuple;
 
 import java.util.HashMap;
@@ -17,7 +15,10 @@ import java.util.StringJoiner;
 import java.util.function.BiFunction;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
+import java.util.function.IntPredicate;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Converts an {@link ApplicationStateTree} (PPT) to a DOT representation.
@@ -57,10 +58,11 @@ public final class DotConverter {
         Optional<TreeNode<ApplicationStateTree.ApplicationStateNode>> nextNode;
 
         do {
-            final Action nextAction = prevNode.getContent().getActionWithBiggestProbability();
+            final int nextAction = prevNode.getContent().getIndexOfBiggestProbability();
 
-            final IScreenState nextState = prevNode.getContent().getActionToNextState().get(nextAction);
-            nextNode = prevNode.getChild(node -> node.getState().equals(nextState));
+            final String nextStateId = nextAction < 0 ? null : prevNode.getContent().getNextStateId(nextAction);
+            nextNode = nextStateId == null ? Optional.empty()
+                    : prevNode.getChild(node -> node.getStateId().equals(nextStateId));
 
             if (nextNode.isPresent()) {
                 path.add(new Tuple<>(prevNode, nextNode.get()));
@@ -71,6 +73,18 @@ public final class DotConverter {
         return path;
     }
 
+    /**
+     * Returns the indices of the actions of the given node that satisfy the given predicate.
+     *
+     * @param node The given node.
+     * @param predicate The predicate on the action indices.
+     * @return Returns the matching action indices.
+     */
+    private static Stream<Integer> actionsOf(final ApplicationStateTree.ApplicationStateNode node,
+                                                              final IntPredicate predicate) {
+        return IntStream.range(0, node.getNumberOfActions()).filter(predicate).boxed();
+    }
+
     /**
      * Converts the given PPT to a DOT representation.
      *
@@ -91,21 +105,20 @@ public final class DotConverter {
                 .anyMatch(edge -> edge.getX() == source && edge.getY() == target);
 
         // Ignore showing actions that have a very low probability.
-        final BiPredicate<ApplicationStateTree.ApplicationStateNode, Action> keepAction
+        final BiPredicate<ApplicationStateTree.ApplicationStateNode, Integer> keepAction
                 = (node, action) ->
-                node.getActionWithBiggestProbability().equals(action)
-                        || node.getActionProbabilities().getOrDefault(action, 0d) > 0.01;
+                node.getIndexOfBiggestProbability() == action || node.getProbability(action) > 0.01;
 
         // Prints for the given action its action probability.
-        final BiFunction<ApplicationStateTree.ApplicationStateNode, Action, String> printActionProb
+        final BiFunction<ApplicationStateTree.ApplicationStateNode, Integer, String> printActionProb
                 = (node, action) -> {
 
-            final Double actionProbability = node.getActionProbabilities().get(action);
+            final double actionProbability = node.getProbability(action);
 
-            String label = action.toShortString() + ": " + actionProbability;
+            String label = node.getAction(action).toShortString() + ": " + actionProbability;
 
             // label in bold if action with highest probability
-            if (node.getActionWithBiggestProbability().equals(action)) {
+            if (node.getIndexOfBiggestProbability() == action) {
                 label = "<B>" + label + "</B>";
             }
 
@@ -117,7 +130,7 @@ public final class DotConverter {
 
         // Nodes are textually represented by the underlying screen state id.
         final Function<TreeNode<ApplicationStateTree.ApplicationStateNode>, String> nodeLabelFunction
-                = node -> node.getContent().getState().getId();
+                = node -> node.getContent().getStateId();
 
         final Function<TreeNode<ApplicationStateTree.ApplicationStateNode>, String> nodeToEscapedLabelFunction
                 = node -> '"' + nodeLabelFunction.apply(node) + " "
@@ -126,7 +139,7 @@ public final class DotConverter {
         // Defines the node attributes.
         final Function<TreeNode<ApplicationStateTree.ApplicationStateNode>, Map<String, String>>
                 attributesFunction = node -> new HashMap<String, String>() {{
-            put("image", "\"../" + SCREENSHOTS_DIR + "/" + node.getContent().getState().getId() + ".png\"");
+            put("image", "\"../" + SCREENSHOTS_DIR + "/" + node.getContent().getStateId() + ".png\"");
             put("imagescale", "true");
             put("imagepos", "tc");
             put("labelloc", "b");
@@ -134,8 +147,8 @@ public final class DotConverter {
             put("fixedsize", "true");
             put("shape", "square");
             // Show next to each node the action probabilities.
-            put("xlabel", "<" + node.getContent().getActionProbabilities().keySet().stream()
-                    .filter(action -> !node.getContent().getActionToNextState().containsKey(action))
+            put("xlabel", "<" + actionsOf(node.getContent(),
+                    action -> node.getContent().getNextStateId(action) == null)
                     .filter(action -> keepAction.test(node.getContent(), action))
                     .map(action -> printActionProb.apply(node.getContent(), action))
                     .collect(Collectors.joining("<BR/>")) + ">"
@@ -145,10 +158,10 @@ public final class DotConverter {
         final BiFunction<TreeNode<ApplicationStateTree.ApplicationStateNode>,
                 TreeNode<ApplicationStateTree.ApplicationStateNode>, Map<String, String>>
                 edgeAttributeFunction = (source, target) -> new HashMap<String, String>() {{
-            put("label", "<" + source.getContent().getActionToNextState().entrySet().stream()
-                    .filter(e -> e.getValue().equals(target.getContent().getState()))
-                    .filter(e -> keepAction.test(source.getContent(), e.getKey()))
-                    .map(e -> printActionProb.apply(source.getContent(), e.getKey()))
+            put("label", "<" + actionsOf(source.getContent(), action -> target.getContent().getStateId()
+                    .equals(source.getContent().getNextStateId(action)))
+                    .filter(action -> keepAction.test(source.getContent(), action))
+                    .map(action -> printActionProb.apply(source.getContent(), action))
                     .collect(Collectors.joining("<BR/>")) + ">");
 
             if (isOnMostLikelyPath.test(source, target)) {
@@ -1,5 +1,6 @@
 package org.mate.exploration.genetic.util.eda.pipe.ppt;
 
+import org.mate.MATE;
 import org.mate.Registry;
 import org.mate.interaction.action.Action;
 import org.mate.model.TestCase;
@@ -7,22 +8,28 @@ import org.mate.state.IScreenState;
 
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Queue;
+import java.util.Set;
 import java.util.function.BiFunction;
 
 /**
- * The probabilistic prototype tree (PPT).
+ * The probabilistic prototype tree (PPT). The nodes only reference the id of their screen state
+ * and store the action probabilities as primitive arrays, which are indexed by the position of
+ * the action in the action list of the screen state.
  */
 public class ApplicationStateTree {
 
     /**
-     * Initialises the probabilities (action weights) of a state.
+     * Initialises the probabilities (action weights) of a state. The i-th probability belongs to
+     * the i-th action of the state.
      */
-    private final BiFunction<List<Action>, IScreenState, Map<Action, Double>> initializeNodeFunction;
+    private final BiFunction<List<Action>, IScreenState, double[]> initializeNodeFunction;
 
     /**
      * The actual PPT.
@@ -34,12 +41,17 @@ public class ApplicationStateTree {
      */
     private TreeNode<ApplicationStateNode> cursor;
 
+    /**
+     * The number of nodes in the PPT.
+     */
+    private int size = 1;
+
     /**
      * Initialises a new PPT.
      *
      * @param initializeNodeFunction The initialization function for the action weights of a state.
      */
-    public ApplicationStateTree(BiFunction<List<Action>, IScreenState, Map<Action, Double>> initializeNodeFunction) {
+    public ApplicationStateTree(BiFunction<List<Action>, IScreenState, double[]> initializeNodeFunction) {
         this.initializeNodeFunction = initializeNodeFunction;
         tree = new Tree<>(initializeNode(Collections.emptyList(),
                 Registry.getUiAbstractionLayer().getLastScreenState()));
@@ -52,7 +64,16 @@ public class ApplicationStateTree {
      * @return Returns the action probabilities of the current PPT state.
      */
     public Map<Action, Double> getActionProbabilities() {
-        return cursor.getContent().actionProbabilities;
+        return cursor.getContent().getActionProbabilities();
+    }
+
+    /**
+     * Returns the current PPT node.
+     *
+     * @return Returns the current PPT node.
+     */
+    public ApplicationStateNode getCurrentNode() {
+        return cursor.getContent();
     }
 
     /**
@@ -61,7 +82,7 @@ public class ApplicationStateTree {
      * @return Returns the current PPT state.
      */
     public IScreenState getState() {
-        return cursor.getContent().state;
+        return cursor.getContent().getState();
     }
 
     /**
@@ -72,20 +93,24 @@ public class ApplicationStateTree {
      * @param currentScreenState The current screen state.
      */
     public void updatePosition(final TestCase testCase, final Action action, final IScreenState currentScreenState) {
-        cursor.getContent().updateActionToNextState(action, currentScreenState);
-        cursor = cursor.getChild(s -> s.state.equals(currentScreenState))
-                .orElseGet(() -> cursor.addChild(initializeNode(testCase.getActionSequence(), currentScreenState)));
+        final String stateId = currentScreenState.getId();
+        cursor.getContent().updateActionToNextState(action, stateId);
+        cursor = cursor.getChild(s -> s.stateId.equals(stateId))
+                .orElseGet(() -> {
+                    size++;
+                    return cursor.addChild(initializeNode(testCase.getActionSequence(), currentScreenState));
+                });
     }
 
     /**
      * Updates the current position in the PPT.
      *
-     * @param currentScreenState The new position in the PPT.
+     * @param stateId The id of the screen state describing the new position in the PPT.
      */
-    public void updatePositionImmutable(final IScreenState currentScreenState) {
+    public void updatePositionImmutable(final String stateId) {
 
         // relative change from current position
-        cursor = cursor.getChild(s -> s.state.equals(currentScreenState))
+        cursor = cursor.getChild(s -> s.stateId.equals(stateId))
                 .orElseThrow(() -> new IllegalStateException("Can't locate state in child nodes!"));
     }
 
@@ -106,6 +131,93 @@ public class ApplicationStateTree {
         return tree.getRoot();
     }
 
+    /**
+     * Returns the number of nodes in the PPT.
+     *
+     * @return Returns the number of nodes.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Prunes the PPT until it doesn't exceed the given number of nodes. The leaves that are least
+     * likely to be reached from the root node are removed first, i.e. subtrees are removed
+     * bottom-up. The nodes along the given path are never removed. Afterwards, the cursor is reset
+     * to the root node.
+     *
+     * @param budget The maximal number of nodes.
+     * @param protectedPath The state ids of a path starting at the root node that should be kept,
+     *         e.g. the state sequence of the elitist test case.
+     * @return Returns the number of removed nodes.
+     */
+    public int prune(final int budget, final List<String> protectedPath) {
+
+        final Set<TreeNode<ApplicationStateNode>> protectedNodes
+                = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        TreeNode<ApplicationStateNode> node = tree.getRoot();
+        protectedNodes.add(node);
+
+        // the first state of the path refers to the root node
+        for (int i = 1; i < protectedPath.size() && node != null; i++) {
+            final String stateId = protectedPath.get(i);
+            node = node.getChild(s -> s.stateId.equals(stateId)).orElse(null);
+            if (node != null) {
+                protectedNodes.add(node);
+            }
+        }
+
+        // the probability to reach a node is the product of the transition probabilities
+        final Map<TreeNode<ApplicationStateNode>, Double> reachProbabilities = new IdentityHashMap<>();
+        final PriorityQueue<TreeNode<ApplicationStateNode>> leaves
+                = new PriorityQueue<>(Comparator.comparingDouble(reachProbabilities::get));
+
+        final Queue<TreeNode<ApplicationStateNode>> bfsQueue = new LinkedList<>();
+        bfsQueue.add(tree.getRoot());
+        reachProbabilities.put(tree.getRoot(), 1.0);
+
+        while (!bfsQueue.isEmpty()) {
+
+            final TreeNode<ApplicationStateNode> parent = bfsQueue.poll();
+            final double reachProbability = reachProbabilities.get(parent);
+
+            for (final TreeNode<ApplicationStateNode> child : parent.getChildren()) {
+                reachProbabilities.put(child, reachProbability
+                        * parent.getContent().getTransitionProbability(child.getContent().stateId));
+                if (child.getChildren().isEmpty()) {
+                    leaves.add(child);
+                } else {
+                    bfsQueue.add(child);
+                }
+            }
+        }
+
+        int removed = 0;
+
+        while (size > budget && !leaves.isEmpty()) {
+
+            final TreeNode<ApplicationStateNode> leaf = leaves.poll();
+
+            if (protectedNodes.contains(leaf)) {
+                continue;
+            }
+
+            final TreeNode<ApplicationStateNode> parent = leaf.getParent();
+            parent.removeChild(leaf);
+            parent.getContent().removeNextState(leaf.getContent().stateId);
+            size--;
+            removed++;
+
+            if (parent.getChildren().isEmpty()) {
+                leaves.add(parent);
+            }
+        }
+
+        cursor = tree.getRoot();
+        return removed;
+    }
+
     /**
      * Provides a textual representation of the PPT.
      *
@@ -127,7 +239,7 @@ public class ApplicationStateTree {
 
             for (int i = 0; i < size; i++) {
                 final TreeNode<ApplicationStateNode> node = bfsQueue.poll();
-                builder.append(node.getContent().state.getId() + "(" + node.getChildren().size() + ") ");
+                builder.append(node.getContent().stateId + "(" + node.getChildren().size() + ") ");
 
                 for (TreeNode<ApplicationStateNode> child : node.getChildren()) {
                     bfsQueue.add(child);
@@ -147,7 +259,8 @@ public class ApplicationStateTree {
      * @return Returns the initialized node.
      */
     private ApplicationStateNode initializeNode(final List<Action> prevActions, final IScreenState state) {
-        return new ApplicationStateNode(state, initializeNodeFunction.apply(prevActions, state));
+        return new ApplicationStateNode(state.getId(), state.getActions(),
+                initializeNodeFunction.apply(prevActions, state));
     }
 
     /**
@@ -156,39 +269,187 @@ public class ApplicationStateTree {
     public static class ApplicationStateNode {
 
         /**
-         * The underlying screen state.
+         * The id of the underlying screen state.
          */
-        private final IScreenState state;
+        private final String stateId;
 
         /**
-         * The action probabilities of the state.
+         * The actions of the state.
          */
-        private final Map<Action, Double> actionProbabilities;
+        private final Action[] actions;
 
         /**
-         * The outgoing action transitions of the state.
+         * The action probabilities of the state, i.e. the i-th probability belongs to the i-th
+         * action.
          */
-        private final Map<Action, IScreenState> actionToNextState = new HashMap<>();
+        private final double[] probabilities;
+
+        /**
+         * The outgoing action transitions of the state, i.e. the i-th entry is the id of the state
+         * reached by the i-th action or {@code null} if the action hasn't been executed so far.
+         */
+        private final String[] nextStateIds;
 
         /**
          * Constructs a new node in the PPT.
          *
-         * @param state The underlying screen state.
-         * @param actionProbabilities The action probabilities of the state.
+         * @param stateId The id of the underlying screen state.
+         * @param actions The actions of the state.
+         * @param probabilities The action probabilities of the state.
          */
-        private ApplicationStateNode(IScreenState state, Map<Action, Double> actionProbabilities) {
-            this.state = state;
-            this.actionProbabilities = actionProbabilities;
+        private ApplicationStateNode(String stateId, List<Action> actions, double[] probabilities) {
+
+            if (actions.size() != probabilities.length) {
+                throw new IllegalArgumentException("Expected " + actions.size()
+                        + " action probabilities but got " + probabilities.length + "!");
+            }
+
+            this.stateId = stateId;
+            this.actions = actions.toArray(new Action[0]);
+            this.probabilities = probabilities;
+            this.nextStateIds = new String[probabilities.length];
         }
 
         /**
          * Adds a new outgoing action transition.
          *
          * @param action The action triggering a transition.
-         * @param nextState The resulting state upon applying the given action.
+         * @param nextStateId The id of the resulting state upon applying the given action.
          */
-        private void updateActionToNextState(final Action action, final IScreenState nextState) {
-            actionToNextState.put(action, nextState);
+        private void updateActionToNextState(final Action action, final String nextStateId) {
+
+            final int index = indexOf(action);
+
+            if (index < 0) {
+                MATE.log_warn("Action " + action.toShortString() + " is not part of the PPT node "
+                        + stateId + "!");
+            } else {
+                nextStateIds[index] = nextStateId;
+            }
+        }
+
+        /**
+         * Removes all outgoing action transitions leading to the given state.
+         *
+         * @param nextStateId The id of the state.
+         */
+        private void removeNextState(final String nextStateId) {
+            for (int i = 0; i < nextStateIds.length; i++) {
+                if (nextStateId.equals(nextStateIds[i])) {
+                    nextStateIds[i] = null;
+                }
+            }
+        }
+
+        /**
+         * Computes the probability of reaching the given state, i.e. the sum over the probabilities
+         * of the actions leading to the given state.
+         *
+         * @param nextStateId The id of the state.
+         * @return Returns the probability of reaching the given state.
+         */
+        private double getTransitionProbability(final String nextStateId) {
+            double probability = 0;
+            for (int i = 0; i < nextStateIds.length; i++) {
+                if (nextStateId.equals(nextStateIds[i])) {
+                    probability += probabilities[i];
+                }
+            }
+            return probability;
+        }
+
+        /**
+         * Returns the index of the given action. The actions are compared by identity first, since
+         * the executed actions are usually the very same action objects.
+         *
+         * @param action The given action.
+         * @return Returns the index of the given action or {@code -1} if the action doesn't belong
+         *          to the state.
+         */
+        public int indexOf(final Action action) {
+
+            for (int i = 0; i < actions.length; i++) {
+                if (actions[i] == action) {
+                    return i;
+                }
+            }
+
+            for (int i = 0; i < actions.length; i++) {
+                if (actions[i].equals(action)) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+
+        /**
+         * Returns the number of actions of the state.
+         *
+         * @return Returns the number of actions.
+         */
+        public int getNumberOfActions() {
+            return actions.length;
+        }
+
+        /**
+         * Returns the action with the given index.
+         *
+         * @param index The index of the action.
+         * @return Returns the action with the given index.
+         */
+        public Action getAction(final int index) {
+            return actions[index];
+        }
+
+        /**
+         * Returns the probability of the action with the given index.
+         *
+         * @param index The index of the action.
+         * @return Returns the action probability.
+         */
+        public double getProbability(final int index) {
+            return probabilities[index];
+        }
+
+        /**
+         * Sets the probability of the action with the given index.
+         *
+         * @param index The index of the action.
+         * @param probability The new action probability.
+         */
+        public void setProbability(final int index, final double probability) {
+            probabilities[index] = probability;
+        }
+
+        /**
+         * Returns the id of the state reached by the action with the given index.
+         *
+         * @param index The index of the action.
+         * @return Returns the id of the next state or {@code null} if the action hasn't been
+         *          executed so far.
+         */
+        public String getNextStateId(final int index) {
+            return nextStateIds[index];
+        }
+
+        /**
+         * Retrieves the index of the action with the highest action probability.
+         *
+         * @return Returns the index of the action with the highest probability or {@code -1} if
+         *          the state has no actions.
+         */
+        public int getIndexOfBiggestProbability() {
+
+            int best = -1;
+
+            for (int i = 0; i < probabilities.length; i++) {
+                if (best < 0 || probabilities[i] > probabilities[best]) {
+                    best = i;
+                }
+            }
+
+            return best;
         }
 
         /**
@@ -197,37 +458,49 @@ public class ApplicationStateTree {
          * @return Returns the action with the highest assigned probability.
          */
         public Action getActionWithBiggestProbability() {
-            return actionProbabilities.entrySet().stream()
-                    .max(Comparator.comparingDouble(Map.Entry::getValue))
-                    .map(Map.Entry::getKey)
-                    .orElseThrow(IllegalStateException::new);
+
+            final int best = getIndexOfBiggestProbability();
+
+            if (best < 0) {
+                throw new IllegalStateException();
+            }
+
+            return actions[best];
         }
 
         /**
-         * Retrieves the action probabilities for the given state.
+         * Retrieves the action probabilities for the given state. The returned map is a copy, use
+         * {@link #setProbability(int, double)} to update a probability.
          *
          * @return Returns the action probabilities for the given state.
          */
         public Map<Action, Double> getActionProbabilities() {
+
+            final Map<Action, Double> actionProbabilities = new LinkedHashMap<>();
+
+            for (int i = 0; i < actions.length; i++) {
+                actionProbabilities.put(actions[i], probabilities[i]);
+            }
+
             return actionProbabilities;
         }
 
         /**
-         * Retrieves the outgoing action transitions.
+         * Retrieves the id of the underlying screen state.
          *
-         * @return Returns the outgoing action transitions.
+         * @return Returns the id of the underlying screen state.
          */
-        public Map<Action, IScreenState> getActionToNextState() {
-            return actionToNextState;
+        public String getStateId() {
+            return stateId;
         }
 
         /**
-         * Retrieves the underlying screen state.
+         * Retrieves the underlying screen state from the gui model.
          *
          * @return Returns the underlying screen state.
          */
         public IScreenState getState() {
-            return state;
+            return Registry.getUiAbstractionLayer().getGuiModel().getScreenStateById(stateId);
         }
     }
 }
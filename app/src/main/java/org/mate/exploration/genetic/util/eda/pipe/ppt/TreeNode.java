@@ -1,10 +1,9 @@
 package org.mate.exploration.genetic.util.eda.pipe.ppt;
 
-import java.util.LinkedHashSet;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -27,9 +26,10 @@ public class TreeNode<T> {
     private final TreeNode<T> parent;
 
     /**
-     * The children nodes.
+     * The children nodes. A list is used instead of a set, since hashing a tree node traverses all
+     * its parent nodes.
      */
-    private final Set<TreeNode<T>> children = new LinkedHashSet<>();
+    private final List<TreeNode<T>> children = new ArrayList<>(1);
 
     /**
      * Constructs a new tree node.
@@ -54,15 +54,40 @@ public class TreeNode<T> {
         return node;
     }
 
+    /**
+     * Removes the given child node including its subtree.
+     *
+     * @param child The child node that should be removed.
+     * @return Returns {@code true} if the child node was removed, otherwise {@code false}.
+     */
+    public boolean removeChild(TreeNode<T> child) {
+        for (int i = 0; i < children.size(); i++) {
+            if (children.get(i) == child) {
+                children.remove(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Retrieves the children nodes.
      *
      * @return Returns the children nodes.
      */
-    public Set<TreeNode<T>> getChildren() {
+    public List<TreeNode<T>> getChildren() {
         return children;
     }
 
+    /**
+     * Retrieves the parent node.
+     *
+     * @return Returns the parent node or {@code null} if this is the root node.
+     */
+    public TreeNode<T> getParent() {
+        return parent;
+    }
+
     /**
      * Returns the list of parent nodes.
      *
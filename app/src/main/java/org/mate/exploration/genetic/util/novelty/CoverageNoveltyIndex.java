@@ -0,0 +1,418 @@
+package org.mate.exploration.genetic.util.novelty;
+
+import org.mate.Properties;
+import org.mate.Registry;
+import org.mate.exploration.genetic.chromosome.IChromosome;
+import org.mate.utils.FitnessUtils;
+import org.mate.utils.IndexedMinPriorityQueue;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+
+/**
+ * Computes the novelty of chromosomes on the device based on their coverage vectors, e.g. which
+ * branches have been covered, see {@link Properties#OBJECTIVE()}. The distance between two
+ * chromosomes is the Jaccard distance of their coverage vectors and the novelty of a chromosome is
+ * the average distance to its k nearest neighbours. The coverage vector of a chromosome is only
+ * requested once from the server, afterwards novelty is computed without any server round trip.
+ * <p>
+ * In addition, the index maintains the archive of the novelty search. For each archive entry the
+ * k nearest neighbours within the archive are tracked and updated incrementally whenever an entry
+ * is added or replaced. The archive novelty of all entries is kept in a min heap, such that the
+ * least novel entry can be retrieved in constant time. Since the archive is small, the distances
+ * are computed by a brute-force popcount kernel over the packed coverage vectors.
+ *
+ * @param <T> The type of the chromosomes.
+ */
+public final class CoverageNoveltyIndex<T> {
+
+    /**
+     * The number of nearest neighbours k.
+     */
+    private final int nearestNeighbours;
+
+    /**
+     * The maximal number of archive entries.
+     */
+    private final int capacity;
+
+    /**
+     * Provides the coverage vector of a chromosome.
+     */
+    private final Function<IChromosome<T>, BitSet> coverage;
+
+    /**
+     * The coverage vectors of the chromosomes, weakly referenced by their chromosome.
+     */
+    private final Map<IChromosome<T>, CoverageVector> coverageVectors = new WeakHashMap<>();
+
+    /**
+     * The coverage vectors of the archive entries.
+     */
+    private final CoverageVector[] archive;
+
+    /**
+     * The pairwise distances between the archive entries.
+     */
+    private final double[][] distances;
+
+    /**
+     * The k nearest neighbours of each archive entry within the archive.
+     */
+    private final int[][] neighbours;
+
+    /**
+     * The number of nearest neighbours of each archive entry, at most k.
+     */
+    private final int[] numberOfNeighbours;
+
+    /**
+     * The archive entries ordered by their novelty within the archive.
+     */
+    private final IndexedMinPriorityQueue archiveNovelty;
+
+    /**
+     * The number of archive entries.
+     */
+    private int size = 0;
+
+    /**
+     * Creates a new novelty index that requests the coverage vectors from the server.
+     *
+     * @param nearestNeighbours The number of nearest neighbours k.
+     * @param capacity The maximal size of the archive.
+     */
+    public CoverageNoveltyIndex(final int nearestNeighbours, final int capacity) {
+        this(nearestNeighbours, capacity, new ServerCoverage<>());
+    }
+
+    /**
+     * Creates a new novelty index.
+     *
+     * @param nearestNeighbours The number of nearest neighbours k.
+     * @param capacity The maximal size of the archive.
+     * @param coverage Provides the coverage vector of a chromosome.
+     */
+    CoverageNoveltyIndex(final int nearestNeighbours, final int capacity,
+                         final Function<IChromosome<T>, BitSet> coverage) {
+        this.nearestNeighbours = nearestNeighbours;
+        this.coverage = coverage;
+        this.capacity = capacity;
+        archive = new CoverageVector[capacity];
+        distances = new double[capacity][capacity];
+        neighbours = new int[capacity][nearestNeighbours];
+        numberOfNeighbours = new int[capacity];
+        archiveNovelty = new IndexedMinPriorityQueue(capacity);
+    }
+
+    /**
+     * Computes the novelty of the given chromosome with respect to the given population and the
+     * archive.
+     *
+     * @param chromosome The chromosome for which the novelty should be computed.
+     * @param population The current population.
+     * @return Returns the novelty of the chromosome bounded in [0,1], where a higher novelty is
+     *          better. If there is no other chromosome to compare with, a novelty of 1 is returned.
+     */
+    public double getNovelty(final IChromosome<T> chromosome, final List<IChromosome<T>> population) {
+
+        final CoverageVector vector = getCoverageVector(chromosome);
+
+        // the k smallest distances in ascending order
+        final double[] nearest = new double[nearestNeighbours];
+        int found = 0;
+
+        for (final IChromosome<T> other : population) {
+            found = insert(nearest, found, vector.distance(getCoverageVector(other)));
+        }
+
+        for (int i = 0; i < size; i++) {
+            found = insert(nearest, found, vector.distance(archive[i]));
+        }
+
+        return average(nearest, found);
+    }
+
+    /**
+     * Returns the number of archive entries.
+     *
+     * @return Returns the number of archive entries.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the novelty of the given archive entry with respect to the other archive entries.
+     *
+     * @param index The index of the archive entry.
+     * @return Returns the novelty of the archive entry.
+     */
+    public double getArchiveNovelty(final int index) {
+        return archiveNovelty.getKey(index);
+    }
+
+    /**
+     * Returns the least novel archive entry.
+     *
+     * @return Returns the index of the archive entry having the lowest novelty.
+     */
+    public int getLeastNovelArchiveEntry() {
+        return archiveNovelty.peek();
+    }
+
+    /**
+     * Appends the given chromosome to the archive.
+     *
+     * @param chromosome The chromosome that should be added to the archive.
+     * @return Returns the index of the new archive entry.
+     */
+    public int add(final IChromosome<T> chromosome) {
+
+        if (size == capacity) {
+            throw new IllegalStateException("The archive is full, can't store chromosome!");
+        }
+
+        set(size++, chromosome);
+        return size - 1;
+    }
+
+    /**
+     * Replaces the given archive entry with the given chromosome. Only the nearest neighbours of
+     * those archive entries are re-computed that are affected by the replacement.
+     *
+     * @param index The index of the archive entry.
+     * @param chromosome The new chromosome.
+     */
+    public void set(final int index, final IChromosome<T> chromosome) {
+
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("No archive entry at index " + index + "!");
+        }
+
+        final CoverageVector vector = getCoverageVector(chromosome);
+        archive[index] = vector;
+
+        for (int i = 0; i < size; i++) {
+
+            if (i == index) {
+                continue;
+            }
+
+            final double distance = vector.distance(archive[i]);
+            distances[index][i] = distance;
+            distances[i][index] = distance;
+
+            // the neighbours only change if the entry was a neighbour or becomes a neighbour
+            if (isNeighbour(i, index) || numberOfNeighbours[i] < nearestNeighbours
+                    || (numberOfNeighbours[i] > 0
+                    && distance < distances[i][neighbours[i][numberOfNeighbours[i] - 1]])) {
+                updateNeighbours(i);
+            }
+        }
+
+        updateNeighbours(index);
+    }
+
+    /**
+     * Checks whether the given archive entry is among the nearest neighbours of another entry.
+     *
+     * @param index The index of the archive entry.
+     * @param neighbour The index of the potential neighbour.
+     * @return Returns {@code true} if the entry is a nearest neighbour, otherwise {@code false}.
+     */
+    private boolean isNeighbour(final int index, final int neighbour) {
+
+        for (int i = 0; i < numberOfNeighbours[index]; i++) {
+            if (neighbours[index][i] == neighbour) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Re-computes the k nearest neighbours and the novelty of the given archive entry.
+     *
+     * @param index The index of the archive entry.
+     */
+    private void updateNeighbours(final int index) {
+
+        final int[] nearest = neighbours[index];
+        final double[] row = distances[index];
+        int found = 0;
+
+        for (int i = 0; i < size; i++) {
+
+            if (i == index) {
+                continue;
+            }
+
+            // insertion into the sorted list of the k nearest neighbours
+            int position = found;
+            while (position > 0 && row[nearest[position - 1]] > row[i]) {
+                if (position < nearestNeighbours) {
+                    nearest[position] = nearest[position - 1];
+                }
+                position--;
+            }
+
+            if (position < nearestNeighbours) {
+                nearest[position] = i;
+                found = Math.min(found + 1, nearestNeighbours);
+            }
+        }
+
+        numberOfNeighbours[index] = found;
+
+        double sum = 0.0;
+        for (int i = 0; i < found; i++) {
+            sum += row[nearest[i]];
+        }
+
+        archiveNovelty.put(index, found == 0 ? 1.0 : sum / found);
+    }
+
+    /**
+     * Inserts the given distance into the sorted array of the k smallest distances.
+     *
+     * @param nearest The k smallest distances in ascending order.
+     * @param found The number of distances in the array.
+     * @param distance The new distance.
+     * @return Returns the new number of distances in the array.
+     */
+    private int insert(final double[] nearest, final int found, final double distance) {
+
+        int position = found;
+
+        while (position > 0 && nearest[position - 1] > distance) {
+            if (position < nearest.length) {
+                nearest[position] = nearest[position - 1];
+            }
+            position--;
+        }
+
+        if (position < nearest.length) {
+            nearest[position] = distance;
+            return Math.min(found + 1, nearest.length);
+        }
+
+        return found;
+    }
+
+    /**
+     * Averages the given distances.
+     *
+     * @param nearest The distances.
+     * @param found The number of distances.
+     * @return Returns the average distance or {@code 1} if there is no distance.
+     */
+    private static double average(final double[] nearest, final int found) {
+
+        if (found == 0) {
+            return 1.0;
+        }
+
+        double sum = 0.0;
+        for (int i = 0; i < found; i++) {
+            sum += nearest[i];
+        }
+
+        return sum / found;
+    }
+
+    /**
+     * Returns the coverage vector of the given chromosome. The vector is only requested once per
+     * chromosome.
+     *
+     * @param chromosome The given chromosome.
+     * @return Returns the coverage vector of the chromosome.
+     */
+    private CoverageVector getCoverageVector(final IChromosome<T> chromosome) {
+
+        CoverageVector vector = coverageVectors.get(chromosome);
+
+        if (vector == null) {
+            vector = new CoverageVector(coverage.apply(chromosome));
+            coverageVectors.put(chromosome, vector);
+        }
+
+        return vector;
+    }
+
+    /**
+     * Requests the coverage vectors of the chromosomes from the server.
+     *
+     * @param <T> The type of the chromosomes.
+     */
+    private static final class ServerCoverage<T> implements Function<IChromosome<T>, BitSet> {
+
+        /**
+         * The number of objectives, requested lazily from the server.
+         */
+        private int numberOfObjectives = -1;
+
+        /**
+         * Requests the coverage vector of the given chromosome from the server.
+         *
+         * @param chromosome The given chromosome.
+         * @return Returns the coverage vector of the chromosome.
+         */
+        @Override
+        public BitSet apply(final IChromosome<T> chromosome) {
+
+            if (numberOfObjectives < 0) {
+                numberOfObjectives = Registry.getEnvironmentManager()
+                        .getNumberOfObjectives(Properties.OBJECTIVE());
+            }
+
+            return FitnessUtils.getNoveltyCoverageVector(chromosome, Properties.OBJECTIVE(),
+                    numberOfObjectives);
+        }
+    }
+
+    /**
+     * A coverage vector packed into words with its precomputed cardinality.
+     */
+    private static final class CoverageVector {
+
+        /**
+         * The packed coverage vector.
+         */
+        private final long[] words;
+
+        /**
+         * The number of covered objectives.
+         */
+        private final int cardinality;
+
+        private CoverageVector(final BitSet coverage) {
+            words = coverage.toLongArray();
+            cardinality = coverage.cardinality();
+        }
+
+        /**
+         * Computes the Jaccard distance to the given coverage vector, i.e. one minus the ratio of
+         * the commonly covered objectives and the objectives covered by any of the two vectors.
+         *
+         * @param other The other coverage vector.
+         * @return Returns the Jaccard distance bounded in [0,1].
+         */
+        private double distance(final CoverageVector other) {
+
+            final int length = Math.min(words.length, other.words.length);
+            int intersection = 0;
+
+            for (int i = 0; i < length; i++) {
+                intersection += Long.bitCount(words[i] & other.words[i]);
+            }
+
+            final int union = cardinality + other.cardinality - intersection;
+            return union == 0 ? 0.0 : 1.0 - (double) intersection / union;
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package org.mate.exploration.rl.qlearning;
+
+import org.mate.utils.Randomness;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * A q-table that assigns each state a dense index and stores the q-values and visit counters of
+ * the actions of all states in two growable primitive arrays. The actions of a state are
+ * identified by their index in the action list of the state, i.e. a state and its actions form a
+ * contiguous row in the arrays. Apart from growing the arrays when a new state is added, reading,
+ * updating and selecting actions doesn't allocate any objects.
+ * <p>
+ * States are first looked up by identity in a small cache of the recently looked up state
+ * objects and only then by {@link Object#equals(Object)}, since the same screen state object is
+ * typically looked up several times in a row and hashing a screen state requires to traverse all
+ * its widgets. The cache is bounded, thus it doesn't retain the state objects seen so far.
+ *
+ * @param <S> The type of the states.
+ */
+public final class QTable<S> {
+
+    /**
+     * The initial capacity of the q-value and visit counter arrays.
+     */
+    private static final int INITIAL_CAPACITY = 256;
+
+    /**
+     * The number of slots of the identity cache, must be a power of two.
+     */
+    private static final int CACHE_SIZE = 8;
+
+    /**
+     * The initial q-value of a new action.
+     */
+    private final double initialQValue;
+
+    /**
+     * Maps the states to their index.
+     */
+    private final Map<S, Integer> states = new HashMap<>();
+
+    /**
+     * The recently looked up state objects, where each state object is placed in the slot
+     * determined by its identity hash code.
+     */
+    private final Object[] cachedStates = new Object[CACHE_SIZE];
+
+    /**
+     * The index of the state object in the respective slot of the identity cache.
+     */
+    private final int[] cachedIndices = new int[CACHE_SIZE];
+
+    /**
+     * The offset of the row of each state in the arrays.
+     */
+    private int[] offsets = new int[16];
+
+    /**
+     * The number of actions of each state.
+     */
+    private int[] lengths = new int[16];
+
+    /**
+     * The q-values of all actions.
+     */
+    private double[] qValues = new double[INITIAL_CAPACITY];
+
+    /**
+     * The visit counters of all actions.
+     */
+    private int[] visits = new int[INITIAL_CAPACITY];
+
+    /**
+     * The number of occupied slots in the arrays.
+     */
+    private int size = 0;
+
+    /**
+     * Creates a new empty q-table.
+     *
+     * @param initialQValue The initial q-value of a new action.
+     */
+    public QTable(final double initialQValue) {
+        this.initialQValue = initialQValue;
+    }
+
+    /**
+     * Returns the index of the given state.
+     *
+     * @param state The given state.
+     * @return Returns the index of the given state or {@code -1} if the state is unknown.
+     */
+    public int indexOf(final S state) {
+
+        final int slot = slotOf(state);
+
+        if (cachedStates[slot] == state) {
+            return cachedIndices[slot];
+        }
+
+        final Integer index = states.get(state);
+
+        if (index == null) {
+            return -1;
+        }
+
+        cachedStates[slot] = state;
+        cachedIndices[slot] = index;
+        return index;
+    }
+
+    /**
+     * Returns the slot of the identity cache for the given state object.
+     *
+     * @param state The state object.
+     * @return Returns the slot of the state object.
+     */
+    private static int slotOf(final Object state) {
+        return System.identityHashCode(state) & (CACHE_SIZE - 1);
+    }
+
+    /**
+     * Checks whether the given state is known.
+     *
+     * @param state The given state.
+     * @return Returns {@code true} if the state is known, otherwise {@code false} is returned.
+     */
+    public boolean contains(final S state) {
+        return indexOf(state) >= 0;
+    }
+
+    /**
+     * Adds the given state with the given number of actions unless the state is already known.
+     * The q-values of the actions are set to the initial q-value and the visit counters to zero.
+     *
+     * @param state The state to be added.
+     * @param numberOfActions The number of actions of the state.
+     * @return Returns the index of the state.
+     */
+    public int add(final S state, final int numberOfActions) {
+
+        final int known = indexOf(state);
+
+        if (known >= 0) {
+            return known;
+        }
+
+        final int index = states.size();
+
+        if (index == offsets.length) {
+            offsets = Arrays.copyOf(offsets, index * 2);
+            lengths = Arrays.copyOf(lengths, index * 2);
+        }
+
+        if (size + numberOfActions > qValues.length) {
+            final int capacity = Math.max(qValues.length * 2, size + numberOfActions);
+            qValues = Arrays.copyOf(qValues, capacity);
+            visits = Arrays.copyOf(visits, capacity);
+        }
+
+        offsets[index] = size;
+        lengths[index] = numberOfActions;
+        Arrays.fill(qValues, size, size + numberOfActions, initialQValue);
+        size += numberOfActions;
+
+        states.put(state, index);
+        final int slot = slotOf(state);
+        cachedStates[slot] = state;
+        cachedIndices[slot] = index;
+        return index;
+    }
+
+    /**
+     * Returns the number of states.
+     *
+     * @return Returns the number of states.
+     */
+    public int getNumberOfStates() {
+        return states.size();
+    }
+
+    /**
+     * Returns the number of actions of the given state.
+     *
+     * @param state The index of the state.
+     * @return Returns the number of actions of the given state.
+     */
+    public int getNumberOfActions(final int state) {
+        return lengths[state];
+    }
+
+    /**
+     * Returns the q-value of the given action.
+     *
+     * @param state The index of the state.
+     * @param action The index of the action in the given state.
+     * @return Returns the q-value of the given action.
+     */
+    public double getQValue(final int state, final int action) {
+        return qValues[slot(state, action)];
+    }
+
+    /**
+     * Sets the q-value of the given action.
+     *
+     * @param state The index of the state.
+     * @param action The index of the action in the given state.
+     * @param qValue The new q-value.
+     */
+    public void setQValue(final int state, final int action, final double qValue) {
+        qValues[slot(state, action)] = qValue;
+    }
+
+    /**
+     * Returns the visit counter of the given action.
+     *
+     * @param state The index of the state.
+     * @param action The index of the action in the given state.
+     * @return Returns how often the given action has been visited.
+     */
+    public int getVisits(final int state, final int action) {
+        return visits[slot(state, action)];
+    }
+
+    /**
+     * Increments the visit counter of the given action.
+     *
+     * @param state The index of the state.
+     * @param action The index of the action in the given state.
+     * @return Returns the incremented visit counter.
+     */
+    public int visit(final int state, final int action) {
+        return ++visits[slot(state, action)];
+    }
+
+    /**
+     * Returns the highest q-value of the given state.
+     *
+     * @param state The index of the state.
+     * @return Returns the highest q-value of the given state.
+     * @throws NoSuchElementException If the state has no actions.
+     */
+    public double getMaxQValue(final int state) {
+
+        final int from = offsets[state];
+        final int to = from + lengths[state];
+
+        if (from == to) {
+            throw new NoSuchElementException("State " + state + " has no actions!");
+        }
+
+        double max = qValues[from];
+
+        for (int i = from + 1; i < to; i++) {
+            if (qValues[i] > max) {
+                max = qValues[i];
+            }
+        }
+
+        return max;
+    }
+
+    /**
+     * Selects an action with the highest q-value in the given state. If multiple actions share the
+     * highest q-value, one of them is picked uniformly at random.
+     *
+     * @param state The index of the state.
+     * @return Returns the index of the selected action.
+     * @throws NoSuchElementException If the state has no actions.
+     */
+    public int argmax(final int state) {
+
+        final int from = offsets[state];
+        final int to = from + lengths[state];
+
+        if (from == to) {
+            throw new NoSuchElementException("State " + state + " has no actions!");
+        }
+
+        final Random random = Randomness.getRnd();
+        double max = qValues[from];
+        int best = from;
+        int ties = 1;
+
+        for (int i = from + 1; i < to; i++) {
+            if (qValues[i] > max) {
+                max = qValues[i];
+                best = i;
+                ties = 1;
+            } else if (qValues[i] == max && random.nextInt(++ties) == 0) {
+                // reservoir sampling picks each of the tied actions with equal probability
+                best = i;
+            }
+        }
+
+        return best - from;
+    }
+
+    /**
+     * Selects an action according to the epsilon-greedy policy, i.e. with a probability of epsilon
+     * a random action and otherwise an action with the highest q-value, see {@link #argmax(int)}.
+     *
+     * @param state The index of the state.
+     * @param epsilon The probability of selecting a random action.
+     * @return Returns the index of the selected action.
+     */
+    public int epsilonGreedy(final int state, final double epsilon) {
+        final Random random = Randomness.getRnd();
+        return random.nextDouble() < epsilon ? random.nextInt(lengths[state]) : argmax(state);
+    }
+
+    /**
+     * Computes the position of the given action in the arrays.
+     *
+     * @param state The index of the state.
+     * @param action The index of the action in the given state.
+     * @return Returns the position of the action.
+     */
+    private int slot(final int state, final int action) {
+
+        if (action < 0 || action >= lengths[state]) {
+            throw new IndexOutOfBoundsException("Action " + action + " out of bounds for state "
+                    + state + " with " + lengths[state] + " actions!");
+        }
+
+        return offsets[state] + action;
+    }
+}
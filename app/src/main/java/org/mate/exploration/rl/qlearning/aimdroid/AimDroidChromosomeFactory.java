@@ -4,21 +4,15 @@ import org.mate.MATE;
 import org.mate.exploration.genetic.chromosome.Chromosome;
 import org.mate.exploration.genetic.chromosome.IChromosome;
 import org.mate.exploration.genetic.chromosome_factory.AndroidRandomChromosomeFactory;
+import org.mate.exploration.rl.qlearning.QTable;
 import org.mate.interaction.action.Action;
 import org.mate.model.TestCase;
 import org.mate.state.IScreenState;
 import org.mate.utils.FitnessUtils;
-import org.mate.utils.ListUtils;
-import org.mate.utils.Randomness;
 import org.mate.utils.StackTrace;
 import org.mate.utils.coverage.CoverageUtils;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -34,7 +28,7 @@ public class AimDroidChromosomeFactory extends AndroidRandomChromosomeFactory {
     /**
      * Maintains the q-values for each state and action.
      */
-    private final Map<IScreenState, List<Double>> qValues;
+    private final QTable<IScreenState> qValues;
 
     /**
      * The minL constant used in the bound method. Defines the minimal number of actions on a given
@@ -88,11 +82,6 @@ public class AimDroidChromosomeFactory extends AndroidRandomChromosomeFactory {
      */
     private final Set<StackTrace> stackTraces = new HashSet<>();
 
-    /**
-     * The set of visited screen states.
-     */
-    private final Set<IScreenState> visitedScreenStates = new HashSet<>();
-
     /**
      * Whether the last test case discovered a new crash.
      */
@@ -119,7 +108,7 @@ public class AimDroidChromosomeFactory extends AndroidRandomChromosomeFactory {
         this.epsilon = epsilon;
         this.alpha = alpha;
         this.gamma = gamma;
-        qValues = new HashMap<>();
+        qValues = new QTable<>(1.0);
     }
 
     /**
@@ -170,14 +159,8 @@ public class AimDroidChromosomeFactory extends AndroidRandomChromosomeFactory {
 
         IScreenState lastScreenState = uiAbstractionLayer.getLastScreenState();
 
-        if (!visitedScreenStates.contains(lastScreenState)) {
-            // initialise q-value of all actions with default value 1
-            visitedScreenStates.add(lastScreenState);
-            int numberOfActions = lastScreenState.getActions().size();
-            List<Double> initialQValues
-                    = new ArrayList<>(Collections.nCopies(numberOfActions, 1.0));
-            qValues.put(lastScreenState, initialQValues);
-        }
+        // initialise q-value of all actions with default value 1
+        qValues.add(lastScreenState, lastScreenState.getActions().size());
         return lastScreenState;
     }
 
@@ -239,13 +222,14 @@ public class AimDroidChromosomeFactory extends AndroidRandomChromosomeFactory {
 
         MATE.log_acc("Reward for last action " + lastAction + ": " + reward);
 
-        double oldQValue = qValues.get(oldState).get(lastActionIndex);
+        int oldStateIndex = qValues.indexOf(oldState);
+        double oldQValue = qValues.getQValue(oldStateIndex, lastActionIndex);
 
         // Q(s, a) ← Q(s, a) + α(r + γQ(s′, a′) − Q(s, a))
-        double qValue = oldQValue + alpha * (reward + gamma * Collections.max(qValues.get(newState))
-            - oldQValue);
+        double qValue = oldQValue + alpha * (reward
+                + gamma * qValues.getMaxQValue(qValues.indexOf(newState)) - oldQValue);
         MATE.log_acc("New q-value is: " + qValue);
-        qValues.get(oldState).set(lastActionIndex, qValue);
+        qValues.setQValue(oldStateIndex, lastActionIndex, qValue);
     }
 
     /**
@@ -357,19 +341,13 @@ public class AimDroidChromosomeFactory extends AndroidRandomChromosomeFactory {
     protected Action selectAction() {
 
         IScreenState lastScreenState = uiAbstractionLayer.getLastScreenState();
-        double rnd = Randomness.getRnd().nextDouble();
 
-        if (rnd < epsilon) {
-            // select randomly
-            lastActionIndex = Randomness.randomIndex(lastScreenState.getActions());
-            lastAction = lastScreenState.getActions().get(lastActionIndex);
-        } else {
-            // pick the action with the highest q-value, choose random if there are multiple
-            List<Double> qValues = this.qValues.get(lastScreenState);
-            List<Integer> bestQValueIndices = ListUtils.getMaximaPositions(qValues);
-            lastActionIndex = Randomness.randomElement(bestQValueIndices);
-            lastAction = lastScreenState.getActions().get(lastActionIndex);
-        }
+        /*
+         * Select randomly with probability epsilon, otherwise pick the action with the highest
+         * q-value, choose random if there are multiple.
+         */
+        lastActionIndex = qValues.epsilonGreedy(qValues.indexOf(lastScreenState), epsilon);
+        lastAction = lastScreenState.getActions().get(lastActionIndex);
         return lastAction;
     }
 }
@@ -4,21 +4,17 @@ import org.mate.MATE;
 import org.mate.exploration.genetic.chromosome.Chromosome;
 import org.mate.exploration.genetic.chromosome.IChromosome;
 import org.mate.exploration.genetic.chromosome_factory.AndroidRandomChromosomeFactory;
+import org.mate.exploration.rl.qlearning.QTable;
 import org.mate.interaction.action.Action;
 import org.mate.interaction.action.ui.Widget;
+import org.mate.interaction.action.ui.WidgetAlignment;
 import org.mate.model.TestCase;
 import org.mate.state.IScreenState;
 import org.mate.utils.FitnessUtils;
-import org.mate.utils.Randomness;
 import org.mate.utils.coverage.CoverageUtils;
 
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.List;
-import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Generates a new {@link IChromosome} or in the context of AutoBlackTest, a new episode is generated.
@@ -38,7 +34,12 @@ public class AutoBlackTestChromosomeFactory extends AndroidRandomChromosomeFacto
     /**
      * Maintains the q-values for each state and action.
      */
-    private final Map<IScreenState, Map<Action, Double>> qValues = new HashMap<>();
+    private final QTable<IScreenState> qValues = new QTable<>(0.0d);
+
+    /**
+     * The index of the last selected action in the action list of the current state.
+     */
+    private int lastActionIndex;
 
     /**
      * Initialises the AutoBlackTest chromosome factory with the mandatory attributes.
@@ -79,7 +80,7 @@ public class AutoBlackTestChromosomeFactory extends AndroidRandomChromosomeFacto
                 // compute reward of last action + update q-value
                 IScreenState newState = uiAbstractionLayer.getLastScreenState();
                 double reward = computeReward(oldState, newState);
-                updateQValue(reward, oldState, newState, nextAction);
+                updateQValue(reward, oldState, newState);
 
                 if (leftApp) {
                     return chromosome;
@@ -109,22 +110,18 @@ public class AutoBlackTestChromosomeFactory extends AndroidRandomChromosomeFacto
      */
     private double computeReward(IScreenState oldState, IScreenState newState) {
 
+        // matches all pairs of widgets with equal traits in linear time
+        WidgetAlignment alignment = WidgetAlignment.align(oldState.getWidgets(),
+                newState.getWidgets(), WidgetTrait::new);
+
         // |AS 2 \t AS 1|
-        int stateDifference = stateDifference(newState, oldState);
+        int stateDifference = stateDifference(alignment);
 
         // ∑ w1∈AS 1, w2∈AS 2, w1 =t w2 diff(w1,w2)
         double widgetDifferences = 0;
 
-        for (Widget thisWidget : oldState.getWidgets()) {
-            for (Widget otherWidget : newState.getWidgets()) {
-
-                WidgetTrait thisTrait = new WidgetTrait(thisWidget);
-                WidgetTrait otherTrait = new WidgetTrait(otherWidget);
-
-                if (thisTrait.equals(otherTrait)) {
-                    widgetDifferences += widgetDifference(thisWidget, otherWidget);
-                }
-            }
+        for (int i = 0; i < alignment.getNumberOfMatches(); i++) {
+            widgetDifferences += widgetDifference(alignment.getFirst(i), alignment.getSecond(i));
         }
 
         return (double) (stateDifference + widgetDifferences) / newState.getWidgets().size();
@@ -171,39 +168,16 @@ public class AutoBlackTestChromosomeFactory extends AndroidRandomChromosomeFacto
     }
 
     /**
-     * Computes the state difference in terms of the number of widgets that only appear in the first
-     * state but not in the second state according to its traits. See the restriction operator \t
+     * Computes the state difference in terms of the number of widgets that only appear in the new
+     * state but not in the old state according to its traits. See the restriction operator \t
      * defined on page 83 in the paper.
      *
-     * @param firstState The first state.
-     * @param secondState The second state.
-     * @return Returns the number of widgets that only appear in the first state but not in the second.
+     * @param alignment The alignment of the widgets of the old and the new state by their traits.
+     * @return Returns the number of widgets that only appear in the new state but not in the old.
      */
-    private int stateDifference(IScreenState firstState, IScreenState secondState) {
-
-        // the widgets that only appear in the first and not in the second state according to its traits.
-        Set<Widget> widgets = new HashSet<>();
-
-        for (Widget thisWidget : firstState.getWidgets()) {
-
-            WidgetTrait thisTrait = new WidgetTrait(thisWidget);
-            boolean notContainedInSecondState = true;
-
-            for (Widget otherWidget : secondState.getWidgets()) {
-
-                WidgetTrait otherTrait = new WidgetTrait(otherWidget);
-
-                if (thisTrait.equals(otherTrait)) {
-                    notContainedInSecondState = false;
-                    break;
-                }
-            }
-
-            if (notContainedInSecondState) {
-                widgets.add(thisWidget);
-            }
-        }
-
+    private int stateDifference(WidgetAlignment alignment) {
+        // the widgets that only appear in the new and not in the old state according to its traits.
+        Set<Widget> widgets = new HashSet<>(alignment.getUnmatchedSecond());
         return widgets.size();
     }
 
@@ -214,16 +188,15 @@ public class AutoBlackTestChromosomeFactory extends AndroidRandomChromosomeFacto
      * @param reward The intermediate reward.
      * @param oldState The state before executing the last action.
      * @param newState The state after executing the last action.
-     * @param lastAction The last executed action.
      */
-    private void updateQValue(double reward, IScreenState oldState, IScreenState newState, Action lastAction) {
+    private void updateQValue(double reward, IScreenState oldState, IScreenState newState) {
 
         // the future reward is defined as the maximal q-value in the new state
         double futureReward = 0.0d;
+        int newStateIndex = qValues.indexOf(newState);
 
-        if (qValues.containsKey(newState)) {
-            Map<Action, Double> actionQValueMapping = qValues.get(newState);
-            futureReward = Collections.max(actionQValueMapping.values());
+        if (newStateIndex >= 0) {
+            futureReward = qValues.getMaxQValue(newStateIndex);
         }
 
         double qValue = reward + discountFactor * futureReward;
@@ -232,7 +205,7 @@ public class AutoBlackTestChromosomeFactory extends AndroidRandomChromosomeFacto
         MATE.log_acc("Future reward: " + futureReward);
         MATE.log_acc("New q-value: " + qValue);
 
-        qValues.get(oldState).put(lastAction, qValue);
+        qValues.setQValue(qValues.indexOf(oldState), lastActionIndex, qValue);
     }
 
     /**
@@ -244,13 +217,9 @@ public class AutoBlackTestChromosomeFactory extends AndroidRandomChromosomeFacto
     private void checkForNewState(IScreenState screenState) {
 
         // init q-values for new state
-        if (!qValues.containsKey(screenState)) {
+        if (!qValues.contains(screenState)) {
             MATE.log_acc("New state: " + screenState);
-            Map<Action, Double> actionQValueMapping = new HashMap<>();
-            for (Action action : screenState.getActions()) {
-                actionQValueMapping.put(action, 0.0d);
-            }
-            this.qValues.put(screenState, actionQValueMapping);
+            qValues.add(screenState, screenState.getActions().size());
         }
     }
 
@@ -264,20 +233,12 @@ public class AutoBlackTestChromosomeFactory extends AndroidRandomChromosomeFacto
     protected Action selectAction() {
 
         IScreenState lastScreenState = uiAbstractionLayer.getLastScreenState();
-        double rnd = Randomness.getRnd().nextDouble();
-
-        if (rnd < epsilon) {
-            // select randomly with probability epsilon
-            return Randomness.randomElement(lastScreenState.getActions());
-        } else {
-            // select the action with the highest q-value with probability 1 - epsilon
-            Map<Action, Double> actionQValueMapping = qValues.get(lastScreenState);
-            double maxQValue = Collections.max(actionQValueMapping.values());
-            List<Action> highestQValueActions = actionQValueMapping.entrySet().stream()
-                    .filter(entry -> entry.getValue() == maxQValue)
-                    .map(Map.Entry::getKey)
-                    .collect(Collectors.toList());
-            return Randomness.randomElement(highestQValueActions);
-        }
+
+        /*
+         * Select randomly with probability epsilon and the action with the highest q-value with
+         * probability 1 - epsilon.
+         */
+        lastActionIndex = qValues.epsilonGreedy(qValues.indexOf(lastScreenState), epsilon);
+        return lastScreenState.getActions().get(lastActionIndex);
     }
 }
@@ -17,6 +17,11 @@ public class WidgetTrait {
      */
     private final Properties trait;
 
+    /**
+     * The cached hash code of the trait, since a trait is immutable.
+     */
+    private final int hashCode;
+
     /**
      * Constructs a new trait for the given widget.
      *
@@ -28,6 +33,7 @@ public class WidgetTrait {
         trait.setProperty("bounds", String.valueOf(widget.getBounds()));
         trait.setProperty("resourceID", widget.getResourceID());
         trait.setProperty("description", widget.getContentDesc());
+        hashCode = Objects.hash(trait);
     }
 
     /**
@@ -53,7 +59,7 @@ public class WidgetTrait {
             return false;
         } else {
             WidgetTrait other = (WidgetTrait) o;
-            return trait.equals(other.trait);
+            return hashCode == other.hashCode && trait.equals(other.trait);
         }
     }
 
@@ -64,7 +70,7 @@ public class WidgetTrait {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(trait);
+        return hashCode;
     }
 
     /**
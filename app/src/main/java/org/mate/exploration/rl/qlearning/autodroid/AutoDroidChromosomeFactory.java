@@ -4,6 +4,7 @@ import org.mate.MATE;
 import org.mate.exploration.genetic.chromosome.Chromosome;
 import org.mate.exploration.genetic.chromosome.IChromosome;
 import org.mate.exploration.genetic.chromosome_factory.AndroidRandomChromosomeFactory;
+import org.mate.exploration.rl.qlearning.QTable;
 import org.mate.interaction.action.Action;
 import org.mate.interaction.action.ui.ActionType;
 import org.mate.interaction.action.ui.UIAction;
@@ -13,12 +14,6 @@ import org.mate.utils.FitnessUtils;
 import org.mate.utils.Randomness;
 import org.mate.utils.coverage.CoverageUtils;
 
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
-
 /**
  * Generates a new {@link IChromosome} or in the context of AutoDroid, a new episode is generated.
  */
@@ -30,14 +25,16 @@ public class AutoDroidChromosomeFactory extends AndroidRandomChromosomeFactory {
     private final float initialQValue;
 
     /**
-     * Maintains for each state how often a particular has been executed so far.
+     * Maintains the q-values for each state and action as well as how often a particular action
+     * has been executed so far.
      */
-    private final Map<IScreenState, Map<Action, Integer>> stateActionFrequencyMap = new HashMap<>();
+    private final QTable<IScreenState> qValues;
 
     /**
-     * Maintains the q-values for each state and action.
+     * The index of the last selected action in the action list of the current state or {@code -1}
+     * if the 'HOME' action has been selected.
      */
-    private final Map<IScreenState, Map<Action, Double>> qValues = new HashMap<>();
+    private int lastActionIndex;
 
     /**
      * The probability for selecting the home button as next action.
@@ -55,6 +52,7 @@ public class AutoDroidChromosomeFactory extends AndroidRandomChromosomeFactory {
         super(false, maxEpisodeLength);
         this.initialQValue = initialQValue;
         this.pHomeButton = pHomeButton;
+        qValues = new QTable<>(initialQValue);
     }
 
     /**
@@ -83,20 +81,22 @@ public class AutoDroidChromosomeFactory extends AndroidRandomChromosomeFactory {
                     MATE.log_acc("We left the app!");
 
                     /*
-                    * If we directly select the home button action on a new state, the qValues map is
-                    * not properly initialised and hence updating the map would lead to a crash.
+                    * If we directly select the home button action on a new state, the q-table is
+                    * not properly initialised and hence updating the q-table would lead to a crash.
+                    * The 'HOME' action itself is not part of the q-table.
                      */
-                    if (qValues.containsKey(currentState)) {
-                        qValues.get(currentState).put(nextAction, 0.0d);
+                    int currentStateIndex = qValues.indexOf(currentState);
+                    if (currentStateIndex >= 0 && lastActionIndex >= 0) {
+                        qValues.setQValue(currentStateIndex, lastActionIndex, 0.0d);
                     }
 
                     return chromosome;
                 }
 
                 // compute reward of last action + update q-value
-                double reward = computeReward(currentState, nextAction);
+                double reward = computeReward(currentState);
                 IScreenState newState = uiAbstractionLayer.getLastScreenState();
-                updateQValue(reward, nextAction, currentState, newState);
+                updateQValue(reward, currentState, newState);
             }
         } finally {
             if (!isTestSuiteExecution) {
@@ -116,19 +116,19 @@ public class AutoDroidChromosomeFactory extends AndroidRandomChromosomeFactory {
     /**
      * Updates the q-value for the last executed action.
      *
-     * @param reward The computed immediate reward for the given action.
-     * @param action The last executed action.
+     * @param reward The computed immediate reward for the last executed action.
      * @param oldState The state before executing the action.
      * @param newState The state after executing the action.
      */
-    private void updateQValue(double reward, Action action, IScreenState oldState, IScreenState newState) {
+    private void updateQValue(double reward, IScreenState oldState, IScreenState newState) {
 
         double discountFactor = computeDiscountFactor(newState);
         double futureReward = initialQValue;
+        int newStateIndex = qValues.indexOf(newState);
 
-        if (qValues.containsKey(newState)) {
+        if (newStateIndex >= 0) {
             // pick the highest q-value as future reward
-            futureReward = Collections.max(qValues.get(newState).values());
+            futureReward = qValues.getMaxQValue(newStateIndex);
         }
 
         MATE.log_acc("Discount factor: " + discountFactor);
@@ -137,7 +137,7 @@ public class AutoDroidChromosomeFactory extends AndroidRandomChromosomeFactory {
 
         double qValue = reward + discountFactor * futureReward;
         MATE.log_acc("New q-value: " + qValue);
-        qValues.get(oldState).put(action, qValue);
+        qValues.setQValue(qValues.indexOf(oldState), lastActionIndex, qValue);
     }
 
     /**
@@ -154,11 +154,10 @@ public class AutoDroidChromosomeFactory extends AndroidRandomChromosomeFactory {
      * Computes the reward for the last executed action.
      *
      * @param lastState The state before the action was executed.
-     * @param lastAction The last executed action.
-     * @return Returns the reward for the given action.
+     * @return Returns the reward for the last executed action.
      */
-    private double computeReward(IScreenState lastState, Action lastAction) {
-        return (double) 1 / stateActionFrequencyMap.get(lastState).get(lastAction);
+    private double computeReward(IScreenState lastState) {
+        return (double) 1 / qValues.getVisits(qValues.indexOf(lastState), lastActionIndex);
     }
 
     /**
@@ -174,38 +173,25 @@ public class AutoDroidChromosomeFactory extends AndroidRandomChromosomeFactory {
         double rnd = Randomness.getRnd().nextDouble();
 
         if (rnd < pHomeButton) {
+            lastActionIndex = -1;
             return new UIAction(ActionType.HOME, uiAbstractionLayer.getCurrentActivity());
         } else {
 
             IScreenState currentState = uiAbstractionLayer.getLastScreenState();
-            List<Action> availableActions = currentState.getActions();
+            int currentStateIndex = qValues.indexOf(currentState);
 
             // associate non-executed actions with the initial q-value and initialise execution counter
-            Map<Action, Integer> actionFrequency = stateActionFrequencyMap.getOrDefault(currentState, new HashMap<>());
-            Map<Action, Double> actionQValues = qValues.getOrDefault(currentState, new HashMap<>());
-
-            if (!stateActionFrequencyMap.containsKey(currentState)) {
+            if (currentStateIndex < 0) {
                 MATE.log_acc("Setting initial q-values and execution counter...");
-                for (Action action : availableActions) {
-                    actionFrequency.put(action, 0);
-                    actionQValues.put(action, (double) initialQValue);
-                }
-                stateActionFrequencyMap.put(currentState, actionFrequency);
-                qValues.put(currentState, actionQValues);
+                currentStateIndex = qValues.add(currentState, currentState.getActions().size());
             }
 
             // select an action associated with the highest q-value
-            double maxQValue = Collections.max(actionQValues.values());
-            List<Action> highestQValueActions = actionQValues.entrySet().stream()
-                    .filter(entry -> entry.getValue() == maxQValue)
-                    .map(Map.Entry::getKey)
-                    .collect(Collectors.toList());
-
-            Action nextAction = Randomness.randomElement(highestQValueActions);
+            lastActionIndex = qValues.argmax(currentStateIndex);
 
             // update the execution counter
-            actionFrequency.computeIfPresent(nextAction, (action, ctr) -> ctr + 1);
-            return nextAction;
+            qValues.visit(currentStateIndex, lastActionIndex);
+            return currentState.getActions().get(lastActionIndex);
         }
     }
 }
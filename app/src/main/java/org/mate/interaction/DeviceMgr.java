@@ -5,8 +5,10 @@ import android.app.UiAutomation;
 import android.content.ComponentName;
 import android.content.Context;
 import android.content.Intent;
+import android.content.pm.ActivityInfo;
 import android.content.pm.PackageInfo;
 import android.content.pm.PackageManager;
+import android.content.pm.ResolveInfo;
 import android.graphics.Rect;
 import android.os.Build;
 import android.os.Environment;
@@ -151,6 +153,12 @@ public class DeviceMgr {
      */
     private static final String UiAutomatorDisconnectedMessage = "UiAutomation not connected!";
 
+    /**
+     * How long the window content of the AUT needs to remain unchanged after the launch activity
+     * has been resumed until the app is considered ready, see {@link #waitForAppLaunch(long)}.
+     */
+    private static final long LAUNCH_STABLE_TIME = 300;
+
     /**
      * The device instance provided by the instrumentation class to perform various actions.
      */
@@ -2286,6 +2294,77 @@ public class DeviceMgr {
         context.startActivity(intent);
     }
 
+    /**
+     * Waits until the launch activity of the AUT has been resumed and the UI is idle, e.g. after
+     * restarting the app, but at most the given time. Checking for a window of the AUT is not
+     * sufficient, since a window may be displayed before the activity has been resumed. Likewise,
+     * the resumed launch activity may be a splash screen that forwards to another activity. Thus,
+     * we additionally wait until the window content of the AUT stops changing for a short time.
+     *
+     * @param timeout The maximal waiting time in milliseconds.
+     * @return Returns {@code true} if the launch activity has been resumed within the given time,
+     *         otherwise {@code false} is returned.
+     */
+    public boolean waitForAppLaunch(final long timeout) {
+
+        final long endTime = System.currentTimeMillis() + timeout;
+        final String launchActivity = getLaunchActivity();
+
+        if (launchActivity == null) {
+            MATE.log_warn("Couldn't resolve launch activity of " + packageName + "!");
+            return false;
+        }
+
+        while (!launchActivity.equals(getCurrentActivity())) {
+            if (System.currentTimeMillis() >= endTime) {
+                return false;
+            }
+            Utils.sleep(100);
+        }
+
+        long remainingTime = endTime - System.currentTimeMillis();
+
+        // a splash screen changes the window content when it forwards to the next activity
+        while (remainingTime > 0
+                && device.waitForWindowUpdate(packageName, Math.min(remainingTime, LAUNCH_STABLE_TIME))) {
+            remainingTime = endTime - System.currentTimeMillis();
+        }
+
+        if (remainingTime > 0) {
+            // wait until pending animations and layout passes have been finished
+            device.waitForIdle(remainingTime);
+        }
+
+        return true;
+    }
+
+    /**
+     * Resolves the launch activity of the AUT. If the launch intent refers to an activity alias,
+     * the activity targeted by the alias is returned, since an alias never shows up as the
+     * current activity.
+     *
+     * @return Returns the class name of the launch activity or {@code null} if the launch activity
+     *         couldn't be resolved.
+     */
+    private String getLaunchActivity() {
+
+        final PackageManager packageManager = getTargetContext().getPackageManager();
+        final Intent intent = packageManager.getLaunchIntentForPackage(packageName);
+
+        if (intent == null) {
+            return null;
+        }
+
+        final ResolveInfo resolveInfo = packageManager.resolveActivity(intent, 0);
+
+        if (resolveInfo != null && resolveInfo.activityInfo != null) {
+            final ActivityInfo activityInfo = resolveInfo.activityInfo;
+            return activityInfo.targetActivity != null ? activityInfo.targetActivity : activityInfo.name;
+        }
+
+        return intent.getComponent() != null ? intent.getComponent().getClassName() : null;
+    }
+
     /**
      * Emulates pressing the 'HOME' button.
      */
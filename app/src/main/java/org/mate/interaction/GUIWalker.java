@@ -214,16 +214,15 @@ public class GUIWalker {
             return false;
         }
 
-        Set<IScreenState> targetActivityStates = guiModel.getActivityStates(activity);
-
         for (String activityPredecessor : activityPredecessors) {
             // try to quick launch a neighbouring activity
             if (quickLaunch(activityPredecessor)) {
-                // try to move to any state of the target activity
-                for (IScreenState targetActivityState : targetActivityStates) {
-                    if (goFromTo(uiAbstractionLayer.getLastScreenState(), targetActivityState)) {
-                        return true;
-                    }
+                // try to move to the nearest state of the target activity
+                Optional<List<Action>> shortestPath = shortestPathToActivity(
+                        uiAbstractionLayer.getLastScreenState(), activity);
+                if (shortestPath.isPresent() && replayActions(shortestPath.get())
+                        && uiAbstractionLayer.getCurrentActivity().equals(activity)) {
+                    return true;
                 }
             }
         }
@@ -357,22 +356,63 @@ public class GUIWalker {
 
         /*
          * In general, an activity consists of multiple screen states and in theory we should reach
-         * any state, i.e. we could pick a single state on the target activity. But during replaying
-         * the actions, we may encounter some inconsistency, i.e. we end up in a completely different
-         * state. Thus, we try out all possible target states in the worst case.
+         * any state, i.e. we could pick the nearest state on the target activity. But during
+         * replaying the actions, we may encounter some inconsistency, i.e. we end up in a completely
+         * different state. Thus, we re-try it from the state we ended up in, at most as many times
+         * as there are states of the target activity.
          */
-        Set<IScreenState> targetActivityStates = guiModel.getActivityStates(activity);
+        int remainingAttempts = guiModel.getActivityStates(activity).size();
 
-        for (IScreenState targetActivityState : targetActivityStates) {
+        while (remainingAttempts-- > 0) {
             if (uiAbstractionLayer.getCurrentActivity().equals(activity)) {
                 // we reached the target activity
                 return true;
             } else {
                 // internally re-starts the app if there is no path from the current state
-                goFromTo(uiAbstractionLayer.getLastScreenState(), targetActivityState);
+                goFromToActivity(uiAbstractionLayer.getLastScreenState(), activity);
             }
         }
-        return false;
+        return uiAbstractionLayer.getCurrentActivity().equals(activity);
+    }
+
+    /**
+     * Moves the AUT from the given source state to the nearest state of the given activity.
+     *
+     * @param source The source state.
+     * @param activity The target activity.
+     * @return Returns {@code true} if the target activity could be reached, otherwise
+     *         {@code false} is returned.
+     */
+    private boolean goFromToActivity(final IScreenState source, final String activity) {
+
+        Optional<List<Action>> shortestPath = shortestPathToActivity(source, activity);
+
+        if (!shortestPath.isPresent()) {
+            MATE.log_acc("No path from " + source.getId() + " to " + activity + "!");
+
+            // If there is not direct path from the source state, re-try it from the initial state
+            uiAbstractionLayer.restartApp();
+            shortestPath = shortestPathToActivity(uiAbstractionLayer.getLastScreenState(), activity);
+        }
+
+        return shortestPath.isPresent()
+                && replayActions(shortestPath.get())
+                // check that we actually reached the target activity
+                && uiAbstractionLayer.getCurrentActivity().equals(activity);
+    }
+
+    /**
+     * Looks up the actions leading from the given source state to the nearest state of the given
+     * activity.
+     *
+     * @param source The source state.
+     * @param activity The target activity.
+     * @return Returns the actions on the shortest path if such path exists.
+     */
+    private Optional<List<Action>> shortestPathToActivity(final IScreenState source,
+                                                          final String activity) {
+        return guiModel.shortestPathToActivity(source, activity)
+                .map(path -> path.stream().map(Edge::getAction).collect(Collectors.toList()));
     }
 
     /**
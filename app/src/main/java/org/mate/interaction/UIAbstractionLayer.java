@@ -12,6 +12,7 @@ import org.mate.interaction.action.Action;
 import org.mate.interaction.action.ActionResult;
 import org.mate.interaction.action.intent.IntentAction;
 import org.mate.interaction.action.ui.ActionType;
+import org.mate.interaction.action.ui.SpatialWidgetIndex;
 import org.mate.interaction.action.ui.UIAction;
 import org.mate.interaction.action.ui.Widget;
 import org.mate.interaction.action.ui.WidgetAction;
@@ -29,11 +30,11 @@ import org.mate.state.ScreenStateType;
 import org.mate.utils.MateInterruptedException;
 import org.mate.utils.Randomness;
 import org.mate.utils.StackTrace;
+import org.mate.utils.TokenIndex;
 import org.mate.utils.UIAutomatorException;
 import org.mate.utils.Utils;
 
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
@@ -93,6 +94,28 @@ public class UIAbstractionLayer {
      */
     private final List<String> activities;
 
+    /**
+     * The index over the stack trace tokens, which is lazily built upon the first request of the
+     * promising actions.
+     */
+    private TokenIndex stackTraceTokenIndex;
+
+    /**
+     * The phases of an app reset, see {@link #resetApp()}.
+     */
+    private static final String[] RESET_PHASES = {"clear", "wait after clear", "restart",
+            "wait for app", "screen state"};
+
+    /**
+     * The accumulated time in milliseconds spent in each phase of an app reset.
+     */
+    private final long[] resetPhaseTimes = new long[RESET_PHASES.length];
+
+    /**
+     * The number of (non-skipped) app resets.
+     */
+    private int numberOfResets = 0;
+
     /**
      * Initialises the ui abstraction layer.
      *
@@ -187,6 +210,26 @@ public class UIAbstractionLayer {
         return Collections.unmodifiableList(uiActions);
     }
 
+    /**
+     * Checks whether the given ui action is executable on the current screen, i.e. whether it is
+     * contained in {@link #getExecutableUIActions()}. In contrast to the latter, the activity stack
+     * and the windows are only requested from the device for a 'BACK' action.
+     *
+     * @param uiAction The ui action to be checked.
+     * @return Returns {@code true} if the ui action is executable, otherwise {@code false} is
+     *         returned.
+     */
+    public boolean isExecutable(final UIAction uiAction) {
+
+        if (!getLastScreenState().getUIActions().contains(uiAction)) {
+            return false;
+        }
+
+        // see getExecutableUIActions() why a 'BACK' action may not be executable
+        return uiAction.getActionType() != ActionType.BACK
+                || getActivityStackSize() != 1 || getNumberOfWindows() != 1;
+    }
+
     /**
      * Retrieves the list of promising widget actions from the given screen state.
      *
@@ -197,21 +240,28 @@ public class UIAbstractionLayer {
 
         if (Properties.PROMISING_ACTIONS()) {
 
-            final Set<String> tokens = Registry.getEnvironmentManager().getStackTraceTokens();
+            final TokenIndex tokenIndex = getStackTraceTokenIndex();
             final List<WidgetAction> widgetActions = state.getWidgetActions();
             final List<WidgetAction> actionsContainingToken = widgetActions.stream()
-                    .filter(a -> a.getWidget().containsAnyToken(tokens))
+                    .filter(a -> a.getWidget().containsAnyToken(tokenIndex))
                     .collect(Collectors.toList());
             final List<WidgetAction> promisingActions = new LinkedList<>();
 
+            // The input fields and spinners are only indexed if there is any label to look up.
+            SpatialWidgetIndex<WidgetAction> inputFields = null;
+
             for (final WidgetAction action : actionsContainingToken) {
 
                 if (action.getWidget().isTextViewType()) { // Assume this is the label to an input.
 
+                    if (inputFields == null) {
+                        inputFields = new SpatialWidgetIndex<>(widgetActions.stream()
+                                .filter(a -> a.getWidget().isEditTextType() || a.getWidget().isSpinnerType())
+                                .collect(Collectors.toList()), WidgetAction::getWidget);
+                    }
+
                     // Find the closest widget that represents an input field or a spinner.
-                    Optional<WidgetAction> closestEditText = widgetActions.stream()
-                            .filter(a -> a.getWidget().isEditTextType() || a.getWidget().isSpinnerType())
-                            .min(Comparator.comparingDouble(w -> w.getWidget().distanceTo(action.getWidget())));
+                    Optional<WidgetAction> closestEditText = inputFields.nearest(action.getWidget());
 
                     // Consider both action on label and input field as promising.
                     closestEditText.ifPresent(promisingActions::add);
@@ -228,6 +278,19 @@ public class UIAbstractionLayer {
         }
     }
 
+    /**
+     * Returns the index over the (normalized) stack trace tokens. The index is built only once per
+     * run, since the stack trace tokens don't change.
+     *
+     * @return Returns the stack trace token index.
+     */
+    private TokenIndex getStackTraceTokenIndex() {
+        if (stackTraceTokenIndex == null) {
+            stackTraceTokenIndex = new TokenIndex(Registry.getEnvironmentManager().getStackTraceTokens());
+        }
+        return stackTraceTokenIndex;
+    }
+
     /**
      * Tries to execute the given action.
      *
@@ -435,6 +498,144 @@ public class UIAbstractionLayer {
 
         assert Properties.SURROGATE_MODEL();
 
+        final SurrogateModel surrogateModel = (SurrogateModel) guiModel;
+        ActionResult result = null;
+        int index = 0;
+
+        while (index < actions.size()) {
+
+            final List<Action> remainingActions = actions.subList(index, actions.size());
+            final int speculated = Properties.SURROGATE_SPECULATIVE_REPLAY()
+                    ? surrogateModel.speculate(remainingActions) : 0;
+
+            // fast-forwarding a single action saves no screen state capture
+            if (speculated > 1) {
+                result = fastForward(surrogateModel, remainingActions.subList(0, speculated));
+                index += speculated;
+            } else {
+                result = executeActionUnsafe(actions.get(index));
+                index++;
+            }
+
+            if (result != SUCCESS) {
+                return result;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Executes the given actions, whose outcome has been speculated on by the surrogate model,
+     * without capturing the screen state after each action. Only the finally reached screen state
+     * is captured and checked against the speculated target state. If the execution diverged, none
+     * of the speculated transitions is taken over, but the test case continues from the reached
+     * screen state, see {@link SurrogateModel#skipSpeculation(IScreenState, ActionResult, Set)}.
+     * A crash on the first action is recorded like the crash of any other action, since its source
+     * state is the last check point. Only a crash on a later action can't be attributed without
+     * bringing the AUT back to the last check point, see
+     * {@link #replayFromCheckPoint(SurrogateModel, List)}.
+     *
+     * @param surrogateModel The surrogate model.
+     * @param actions The speculated actions.
+     * @return Returns the action result associated with the last executed action.
+     */
+    private ActionResult fastForward(final SurrogateModel surrogateModel,
+                                     final List<Action> actions) {
+
+        int executedActions = 0;
+
+        try {
+            for (Action action : actions) {
+                deviceMgr.executeAction(action);
+                executedActions++;
+            }
+        } catch (AUTCrashException e) {
+
+            MATE.log_acc("CRASH MESSAGE " + e.getMessage());
+            deviceMgr.pressHome();
+            surrogateModel.discardSpeculation();
+
+            if (executedActions > 0) {
+                // the traces can't be attributed to the individual actions
+                deviceMgr.getTraces();
+                return replayFromCheckPoint(surrogateModel, actions);
+            }
+
+            // update gui model
+            IScreenState state = ScreenStateFactory.getScreenState(ScreenStateType.ACTION_SCREEN_STATE);
+            state = toRecordedScreenState(state);
+            surrogateModel.update(lastScreenState, state, actions.get(0), FAILURE_APP_CRASH,
+                    deviceMgr.getTraces());
+            lastScreenState = state;
+            return FAILURE_APP_CRASH;
+        }
+
+        IScreenState state = clearScreen();
+
+        // the speculated transitions don't leave the AUT, thus no attempt to step back is made
+        ActionResult result = state.getPackageName().equals(packageName)
+                ? SUCCESS : SUCCESS_OUTBOUND;
+
+        // update gui model
+        state = toRecordedScreenState(state);
+        final Set<String> traces = deviceMgr.getTraces();
+
+        if (surrogateModel.confirmSpeculation(state, result, traces)) {
+            MATE.log_debug("Fast-forwarded " + actions.size() + " cached actions.");
+        } else {
+            surrogateModel.skipSpeculation(state, result, traces);
+        }
+
+        lastScreenState = state;
+        return result;
+    }
+
+    /**
+     * Brings the AUT back to the last check point of the surrogate model and executes the given
+     * actions one by one. This is the last resort if a fast-forward crashed, because the crash
+     * can't be attributed to one of the speculated actions otherwise. The AUT is restarted with
+     * cleared app data and the actions executed since the beginning of the test case are replayed
+     * without updating the gui model, since their transitions have been already recorded. Neither
+     * the start screen state is recorded as root state nor the restart is counted as reset. If the
+     * replay doesn't reach the check point, e.g. due to some non-determinism, the given actions are
+     * executed starting from the reached screen state.
+     *
+     * @param surrogateModel The surrogate model.
+     * @param actions The actions to be executed from the last check point.
+     * @return Returns the action result associated with the last executed action.
+     */
+    private ActionResult replayFromCheckPoint(final SurrogateModel surrogateModel,
+                                              final List<Action> actions) {
+
+        MATE.log("Replaying " + actions.size() + " cached actions from the last check point.");
+        relaunchApp(new long[RESET_PHASES.length]);
+
+        IScreenState state;
+
+        try {
+            for (Action action : surrogateModel.getExecutedActions()) {
+                deviceMgr.executeAction(action);
+            }
+            state = clearScreen();
+        } catch (AUTCrashException e) {
+            MATE.log_acc("CRASH MESSAGE " + e.getMessage());
+            deviceMgr.pressHome();
+            state = ScreenStateFactory.getScreenState(ScreenStateType.ACTION_SCREEN_STATE);
+        }
+
+        // the traces of the replayed actions have been already recorded
+        deviceMgr.getTraces();
+        state = toRecordedScreenState(state);
+
+        if (surrogateModel.isCheckPointState(state)) {
+            lastScreenState = surrogateModel.goToLastCheckPointState();
+        } else {
+            MATE.log_warn("Couldn't return to the last check point!");
+            surrogateModel.goToState(state);
+            lastScreenState = state;
+        }
+
         ActionResult result = null;
 
         for (Action action : actions) {
@@ -884,6 +1085,24 @@ public class UIAbstractionLayer {
         return false;
     }
 
+    /**
+     * Logs the average time spent in each phase of an app reset.
+     */
+    public void logResetStatistics() {
+
+        MATE.log_acc("Number of app resets: " + numberOfResets);
+
+        if (numberOfResets > 0) {
+            long total = 0;
+            for (int phase = 0; phase < RESET_PHASES.length; phase++) {
+                MATE.log_acc("Average reset latency (" + RESET_PHASES[phase] + "): "
+                        + resetPhaseTimes[phase] / numberOfResets + "ms");
+                total += resetPhaseTimes[phase];
+            }
+            MATE.log_acc("Average reset latency (total): " + total / numberOfResets + "ms");
+        }
+    }
+
     /**
      * Returns the screen width.
      *
@@ -920,6 +1139,53 @@ public class UIAbstractionLayer {
             }
         }
 
+        reset();
+
+        if (Properties.SURROGATE_MODEL()) {
+            // We need to move the FSM back in the correct state.
+            SurrogateModel surrogateModel = (SurrogateModel) guiModel;
+            surrogateModel.goToState(lastScreenState);
+        }
+    }
+
+    /**
+     * Resets the AUT, i.e. the app data is cleared and the app is restarted. The reached start
+     * screen state is recorded as a root state.
+     */
+    private void reset() {
+
+        final long[] timestamps = new long[RESET_PHASES.length + 1];
+        relaunchApp(timestamps);
+
+        /*
+         * Restarting the AUT may lead to a distinct start screen state. Thus, we keep track of all
+         * possible root states.
+         */
+        lastScreenState = toRecordedScreenState(clearScreen());
+        guiModel.addRootState(lastScreenState);
+        timestamps[5] = System.currentTimeMillis();
+
+        numberOfResets++;
+        final StringBuilder latencies = new StringBuilder("Reset latencies:");
+
+        for (int phase = 0; phase < RESET_PHASES.length; phase++) {
+            final long latency = timestamps[phase + 1] - timestamps[phase];
+            resetPhaseTimes[phase] += latency;
+            latencies.append(' ').append(RESET_PHASES[phase]).append('=').append(latency).append("ms");
+        }
+
+        MATE.log(latencies.toString());
+    }
+
+    /**
+     * Clears the app data and restarts the AUT until the app is ready, i.e. all reset phases except
+     * for capturing the start screen state are performed.
+     *
+     * @param timestamps Records the start of each of the performed reset phases and the end of the
+     *         last one, see {@link #RESET_PHASES}.
+     */
+    private void relaunchApp(final long[] timestamps) {
+
         try {
             deviceMgr.getDevice().wakeUp();
         } catch (RemoteException e) {
@@ -931,23 +1197,33 @@ public class UIAbstractionLayer {
             deviceMgr.setPortraitMode();
         }
 
+        timestamps[0] = System.currentTimeMillis();
+
         deviceMgr.reinstallApp();
-        Utils.sleep(5000);
-        deviceMgr.restartApp();
-        Utils.sleep(2000);
+        timestamps[1] = System.currentTimeMillis();
 
         /*
-         * Restarting the AUT may lead to a distinct start screen state. Thus, we keep track of all
-         * possible root states.
+        * Instead of sleeping a fixed amount of time, we can wait until the app is ready, i.e. the
+        * launch activity has been resumed and its UI is idle. Since 'pm clear' only returns after
+        * the app data has been cleared, there is no need to wait after clearing the app at all.
+        * The fixed sleep time serves as upper bound for waiting on the app.
          */
-        lastScreenState = toRecordedScreenState(clearScreen());
-        guiModel.addRootState(lastScreenState);
+        if (!Properties.FAST_RESET()) {
+            Utils.sleep(5000);
+        }
+        timestamps[2] = System.currentTimeMillis();
 
-        if (Properties.SURROGATE_MODEL()) {
-            // We need to move the FSM back in the correct state.
-            SurrogateModel surrogateModel = (SurrogateModel) guiModel;
-            surrogateModel.goToState(lastScreenState);
+        deviceMgr.restartApp();
+        timestamps[3] = System.currentTimeMillis();
+
+        if (Properties.FAST_RESET()) {
+            if (!deviceMgr.waitForAppLaunch(2000)) {
+                MATE.log_warn("Launch activity not resumed after restarting the app!");
+            }
+        } else {
+            Utils.sleep(2000);
         }
+        timestamps[4] = System.currentTimeMillis();
     }
 
     /**
@@ -955,7 +1231,14 @@ public class UIAbstractionLayer {
      */
     public void restartApp() {
         deviceMgr.restartApp();
-        Utils.sleep(2000);
+
+        if (Properties.FAST_RESET()) {
+            if (!deviceMgr.waitForAppLaunch(2000)) {
+                MATE.log_warn("Launch activity not resumed after restarting the app!");
+            }
+        } else {
+            Utils.sleep(2000);
+        }
 
         /*
          * Restarting the AUT may lead to a distinct start screen state. Thus, we keep track of all
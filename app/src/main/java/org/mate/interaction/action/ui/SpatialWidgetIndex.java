@@ -0,0 +1,126 @@
+package org.mate.interaction.action.ui;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * A simple spatial index over the centers of a collection of widgets (or objects wrapping a widget
+ * like a {@link WidgetAction}) that supports nearest neighbour queries. The elements are sorted by
+ * the x-coordinate of their center and a query sweeps outwards from the query position until the
+ * horizontal distance alone exceeds the best distance found so far.
+ *
+ * @param <T> The type of the indexed elements.
+ */
+public class SpatialWidgetIndex<T> {
+
+    /**
+     * The indexed elements sorted by the x-coordinate of their widget's center.
+     */
+    private final List<T> elements;
+
+    /**
+     * The widgets associated with the indexed elements, i.e. the i-th widget belongs to the i-th
+     * element.
+     */
+    private final List<Widget> widgets;
+
+    /**
+     * Builds a spatial index over the given elements.
+     *
+     * @param elements The elements to be indexed.
+     * @param toWidget Maps an element to its widget.
+     */
+    public SpatialWidgetIndex(final Collection<T> elements, final Function<T, Widget> toWidget) {
+
+        this.elements = new ArrayList<>(elements);
+        this.elements.sort(Comparator.comparingInt(element -> toWidget.apply(element).getX()));
+        widgets = new ArrayList<>(this.elements.size());
+
+        for (final T element : this.elements) {
+            widgets.add(toWidget.apply(element));
+        }
+    }
+
+    /**
+     * Finds the element whose widget is closest to the given widget, see
+     * {@link Widget#distanceTo(Widget)}.
+     *
+     * @param widget The widget for which the nearest element should be looked up.
+     * @return Returns the nearest element or an empty optional if the index is empty.
+     */
+    public Optional<T> nearest(final Widget widget) {
+
+        if (elements.isEmpty()) {
+            return Optional.empty();
+        }
+
+        final int x = widget.getX();
+        final int start = lowerBound(x);
+
+        int best = -1;
+        double bestDistance = Double.MAX_VALUE;
+
+        // sweep to the right
+        for (int i = start; i < widgets.size(); i++) {
+            if (widgets.get(i).getX() - x > bestDistance) {
+                break;
+            }
+            final double distance = widgets.get(i).distanceTo(widget);
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = i;
+            }
+        }
+
+        // sweep to the left
+        for (int i = start - 1; i >= 0; i--) {
+            if (x - widgets.get(i).getX() > bestDistance) {
+                break;
+            }
+            final double distance = widgets.get(i).distanceTo(widget);
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = i;
+            }
+        }
+
+        return Optional.of(elements.get(best));
+    }
+
+    /**
+     * Checks whether the index is empty.
+     *
+     * @return Returns {@code true} if no element is indexed, otherwise {@code false}.
+     */
+    public boolean isEmpty() {
+        return elements.isEmpty();
+    }
+
+    /**
+     * Determines the position of the first widget whose center x-coordinate is not smaller than
+     * the given x-coordinate.
+     *
+     * @param x The x-coordinate.
+     * @return Returns the position of the first widget with a center x-coordinate >= x.
+     */
+    private int lowerBound(final int x) {
+
+        int low = 0;
+        int high = widgets.size();
+
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (widgets.get(mid).getX() < x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+}
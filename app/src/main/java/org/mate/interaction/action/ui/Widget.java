@@ -7,15 +7,17 @@ import android.support.annotation.NonNull;
 import android.view.accessibility.AccessibilityNodeInfo;
 
 import org.mate.MATE;
+import org.mate.utils.TokenIndex;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.Predicate;
-import java.util.stream.Stream;
+import java.util.regex.Pattern;
 
 /**
  * Represents an element in the ui hierarchy, i.e. a wrapper around a {@link AccessibilityNodeInfo}
@@ -143,6 +145,16 @@ public class Widget {
     // mutable properties
     private String hint;
 
+    /**
+     * The pattern describing the separators upon which text attributes are split into tokens.
+     */
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("\\s|,|;|:|\\.");
+
+    /**
+     * The cached tokens of the widget and its descendants, see {@link #getTokens()}.
+     */
+    private Set<String> tokens;
+
     // deprecated properties
     private String color;
     private String maxminLum;
@@ -253,58 +265,87 @@ public class Widget {
     }
 
     /**
-     * Computes the euclidean distance to another widget.
+     * Computes the euclidean distance between the centers of this and another widget.
      *
      * @param other The other widget.
      * @return Returns the euclidean distance between this widget and the other widget.
      */
     public double distanceTo(final Widget other) {
-
-        final int xCenter = this.x2 - this.x1;
-        final int yCenter = this.y2 - this.y1;
-        final int otherXCenter = other.x2 - other.x1;
-        final int otherYCenter = other.y2 - other.y1;
-
-        return Math.sqrt((xCenter - otherXCenter)^2 + (yCenter - otherYCenter)^2);
+        final long xDistance = this.X - other.X;
+        final long yDistance = this.Y - other.Y;
+        return Math.sqrt(xDistance * xDistance + yDistance * yDistance);
     }
 
     /**
-     * Checks whether the tokens of the widget contain any supplied token.
+     * Checks whether the tokens of the widget match any token of the given token index.
      *
-     * @param tokens The given tokens.
+     * @param tokenIndex The given token index, e.g. built from the stack trace tokens.
      * @return Returns {@code true} if the widget contains any of the given tokens, otherwise
      *                  {@code false} is returned.
      */
-    public boolean containsAnyToken(final Set<String> tokens) {
-
-        // TODO: Avoid (redundant) to lower case transformation(s).
-        return getTokens().map(String::toLowerCase).anyMatch(t1 -> tokens.stream()
-                .map(String::toLowerCase).anyMatch(t2 -> t1.equals(t2)
-                        // Allow minor divergence to catch plural of token for instance.
-                        || (Math.abs(t1.length() - t2.length()) == 1
-                        && (t1.contains(t2) || t2.contains(t1)))));
+    public boolean containsAnyToken(final TokenIndex tokenIndex) {
+        return tokenIndex.matchesAny(getTokens());
     }
 
     /**
      * Retrieves the tokens from the widget, i.e. a collection of text attributes like the content
      * description, the input or hint text. This also includes the tokens from the child widgets.
+     * The tokens are normalized, see {@link TokenIndex#normalize(String)}, and computed only once,
+     * i.e. subsequent calls are served from a cache that is invalidated if the text or the hint
+     * of the widget or any of its descendants changes.
+     *
+     * @return Returns the (normalized) tokens associated with the widget.
+     */
+    public Set<String> getTokens() {
+
+        if (tokens == null) {
+
+            final Set<String> tokens = new HashSet<>();
+
+            for (final String attribute
+                    : Arrays.asList(text, contentDesc, labeledBy, errorText, labelFor, hint)) {
+                if (attribute != null) {
+                    // Split the tokens into further tokens upon common separators.
+                    for (final String token : TOKEN_SEPARATOR.split(attribute)) {
+                        addToken(tokens, token);
+                    }
+                    addToken(tokens, attribute); // Maintain the original token for an exact match.
+                }
+            }
+
+            for (final Widget child : children) {
+                tokens.addAll(child.getTokens());
+            }
+
+            this.tokens = Collections.unmodifiableSet(tokens);
+        }
+
+        return tokens;
+    }
+
+    /**
+     * Adds the normalized token to the given set of tokens unless the token is empty.
      *
-     * @return Returns the tokens associated with the widget.
+     * @param tokens The set of tokens.
+     * @param token The token to be added.
      */
-    public Stream<String> getTokens() {
-        return Stream.concat(
-                Stream.of(text, contentDesc, labeledBy, errorText, labelFor, hint),
-                children.stream().flatMap(Widget::getTokens)
-        ).filter(Objects::nonNull)
-                .flatMap(token -> Stream.concat(
-                        // Split the tokens into further tokens upon common separators.
-                        Arrays.stream(token.split("\\s|,|;|:|\\.")),
-                        Stream.of(token) // Maintain the original token for an exact match.
-                ))
-                .map(String::trim)
-                .map(String::toLowerCase) // TODO: Remove this side effect.
-                .filter(token -> !token.isEmpty())
-                .distinct();
+    private static void addToken(final Set<String> tokens, final String token) {
+        final String normalized = TokenIndex.normalize(token);
+        if (!normalized.isEmpty()) {
+            tokens.add(normalized);
+        }
+    }
+
+    /**
+     * Invalidates the cached tokens of this widget and all its ancestors, since the tokens of a
+     * widget include the tokens of its descendants.
+     */
+    private void invalidateTokens() {
+        Widget widget = this;
+        while (widget != null && widget.tokens != null) {
+            widget.tokens = null;
+            widget = widget.parent;
+        }
     }
 
     /**
@@ -341,6 +382,7 @@ public class Widget {
      */
     public void setText(String text) {
         this.text = text;
+        invalidateTokens();
     }
 
     /**
@@ -972,6 +1014,7 @@ public class Widget {
 
     public void setHint(String hint) {
         this.hint = hint;
+        invalidateTokens();
     }
 
     /**
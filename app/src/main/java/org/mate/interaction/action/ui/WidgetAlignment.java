@@ -0,0 +1,194 @@
+package org.mate.interaction.action.ui;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * Aligns the widgets of two screens, e.g. the screen before and after executing an action. The
+ * widgets are matched by a hashed identity key first, i.e. every pair of widgets sharing the same
+ * key is matched, which takes linear time in the number of widgets as long as the keys are mostly
+ * unique. Only the remaining unmatched widgets are optionally compared attribute-wise.
+ */
+public final class WidgetAlignment {
+
+    /**
+     * The matched widgets of the first screen, i.e. the i-th widget is matched with the i-th widget
+     * of {@link #matchedSecond}.
+     */
+    private final List<Widget> matchedFirst = new ArrayList<>();
+
+    /**
+     * The matched widgets of the second screen.
+     */
+    private final List<Widget> matchedSecond = new ArrayList<>();
+
+    /**
+     * The widgets of the first screen that couldn't be matched.
+     */
+    private final List<Widget> unmatchedFirst = new ArrayList<>();
+
+    /**
+     * The widgets of the second screen that couldn't be matched.
+     */
+    private final List<Widget> unmatchedSecond = new ArrayList<>();
+
+    private WidgetAlignment() {}
+
+    /**
+     * Aligns the given widgets by their keys.
+     *
+     * @param first The widgets of the first screen.
+     * @param second The widgets of the second screen.
+     * @param key Maps a widget to its identity key, which needs to implement hashCode() and
+     *         equals().
+     * @param <K> The type of the keys.
+     * @return Returns the alignment of the given widgets.
+     */
+    public static <K> WidgetAlignment align(final List<Widget> first, final List<Widget> second,
+                                            final Function<Widget, K> key) {
+        return align(first, second, key, null);
+    }
+
+    /**
+     * Aligns the given widgets by their keys. Afterwards, each unmatched widget of the first screen
+     * is matched with the first unmatched widget of the second screen satisfying the fallback
+     * predicate, if any.
+     *
+     * @param first The widgets of the first screen.
+     * @param second The widgets of the second screen.
+     * @param key Maps a widget to its identity key, which needs to implement hashCode() and
+     *         equals().
+     * @param fallback The attribute-wise comparison of the unmatched widgets or {@code null} if the
+     *         unmatched widgets should not be compared.
+     * @param <K> The type of the keys.
+     * @return Returns the alignment of the given widgets.
+     */
+    public static <K> WidgetAlignment align(final List<Widget> first, final List<Widget> second,
+                                            final Function<Widget, K> key,
+                                            final BiPredicate<Widget, Widget> fallback) {
+
+        final WidgetAlignment alignment = new WidgetAlignment();
+
+        // index the widgets of the second screen by their key
+        final Map<K, List<Widget>> secondByKey = new HashMap<>();
+        final List<K> secondKeys = new ArrayList<>(second.size());
+
+        for (final Widget widget : second) {
+            final K secondKey = key.apply(widget);
+            secondKeys.add(secondKey);
+            secondByKey.computeIfAbsent(secondKey, k -> new ArrayList<>(1)).add(widget);
+        }
+
+        final Set<K> matchedKeys = new HashSet<>();
+
+        for (final Widget widget : first) {
+
+            final K firstKey = key.apply(widget);
+            final List<Widget> candidates = secondByKey.get(firstKey);
+
+            if (candidates == null) {
+                alignment.unmatchedFirst.add(widget);
+            } else {
+                matchedKeys.add(firstKey);
+                for (final Widget candidate : candidates) {
+                    alignment.matchedFirst.add(widget);
+                    alignment.matchedSecond.add(candidate);
+                }
+            }
+        }
+
+        for (int i = 0; i < second.size(); i++) {
+            if (!matchedKeys.contains(secondKeys.get(i))) {
+                alignment.unmatchedSecond.add(second.get(i));
+            }
+        }
+
+        if (fallback != null) {
+            alignment.alignUnmatched(fallback);
+        }
+
+        return alignment;
+    }
+
+    /**
+     * Matches the unmatched widgets pairwise by the given predicate.
+     *
+     * @param fallback The attribute-wise comparison of two widgets.
+     */
+    private void alignUnmatched(final BiPredicate<Widget, Widget> fallback) {
+
+        final Iterator<Widget> firstIterator = unmatchedFirst.iterator();
+
+        while (firstIterator.hasNext() && !unmatchedSecond.isEmpty()) {
+
+            final Widget widget = firstIterator.next();
+            final Iterator<Widget> secondIterator = unmatchedSecond.iterator();
+
+            while (secondIterator.hasNext()) {
+                final Widget candidate = secondIterator.next();
+                if (fallback.test(widget, candidate)) {
+                    matchedFirst.add(widget);
+                    matchedSecond.add(candidate);
+                    firstIterator.remove();
+                    secondIterator.remove();
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of matched widget pairs.
+     *
+     * @return Returns the number of matches.
+     */
+    public int getNumberOfMatches() {
+        return matchedFirst.size();
+    }
+
+    /**
+     * Returns the widget of the first screen of the i-th match.
+     *
+     * @param i The index of the match.
+     * @return Returns the matched widget of the first screen.
+     */
+    public Widget getFirst(final int i) {
+        return matchedFirst.get(i);
+    }
+
+    /**
+     * Returns the widget of the second screen of the i-th match.
+     *
+     * @param i The index of the match.
+     * @return Returns the matched widget of the second screen.
+     */
+    public Widget getSecond(final int i) {
+        return matchedSecond.get(i);
+    }
+
+    /**
+     * Returns the widgets of the first screen that couldn't be matched.
+     *
+     * @return Returns the unmatched widgets of the first screen.
+     */
+    public List<Widget> getUnmatchedFirst() {
+        return Collections.unmodifiableList(unmatchedFirst);
+    }
+
+    /**
+     * Returns the widgets of the second screen that couldn't be matched.
+     *
+     * @return Returns the unmatched widgets of the second screen.
+     */
+    public List<Widget> getUnmatchedSecond() {
+        return Collections.unmodifiableList(unmatchedSecond);
+    }
+}
@@ -64,6 +64,17 @@ public interface IGUIModel {
      */
     Optional<List<Edge>> shortestPath(IScreenState from, IScreenState to);
 
+    /**
+     * Tries to find the shortest path from the given state to the nearest state of the given
+     * activity.
+     *
+     * @param from The source state.
+     * @param activity The target activity.
+     * @return Returns the shortest path to the nearest state of the given activity if such path
+     *         exists.
+     */
+    Optional<List<Edge>> shortestPathToActivity(IScreenState from, String activity);
+
     /**
      * Returns the screen state matching the given id.
      *
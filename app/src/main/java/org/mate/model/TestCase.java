@@ -327,8 +327,19 @@ public class TestCase {
      * @return Returns a test case that executed the actions of the dummy.
      */
     public static TestCase fromDummy(TestCase testCase) {
-
         Registry.getUiAbstractionLayer().resetApp();
+        return executeDummy(testCase);
+    }
+
+    /**
+     * Creates a test case from a given dummy test case without resetting the app beforehand, see
+     * {@link #fromDummy(TestCase)}.
+     *
+     * @param testCase The dummy test case.
+     * @return Returns a test case that executed the actions of the dummy.
+     */
+    public static TestCase executeDummy(TestCase testCase) {
+
         TestCase resultingTc = newInitializedTestCase();
 
         int finalSize = testCase.actionSequence.size();
@@ -368,6 +379,28 @@ public class TestCase {
         return resultingTc;
     }
 
+    /**
+     * Creates a test case describing a recorded execution without executing any action, see
+     * {@link org.mate.utils.ExecutionMemo}.
+     *
+     * @param id The id of the recorded test case, which identifies its coverage and fitness data.
+     * @param actions The executed actions.
+     * @param states The visited states (ids) in the order they were visited.
+     * @param activities The visited activities in the order they appeared.
+     * @param crashDetected Whether the execution caused a crash.
+     * @return Returns a test case describing the recorded execution.
+     */
+    public static TestCase fromRecording(String id, List<Action> actions, List<String> states,
+                                         List<String> activities, boolean crashDetected) {
+        TestCase testCase = new TestCase();
+        testCase.setId(id);
+        testCase.actionSequence.addAll(actions);
+        testCase.stateSequence.addAll(states);
+        testCase.activitySequence.addAll(activities);
+        testCase.crashDetected = crashDetected;
+        return testCase;
+    }
+
     /**
      * Returns the string representation of a test case.
      * This is the unique test case id for now.
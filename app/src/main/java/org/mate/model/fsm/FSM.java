@@ -10,13 +10,11 @@ import org.mate.state.equivalence.StateEquivalenceFactory;
 import org.mate.state.equivalence.StateEquivalenceLevel;
 
 import java.util.Collections;
-import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -41,6 +39,37 @@ public class FSM {
      */
     protected final Set<Transition> transitions;
 
+    /**
+     * Indexes the transitions by their source state.
+     */
+    private final Map<State, Set<Transition>> outgoingTransitions;
+
+    /**
+     * Indexes the transitions by their source state and action.
+     */
+    private final Map<State, Map<Action, Set<Transition>>> outgoingActionTransitions;
+
+    /**
+     * Indexes the transitions by their action.
+     */
+    private final Map<Action, Set<Transition>> actionTransitions;
+
+    /**
+     * Maps an activity to the source states of the transitions leading to a state of that activity.
+     */
+    private final Map<String, Set<State>> activitySources;
+
+    /**
+     * Maps the screen states that are part of the FSM to their corresponding state. This enables
+     * a constant look up of recorded screen states without any equivalence check.
+     */
+    private final Map<IScreenState, State> recordedStates;
+
+    /**
+     * Caches the shortest path trees of the most recently used source states.
+     */
+    private final NavigationCache navigationCache;
+
     /**
      * The id of the next new state.
      */
@@ -79,7 +108,14 @@ public class FSM {
         nextStateId = 1;
         states = new HashSet<>();
         transitions = new HashSet<>();
+        outgoingTransitions = new HashMap<>();
+        outgoingActionTransitions = new HashMap<>();
+        actionTransitions = new HashMap<>();
+        activitySources = new HashMap<>();
+        recordedStates = new IdentityHashMap<>();
+        navigationCache = new NavigationCache(this);
         states.add(root);
+        recordedStates.put(root.getScreenState(), root);
 
         // the initial state is a new state
         reachedNewState = true;
@@ -95,30 +131,126 @@ public class FSM {
     public void addTransition(Transition transition) {
 
         states.add(transition.getSource());
+        recordedStates.putIfAbsent(transition.getSource().getScreenState(), transition.getSource());
 
         // check whether we reached a new state
         reachedNewState = states.add(transition.getTarget());
+        recordedStates.putIfAbsent(transition.getTarget().getScreenState(), transition.getTarget());
 
-        transitions.add(transition);
+        addToTransitions(transition);
 
         currentState = transition.getTarget();
     }
 
     /**
-     * Returns the transition that are labeled by the given action.
+     * Adds the given transition to the set of transitions and updates the transition indices.
      *
-     * @param action The given action.
-     * @return Returns the transitions that are labeled by the given action.
+     * @param transition The transition to be added.
+     * @return Returns {@code true} if the transition was not contained yet, otherwise {@code false}
+     *         is returned.
      */
-    public Set<Transition> getTransitions(Action action) {
+    protected boolean addToTransitions(final Transition transition) {
+
+        if (!transitions.add(transition)) {
+            return false;
+        }
 
-        Set<Transition> transitions = new HashSet<>();
-        for (Transition transition : this.transitions) {
-            if (transition.getAction().equals(action)) {
-                transitions.add(transition);
+        final State source = transition.getSource();
+        final Action action = transition.getAction();
+
+        outgoingTransitions.computeIfAbsent(source, s -> new HashSet<>()).add(transition);
+        outgoingActionTransitions.computeIfAbsent(source, s -> new HashMap<>())
+                .computeIfAbsent(action, a -> new HashSet<>()).add(transition);
+        actionTransitions.computeIfAbsent(action, a -> new HashSet<>()).add(transition);
+        activitySources.computeIfAbsent(transition.getTarget().getScreenState().getActivityName(),
+                a -> new HashSet<>()).add(source);
+        navigationCache.onTransitionAdded(transition);
+        return true;
+    }
+
+    /**
+     * Removes the given transition from the set of transitions and updates the transition indices.
+     *
+     * @param transition The transition to be removed.
+     * @return Returns {@code true} if the transition was contained, otherwise {@code false} is
+     *         returned.
+     */
+    protected boolean removeFromTransitions(final Transition transition) {
+
+        if (!transitions.remove(transition)) {
+            return false;
+        }
+
+        // distances may increase when removing a transition
+        navigationCache.invalidate();
+
+        final State source = transition.getSource();
+        final Action action = transition.getAction();
+
+        final Set<Transition> outgoing = outgoingTransitions.get(source);
+        outgoing.remove(transition);
+        if (outgoing.isEmpty()) {
+            outgoingTransitions.remove(source);
+        }
+
+        final Map<Action, Set<Transition>> outgoingByAction = outgoingActionTransitions.get(source);
+        final Set<Transition> outgoingWithAction = outgoingByAction.get(action);
+        outgoingWithAction.remove(transition);
+        if (outgoingWithAction.isEmpty()) {
+            outgoingByAction.remove(action);
+            if (outgoingByAction.isEmpty()) {
+                outgoingActionTransitions.remove(source);
             }
         }
-        return transitions;
+
+        final Set<Transition> withAction = actionTransitions.get(action);
+        withAction.remove(transition);
+        if (withAction.isEmpty()) {
+            actionTransitions.remove(action);
+        }
+
+        // the source state remains a predecessor if there is another transition to the activity
+        final String activity = transition.getTarget().getScreenState().getActivityName();
+        final boolean stillPredecessor = outgoing.stream().anyMatch(t ->
+                t.getTarget().getScreenState().getActivityName().equals(activity));
+
+        if (!stillPredecessor) {
+            final Set<State> sources = activitySources.get(activity);
+            sources.remove(source);
+            if (sources.isEmpty()) {
+                activitySources.remove(activity);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Retains only the given transitions and updates the transition indices accordingly.
+     *
+     * @param retainedTransitions The transitions that should be retained.
+     */
+    protected void retainTransitions(final Set<Transition> retainedTransitions) {
+
+        final List<Transition> removedTransitions = transitions.stream()
+                .filter(transition -> !retainedTransitions.contains(transition))
+                .collect(Collectors.toList());
+
+        for (final Transition transition : removedTransitions) {
+            removeFromTransitions(transition);
+        }
+    }
+
+    /**
+     * Returns the transition that are labeled by the given action. The returned set is a read-only
+     * view backed by the transition index.
+     *
+     * @param action The given action.
+     * @return Returns the transitions that are labeled by the given action.
+     */
+    public Set<Transition> getTransitions(Action action) {
+        return Collections.unmodifiableSet(
+                actionTransitions.getOrDefault(action, Collections.emptySet()));
     }
 
     /**
@@ -148,6 +280,12 @@ public class FSM {
      */
     public State getState(IScreenState screenState) {
 
+        // a screen state that has been recorded before doesn't require any equivalence check
+        State recordedState = recordedStates.get(screenState);
+        if (recordedState != null) {
+            return recordedState;
+        }
+
         IStateEquivalence stateEquivalence
                 = StateEquivalenceFactory.getStateEquivalenceCheck(STATE_EQUIVALENCE_LEVEL);
 
@@ -182,110 +320,64 @@ public class FSM {
     }
 
     /**
-     * Tries to find the shortest path between the given states.
+     * Tries to find the shortest path between the given states. The shortest path tree rooted at
+     * the source state is cached and incrementally updated when new transitions are added.
      *
      * @param from The source state.
      * @param to The target state.
      * @return Returns the shortest path between the given states if such path exists.
      */
     public Optional<List<Transition>> shortestPath(State from, State to) {
+        return navigationCache.getTree(from).pathTo(to);
+    }
 
-        // bfs traversal
-        Deque<State> workQueue = new LinkedList<>();
-        Set<State> exploredStates = new HashSet<>();
-        Map<State, State> predecessors = new HashMap<>();
-
-        exploredStates.add(from);
-        workQueue.add(from);
-
-        while (!workQueue.isEmpty()) {
-
-            State state = workQueue.poll();
-
-            if (Objects.equals(state, to)) {
-                return Optional.of(shortestPath(from, to, predecessors));
-            } else {
-                for (Transition transition : getOutgoingTransitions(state)) {
-                    State target = transition.getTarget();
-
-                    if (!exploredStates.contains(target)) {
-                        exploredStates.add(target);
-                        workQueue.add(target);
-                        predecessors.put(target, state);
-                    }
-                }
-            }
-        }
-
-        return Optional.empty();
+    /**
+     * Tries to find the shortest path from the given state to the nearest state of the given
+     * activity. In contrast to calling {@link #shortestPath(State, State)} for every state of the
+     * activity, this requires at most a single traversal of the FSM.
+     *
+     * @param from The source state.
+     * @param activity The target activity.
+     * @return Returns the shortest path to the nearest state of the given activity if such path
+     *         exists.
+     */
+    public Optional<List<Transition>> shortestPathToActivity(State from, String activity) {
+        NavigationCache.ShortestPathTree tree = navigationCache.getTree(from);
+        return tree.nearest(state -> state != root
+                && state.getScreenState().getActivityName().equals(activity))
+                .flatMap(tree::pathTo);
     }
 
     /**
-     * Returns the outgoing transitions from the given source state.
+     * Returns the outgoing transitions from the given source state. The returned set is a read-only
+     * view backed by the transition index, i.e. it must not be modified while the FSM is updated.
      *
      * @param source The source state.
      * @return Returns the outgoing transitions from the given state.
      */
     public Set<Transition> getOutgoingTransitions(State source) {
-        return transitions.stream()
-                .filter(transition -> transition.getSource().equals(source))
-                .collect(Collectors.toSet());
+        return Collections.unmodifiableSet(
+                outgoingTransitions.getOrDefault(source, Collections.emptySet()));
     }
 
     /**
-     * Returns the outgoing transitions from the given source state with the given action.
+     * Returns the outgoing transitions from the given source state with the given action. The
+     * returned set is a read-only view backed by the transition index.
      *
      * @param source The source state.
      * @param action The given action.
      * @return Returns the outgoing transitions from the given state and action.
      */
     public Set<Transition> getOutgoingTransitions(State source, Action action) {
-        return transitions.stream()
-                .filter(transition -> transition.getSource().equals(source))
-                .filter(transition -> transition.getAction().equals(action))
-                .collect(Collectors.toSet());
-    }
 
-    /**
-     * Returns an arbitrary transition between the given source and target state.
-     *
-     * @param source The source state.
-     * @param target The target state.
-     * @return Returns any transition between the given source and target state if such transition
-     *         exists.
-     */
-    private Optional<Transition> getAnyTransition(State source, State target) {
-        return transitions.stream()
-                .filter(transition -> transition.getSource().equals(source)
-                        && transition.getTarget().equals(target))
-                .findAny();
-    }
+        final Map<Action, Set<Transition>> outgoingByAction = outgoingActionTransitions.get(source);
 
-    /**
-     * Returns the shortest path between the given two states.
-     *
-     * @param from The source state.
-     * @param to The target state.
-     * @param predecessors Maintains the predecessor for each state.
-     * @return Returns the shortest path between the source and target state.
-     */
-    private List<Transition> shortestPath(final State from, final State to,
-                                          final Map<State, State> predecessors) {
-
-        List<Transition> path = new LinkedList<>();
-
-        State state = to;
-
-        while (!Objects.equals(state, from)) {
-            State predecessor = predecessors.get(state);
-            Transition transition = getAnyTransition(predecessor, state)
-                    .orElseThrow(() -> new IllegalStateException("No transition found!"));
-            path.add(transition);
-            state = predecessor;
+        if (outgoingByAction == null) {
+            return Collections.emptySet();
         }
 
-        Collections.reverse(path);
-        return path;
+        return Collections.unmodifiableSet(
+                outgoingByAction.getOrDefault(action, Collections.emptySet()));
     }
 
     /**
@@ -307,15 +399,13 @@ public class FSM {
 
         Set<String> activityPredecessors = new HashSet<>();
 
-        // find all transitions that lead to the given activity and represent an activity of the AUT
-        for (Transition transition : transitions) {
-            if (transition.getTarget().getScreenState().getActivityName().equals(activity)) {
-                // check that the source state represents a different activity of the AUT
-                IScreenState sourceState = transition.getSource().getScreenState();
-                if (sourceState.getPackageName().equals(packageName)
-                        && !sourceState.getActivityName().equals(activity)) {
-                    activityPredecessors.add(sourceState.getActivityName());
-                }
+        // find all source states that have a transition leading to the given activity
+        for (State source : activitySources.getOrDefault(activity, Collections.emptySet())) {
+            // check that the source state represents a different activity of the AUT
+            IScreenState sourceState = source.getScreenState();
+            if (sourceState.getPackageName().equals(packageName)
+                    && !sourceState.getActivityName().equals(activity)) {
+                activityPredecessors.add(sourceState.getActivityName());
             }
         }
 
@@ -1,7 +1,9 @@
 package org.mate.model.fsm;
 
 import org.mate.MATE;
+import org.mate.Properties;
 import org.mate.interaction.action.Action;
+import org.mate.interaction.action.ActionResult;
 import org.mate.interaction.action.StartAction;
 import org.mate.interaction.action.intent.IntentAction;
 import org.mate.interaction.action.intent.IntentBasedAction;
@@ -12,11 +14,18 @@ import org.mate.interaction.action.ui.Widget;
 import org.mate.interaction.action.ui.WidgetAction;
 import org.mate.model.Edge;
 import org.mate.model.IGUIModel;
+import org.mate.model.fsm.snapshot.GUIModelJournal;
+import org.mate.model.fsm.snapshot.GUIModelSnapshot;
+import org.mate.model.fsm.snapshot.GUIModelSnapshot.TransitionRecord;
+import org.mate.model.fsm.snapshot.ScreenFingerprint;
 import org.mate.state.IScreenState;
 import org.mate.state.ScreenStateType;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -114,6 +123,28 @@ public class FSMModel implements IGUIModel {
      */
     protected final String packageName;
 
+    /**
+     * The journal to which the executed transitions are written or {@code null} if the GUI model
+     * should not be persisted, see {@link Properties#GUI_MODEL_SNAPSHOT()}.
+     */
+    private final GUIModelJournal journal;
+
+    /**
+     * The snapshot of previous runs from which the model is warm-started or {@code null} if the
+     * model starts empty, see {@link Properties#GUI_MODEL_WARM_START()}.
+     */
+    private final GUIModelSnapshot snapshot;
+
+    /**
+     * Caches the structural fingerprints of the states.
+     */
+    private final Map<State, Long> fingerprints = new HashMap<>();
+
+    /**
+     * Maps the fingerprints of the snapshot states to the states of the FSM they are bound to.
+     */
+    private final Map<Long, State> boundStates = new HashMap<>();
+
     /**
      * Creates a new FSM based model with a given initial state.
      *
@@ -122,9 +153,16 @@ public class FSMModel implements IGUIModel {
      */
     public FSMModel(IScreenState rootState, String packageName) {
         this.packageName = packageName;
+        snapshot = Properties.GUI_MODEL_WARM_START()
+                ? GUIModelSnapshot.load(GUIModelJournal.getRotatedFile(packageName),
+                GUIModelJournal.getFile(packageName)).orElse(null) : null;
+        journal = Properties.GUI_MODEL_SNAPSHOT()
+                ? GUIModelJournal.open(packageName).orElse(null) : null;
         fsm = new FSM(VIRTUAL_ROOT_STATE, packageName);
-        fsm.addTransition(new Transition(VIRTUAL_ROOT_STATE, new State(0, rootState),
-                new StartAction()));
+        Transition transition = new Transition(VIRTUAL_ROOT_STATE, new State(0, rootState),
+                new StartAction());
+        fsm.addTransition(transition);
+        journalTransition(transition, null, Collections.emptySet());
     }
 
     /**
@@ -136,6 +174,165 @@ public class FSMModel implements IGUIModel {
         State targetState = fsm.getState(target);
         Transition transition = new Transition(sourceState, targetState, action);
         fsm.addTransition(transition);
+        recordTransition(transition, null, Collections.emptySet());
+    }
+
+    /**
+     * Records a transition that has been added to the FSM. The transition is written to the journal
+     * and the transitions of the snapshot are restored for the source and target state if the model
+     * is warm-started.
+     *
+     * @param transition The transition that has been added to the FSM.
+     * @param actionResult The action result or {@code null} if not known.
+     * @param traces The traces produced by executing the action of the transition.
+     */
+    protected void recordTransition(final Transition transition, final ActionResult actionResult,
+                                    final Set<String> traces) {
+
+        journalTransition(transition, actionResult, traces);
+
+        if (snapshot != null) {
+            restoreTransitions(transition.getSource());
+            restoreTransitions(transition.getTarget());
+        }
+    }
+
+    /**
+     * Writes the given transition to the journal if enabled.
+     *
+     * @param transition The transition that should be written.
+     * @param actionResult The action result or {@code null} if not known.
+     * @param traces The traces produced by executing the action of the transition.
+     */
+    private void journalTransition(final Transition transition, final ActionResult actionResult,
+                                   final Set<String> traces) {
+        if (journal != null) {
+            final State source = transition.getSource();
+            final State target = transition.getTarget();
+            journal.record(source, fingerprintOf(source), target, fingerprintOf(target),
+                    transition.getAction(), actionResult, traces);
+        }
+    }
+
+    /**
+     * Flushes and closes the journal if enabled. Transitions recorded afterwards are not persisted.
+     */
+    public void closeJournal() {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    /**
+     * Returns the (cached) structural fingerprint of the given state.
+     *
+     * @param state The state.
+     * @return Returns the fingerprint of the state.
+     */
+    private long fingerprintOf(final State state) {
+        return fingerprints.computeIfAbsent(state, ScreenFingerprint::of);
+    }
+
+    /**
+     * Binds the given state to the snapshot state with the same fingerprint and restores all
+     * snapshot transitions between the given state and already bound states. This happens only
+     * once per state, i.e. when the state is encountered the first time.
+     *
+     * @param state The state that should be bound.
+     */
+    private void restoreTransitions(final State state) {
+
+        if (state.getId() < 0) {
+            // the transitions of the virtual root state are not restored
+            return;
+        }
+
+        final long fingerprint = fingerprintOf(state);
+
+        if (boundStates.containsKey(fingerprint) || !snapshot.containsState(fingerprint)) {
+            return;
+        }
+
+        boundStates.put(fingerprint, state);
+        int restored = 0;
+
+        final Map<String, Action> actions = actionsBySignature(state);
+        for (final TransitionRecord record : snapshot.getOutgoingTransitions(fingerprint)) {
+            final State target = boundStates.get(record.getTarget());
+            if (target != null && restoreTransition(state, target, actions, record)) {
+                restored++;
+            }
+        }
+
+        for (final TransitionRecord record : snapshot.getIncomingTransitions(fingerprint)) {
+            final State source = boundStates.get(record.getSource());
+            if (source != null && source != state
+                    && restoreTransition(source, state, actionsBySignature(source), record)) {
+                restored++;
+            }
+        }
+
+        if (restored > 0) {
+            MATE.log_debug("Restored " + restored + " transitions from the snapshot for " + state);
+        }
+    }
+
+    /**
+     * Restores a single snapshot transition between two bound states.
+     *
+     * @param source The source state.
+     * @param target The target state.
+     * @param actions The actions of the source state by their signature.
+     * @param record The snapshot transition.
+     * @return Returns {@code true} if the transition has been added to the FSM, otherwise
+     *         {@code false} is returned.
+     */
+    private boolean restoreTransition(final State source, final State target,
+                                      final Map<String, Action> actions,
+                                      final TransitionRecord record) {
+
+        final Action action = actions.get(record.getAction());
+
+        if (action == null) {
+            // the action is not applicable on the screen of the current run
+            return false;
+        }
+
+        return fsm.addToTransitions(createRestoredTransition(source, target, action, record));
+    }
+
+    /**
+     * Maps the actions of the given state to their signature.
+     *
+     * @param state The state.
+     * @return Returns the actions of the state by their signature.
+     */
+    private static Map<String, Action> actionsBySignature(final State state) {
+
+        final List<Action> actions = state.getScreenState().getActions();
+        final Map<String, Action> signatures = new HashMap<>(actions.size());
+
+        for (final Action action : actions) {
+            signatures.put(ScreenFingerprint.signatureOf(action), action);
+        }
+
+        return signatures;
+    }
+
+    /**
+     * Creates the transition of the FSM for a restored snapshot transition. Subclasses can
+     * override this method to attach additional information, e.g. traces, to the transition.
+     *
+     * @param source The source state.
+     * @param target The target state.
+     * @param action The action of the current run matching the snapshot action.
+     * @param record The snapshot transition.
+     * @return Returns the transition that should be added to the FSM.
+     */
+    protected Transition createRestoredTransition(final State source, final State target,
+                                                  final Action action,
+                                                  final TransitionRecord record) {
+        return new Transition(source, target, action);
     }
 
     /**
@@ -209,6 +406,21 @@ public class FSMModel implements IGUIModel {
                         .collect(Collectors.toList()));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<List<Edge>> shortestPathToActivity(IScreenState from, String activity) {
+        State fromState = fsm.getState(from);
+        MATE.log_debug("Trying to find the shortest path from " + fromState + " to " + activity);
+        return fsm.shortestPathToActivity(fromState, activity)
+                .map(transitions -> transitions.stream()
+                        .map(transition -> new Edge(transition.getAction(),
+                                transition.getSource().getScreenState(),
+                                transition.getTarget().getScreenState()))
+                        .collect(Collectors.toList()));
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -239,7 +451,9 @@ public class FSMModel implements IGUIModel {
     @Override
     public void addRootState(IScreenState rootState) {
         State root = fsm.getState(rootState);
-        fsm.addTransition(new Transition(VIRTUAL_ROOT_STATE, root, new StartAction()));
+        Transition transition = new Transition(VIRTUAL_ROOT_STATE, root, new StartAction());
+        fsm.addTransition(transition);
+        recordTransition(transition, null, Collections.emptySet());
     }
 
     /**
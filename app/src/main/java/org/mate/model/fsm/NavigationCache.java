@@ -0,0 +1,225 @@
+package org.mate.model.fsm;
+
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Caches the shortest path trees (BFS trees) of the most recently used source states of a
+ * {@link FSM}, e.g. the root state or the current state. A tree answers both shortest path queries
+ * to a single target state and 'nearest state satisfying a condition' queries, e.g. the nearest
+ * state of a given activity, without traversing the FSM again. Since transitions are only added
+ * in the common case, a tree is updated incrementally whenever a new transition shortens the
+ * distance to some state, while removing a transition invalidates all trees.
+ */
+class NavigationCache {
+
+    /**
+     * The maximal number of cached shortest path trees.
+     */
+    private static final int MAX_CACHED_TREES = 4;
+
+    /**
+     * The underlying FSM.
+     */
+    private final FSM fsm;
+
+    /**
+     * The cached shortest path trees in access order, i.e. the least recently used tree is evicted
+     * first.
+     */
+    private final Map<State, ShortestPathTree> trees
+            = new LinkedHashMap<State, ShortestPathTree>(MAX_CACHED_TREES + 1, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<State, ShortestPathTree> eldest) {
+                    return size() > MAX_CACHED_TREES;
+                }
+            };
+
+    /**
+     * Creates a new navigation cache for the given FSM.
+     *
+     * @param fsm The underlying FSM.
+     */
+    NavigationCache(final FSM fsm) {
+        this.fsm = fsm;
+    }
+
+    /**
+     * Returns the shortest path tree rooted at the given source state. The tree is either served
+     * from the cache or computed by a single BFS traversal.
+     *
+     * @param source The source state.
+     * @return Returns the shortest path tree rooted at the given state.
+     */
+    ShortestPathTree getTree(final State source) {
+
+        ShortestPathTree tree = trees.get(source);
+
+        if (tree == null) {
+            tree = new ShortestPathTree(source);
+            trees.put(source, tree);
+        }
+
+        return tree;
+    }
+
+    /**
+     * Updates the cached trees with a newly added transition.
+     *
+     * @param transition The new transition.
+     */
+    void onTransitionAdded(final Transition transition) {
+        for (final ShortestPathTree tree : trees.values()) {
+            tree.relax(transition);
+        }
+    }
+
+    /**
+     * Invalidates all cached trees. This is necessary whenever a transition is removed, since
+     * distances may increase then.
+     */
+    void invalidate() {
+        trees.clear();
+    }
+
+    /**
+     * A shortest path tree rooted at a single source state. Each reachable state records its
+     * distance to the source and the transition through which it is reached.
+     */
+    class ShortestPathTree {
+
+        /**
+         * The source state.
+         */
+        private final State source;
+
+        /**
+         * The distances of the reachable states to the source state.
+         */
+        private final Map<State, Integer> distances = new HashMap<>();
+
+        /**
+         * The transition through which a state is reached on a shortest path.
+         */
+        private final Map<State, Transition> parentTransitions = new HashMap<>();
+
+        /**
+         * Computes the shortest path tree for the given source state via a BFS traversal.
+         *
+         * @param source The source state.
+         */
+        private ShortestPathTree(final State source) {
+            this.source = source;
+            distances.put(source, 0);
+            propagate(source);
+        }
+
+        /**
+         * Updates the tree with a new transition. If the transition shortens the distance to its
+         * target state, the shorter distance is propagated to all states reachable from the target.
+         *
+         * @param transition The new transition.
+         */
+        private void relax(final Transition transition) {
+
+            final Integer sourceDistance = distances.get(transition.getSource());
+
+            if (sourceDistance == null) {
+                // the transition is not reachable from the source of the tree
+                return;
+            }
+
+            final State target = transition.getTarget();
+            final Integer targetDistance = distances.get(target);
+
+            if (targetDistance == null || targetDistance > sourceDistance + 1) {
+                distances.put(target, sourceDistance + 1);
+                parentTransitions.put(target, transition);
+                propagate(target);
+            }
+        }
+
+        /**
+         * Propagates the distance of the given state to all states reachable from it as long as
+         * the distances decrease.
+         *
+         * @param start The state whose distance has been set or decreased.
+         */
+        private void propagate(final State start) {
+
+            final Deque<State> workQueue = new LinkedList<>();
+            workQueue.add(start);
+
+            while (!workQueue.isEmpty()) {
+
+                final State state = workQueue.poll();
+                final int distance = distances.get(state);
+
+                for (final Transition transition : fsm.getOutgoingTransitions(state)) {
+                    final State target = transition.getTarget();
+                    final Integer targetDistance = distances.get(target);
+
+                    if (targetDistance == null || targetDistance > distance + 1) {
+                        distances.put(target, distance + 1);
+                        parentTransitions.put(target, transition);
+                        workQueue.add(target);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Returns the shortest path from the source state to the given target state.
+         *
+         * @param target The target state.
+         * @return Returns the shortest path if the target state is reachable.
+         */
+        Optional<List<Transition>> pathTo(final State target) {
+
+            if (!distances.containsKey(target)) {
+                return Optional.empty();
+            }
+
+            final List<Transition> path = new LinkedList<>();
+            State state = target;
+
+            while (!state.equals(source)) {
+                final Transition transition = parentTransitions.get(state);
+                path.add(transition);
+                state = transition.getSource();
+            }
+
+            Collections.reverse(path);
+            return Optional.of(path);
+        }
+
+        /**
+         * Returns the nearest state (including the source state itself) that satisfies the given
+         * condition.
+         *
+         * @param condition The condition the state needs to satisfy.
+         * @return Returns the nearest state satisfying the condition if such state is reachable.
+         */
+        Optional<State> nearest(final Predicate<State> condition) {
+
+            State nearest = null;
+            int nearestDistance = Integer.MAX_VALUE;
+
+            for (final Map.Entry<State, Integer> entry : distances.entrySet()) {
+                if (entry.getValue() < nearestDistance && condition.test(entry.getKey())) {
+                    nearest = entry.getKey();
+                    nearestDistance = entry.getValue();
+                }
+            }
+
+            return Optional.ofNullable(nearest);
+        }
+    }
+}
@@ -12,14 +12,15 @@ import org.mate.state.equivalence.StateEquivalenceFactory;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
-import static java.util.stream.Collectors.toList;
-import static java.util.stream.Collectors.toSet;
-
 /**
  * Defines an Extended Labeled Transition System (ELTS) as described on page 107/108 in the paper
  * "QBE: QLearning-Based Exploration of Android Applications".
@@ -56,6 +57,13 @@ public class ELTS extends FSM {
      */
     private final Set<Action> followUpActions;
 
+    /**
+     * Maps a source state and an action to the target states of the transitions with that source
+     * state and action. The ELTS is deterministic if and only if each pair of source state and
+     * action leads to a single target state.
+     */
+    private final Map<State, Map<Action, Set<State>>> successors;
+
     /**
      * Whether the ELTS is deterministic or not.
      */
@@ -77,6 +85,7 @@ public class ELTS extends FSM {
         super(root, packageName);
         transitionActions = new HashSet<>();
         followUpActions = new HashSet<>();
+        successors = new HashMap<>();
         deterministic = true;
         followUpActions.addAll(root.getActions());
     }
@@ -90,7 +99,7 @@ public class ELTS extends FSM {
     @Override
     public void addTransition(Transition transition) {
         QBETransition qbeTransition = (QBETransition) transition;
-        transitions.add(qbeTransition);
+        addToTransitions(qbeTransition);
         QBEState target = (QBEState) qbeTransition.getTarget();
         states.add(target);
         transitionActions.add(transition.getAction());
@@ -99,6 +108,80 @@ public class ELTS extends FSM {
         currentState = target;
     }
 
+    /**
+     * Adds the given transition to the set of transitions and updates the successor index.
+     *
+     * @param transition The transition to be added.
+     * @return Returns {@code true} if the transition was not present yet.
+     */
+    @Override
+    protected boolean addToTransitions(final Transition transition) {
+
+        if (!super.addToTransitions(transition)) {
+            return false;
+        }
+
+        successors.computeIfAbsent(transition.getSource(), state -> new HashMap<>())
+                .computeIfAbsent(transition.getAction(), action -> new HashSet<>())
+                .add(transition.getTarget());
+        return true;
+    }
+
+    /**
+     * Removes the given transition from the set of transitions and updates the successor index.
+     *
+     * @param transition The transition to be removed.
+     * @return Returns {@code true} if the transition was present.
+     */
+    @Override
+    protected boolean removeFromTransitions(final Transition transition) {
+
+        if (!super.removeFromTransitions(transition)) {
+            return false;
+        }
+
+        final State source = transition.getSource();
+        final Action action = transition.getAction();
+        final State target = transition.getTarget();
+
+        // transitions only differing in the action result may still lead to the same target
+        final boolean targetStillReached = getOutgoingTransitions(source, action).stream()
+                .anyMatch(t -> t.getTarget().equals(target));
+
+        if (!targetStillReached) {
+            final Map<Action, Set<State>> actionSuccessors = successors.get(source);
+            final Set<State> targets = actionSuccessors.get(action);
+            targets.remove(target);
+
+            if (targets.isEmpty()) {
+                actionSuccessors.remove(action);
+                if (actionSuccessors.isEmpty()) {
+                    successors.remove(source);
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Retains only the given transitions and rebuilds the successor index.
+     *
+     * @param retainedTransitions The transitions to be retained.
+     */
+    @Override
+    protected void retainTransitions(final Set<Transition> retainedTransitions) {
+
+        super.retainTransitions(retainedTransitions);
+        successors.clear();
+
+        for (final Transition transition : transitions) {
+            successors.computeIfAbsent(transition.getSource(), state -> new HashMap<>())
+                    .computeIfAbsent(transition.getAction(), action -> new HashSet<>())
+                    .add(transition.getTarget());
+        }
+    }
+
     /**
      * Checks whether the given two states are considered equal.
      *
@@ -182,17 +265,32 @@ public class ELTS extends FSM {
      * @return Whether there is a transition with the same source and action as the given transition.
      */
     private boolean isDeterministic(final QBETransition transition) {
-        return transitions.stream().noneMatch(
-                t -> t.getSource().equals(transition.getSource())
-                        && t.getAction().equals(transition.getAction())
-                        && !transition.getTarget().equals(t.getTarget()));
+
+        final Map<Action, Set<State>> actionSuccessors = successors.get(transition.getSource());
+
+        if (actionSuccessors == null) {
+            return true;
+        }
+
+        final Set<State> targets = actionSuccessors.get(transition.getAction());
+        return targets == null || targets.isEmpty()
+                || targets.size() == 1 && targets.contains(transition.getTarget());
     }
 
     /**
      * Determines whether the ELTS is deterministic.
      */
     private boolean checkIsDeterministic() {
-        return transitions.stream().map(t -> (QBETransition) t).allMatch(this::isDeterministic);
+
+        for (final Map<Action, Set<State>> actionSuccessors : successors.values()) {
+            for (final Set<State> targets : actionSuccessors.values()) {
+                if (targets.size() > 1) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
     }
 
     /**
@@ -202,25 +300,34 @@ public class ELTS extends FSM {
 
         final Set<Transition> reachableTransitions = new HashSet<>(transitions.size());
         final Set<State> reachableStates = new HashSet<>(states.size());
+        final Deque<State> workQueue = new LinkedList<>();
         reachableStates.add(VIRTUAL_ROOT_STATE);
-
-        boolean change;
-        do {
-            final Set<Transition> newTransitions = transitions.stream()
-                    .filter(transitions -> reachableStates.contains(transitions.getSource()))
-                    .collect(toSet());
-            final Set<State> newStates = newTransitions.stream()
-                    .map(Transition::getTarget)
-                    .collect(toSet());
-            change = reachableTransitions.addAll(newTransitions) || reachableStates.addAll(newStates);
-        } while (change);
+        workQueue.add(VIRTUAL_ROOT_STATE);
+
+        while (!workQueue.isEmpty()) {
+            final State state = workQueue.poll();
+            for (final Transition transition : getOutgoingTransitions(state)) {
+                reachableTransitions.add(transition);
+                if (reachableStates.add(transition.getTarget())) {
+                    workQueue.add(transition.getTarget());
+                }
+            }
+        }
 
         states.retainAll(reachableStates);
-        transitions.retainAll(reachableTransitions);
-        transitionActions.retainAll(transitions.stream()
-                .map(Transition::getAction).collect(toList()));
-        followUpActions.retainAll(states.stream()
-                .map(s -> (QBEState) s).flatMap(s -> s.getActions().stream()).collect(toList()));
+        retainTransitions(reachableTransitions);
+
+        final Set<Action> reachableActions = new HashSet<>();
+        for (final Transition transition : transitions) {
+            reachableActions.add(transition.getAction());
+        }
+        transitionActions.retainAll(reachableActions);
+
+        final Set<Action> reachableFollowUpActions = new HashSet<>();
+        for (final State state : states) {
+            reachableFollowUpActions.addAll(((QBEState) state).getActions());
+        }
+        followUpActions.retainAll(reachableFollowUpActions);
     }
 
 
@@ -257,21 +364,16 @@ public class ELTS extends FSM {
             final QBEState stateWithDummy = new QBEState((QBEState) secondLastTransition.getTarget());
             stateWithDummy.addDummyComponent();
 
-            transitions.remove(conflictingTransition);
-            transitions.remove(secondLastTransition);
-            transitions.add(new QBETransition(secondLastTransition.getSource(),
+            removeFromTransitions(conflictingTransition);
+            removeFromTransitions(secondLastTransition);
+            addToTransitions(new QBETransition(secondLastTransition.getSource(),
                     stateWithDummy, secondLastTransition.getAction(),
                     secondLastTransition.getActionResult()));
 
             testsuite.add(nonDeterministicTestcase);
 
-            testsuite = testsuite.stream().map(testcase -> testcase.stream()
-                    .map(tr -> tr.getSource().equals(secondLastTransition.getSource())
-                            && Objects.equals(tr.getTarget(), secondLastTransition.getTarget())
-                            ? new QBETransition(tr.getSource(), stateWithDummy,
-                                tr.getAction(), tr.getActionResult())
-                            : tr
-                    ).collect(toList())).collect(toList());
+            testsuite = redirectTransitions(testsuite, secondLastTransition.getSource(),
+                    secondLastTransition.getTarget(), stateWithDummy);
 
             for (int testsuiteIndex = 0; testsuiteIndex < testsuite.size(); ++testsuiteIndex) {
                 final List<QBETransition> testcase = testsuite.get(testsuiteIndex);
@@ -297,4 +399,43 @@ public class ELTS extends FSM {
         assert deterministic : "The ELTS should be deterministic after applying passiveLearn, but it's not.";
         return testsuite;
     }
+
+    /**
+     * Redirects the transitions from the given source to the given target state in the test suite
+     * to the new target state. Only the test cases containing such a transition are copied, all
+     * other test cases are shared with the given test suite.
+     *
+     * @param testsuite The test suite.
+     * @param source The source state of the affected transitions.
+     * @param target The target state of the affected transitions.
+     * @param newTarget The new target state of the affected transitions.
+     * @return Returns the test suite with the redirected transitions.
+     */
+    private static List<List<QBETransition>> redirectTransitions(
+            final List<List<QBETransition>> testsuite, final State source, final State target,
+            final QBEState newTarget) {
+
+        final List<List<QBETransition>> redirected = new ArrayList<>(testsuite.size());
+
+        for (final List<QBETransition> testcase : testsuite) {
+
+            List<QBETransition> redirectedTestcase = testcase;
+
+            for (int i = 0; i < testcase.size(); ++i) {
+                final QBETransition transition = testcase.get(i);
+                if (transition.getSource().equals(source)
+                        && Objects.equals(transition.getTarget(), target)) {
+                    if (redirectedTestcase == testcase) {
+                        redirectedTestcase = new ArrayList<>(testcase);
+                    }
+                    redirectedTestcase.set(i, new QBETransition(transition.getSource(), newTarget,
+                            transition.getAction(), transition.getActionResult()));
+                }
+            }
+
+            redirected.add(redirectedTestcase);
+        }
+
+        return redirected;
+    }
 }
@@ -130,6 +130,18 @@ public final class QBEModel implements IGUIModel {
                         .collect(Collectors.toList()));
     }
 
+    @Override
+    public Optional<List<Edge>> shortestPathToActivity(IScreenState from, String activity) {
+        State fromState = elts.getState(from);
+
+        MATE.log_acc("Trying to find the shortest path from " + fromState + " to " + activity);
+        return elts.shortestPathToActivity(fromState, activity).map(transitions ->
+                transitions.stream()
+                        .map(t -> new Edge(t.getAction(), t.getSource().getScreenState(),
+                                t.getTarget().getScreenState()))
+                        .collect(Collectors.toList()));
+    }
+
     @Override
     public IScreenState getScreenStateById(String screenStateId) {
         return getStates().stream()
@@ -0,0 +1,122 @@
+package org.mate.model.fsm.snapshot;
+
+import org.mate.interaction.action.Action;
+import org.mate.state.IScreenState;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The lightweight view of a screen state that is written to and read back from a GUI model
+ * snapshot, see {@link GUIModelJournal} and {@link GUIModelSnapshot}. It only keeps the
+ * structural fingerprint, the activity, the number of widgets and the action signatures, i.e. it
+ * doesn't reference any widget or action. The screen states of the GUI model itself are never
+ * replaced by this view, since they are handed out to the exploration, e.g. as the current state
+ * of the surrogate model.
+ */
+public final class CompactScreenState {
+
+    /**
+     * The structural fingerprint of the screen state.
+     */
+    private final long fingerprint;
+
+    /**
+     * The activity name of the screen state.
+     */
+    private final String activityName;
+
+    /**
+     * The number of widgets of the screen state.
+     */
+    private final int widgetCount;
+
+    /**
+     * The signatures of the actions applicable on the screen state.
+     */
+    private final List<String> actionSignatures;
+
+    /**
+     * Compacts the given screen state.
+     *
+     * @param screenState The screen state that should be compacted.
+     * @param fingerprint The structural fingerprint of the screen state.
+     */
+    public CompactScreenState(final IScreenState screenState, final long fingerprint) {
+
+        this.fingerprint = fingerprint;
+        activityName = screenState.getActivityName();
+        widgetCount = screenState.getWidgets().size();
+
+        final List<Action> actions = screenState.getActions();
+        final List<String> signatures = new ArrayList<>(actions.size());
+        for (final Action action : actions) {
+            signatures.add(ScreenFingerprint.signatureOf(action));
+        }
+        actionSignatures = Collections.unmodifiableList(signatures);
+    }
+
+    /**
+     * Creates a compacted screen state read back from a snapshot.
+     *
+     * @param fingerprint The structural fingerprint of the screen state.
+     * @param activityName The activity name of the screen state.
+     * @param widgetCount The number of widgets of the screen state.
+     * @param actionSignatures The signatures of the actions of the screen state.
+     */
+    CompactScreenState(final long fingerprint, final String activityName, final int widgetCount,
+                       final List<String> actionSignatures) {
+        this.fingerprint = fingerprint;
+        this.activityName = activityName;
+        this.widgetCount = widgetCount;
+        this.actionSignatures = Collections.unmodifiableList(actionSignatures);
+    }
+
+    /**
+     * Returns the structural fingerprint of the screen state.
+     *
+     * @return Returns the structural fingerprint.
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Returns the activity name of the screen state.
+     *
+     * @return Returns the activity name.
+     */
+    public String getActivityName() {
+        return activityName;
+    }
+
+    /**
+     * Returns the number of widgets of the screen state.
+     *
+     * @return Returns the number of widgets.
+     */
+    public int getWidgetCount() {
+        return widgetCount;
+    }
+
+    /**
+     * Returns the signatures of the actions of the screen state.
+     *
+     * @return Returns the action signatures.
+     */
+    public List<String> getActionSignatures() {
+        return actionSignatures;
+    }
+
+    /**
+     * A simple string representation of the compacted screen state.
+     *
+     * @return Returns a simple string representation.
+     */
+    @Override
+    public String toString() {
+        return "CompactScreenState{fingerprint: " + fingerprint + ", activity: " + activityName
+                + ", widgets: " + widgetCount + ", actions: " + actionSignatures.size() + "}";
+    }
+}
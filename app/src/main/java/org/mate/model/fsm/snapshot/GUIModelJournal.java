@@ -0,0 +1,447 @@
+package org.mate.model.fsm.snapshot;
+
+import org.mate.MATE;
+import org.mate.Properties;
+import org.mate.interaction.action.Action;
+import org.mate.interaction.action.ActionResult;
+import org.mate.model.fsm.State;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Incrementally writes a compact binary snapshot of a GUI model to disk. The snapshot is an
+ * append-only journal of records, i.e. every executed transition is appended as soon as it is
+ * recorded and no full model needs to be rewritten. The journal can be read back with
+ * {@link GUIModelSnapshot#load(File...)}.
+ * <p>
+ * The journal consists of segments, one per run. Each segment starts with a SEGMENT record (magic
+ * number, version and package name) and is followed by further records. Action signatures and
+ * traces are interned per segment, i.e. they are written once and referenced by their index
+ * afterwards:
+ * <ul>
+ *     <li>STATE: fingerprint, activity name, number of widgets and the indices of the actions.</li>
+ *     <li>ACTION: the signature of an action, see {@link ScreenFingerprint#signatureOf(Action)}.</li>
+ *     <li>TRACE: the name of a trace.</li>
+ *     <li>TRANSITION: source fingerprint, action index, target fingerprint, action result and
+ *     the traces as bit set over the trace indices.</li>
+ * </ul>
+ * The records are flushed in batches of {@link #FLUSH_INTERVAL} transitions. Since a run is
+ * typically killed rather than closing the journal, the last record is often only partially
+ * written. Thus, the journal file is truncated to the end of the last complete record before a new
+ * segment is appended, otherwise the new segment would be read as the remainder of the partial
+ * record. Once the journal exceeds
+ * {@link Properties#GUI_MODEL_SNAPSHOT_MAX_SIZE()}, it is rotated, i.e. the current file
+ * replaces the previously rotated file and a new file with a new segment is started. Thus, at most
+ * two files are kept per AUT.
+ */
+public final class GUIModelJournal {
+
+    /**
+     * The magic number at the beginning of each segment.
+     */
+    static final int MAGIC = 0x4d415445;
+
+    /**
+     * The version of the binary format.
+     */
+    static final short VERSION = 1;
+
+    /**
+     * The record types.
+     */
+    static final byte SEGMENT = 0, STATE = 1, ACTION = 2, TRACE = 3, TRANSITION = 4;
+
+    /**
+     * The directory where the snapshots are stored.
+     */
+    private static final String OUT_DIR = "/data/data/org.mate/gui_models";
+
+    /**
+     * The number of transitions after which the written records are flushed to disk.
+     */
+    private static final int FLUSH_INTERVAL = 64;
+
+    /**
+     * The package name of the AUT.
+     */
+    private final String packageName;
+
+    /**
+     * The journal file.
+     */
+    private final File file;
+
+    /**
+     * The rotated journal file.
+     */
+    private final File rotatedFile;
+
+    /**
+     * The stream to which the records are written.
+     */
+    private DataOutputStream out;
+
+    /**
+     * The size of the journal file before the current stream has been opened.
+     */
+    private long initialFileSize;
+
+    /**
+     * The number of transitions written since the last flush.
+     */
+    private int unflushedTransitions = 0;
+
+    /**
+     * The indices of the action signatures written in the current segment.
+     */
+    private final Map<String, Integer> actionIndices = new HashMap<>();
+
+    /**
+     * The indices of the traces written in the current segment.
+     */
+    private final Map<String, Integer> traceIndices = new HashMap<>();
+
+    /**
+     * The fingerprints of the states written in the current segment.
+     */
+    private final Set<Long> recordedStates = new HashSet<>();
+
+    /**
+     * Whether writing to the journal failed or the journal has been closed. Such a journal silently
+     * discards all records.
+     */
+    private boolean broken = false;
+
+    /**
+     * Creates a new journal and starts a new segment after the last complete record of the
+     * journal file.
+     *
+     * @param packageName The package name of the AUT.
+     * @param directory The directory where the journal files are stored.
+     * @throws IOException If opening the journal file or writing the header fails.
+     */
+    private GUIModelJournal(final String packageName, final File directory) throws IOException {
+        this.packageName = packageName;
+        this.file = getFile(directory, packageName);
+        this.rotatedFile = getRotatedFile(directory, packageName);
+        truncateIncompleteRecord();
+        startSegment();
+    }
+
+    /**
+     * Truncates the journal file to the end of its last complete record.
+     *
+     * @throws IOException If reading or truncating the journal file fails.
+     */
+    private void truncateIncompleteRecord() throws IOException {
+
+        if (!file.isFile()) {
+            return;
+        }
+
+        final long readableLength = GUIModelSnapshot.getReadableLength(file);
+
+        if (readableLength < file.length()) {
+            MATE.log_warn("Truncating gui model journal " + file + " from " + file.length()
+                    + " to " + readableLength + " bytes!");
+            try (RandomAccessFile journal = new RandomAccessFile(file, "rw")) {
+                journal.setLength(readableLength);
+            }
+        }
+    }
+
+    /**
+     * Opens the journal file for appending and starts a new segment. The interned actions, traces
+     * and states are only valid within a segment and are therefore reset.
+     *
+     * @throws IOException If opening the journal file or writing the header fails.
+     */
+    private void startSegment() throws IOException {
+
+        if (file.length() > maxSize()) {
+            rotate();
+        }
+
+        initialFileSize = file.length();
+        out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)));
+
+        actionIndices.clear();
+        traceIndices.clear();
+        recordedStates.clear();
+
+        out.writeByte(SEGMENT);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeUTF(packageName);
+        out.flush();
+    }
+
+    /**
+     * Replaces the previously rotated journal file with the journal file.
+     */
+    private void rotate() {
+
+        if ((rotatedFile.exists() && !rotatedFile.delete()) || !file.renameTo(rotatedFile)) {
+            MATE.log_warn("Couldn't rotate gui model journal " + file + ", truncating it!");
+            if (!file.delete()) {
+                MATE.log_warn("Couldn't delete gui model journal " + file + "!");
+            }
+        } else {
+            MATE.log("Rotated gui model journal " + file + " to " + rotatedFile);
+        }
+    }
+
+    /**
+     * Returns the maximal size of a journal file in bytes.
+     *
+     * @return Returns the maximal size of a journal file.
+     */
+    private static long maxSize() {
+        return Properties.GUI_MODEL_SNAPSHOT_MAX_SIZE() * 1024L;
+    }
+
+    /**
+     * Returns the snapshot file of the given AUT.
+     *
+     * @param packageName The package name of the AUT.
+     * @return Returns the snapshot file.
+     */
+    public static File getFile(final String packageName) {
+        return getFile(new File(OUT_DIR), packageName);
+    }
+
+    /**
+     * Returns the snapshot file of the given AUT in the given directory.
+     *
+     * @param directory The directory where the snapshots are stored.
+     * @param packageName The package name of the AUT.
+     * @return Returns the snapshot file.
+     */
+    static File getFile(final File directory, final String packageName) {
+        return new File(directory, packageName + ".snapshot");
+    }
+
+    /**
+     * Returns the rotated snapshot file of the given AUT, which holds the records preceding the
+     * records of the snapshot file.
+     *
+     * @param packageName The package name of the AUT.
+     * @return Returns the rotated snapshot file.
+     */
+    public static File getRotatedFile(final String packageName) {
+        return getRotatedFile(new File(OUT_DIR), packageName);
+    }
+
+    /**
+     * Returns the rotated snapshot file of the given AUT in the given directory.
+     *
+     * @param directory The directory where the snapshots are stored.
+     * @param packageName The package name of the AUT.
+     * @return Returns the rotated snapshot file.
+     */
+    static File getRotatedFile(final File directory, final String packageName) {
+        return new File(directory, packageName + ".snapshot.1");
+    }
+
+    /**
+     * Opens the journal of the given AUT. New records are appended to the records of previous runs.
+     *
+     * @param packageName The package name of the AUT.
+     * @return Returns the opened journal or an empty optional if the journal couldn't be opened.
+     */
+    public static Optional<GUIModelJournal> open(final String packageName) {
+        return open(packageName, new File(OUT_DIR));
+    }
+
+    /**
+     * Opens the journal of the given AUT in the given directory, see {@link #open(String)}.
+     *
+     * @param packageName The package name of the AUT.
+     * @param directory The directory where the snapshots are stored.
+     * @return Returns the opened journal or an empty optional if the journal couldn't be opened.
+     */
+    static Optional<GUIModelJournal> open(final String packageName, final File directory) {
+
+        final File file = getFile(directory, packageName);
+
+        if (!directory.exists()) {
+            MATE.log("Creating gui model folder succeeded: " + directory.mkdirs());
+        }
+
+        try {
+            return Optional.of(new GUIModelJournal(packageName, directory));
+        } catch (IOException e) {
+            MATE.log_warn("Couldn't open gui model journal " + file + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Appends the given transition to the journal. The source and target state are written as
+     * well if they haven't been written so far.
+     *
+     * @param source The source state.
+     * @param sourceFingerprint The fingerprint of the source state.
+     * @param target The target state.
+     * @param targetFingerprint The fingerprint of the target state.
+     * @param action The executed action.
+     * @param actionResult The action result or {@code null} if not known.
+     * @param traces The traces produced by executing the action.
+     */
+    public synchronized void record(final State source, final long sourceFingerprint,
+                                    final State target, final long targetFingerprint,
+                                    final Action action, final ActionResult actionResult,
+                                    final Collection<String> traces) {
+
+        if (broken) {
+            return;
+        }
+
+        try {
+            recordState(source, sourceFingerprint);
+            recordState(target, targetFingerprint);
+
+            final int actionIndex = actionIndex(ScreenFingerprint.signatureOf(action));
+            final BitSet traceSet = new BitSet();
+
+            for (final String trace : traces) {
+                traceSet.set(traceIndex(trace));
+            }
+
+            out.writeByte(TRANSITION);
+            out.writeLong(sourceFingerprint);
+            out.writeInt(actionIndex);
+            out.writeLong(targetFingerprint);
+            out.writeByte(actionResult == null ? -1 : actionResult.ordinal());
+
+            final long[] words = traceSet.toLongArray();
+            out.writeShort(words.length);
+            for (final long word : words) {
+                out.writeLong(word);
+            }
+
+            if (++unflushedTransitions >= FLUSH_INTERVAL) {
+                out.flush();
+                unflushedTransitions = 0;
+            }
+
+            if (initialFileSize + out.size() > maxSize()) {
+                out.close();
+                unflushedTransitions = 0;
+                startSegment();
+            }
+        } catch (IOException e) {
+            MATE.log_warn("Writing to the gui model journal failed: " + e.getMessage());
+            broken = true;
+        }
+    }
+
+    /**
+     * Flushes the pending records and closes the journal. Subsequent records are discarded.
+     */
+    public synchronized void close() {
+
+        if (broken) {
+            return;
+        }
+
+        broken = true;
+
+        try {
+            out.close();
+        } catch (IOException e) {
+            MATE.log_warn("Closing the gui model journal failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the compacted view of the given state if it hasn't been written in the current segment
+     * so far, see {@link CompactScreenState}. Special states, e.g. the virtual root state, are not
+     * written.
+     *
+     * @param state The state that should be written.
+     * @param fingerprint The fingerprint of the state.
+     * @throws IOException If writing the state fails.
+     */
+    private void recordState(final State state, final long fingerprint) throws IOException {
+
+        if (state.getId() < 0 || !recordedStates.add(fingerprint)) {
+            return;
+        }
+
+        final CompactScreenState compactState
+                = new CompactScreenState(state.getScreenState(), fingerprint);
+        final List<String> signatures = compactState.getActionSignatures();
+        final int[] indices = new int[signatures.size()];
+
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = actionIndex(signatures.get(i));
+        }
+
+        out.writeByte(STATE);
+        out.writeLong(fingerprint);
+        out.writeUTF(compactState.getActivityName());
+        out.writeInt(compactState.getWidgetCount());
+        out.writeInt(indices.length);
+        for (final int index : indices) {
+            out.writeInt(index);
+        }
+    }
+
+    /**
+     * Returns the index of the given action signature and writes the signature if it hasn't been
+     * written in the current segment so far.
+     *
+     * @param signature The action signature.
+     * @return Returns the index of the action signature.
+     * @throws IOException If writing the signature fails.
+     */
+    private int actionIndex(final String signature) throws IOException {
+
+        Integer index = actionIndices.get(signature);
+
+        if (index == null) {
+            index = actionIndices.size();
+            actionIndices.put(signature, index);
+            out.writeByte(ACTION);
+            out.writeUTF(signature);
+        }
+
+        return index;
+    }
+
+    /**
+     * Returns the index of the given trace and writes the trace if it hasn't been written in the
+     * current segment so far.
+     *
+     * @param trace The trace.
+     * @return Returns the index of the trace.
+     * @throws IOException If writing the trace fails.
+     */
+    private int traceIndex(final String trace) throws IOException {
+
+        Integer index = traceIndices.get(trace);
+
+        if (index == null) {
+            index = traceIndices.size();
+            traceIndices.put(trace, index);
+            out.writeByte(TRACE);
+            out.writeUTF(trace);
+        }
+
+        return index;
+    }
+}
@@ -0,0 +1,417 @@
+package org.mate.model.fsm.snapshot;
+
+import org.mate.MATE;
+import org.mate.interaction.action.ActionResult;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A GUI model snapshot read back from a {@link GUIModelJournal}. The states are keyed by their
+ * structural fingerprint, see {@link ScreenFingerprint}, and identical transitions recorded in the
+ * same or different runs are merged into a single transition with an accumulated frequency.
+ */
+public final class GUIModelSnapshot {
+
+    /**
+     * The recorded states keyed by their fingerprint.
+     */
+    private final Map<Long, CompactScreenState> states = new HashMap<>();
+
+    /**
+     * The recorded transitions, where each transition maps to itself.
+     */
+    private final Map<TransitionRecord, TransitionRecord> transitions = new HashMap<>();
+
+    /**
+     * The outgoing transitions keyed by the fingerprint of their source state.
+     */
+    private final Map<Long, List<TransitionRecord>> outgoingTransitions = new HashMap<>();
+
+    /**
+     * The incoming transitions keyed by the fingerprint of their target state.
+     */
+    private final Map<Long, List<TransitionRecord>> incomingTransitions = new HashMap<>();
+
+    private GUIModelSnapshot() {}
+
+    /**
+     * Loads the snapshot from the given journal files, which are read in the given order. Each
+     * file is read up to the first incomplete or corrupted record, e.g. a record that was only
+     * partially written before MATE was killed. Missing files are skipped.
+     *
+     * @param files The journal files.
+     * @return Returns the loaded snapshot or an empty optional if no file could be read.
+     */
+    public static Optional<GUIModelSnapshot> load(final File... files) {
+
+        final GUIModelSnapshot snapshot = new GUIModelSnapshot();
+        boolean loaded = false;
+
+        for (final File file : files) {
+
+            if (!file.isFile()) {
+                continue;
+            }
+
+            try {
+                snapshot.read(file);
+                loaded = true;
+            } catch (IOException e) {
+                MATE.log_warn("Couldn't read gui model snapshot " + file + ": " + e.getMessage());
+            }
+        }
+
+        if (!loaded) {
+            MATE.log_warn("No gui model snapshot found at " + Arrays.toString(files));
+            return Optional.empty();
+        }
+
+        for (final TransitionRecord transition : snapshot.transitions.keySet()) {
+            snapshot.outgoingTransitions.computeIfAbsent(transition.source,
+                    source -> new ArrayList<>()).add(transition);
+            snapshot.incomingTransitions.computeIfAbsent(transition.target,
+                    target -> new ArrayList<>()).add(transition);
+        }
+
+        MATE.log_acc("Loaded gui model snapshot with " + snapshot.states.size() + " states and "
+                + snapshot.transitions.size() + " transitions.");
+        return Optional.of(snapshot);
+    }
+
+    /**
+     * Determines the length of the readable prefix of the given journal file, i.e. the end of the
+     * last complete record. Records appended after this position can be read back.
+     *
+     * @param file The journal file.
+     * @return Returns the length of the readable prefix in bytes.
+     * @throws IOException If the file can't be opened.
+     */
+    static long getReadableLength(final File file) throws IOException {
+        return new GUIModelSnapshot().read(file);
+    }
+
+    /**
+     * Reads all segments of the given journal file up to the first incomplete or corrupted
+     * record. A record is only added to the snapshot if it could be read completely.
+     *
+     * @param file The journal file.
+     * @return Returns the length of the readable prefix of the file in bytes.
+     * @throws IOException If the file can't be opened.
+     */
+    private long read(final File file) throws IOException {
+
+        final List<String> actions = new ArrayList<>();
+        final List<String> traces = new ArrayList<>();
+
+        try (CountingInputStream counter = new CountingInputStream(
+                new BufferedInputStream(new FileInputStream(file)));
+             DataInputStream in = new DataInputStream(counter)) {
+
+            long readableLength = 0;
+
+            try {
+                int type;
+                while ((type = in.read()) != -1) {
+                    if (readableLength == 0 && type != GUIModelJournal.SEGMENT) {
+                        throw new IOException("Missing segment header!");
+                    }
+                    readRecord(type, in, actions, traces);
+                    readableLength = counter.count;
+                }
+            } catch (EOFException e) {
+                MATE.log_warn("Gui model snapshot " + file + " is truncated after "
+                        + readableLength + " bytes!");
+            } catch (IOException | RuntimeException e) {
+                // a corrupted record is treated as the end of the readable data
+                MATE.log_warn("Gui model snapshot " + file + " is corrupted after "
+                        + readableLength + " bytes: " + e.getMessage());
+            }
+
+            return readableLength;
+        }
+    }
+
+    /**
+     * Reads a single record of the given type.
+     *
+     * @param type The type of the record.
+     * @param in The journal stream positioned after the record type.
+     * @param actions The action signatures interned in the current segment.
+     * @param traces The traces interned in the current segment.
+     * @throws IOException If the record is incomplete or corrupted.
+     */
+    private void readRecord(final int type, final DataInputStream in, final List<String> actions,
+                            final List<String> traces) throws IOException {
+
+        final ActionResult[] actionResults = ActionResult.values();
+
+        switch (type) {
+            case GUIModelJournal.SEGMENT:
+                // the start of a new segment resets the interned actions and traces
+                if (in.readInt() != GUIModelJournal.MAGIC
+                        || in.readShort() != GUIModelJournal.VERSION) {
+                    throw new IOException("Unsupported snapshot format!");
+                }
+                in.readUTF(); // the package name
+                actions.clear();
+                traces.clear();
+                break;
+            case GUIModelJournal.ACTION:
+                actions.add(in.readUTF());
+                break;
+            case GUIModelJournal.TRACE:
+                traces.add(in.readUTF());
+                break;
+            case GUIModelJournal.STATE: {
+                final long fingerprint = in.readLong();
+                final String activityName = in.readUTF();
+                final int widgetCount = in.readInt();
+                final int actionCount = in.readInt();
+                if (actionCount < 0) {
+                    throw new IOException("Invalid number of actions: " + actionCount);
+                }
+                final List<String> stateActions
+                        = new ArrayList<>(Math.min(actionCount, actions.size()));
+                for (int i = 0; i < actionCount; i++) {
+                    stateActions.add(actions.get(checkIndex(in.readInt(), actions.size())));
+                }
+                states.put(fingerprint,
+                        new CompactScreenState(fingerprint, activityName, widgetCount,
+                                stateActions));
+                break;
+            }
+            case GUIModelJournal.TRANSITION: {
+                final long source = in.readLong();
+                final String action = actions.get(checkIndex(in.readInt(), actions.size()));
+                final long target = in.readLong();
+                final byte result = in.readByte();
+                if (result < -1 || result >= actionResults.length) {
+                    throw new IOException("Invalid action result: " + result);
+                }
+                final long[] words = new long[in.readUnsignedShort()];
+                for (int i = 0; i < words.length; i++) {
+                    words[i] = in.readLong();
+                }
+
+                final BitSet traceSet = BitSet.valueOf(words);
+                final Set<String> transitionTraces = new HashSet<>();
+                for (int i = traceSet.nextSetBit(0); i >= 0; i = traceSet.nextSetBit(i + 1)) {
+                    transitionTraces.add(traces.get(checkIndex(i, traces.size())));
+                }
+
+                final TransitionRecord transition = new TransitionRecord(source, action,
+                        target, result < 0 ? null : actionResults[result], transitionTraces);
+                transitions.computeIfAbsent(transition, t -> t).frequency++;
+                break;
+            }
+            default:
+                throw new IOException("Unknown record type: " + type);
+        }
+    }
+
+    /**
+     * Checks whether the given index refers to an interned action or trace.
+     *
+     * @param index The index read from the journal.
+     * @param size The number of interned actions or traces.
+     * @return Returns the given index.
+     * @throws IOException If the index is out of bounds.
+     */
+    private static int checkIndex(final int index, final int size) throws IOException {
+        if (index < 0 || index >= size) {
+            throw new IOException("Invalid index " + index + " of " + size + " interned values!");
+        }
+        return index;
+    }
+
+    /**
+     * Returns the recorded state with the given fingerprint.
+     *
+     * @param fingerprint The fingerprint of the state.
+     * @return Returns the recorded state or {@code null} if no such state has been recorded.
+     */
+    public CompactScreenState getState(final long fingerprint) {
+        return states.get(fingerprint);
+    }
+
+    /**
+     * Checks whether a state with the given fingerprint has been recorded.
+     *
+     * @param fingerprint The fingerprint of the state.
+     * @return Returns {@code true} if such a state has been recorded, otherwise {@code false}.
+     */
+    public boolean containsState(final long fingerprint) {
+        return states.containsKey(fingerprint)
+                || outgoingTransitions.containsKey(fingerprint)
+                || incomingTransitions.containsKey(fingerprint);
+    }
+
+    /**
+     * Returns the recorded transitions leaving the state with the given fingerprint.
+     *
+     * @param fingerprint The fingerprint of the source state.
+     * @return Returns the outgoing transitions.
+     */
+    public List<TransitionRecord> getOutgoingTransitions(final long fingerprint) {
+        return outgoingTransitions.getOrDefault(fingerprint, Collections.emptyList());
+    }
+
+    /**
+     * Returns the recorded transitions leading to the state with the given fingerprint.
+     *
+     * @param fingerprint The fingerprint of the target state.
+     * @return Returns the incoming transitions.
+     */
+    public List<TransitionRecord> getIncomingTransitions(final long fingerprint) {
+        return incomingTransitions.getOrDefault(fingerprint, Collections.emptyList());
+    }
+
+    /**
+     * Counts the bytes read from the underlying stream.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        /**
+         * The number of bytes read so far.
+         */
+        private long count = 0;
+
+        private CountingInputStream(final InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int value = super.read();
+            if (value != -1) {
+                count++;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+            final int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            final long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+
+    /**
+     * A recorded transition. Two transitions are equal if they agree in all attributes except for
+     * the frequency.
+     */
+    public static final class TransitionRecord {
+
+        /**
+         * The fingerprint of the source state.
+         */
+        private final long source;
+
+        /**
+         * The signature of the executed action.
+         */
+        private final String action;
+
+        /**
+         * The fingerprint of the target state.
+         */
+        private final long target;
+
+        /**
+         * The action result or {@code null} if not known.
+         */
+        private final ActionResult actionResult;
+
+        /**
+         * The traces produced by executing the action.
+         */
+        private final Set<String> traces;
+
+        /**
+         * How often the transition has been taken.
+         */
+        private int frequency;
+
+        private TransitionRecord(final long source, final String action, final long target,
+                                 final ActionResult actionResult, final Set<String> traces) {
+            this.source = source;
+            this.action = action;
+            this.target = target;
+            this.actionResult = actionResult;
+            this.traces = Collections.unmodifiableSet(traces);
+        }
+
+        public long getSource() {
+            return source;
+        }
+
+        public String getAction() {
+            return action;
+        }
+
+        public long getTarget() {
+            return target;
+        }
+
+        public ActionResult getActionResult() {
+            return actionResult;
+        }
+
+        public Set<String> getTraces() {
+            return traces;
+        }
+
+        public int getFrequency() {
+            return frequency;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            } else if (o == null || getClass() != o.getClass()) {
+                return false;
+            } else {
+                final TransitionRecord other = (TransitionRecord) o;
+                return source == other.source
+                        && target == other.target
+                        && action.equals(other.action)
+                        && actionResult == other.actionResult
+                        && traces.equals(other.traces);
+            }
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(source, action, target, actionResult, traces);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package org.mate.model.fsm.snapshot;
+
+import org.mate.interaction.action.Action;
+import org.mate.interaction.action.ui.UIAction;
+import org.mate.interaction.action.ui.Widget;
+import org.mate.interaction.action.ui.WidgetAction;
+import org.mate.model.fsm.State;
+import org.mate.state.IScreenState;
+
+/**
+ * Computes run-independent identifiers for screen states and actions. A screen state is identified
+ * by a structural fingerprint over its activity and the class, resource id and position in the ui
+ * hierarchy of its widgets, i.e. volatile attributes like the displayed text are ignored. An action
+ * is identified by its signature, which is made up of the action type and the (stable) id of the
+ * widget it operates on.
+ */
+public final class ScreenFingerprint {
+
+    /**
+     * The FNV-1a offset basis.
+     */
+    private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    /**
+     * The FNV-1a prime.
+     */
+    private static final long PRIME = 0x100000001b3L;
+
+    private ScreenFingerprint() {
+        throw new UnsupportedOperationException("Utility class!");
+    }
+
+    /**
+     * Computes the fingerprint of the given state. Special states, e.g. the virtual root state,
+     * have a negative id and are identified by their id instead.
+     *
+     * @param state The state for which the fingerprint should be computed.
+     * @return Returns the fingerprint of the given state.
+     */
+    public static long of(final State state) {
+        return state.getId() < 0 ? state.getId() : of(state.getScreenState());
+    }
+
+    /**
+     * Computes the structural fingerprint of the given screen state.
+     *
+     * @param screenState The screen state for which the fingerprint should be computed.
+     * @return Returns the fingerprint of the given screen state.
+     */
+    public static long of(final IScreenState screenState) {
+
+        long hash = mix(OFFSET_BASIS, screenState.getActivityName());
+
+        for (final Widget widget : screenState.getWidgets()) {
+            hash = mix(hash, widget.getClazz());
+            hash = mix(hash, widget.getResourceID());
+            hash = mix(hash, widget.getId());
+        }
+
+        // a non-negative fingerprint never collides with the id of a special state
+        return hash & Long.MAX_VALUE;
+    }
+
+    /**
+     * Computes the signature of the given action.
+     *
+     * @param action The action for which the signature should be computed.
+     * @return Returns the signature of the given action.
+     */
+    public static String signatureOf(final Action action) {
+        if (action instanceof WidgetAction) {
+            final WidgetAction widgetAction = (WidgetAction) action;
+            return widgetAction.getActionType() + "@" + widgetAction.getWidget().getId();
+        } else if (action instanceof UIAction) {
+            final UIAction uiAction = (UIAction) action;
+            return uiAction.getActionType() + "@" + uiAction.getActivityName();
+        } else {
+            return action.getClass().getSimpleName() + ":" + action.toShortString();
+        }
+    }
+
+    /**
+     * Mixes the characters of the given string into the given hash.
+     *
+     * @param hash The current hash.
+     * @param value The string that should be mixed in.
+     * @return Returns the updated hash.
+     */
+    private static long mix(long hash, final String value) {
+
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= PRIME;
+        }
+
+        // separate consecutive values
+        hash ^= 0xff;
+        hash *= PRIME;
+        return hash;
+    }
+}
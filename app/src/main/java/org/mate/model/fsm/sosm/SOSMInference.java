@@ -8,8 +8,10 @@ import org.mate.model.fsm.sosm.subjective_logic.RawMultinomialOpinion;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static java.util.Objects.requireNonNull;
@@ -20,7 +22,9 @@ import static java.util.Objects.requireNonNull;
  * https://ieeexplore.ieee.org/document/10057480. There are two minor modifications:
  *
  *  1) We avoid re-counting how often actions are executed every time, but cache the counts and
- *     just update the counts every time a new list of traces is added.
+ *     just update the counts every time a new list of traces is added. In the incremental mode,
+ *     see {@link #updateSOSM(List, Map)}, we additionally track the states whose counts or actions
+ *     changed (dirty states) and only re-compute the opinions of those states.
  *  2) In the original algorithm, the same certainty threshold is used for every state. This is
  *     suitable when each state has approx. the same number of actions, but works less well if the
  *     number of actions can be largely vary between states. Instead, we use a threshold that
@@ -49,6 +53,12 @@ public final class SOSMInference {
      */
     private final Map<State, Map<Action, Integer>> frequenciesPerState = new HashMap<>();
 
+    /**
+     * The states whose subjective opinion is outdated, i.e. states for which the action counts or
+     * the additional actions changed or that have no subjective opinion yet.
+     */
+    private final Set<State> dirtyStates = new HashSet<>();
+
     /**
      * An empty list.
      */
@@ -80,9 +90,35 @@ public final class SOSMInference {
                 ignored -> new ArrayList<>());
         if (!actions.contains(action)) {
             actions.add(action);
+            dirtyStates.add(state);
         }
     }
 
+    /**
+     * Adds the given number of executions of an action in a particular state to the action counts,
+     * e.g. the executions recorded in previous runs.
+     *
+     * @param state The state in which the action has been executed.
+     * @param action The executed action.
+     * @param frequency How often the action has been executed.
+     */
+    public void addFrequency(final State state, final Action action, final int frequency) {
+        frequenciesPerState.computeIfAbsent(state, ignored -> new HashMap<>())
+                .merge(action, frequency, Integer::sum);
+        dirtyStates.add(state);
+    }
+
+    /**
+     * Marks the given state as dirty, i.e. its subjective opinion is re-computed upon the next
+     * (incremental) inference. This needs to be called for states that have been newly added to
+     * the FSM.
+     *
+     * @param state The state that should be marked as dirty.
+     */
+    public void markDirty(final State state) {
+        dirtyStates.add(state);
+    }
+
     /**
      * Retrieves the actions and the associated multinomial opinion for the given state.
      *
@@ -157,12 +193,37 @@ public final class SOSMInference {
     public Map<State, ActionsAndOpinion> inferSOSM(final List<Trace> traces) {
 
         Trace.countFrequencies(frequenciesPerState, traces);
+        dirtyStates.clear();
 
         return fsm.getStates().stream()
                 .filter(s -> s.getId() != -1) // exclude the virtual root state
                 .collect(Collectors.toMap(s -> s, this::actionsAndOpinionForState));
     }
 
+    /**
+     * Incremental variant of {@link #inferSOSM(List)}. Only the subjective opinions of the states
+     * that are affected by the given traces, by additional actions or that are new are re-computed
+     * and updated in place. Thus, the costs depend on the size of the new traces rather than on the
+     * size of the FSM.
+     *
+     * @param traces The traces that should be additionally used to calculate the subjective opinions.
+     * @param opinionPerState The mapping that describes for each state the executable actions and
+     *         the associated subjective opinions, which is updated in place.
+     */
+    public void updateSOSM(final List<Trace> traces,
+                           final Map<State, ActionsAndOpinion> opinionPerState) {
+
+        dirtyStates.addAll(Trace.countFrequencies(frequenciesPerState, traces));
+
+        for (final State state : dirtyStates) {
+            if (state.getId() != -1) { // exclude the virtual root state
+                opinionPerState.put(state, actionsAndOpinionForState(state));
+            }
+        }
+
+        dirtyStates.clear();
+    }
+
     @Override
     public String toString() {
         return String.format("SosmInference{fsm=%s, alpha=%s}", fsm, alpha);
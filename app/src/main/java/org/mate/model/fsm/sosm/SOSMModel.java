@@ -7,7 +7,9 @@ import org.mate.interaction.action.StartAction;
 import org.mate.model.fsm.FSMModel;
 import org.mate.model.fsm.State;
 import org.mate.model.fsm.Transition;
+import org.mate.model.fsm.snapshot.GUIModelSnapshot.TransitionRecord;
 import org.mate.model.fsm.sosm.subjective_logic.BinomialOpinion;
+import org.mate.model.fsm.sosm.subjective_logic.BinomialOpinionLanes;
 import org.mate.model.fsm.sosm.subjective_logic.MultinomialOpinion;
 import org.mate.model.fsm.sosm.subjective_logic.RawBinomialOpinion;
 import org.mate.state.IScreenState;
@@ -54,7 +56,13 @@ public final class SOSMModel extends FSMModel {
     /**
      * Stores the subjective opinion for each state.
      */
-    private Map<State, ActionsAndOpinion> opinionPerState;
+    private final Map<State, ActionsAndOpinion> opinionPerState = new HashMap<>();
+
+    /**
+     * Whether the subjective opinions should be inferred incrementally, i.e. only for the states
+     * affected by new traces.
+     */
+    private static final boolean INCREMENTAL_INFERENCE = Properties.SOSM_INCREMENTAL_INFERENCE();
 
     /**
      * The transitions taken by a test case. Turned into a {@link Trace} after the test case is
@@ -85,7 +93,11 @@ public final class SOSMModel extends FSMModel {
         recordedTransitions.add(new Transition(VIRTUAL_ROOT_STATE, new State(0, rootState),
                 new StartAction()));
         this.inference = new SOSMInference(fsm, Properties.SOSM_CERTAINTY_THRESHOLD());
-        opinionPerState = new HashMap<>(0);
+
+        // the states added so far don't have any subjective opinion yet
+        for (final State state : fsm.getStates()) {
+            inference.markDirty(state);
+        }
     }
 
     /**
@@ -95,7 +107,51 @@ public final class SOSMModel extends FSMModel {
      * @param traces The list of traces that that should additionally be included in the inference.
      */
     public void updateSOSM(final List<Trace> traces) {
-        opinionPerState = inference.inferSOSM(traces);
+        if (INCREMENTAL_INFERENCE) {
+            inference.updateSOSM(traces, opinionPerState);
+        } else {
+            opinionPerState.clear();
+            opinionPerState.putAll(inference.inferSOSM(traces));
+        }
+    }
+
+    /**
+     * Adds the given transition to the underlying FSM and marks the source and target state as
+     * dirty if they have no subjective opinion yet.
+     *
+     * @param transition The new transition.
+     */
+    private void addTransition(final Transition transition) {
+        fsm.addTransition(transition);
+        if (!opinionPerState.containsKey(transition.getSource())) {
+            inference.markDirty(transition.getSource());
+        }
+        if (!opinionPerState.containsKey(transition.getTarget())) {
+            inference.markDirty(transition.getTarget());
+        }
+        recordedTransitions.add(transition);
+        recordTransition(transition, null, Collections.emptySet());
+    }
+
+    /**
+     * Restores a snapshot transition and seeds the action counts of the inference with the
+     * frequency of the transition, such that the subjective opinions reflect previous runs.
+     *
+     * @param source The source state.
+     * @param target The target state.
+     * @param action The action of the current run matching the snapshot action.
+     * @param record The snapshot transition.
+     * @return Returns the restored transition.
+     */
+    @Override
+    protected Transition createRestoredTransition(final State source, final State target,
+                                                  final Action action,
+                                                  final TransitionRecord record) {
+        inference.addFrequency(source, action, record.getFrequency());
+        if (!opinionPerState.containsKey(target)) {
+            inference.markDirty(target);
+        }
+        return super.createRestoredTransition(source, target, action, record);
     }
 
     /**
@@ -114,8 +170,7 @@ public final class SOSMModel extends FSMModel {
     public void addRootState(IScreenState rootState) {
         State root = fsm.getState(rootState);
         final Transition transition = new Transition(VIRTUAL_ROOT_STATE, root, new StartAction());
-        fsm.addTransition(transition);
-        recordedTransitions.add(transition);
+        addTransition(transition);
     }
 
     /**
@@ -126,8 +181,7 @@ public final class SOSMModel extends FSMModel {
         State sourceState = fsm.getState(source);
         State targetState = fsm.getState(target);
         Transition transition = new Transition(sourceState, targetState, action);
-        fsm.addTransition(transition);
-        recordedTransitions.add(transition);
+        addTransition(transition);
     }
 
     /**
@@ -171,30 +225,57 @@ public final class SOSMModel extends FSMModel {
         final List<BinomialOpinion> opinions = new ArrayList<>(trace.size());
 
         for (Transition transition : trace) {
+            opinions.add(getCoarsenedBinomialOpinionFor(transition));
+        }
 
-            final State state = transition.getSource();
-            final ActionsAndOpinion actionsAndOpinion = opinionPerState.get(state);
+        return opinions;
+    }
 
-            if (actionsAndOpinion == null) {
-                // No subjective opinion has been computed for the state so far.
-                opinions.add(UNKNOWN_STATE_OPINION);
-                continue;
-            }
+    /**
+     * Loads the coarsened binomial opinions for the executed actions according to the given trace
+     * into the given lanes. In contrast to {@link #getCoarsenedBinomialOpinionsFor(Trace)}, this
+     * doesn't allocate any intermediate list of opinions.
+     *
+     * @param trace Describes the transitions of a test case.
+     * @param lanes The lanes that should be filled with the coarsened binomial opinions, they are
+     *         cleared beforehand.
+     */
+    public void loadCoarsenedBinomialOpinionsFor(final Trace trace,
+                                                 final BinomialOpinionLanes lanes) {
 
-            final Action triggeredAction = transition.getAction();
-            final BinomialOpinion opinion = actionsAndOpinion.opinionOfAction(triggeredAction);
+        lanes.clear();
 
-            if (opinion == null) {
-                // Unknown actions can occur because of a imprecise state equivalence function.
-                inference.addUnknownAction(state, triggeredAction);
-                opinions.add(UNKNOWN_ACTION_OPINION);
-                continue;
-            }
+        for (Transition transition : trace) {
+            lanes.add(getCoarsenedBinomialOpinionFor(transition).getRawOpinion());
+        }
+    }
+
+    /**
+     * Retrieves the coarsened binomial opinion for the executed action of the given transition.
+     *
+     * @param transition The executed transition.
+     * @return Returns the coarsened binomial opinion for the executed action.
+     */
+    private BinomialOpinion getCoarsenedBinomialOpinionFor(final Transition transition) {
+
+        final State state = transition.getSource();
+        final ActionsAndOpinion actionsAndOpinion = opinionPerState.get(state);
 
-            opinions.add(opinion);
+        if (actionsAndOpinion == null) {
+            // No subjective opinion has been computed for the state so far.
+            return UNKNOWN_STATE_OPINION;
         }
 
-        return opinions;
+        final Action triggeredAction = transition.getAction();
+        final BinomialOpinion opinion = actionsAndOpinion.opinionOfAction(triggeredAction);
+
+        if (opinion == null) {
+            // Unknown actions can occur because of a imprecise state equivalence function.
+            inference.addUnknownAction(state, triggeredAction);
+            return UNKNOWN_ACTION_OPINION;
+        }
+
+        return opinion;
     }
 
     /**
@@ -9,9 +9,11 @@ import org.mate.model.fsm.Transition;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import static java.util.Objects.requireNonNull;
@@ -67,11 +69,14 @@ public final class Trace implements Iterable<Transition> {
      *
      * @param frequencies The map that holds the total accumulated action counts per state.
      * @param traces The traces which actions should be counted.
+     * @return Returns the states whose action counts have been changed.
      */
-    public static void countFrequencies(final Map<State, Map<Action, Integer>> frequencies,
-                                        final Collection<Trace> traces) {
+    public static Set<State> countFrequencies(final Map<State, Map<Action, Integer>> frequencies,
+                                              final Collection<Trace> traces) {
         requireNonNull(frequencies);
 
+        final Set<State> changedStates = new HashSet<>();
+
         for (Trace trace : traces) {
             for (Transition transition : trace) {
                 final State source = transition.getSource();
@@ -79,8 +84,11 @@ public final class Trace implements Iterable<Transition> {
                 final Map<Action, Integer> actions
                         = frequencies.computeIfAbsent(source, ignored -> new HashMap<>());
                 actions.merge(action, 1, Integer::sum);
+                changedStates.add(source);
             }
         }
+
+        return changedStates;
     }
 
     /**
@@ -5,10 +5,7 @@ import android.annotation.SuppressLint;
 import org.mate.MATE;
 import org.mate.model.fsm.sosm.SOSMModel;
 import org.mate.model.fsm.sosm.Trace;
-import org.mate.model.fsm.sosm.subjective_logic.BinomialOpinion;
-import org.mate.model.fsm.sosm.subjective_logic.RawBinomialOpinion;
-
-import java.util.List;
+import org.mate.model.fsm.sosm.subjective_logic.BinomialOpinionLanes;
 
 import static java.util.Objects.requireNonNull;
 
@@ -28,6 +25,11 @@ public final class AverageSLNovelty implements INoveltyEstimator {
      */
     private final double alpha;
 
+    /**
+     * The re-used lanes holding the coarsened binomial opinions of the current trace.
+     */
+    private final BinomialOpinionLanes lanes = new BinomialOpinionLanes();
+
     public AverageSLNovelty(final SOSMModel sosmModel, final double alpha) {
         this.sosmModel = requireNonNull(sosmModel);
         this.alpha = alpha;
@@ -44,31 +46,17 @@ public final class AverageSLNovelty implements INoveltyEstimator {
     @Override
     public double estimateNovelty(final Trace trace) {
 
-        final List<BinomialOpinion> opinions = sosmModel.getCoarsenedBinomialOpinionsFor(trace);
+        sosmModel.loadCoarsenedBinomialOpinionsFor(trace, lanes);
 
-        if (opinions.isEmpty()) {
+        if (lanes.isEmpty()) {
             return 0.0;
         }
 
-        double belief = 0.0;
-        double disbelief = 0.0;
-        double uncertainty = 0.0;
-
-        for (final BinomialOpinion opinion : opinions) {
-            final RawBinomialOpinion raw = opinion.getRawOpinion();
-            belief += raw.getBelief();
-            disbelief += raw.getDisbelief();
-            uncertainty += raw.getUncertainty();
-        }
-
-        final double size = opinions.size();
-        belief /= size;
-        disbelief /= size;
-        uncertainty /= size;
+        lanes.average();
 
-        final double score = alpha * disbelief + uncertainty;
-        MATE.log_debug(String.format("Opinion on trace: (%f, %f, %f,%f)", belief, disbelief,
-                uncertainty, score));
+        final double score = lanes.score(alpha);
+        MATE.log_debug(String.format("Opinion on trace: (%f, %f, %f,%f)", lanes.getBelief(),
+                lanes.getDisbelief(), lanes.getUncertainty(), score));
         return score;
     }
 }
@@ -5,10 +5,7 @@ import android.annotation.SuppressLint;
 import org.mate.MATE;
 import org.mate.model.fsm.sosm.SOSMModel;
 import org.mate.model.fsm.sosm.Trace;
-import org.mate.model.fsm.sosm.subjective_logic.BinomialOpinion;
-import org.mate.model.fsm.sosm.subjective_logic.RawBinomialOpinion;
-
-import java.util.List;
+import org.mate.model.fsm.sosm.subjective_logic.BinomialOpinionLanes;
 
 import static java.util.Objects.requireNonNull;
 
@@ -33,6 +30,11 @@ public final class MaxNovelPrefix implements INoveltyEstimator {
      */
     private final double alpha;
 
+    /**
+     * The re-used lanes holding the coarsened binomial opinions of the current trace.
+     */
+    private final BinomialOpinionLanes lanes = new BinomialOpinionLanes();
+
     public MaxNovelPrefix(final SOSMModel sosmModel, final double alpha) {
         this.sosmModel = requireNonNull(sosmModel);
         this.alpha = alpha;
@@ -49,32 +51,37 @@ public final class MaxNovelPrefix implements INoveltyEstimator {
     @Override
     public double estimateNovelty(final Trace trace) {
 
-        final List<BinomialOpinion> opinions = sosmModel.getCoarsenedBinomialOpinionsFor(trace);
+        sosmModel.loadCoarsenedBinomialOpinionsFor(trace, lanes);
 
-        if (opinions.isEmpty()) {
+        if (lanes.isEmpty()) {
             return 0.0;
         }
 
         // Consider the first n binomial opinions at least.
-        RawBinomialOpinion opinion = BinomialOpinion.multiply(
-                opinions.subList(0, Math.min(opinions.size(), MIN_LENGTH))).getRawOpinion();
-        RawBinomialOpinion bestOpinion = opinion;
-        double bestScore = opinion.getDisbelief() * alpha + opinion.getUncertainty();
+        lanes.multiply(0, Math.min(lanes.size(), MIN_LENGTH));
+        double bestBelief = lanes.getBelief();
+        double bestDisbelief = lanes.getDisbelief();
+        double bestUncertainty = lanes.getUncertainty();
+        double bestApriori = lanes.getApriori();
+        double bestScore = lanes.score(alpha);
         int bestLength = MIN_LENGTH;
 
         // Check if the multiplication of another binomial opinion leads to a better score/novelty.
-        for (int i = MIN_LENGTH; i < opinions.size(); ++i) {
-            opinion = opinion.multiply(opinions.get(i).getRawOpinion());
-            final double score = opinion.getDisbelief() * alpha + opinion.getUncertainty();
+        for (int i = MIN_LENGTH; i < lanes.size(); ++i) {
+            lanes.multiply(i);
+            final double score = lanes.score(alpha);
             if (score > bestScore) {
                 bestScore = score;
-                bestOpinion = opinion;
+                bestBelief = lanes.getBelief();
+                bestDisbelief = lanes.getDisbelief();
+                bestUncertainty = lanes.getUncertainty();
+                bestApriori = lanes.getApriori();
                 bestLength = i + 1;
             }
         }
 
-        MATE.log_debug(String.format("Opinion on trace: (%f, %f, %f, %f)", bestOpinion.getBelief(),
-                bestOpinion.getDisbelief(), bestOpinion.getUncertainty(), bestOpinion.getApriori()));
+        MATE.log_debug(String.format("Opinion on trace: (%f, %f, %f, %f)", bestBelief,
+                bestDisbelief, bestUncertainty, bestApriori));
         MATE.log_debug(String.format("Best opinion length: %d", bestLength));
         return bestScore;
     }
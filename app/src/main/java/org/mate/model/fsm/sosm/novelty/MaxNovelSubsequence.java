@@ -5,10 +5,7 @@ import android.annotation.SuppressLint;
 import org.mate.MATE;
 import org.mate.model.fsm.sosm.SOSMModel;
 import org.mate.model.fsm.sosm.Trace;
-import org.mate.model.fsm.sosm.subjective_logic.BinomialOpinion;
-import org.mate.model.fsm.sosm.subjective_logic.RawBinomialOpinion;
-
-import java.util.List;
+import org.mate.model.fsm.sosm.subjective_logic.BinomialOpinionLanes;
 
 import static java.util.Objects.requireNonNull;
 
@@ -38,6 +35,11 @@ public final class MaxNovelSubsequence implements INoveltyEstimator {
      */
     private final double alpha;
 
+    /**
+     * The re-used lanes holding the coarsened binomial opinions of the current trace.
+     */
+    private final BinomialOpinionLanes lanes = new BinomialOpinionLanes();
+
     public MaxNovelSubsequence(final SOSMModel sosmModel, final double alpha) {
         this.sosmModel = requireNonNull(sosmModel);
         this.alpha = alpha;
@@ -58,17 +60,20 @@ public final class MaxNovelSubsequence implements INoveltyEstimator {
     @Override
     public double estimateNovelty(final Trace trace) {
 
-        final List<BinomialOpinion> opinions = sosmModel.getCoarsenedBinomialOpinionsFor(trace);
+        sosmModel.loadCoarsenedBinomialOpinionsFor(trace, lanes);
 
-        if (opinions.isEmpty()) {
+        if (lanes.isEmpty()) {
             return 0.0;
         }
 
-        final int size = opinions.size();
+        final int size = lanes.size();
         final int minLength = Math.min(
                 Math.max((int) Math.ceil(size * SEQUENCE_FRACTION), MIN_LENGTH), size);
 
-        RawBinomialOpinion bestOpinion = null;
+        double bestBelief = 0.0;
+        double bestDisbelief = 0.0;
+        double bestUncertainty = 0.0;
+        double bestApriori = 0.0;
         double bestScore = -1.0;
         int bestLength = -1;
         int bestStart = -1;
@@ -76,25 +81,30 @@ public final class MaxNovelSubsequence implements INoveltyEstimator {
         for (int i = 0; i <= size - minLength; ++i) {
 
             // Determine the max novel prefix.
-            RawBinomialOpinion opinion
-                    = BinomialOpinion.multiply(opinions.subList(i, i + minLength)).getRawOpinion();
-            double score = alpha * opinion.getDisbelief() + opinion.getUncertainty();
+            lanes.multiply(i, i + minLength);
+            double score = lanes.score(alpha);
 
             if (score > bestScore) {
-                bestOpinion = opinion;
+                bestBelief = lanes.getBelief();
+                bestDisbelief = lanes.getDisbelief();
+                bestUncertainty = lanes.getUncertainty();
+                bestApriori = lanes.getApriori();
                 bestLength = minLength;
                 bestStart = i;
                 bestScore = score;
             }
 
             // Determine whether multiplying with a further binomial opinion is beneficial.
-            for (int j = i + minLength; j < opinions.size(); ++j) {
+            for (int j = i + minLength; j < size; ++j) {
 
-                opinion = opinion.multiply(opinions.get(j).getRawOpinion());
-                score = alpha * opinion.getDisbelief() + opinion.getUncertainty();
+                lanes.multiply(j);
+                score = lanes.score(alpha);
 
                 if (score > bestScore) {
-                    bestOpinion = opinion;
+                    bestBelief = lanes.getBelief();
+                    bestDisbelief = lanes.getDisbelief();
+                    bestUncertainty = lanes.getUncertainty();
+                    bestApriori = lanes.getApriori();
                     bestLength = j - i;
                     bestStart = i;
                     bestScore = score;
@@ -102,8 +112,8 @@ public final class MaxNovelSubsequence implements INoveltyEstimator {
             }
         }
 
-        MATE.log_debug(String.format("Opinion on trace: (%f, %f, %f, %f)", bestOpinion.getBelief(),
-                bestOpinion.getDisbelief(), bestOpinion.getUncertainty(), bestOpinion.getApriori()));
+        MATE.log_debug(String.format("Opinion on trace: (%f, %f, %f, %f)", bestBelief,
+                bestDisbelief, bestUncertainty, bestApriori));
         MATE.log_debug(String.format("Best score: %f, best start: %d, best len: %d", bestScore,
                 bestStart, bestLength));
         return bestScore;
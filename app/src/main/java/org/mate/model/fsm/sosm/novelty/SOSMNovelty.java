@@ -5,10 +5,7 @@ import android.annotation.SuppressLint;
 import org.mate.MATE;
 import org.mate.model.fsm.sosm.SOSMModel;
 import org.mate.model.fsm.sosm.Trace;
-import org.mate.model.fsm.sosm.subjective_logic.BinomialOpinion;
-import org.mate.model.fsm.sosm.subjective_logic.RawBinomialOpinion;
-
-import java.util.List;
+import org.mate.model.fsm.sosm.subjective_logic.BinomialOpinionLanes;
 
 import static java.util.Objects.requireNonNull;
 
@@ -29,6 +26,11 @@ public final class SOSMNovelty implements INoveltyEstimator {
      */
     private final double alpha;
 
+    /**
+     * The re-used lanes holding the coarsened binomial opinions of the current trace.
+     */
+    private final BinomialOpinionLanes lanes = new BinomialOpinionLanes();
+
     public SOSMNovelty(final SOSMModel sosmModel, final double alpha) {
         this.sosmModel = requireNonNull(sosmModel);
         this.alpha = alpha;
@@ -43,12 +45,11 @@ public final class SOSMNovelty implements INoveltyEstimator {
     @SuppressLint("DefaultLocale")
     @Override
     public double estimateNovelty(final Trace trace) {
-        final List<BinomialOpinion> opinions = sosmModel.getCoarsenedBinomialOpinionsFor(trace);
-        final BinomialOpinion combined = BinomialOpinion.multiply(opinions);
-        final RawBinomialOpinion raw = combined.getRawOpinion();
-        MATE.log_debug(String.format("Opinion on trace: (%f, %f, %f, %f)", raw.getBelief(),
-                raw.getDisbelief(), raw.getUncertainty(), raw.getApriori()));
-        return raw.getDisbelief() * alpha + raw.getUncertainty();
+        sosmModel.loadCoarsenedBinomialOpinionsFor(trace, lanes);
+        lanes.multiplyAll();
+        MATE.log_debug(String.format("Opinion on trace: (%f, %f, %f, %f)", lanes.getBelief(),
+                lanes.getDisbelief(), lanes.getUncertainty(), lanes.getApriori()));
+        return lanes.score(alpha);
     }
 }
 
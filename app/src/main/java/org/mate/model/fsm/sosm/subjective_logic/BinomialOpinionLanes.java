@@ -0,0 +1,323 @@
+package org.mate.model.fsm.sosm.subjective_logic;
+
+import org.mate.utils.MathUtils;
+
+import java.util.Arrays;
+
+/**
+ * A primitive kernel for the subjective logic operations on a sequence of binomial opinions. The
+ * belief, disbelief, uncertainty and apriori values of the opinions are stored in separate
+ * {@code double[]} lanes and the operations, e.g. multiplication or fusion, are applied in place to
+ * an accumulator opinion. In contrast to {@link RawBinomialOpinion}, no intermediate opinion objects
+ * are allocated, and the lanes are re-used across calls of {@link #clear()}. This is meant for the
+ * novelty estimators that combine the coarsened binomial opinions of each trace over and over again.
+ *
+ * The operations compute exactly the same values as the corresponding operations of
+ * {@link RawBinomialOpinion}, but they don't check the validity of the resulting opinion.
+ */
+public final class BinomialOpinionLanes {
+
+    /**
+     * The initial capacity of the lanes.
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * The belief, disbelief, uncertainty and apriori lanes.
+     */
+    private double[] belief, disbelief, uncertainty, apriori;
+
+    /**
+     * The number of opinions stored in the lanes.
+     */
+    private int size;
+
+    /**
+     * The belief, disbelief, uncertainty and apriori of the accumulator opinion.
+     */
+    private double accBelief, accDisbelief, accUncertainty, accApriori;
+
+    /**
+     * Creates new empty lanes.
+     */
+    public BinomialOpinionLanes() {
+        belief = new double[INITIAL_CAPACITY];
+        disbelief = new double[INITIAL_CAPACITY];
+        uncertainty = new double[INITIAL_CAPACITY];
+        apriori = new double[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Removes all opinions from the lanes, but keeps the allocated lanes.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Returns the number of opinions stored in the lanes.
+     *
+     * @return Returns the number of opinions.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the lanes are empty.
+     *
+     * @return Returns {@code true} if no opinion is stored in the lanes, otherwise {@code false}.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Appends the given binomial opinion to the lanes.
+     *
+     * @param opinion The binomial opinion that should be appended.
+     */
+    public void add(final RawBinomialOpinion opinion) {
+
+        if (size == belief.length) {
+            final int capacity = size * 2;
+            belief = Arrays.copyOf(belief, capacity);
+            disbelief = Arrays.copyOf(disbelief, capacity);
+            uncertainty = Arrays.copyOf(uncertainty, capacity);
+            apriori = Arrays.copyOf(apriori, capacity);
+        }
+
+        belief[size] = opinion.getBelief();
+        disbelief[size] = opinion.getDisbelief();
+        uncertainty[size] = opinion.getUncertainty();
+        apriori[size] = opinion.getApriori();
+        ++size;
+    }
+
+    /**
+     * Sets the accumulator to the opinion at the given position.
+     *
+     * @param index The position of the opinion.
+     */
+    public void load(final int index) {
+        accBelief = belief[index];
+        accDisbelief = disbelief[index];
+        accUncertainty = uncertainty[index];
+        accApriori = apriori[index];
+    }
+
+    /**
+     * Multiplies the accumulator in place with the opinion at the given position, see
+     * {@link RawBinomialOpinion#multiply(RawBinomialOpinion, RawBinomialOpinion)}.
+     *
+     * @param index The position of the opinion.
+     */
+    public void multiply(final int index) {
+
+        final double b = belief[index];
+        final double d = disbelief[index];
+        final double u = uncertainty[index];
+        final double a = apriori[index];
+
+        final double newApriori = accApriori * a;
+        final double newDisbelief = accDisbelief + d - (accDisbelief * d);
+
+        final double newBelief = (accBelief * b)
+                + ((((1 - accApriori) * a * accBelief * u)
+                + (accApriori * (1 - a) * accUncertainty * b))
+                / (1 - newApriori));
+
+        final double newUncertainty = (accUncertainty * u)
+                + ((((1 - a) * accBelief * u)
+                + ((1 - accApriori) * accUncertainty * b))
+                / (1 - newApriori));
+
+        accBelief = newBelief;
+        accDisbelief = newDisbelief;
+        accUncertainty = newUncertainty;
+        accApriori = newApriori;
+    }
+
+    /**
+     * Sets the accumulator to the product of the opinions in the given range, where the opinions
+     * are multiplied from left to right.
+     *
+     * @param from The position of the first opinion (inclusive).
+     * @param to The position of the last opinion (exclusive).
+     */
+    public void multiply(final int from, final int to) {
+
+        if (from >= to) {
+            throw new IllegalArgumentException("Require at least one opinion for multiplication.");
+        }
+
+        load(from);
+
+        for (int i = from + 1; i < to; ++i) {
+            multiply(i);
+        }
+    }
+
+    /**
+     * Sets the accumulator to the product of all opinions.
+     */
+    public void multiplyAll() {
+        multiply(0, size);
+    }
+
+    /**
+     * Sets the accumulator to the average belief, disbelief and uncertainty of all opinions. The
+     * apriori belief of the accumulator is left untouched.
+     */
+    public void average() {
+
+        double newBelief = 0.0;
+        double newDisbelief = 0.0;
+        double newUncertainty = 0.0;
+
+        for (int i = 0; i < size; ++i) {
+            newBelief += belief[i];
+            newDisbelief += disbelief[i];
+            newUncertainty += uncertainty[i];
+        }
+
+        accBelief = newBelief / size;
+        accDisbelief = newDisbelief / size;
+        accUncertainty = newUncertainty / size;
+    }
+
+    /**
+     * Sets the accumulator to the weighted average fusion (WAF) of all opinions, see
+     * {@link RawBinomialOpinion#multiSourceFusion(java.util.List)}.
+     */
+    public void multiSourceFusion() {
+
+        if (size == 0) {
+            throw new IllegalArgumentException("Require at least one opinion for fusion.");
+        }
+
+        boolean hasNonOneUncertainty = false;
+        boolean hasZeroUncertainty = false;
+        int zeroUncertaintyOpinionCount = 0;
+        double uncertaintySum = 0.0;
+        double uncertaintyProduct = 1.0;
+        double zeroUncertaintyBeliefSum = 0.0;
+        double zeroUncertaintyDisbeliefSum = 0.0;
+        double zeroUncertaintyAprioriSum = 0.0;
+        double aprioriSum = 0.0;
+
+        for (int i = 0; i < size; ++i) {
+
+            final double u = uncertainty[i];
+
+            if (MathUtils.isEpsEq(u)) {
+                ++zeroUncertaintyOpinionCount;
+                zeroUncertaintyBeliefSum += belief[i];
+                zeroUncertaintyDisbeliefSum += disbelief[i];
+                zeroUncertaintyAprioriSum += apriori[i];
+                hasNonOneUncertainty = true;
+                hasZeroUncertainty = true;
+                continue;
+            }
+
+            if (!MathUtils.isEpsEq(u, 1.0)) {
+                hasNonOneUncertainty = true;
+            }
+
+            uncertaintySum += u;
+            uncertaintyProduct *= u;
+            aprioriSum += apriori[i];
+        }
+
+        if (hasZeroUncertainty) {
+            // Case 2: There exists a uncertainty value that is 0.0.
+            final double newBelief = zeroUncertaintyBeliefSum / zeroUncertaintyOpinionCount;
+            final double newDisbelief = zeroUncertaintyDisbeliefSum / zeroUncertaintyOpinionCount;
+            final double norm = newBelief + newDisbelief;
+            accBelief = newBelief / norm;
+            accDisbelief = newDisbelief / norm;
+            accUncertainty = 0.0;
+            accApriori = zeroUncertaintyAprioriSum / zeroUncertaintyOpinionCount;
+            return;
+        }
+
+        if (!hasNonOneUncertainty) {
+            // Case 3: All uncertainty values are 1.0.
+            accBelief = 0.0;
+            accDisbelief = 0.0;
+            accUncertainty = 1.0;
+            accApriori = aprioriSum / size;
+            return;
+        }
+
+        // Case 1: No uncertainty value is 0.0 and at least one uncertainty value is not 1.0.
+        double newBelief = 0.0;
+        double newDisbelief = 0.0;
+        double newApriori = 0.0;
+        double denominator = 0.0;
+
+        for (int i = 0; i < size; ++i) {
+            final double u = uncertainty[i];
+            final double negUncertainty = 1.0 - u;
+            final double negUncertaintyProduct = uncertaintyProduct / u;
+            newBelief += belief[i] * negUncertainty * negUncertaintyProduct;
+            newDisbelief += disbelief[i] * negUncertainty * negUncertaintyProduct;
+            newApriori += apriori[i] * negUncertainty;
+            denominator += negUncertaintyProduct;
+        }
+
+        final double n = size;
+        denominator -= n * uncertaintyProduct;
+        accBelief = newBelief / denominator;
+        accDisbelief = newDisbelief / denominator;
+        accUncertainty = (n - uncertaintySum) * uncertaintyProduct / denominator;
+        accApriori = newApriori / (n - uncertaintySum);
+    }
+
+    /**
+     * Computes the novelty score of the accumulator, i.e. the weighted disbelief plus the
+     * uncertainty.
+     *
+     * @param alpha The weight factor of the disbelief.
+     * @return Returns the novelty score of the accumulator.
+     */
+    public double score(final double alpha) {
+        return alpha * accDisbelief + accUncertainty;
+    }
+
+    /**
+     * Returns the belief of the accumulator.
+     *
+     * @return Returns the belief of the accumulator.
+     */
+    public double getBelief() {
+        return accBelief;
+    }
+
+    /**
+     * Returns the disbelief of the accumulator.
+     *
+     * @return Returns the disbelief of the accumulator.
+     */
+    public double getDisbelief() {
+        return accDisbelief;
+    }
+
+    /**
+     * Returns the uncertainty of the accumulator.
+     *
+     * @return Returns the uncertainty of the accumulator.
+     */
+    public double getUncertainty() {
+        return accUncertainty;
+    }
+
+    /**
+     * Returns the apriori belief of the accumulator.
+     *
+     * @return Returns the apriori belief of the accumulator.
+     */
+    public double getApriori() {
+        return accApriori;
+    }
+}
@@ -1,6 +1,7 @@
 package org.mate.model.fsm.surrogate;
 
 import org.mate.MATE;
+import org.mate.Properties;
 import org.mate.Registry;
 import org.mate.interaction.action.Action;
 import org.mate.interaction.action.ActionResult;
@@ -8,6 +9,7 @@ import org.mate.model.TestCase;
 import org.mate.model.fsm.FSMModel;
 import org.mate.model.fsm.State;
 import org.mate.model.fsm.Transition;
+import org.mate.model.fsm.snapshot.GUIModelSnapshot.TransitionRecord;
 import org.mate.state.IScreenState;
 import org.mate.utils.Randomness;
 
@@ -94,6 +96,23 @@ public class SurrogateModel extends FSMModel {
      */
     private boolean predictedLastTestCase = false;
 
+    /**
+     * How often a transition needs to be observed at least before the surrogate model speculates
+     * on it.
+     */
+    private static final int MIN_SPECULATION_OBSERVATIONS = 2;
+
+    /**
+     * The minimal relative frequency of a transition to speculate on it.
+     */
+    private static final double SPECULATION_CONFIDENCE
+            = Properties.SURROGATE_SPECULATION_CONFIDENCE();
+
+    /**
+     * The transitions of the last speculation, see {@link #speculate(List)}.
+     */
+    private final List<SurrogateTransition> speculatedTransitions = new ArrayList<>();
+
     /**
      * Creates a new surrogate model with an initial root state in underlying FSM.
      *
@@ -193,10 +212,39 @@ public class SurrogateModel extends FSMModel {
 
         executedTransitions.add(matchingTransition);
         fsm.addTransition(matchingTransition);
+        recordTransition(matchingTransition, actionResult, traces);
         addTraces(executedTraces, traceIndices);
         checkPointState = fsm.getCurrentState();
     }
 
+    /**
+     * Restores a snapshot transition together with its action result, traces and frequency, such
+     * that the transition can be used for predictions right away.
+     *
+     * @param source The source state.
+     * @param target The target state.
+     * @param action The action of the current run matching the snapshot action.
+     * @param record The snapshot transition.
+     * @return Returns the restored surrogate transition.
+     */
+    @Override
+    protected Transition createRestoredTransition(final State source, final State target,
+                                                  final Action action,
+                                                  final TransitionRecord record) {
+
+        final ActionResult actionResult = record.getActionResult() != null
+                ? record.getActionResult() : ActionResult.SUCCESS;
+        final SurrogateTransition transition = new SurrogateTransition(source, target, action,
+                actionResult, indexTraces(record.getTraces()));
+
+        // the frequency counter only counts the repeated executions
+        for (int i = 1; i < record.getFrequency(); i++) {
+            transition.increaseFrequencyCounter();
+        }
+
+        return transition;
+    }
+
     /**
      * Tries to predict the given action.
      *
@@ -237,6 +285,156 @@ public class SurrogateModel extends FSMModel {
         }
     }
 
+    /**
+     * Predicts the longest prefix of the given actions whose outcome is known with high confidence,
+     * starting in the current state. The outcome of an action is known with high confidence if the
+     * most frequent transition of the current state and the action has been observed repeatedly and
+     * accounts for the majority of the observations, see
+     * {@link Properties#SURROGATE_SPECULATION_CONFIDENCE()}. Only transitions that don't leave
+     * the AUT are considered. The speculated transitions need to be confirmed afterwards, see
+     * {@link #confirmSpeculation(IScreenState, ActionResult, Set)}.
+     *
+     * @param actions The actions that should be executed next.
+     * @return Returns the length of the prefix that could be speculated on.
+     */
+    public int speculate(final List<Action> actions) {
+
+        speculatedTransitions.clear();
+        State state = fsm.getCurrentState();
+
+        for (final Action action : actions) {
+
+            int observations = 0;
+            SurrogateTransition mostFrequent = null;
+
+            for (final Transition transition : fsm.getOutgoingTransitions(state, action)) {
+                final SurrogateTransition surrogateTransition = (SurrogateTransition) transition;
+                // the frequency counter only counts the repeated executions
+                observations += surrogateTransition.getFrequencyCounter() + 1;
+                if (mostFrequent == null || surrogateTransition.getFrequencyCounter()
+                        > mostFrequent.getFrequencyCounter()) {
+                    mostFrequent = surrogateTransition;
+                }
+            }
+
+            if (mostFrequent == null
+                    || mostFrequent.getActionResult() != ActionResult.SUCCESS
+                    || mostFrequent.getFrequencyCounter() + 1 < MIN_SPECULATION_OBSERVATIONS
+                    || mostFrequent.getFrequencyCounter() + 1
+                        < SPECULATION_CONFIDENCE * observations) {
+                break;
+            }
+
+            speculatedTransitions.add(mostFrequent);
+            state = mostFrequent.getTarget();
+        }
+
+        return speculatedTransitions.size();
+    }
+
+    /**
+     * Confirms the last speculation after all actions of the speculated prefix have been executed
+     * without capturing the intermediate screen states. If the reached screen state matches the
+     * expected target state, the speculated transitions are taken over. Otherwise, the execution
+     * diverged somewhere along the prefix and none of the speculated transitions is taken over,
+     * since we can't tell which action caused the divergence. In this case, the speculation needs
+     * to be skipped, see {@link #skipSpeculation(IScreenState, ActionResult, Set)}.
+     *
+     * @param target The screen state reached after executing the actions.
+     * @param actionResult The action result associated with the last executed action.
+     * @param traces The traces produced by executing the actions.
+     * @return Returns {@code true} if the reached screen state matches the expected state,
+     *         otherwise {@code false} is returned.
+     */
+    public boolean confirmSpeculation(final IScreenState target, final ActionResult actionResult,
+                                      final Set<String> traces) {
+
+        final List<SurrogateTransition> speculated = new ArrayList<>(speculatedTransitions);
+        final SurrogateTransition last = speculated.get(speculated.size() - 1);
+
+        if (actionResult != last.getActionResult() || !fsm.getState(target).equals(last.getTarget())) {
+            MATE.log_warn("Speculative replay of " + speculated.size() + " actions diverged!");
+            return false;
+        }
+
+        speculatedTransitions.clear();
+
+        for (final SurrogateTransition transition : speculated) {
+            transition.increaseFrequencyCounter();
+            executedTransitions.add(transition);
+            fsm.addTransition(transition);
+            recordTransition(transition, transition.getActionResult(),
+                    getTraces(transition.getTraces()));
+            checkPointState = fsm.getCurrentState();
+        }
+
+        addTraces(executedTraces, indexTraces(traces));
+        return true;
+    }
+
+    /**
+     * Skips the last speculation after its execution diverged, see
+     * {@link #confirmSpeculation(IScreenState, ActionResult, Set)}. Since the intermediate screen
+     * states haven't been captured, none of the speculated transitions is recorded in the
+     * underlying FSM. The actions only become part of the current test case, where the speculated
+     * target states stand in for the intermediate screen states and the last action leads to the
+     * reached screen state. The FSM then moves to the reached screen state, such that the test case
+     * continues from the current screen.
+     *
+     * @param target The screen state reached after executing the actions.
+     * @param actionResult The action result associated with the last executed action.
+     * @param traces The traces produced by executing the actions.
+     */
+    public void skipSpeculation(final IScreenState target, final ActionResult actionResult,
+                                final Set<String> traces) {
+
+        final List<SurrogateTransition> speculated = new ArrayList<>(speculatedTransitions);
+        speculatedTransitions.clear();
+
+        final BitSet traceIndices = indexTraces(traces);
+        final SurrogateTransition last = speculated.remove(speculated.size() - 1);
+        final State to = fsm.getState(target);
+
+        executedTransitions.addAll(speculated);
+        executedTransitions.add(new SurrogateTransition(last.getSource(), to, last.getAction(),
+                actionResult, traceIndices));
+        addTraces(executedTraces, traceIndices);
+
+        fsm.goToState(to);
+        checkPointState = fsm.getCurrentState();
+    }
+
+    /**
+     * Discards the last speculation without taking over any speculated transition, e.g. when the
+     * AUT crashed while executing the speculated prefix.
+     */
+    public void discardSpeculation() {
+        speculatedTransitions.clear();
+    }
+
+    /**
+     * Returns the actions that have been executed on the device since the beginning of the current
+     * test case, i.e. the actions leading from the start state to the last check point.
+     *
+     * @return Returns the executed actions.
+     */
+    public List<Action> getExecutedActions() {
+        return executedTransitions.stream()
+                .map(Transition::getAction)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Checks whether the given screen state corresponds to the last check point.
+     *
+     * @param screenState The screen state to be checked.
+     * @return Returns {@code true} if the screen state corresponds to the last check point,
+     *         otherwise {@code false} is returned.
+     */
+    public boolean isCheckPointState(final IScreenState screenState) {
+        return fsm.getState(screenState).equals(checkPointState);
+    }
+
     /**
      * Moves the surrogate model back to the last check point.
      *
@@ -257,11 +455,21 @@ public class SurrogateModel extends FSMModel {
         BitSet allTraces = new BitSet(Math.max(predictedTraces.size(), executedTraces.size()));
         addTraces(allTraces, predictedTraces);
         addTraces(allTraces, executedTraces);
+        return getTraces(allTraces);
+    }
+
+    /**
+     * Looks up the traces with the given indices.
+     *
+     * @param traceIndices The trace indices.
+     * @return Returns the corresponding traces.
+     */
+    private Set<String> getTraces(final BitSet traceIndices) {
 
-        Set<String> traces = new HashSet<>();
+        final Set<String> traces = new HashSet<>();
 
         // get the indices of all set bits and look up the corresponding traces
-        for (int i = allTraces.nextSetBit(0); i >= 0; i = allTraces.nextSetBit(i + 1)) {
+        for (int i = traceIndices.nextSetBit(0); i >= 0; i = traceIndices.nextSetBit(i + 1)) {
             traces.add(this.traces.get(i));
         }
 
@@ -10,14 +10,14 @@ import org.mate.model.TestCase;
 import org.mate.model.fsm.FSMModel;
 import org.mate.state.IScreenState;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.Writer;
-import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -35,8 +35,11 @@ public final class DotConverter {
     // an internal counter to enumerate the dot files
     private static int counter = 0;
 
-    // a collection of testcases for the final dot graph
-    private static final List<TestCase> RECORDED_TEST_CASES = new ArrayList<>();
+    // maps an action to the (indices of the) recorded test cases that contain the action
+    private static final Map<Action, BitSet> RECORDED_TEST_CASES = new HashMap<>();
+
+    // the number of recorded test cases for the final dot graph
+    private static int recordedTestCases = 0;
 
     // a subset of possible colors, see https://graphviz.org/doc/info/colors.html
     private static final String[] COLORS = {
@@ -56,8 +59,7 @@ public final class DotConverter {
      */
     public static void convertFinal(final IGUIModel guiModel) {
         String dotFileName = "model.dot";
-        String dotFileContent = toDOTFinal(guiModel);
-        convert(dotFileName, dotFileContent);
+        convert(dotFileName, writer -> toDOTFinal(guiModel, writer));
     }
 
     /**
@@ -70,22 +72,35 @@ public final class DotConverter {
     public static void convertTestcase(final IGUIModel guiModel, final TestCase testCase) {
 
         String dotFileName = "Testcase" + counter + ".dot";
-        String dotFileContent = toDOT(guiModel, testCase);
+        convert(dotFileName, writer -> toDOT(guiModel, testCase, writer));
 
         // record test cases to highlight them in the final dot graph
-        RECORDED_TEST_CASES.add(testCase);
-
-        convert(dotFileName, dotFileContent);
+        recordTestCase(testCase);
         counter++;
     }
 
+    /**
+     * Records the actions of the given test case such that the test case can be highlighted in the
+     * final dot graph. Only the action to test case mapping is retained, not the test case itself.
+     *
+     * @param testCase The test case to be recorded.
+     */
+    private static void recordTestCase(final TestCase testCase) {
+
+        for (Action action : testCase.getActionSequence()) {
+            RECORDED_TEST_CASES.computeIfAbsent(action, a -> new BitSet()).set(recordedTestCases);
+        }
+
+        recordedTestCases++;
+    }
+
     /**
      * Converts the gui model to a dot file.
      *
      * @param dotFileName The name of the file.
-     * @param dotFileContent The content of the dot file.
+     * @param dotFileContent Writes the content of the dot file.
      */
-    private static void convert(final String dotFileName, final String dotFileContent) {
+    private static void convert(final String dotFileName, final DotContent dotFileContent) {
 
         MATE.log("Converting gui model to dot file!");
 
@@ -97,8 +112,8 @@ public final class DotConverter {
 
         final File dotFile = new File(dotDir, dotFileName);
 
-        try (Writer fileWriter = new FileWriter(dotFile)) {
-            fileWriter.write(dotFileContent);
+        try (Writer fileWriter = new BufferedWriter(new FileWriter(dotFile))) {
+            dotFileContent.writeTo(fileWriter);
             fileWriter.flush();
         } catch (IOException e) {
             throw new IllegalStateException("Couldn't write to dot file!", e);
@@ -109,138 +124,130 @@ public final class DotConverter {
     }
 
     /**
-     * Converts the final gui model into a string representation of a dot graph.
+     * Writes the final gui model as dot graph.
      *
      * @param guiModel the model which is converted into a state diagram.
-     * @return A string representation of the dot graph.
+     * @param writer The writer to which the dot graph is written.
+     * @throws IOException If writing fails.
      */
-    private static String toDOTFinal(IGUIModel guiModel) {
+    private static void toDOTFinal(IGUIModel guiModel, Writer writer) throws IOException {
 
-        final StringBuilder builder = new StringBuilder();
+        writer.append("digraph g {\n");
+        toDotNodes(guiModel, writer);
 
-        builder.append("digraph g {\n");
-        builder.append(toDotNodes(guiModel));
-
-        if (RECORDED_TEST_CASES.isEmpty()) {
-            builder.append(toDotEdges(guiModel, null));
+        if (recordedTestCases == 0) {
+            toDotEdges(guiModel, null, writer);
         } else {
             // highlight the recorded test cases in a distinct color
-            builder.append(toDotEdgesFinal(guiModel));
-            builder.append(toDotFinalLegend());
+            toDotEdgesFinal(guiModel, writer);
+            toDotFinalLegend(writer);
         }
 
-        builder.append("}\n");
-        return builder.toString();
+        writer.append("}\n");
     }
 
     /**
-     * Converts a gui model to a dot file and highlights the given test case.
+     * Writes the gui model as dot graph and highlights the given test case.
      *
      * @param guiModel The gui model to be converted.
      * @param testCase The test case that should be highlighted or {@code null} if no highlighting
      *         should take place.
-     * @return Returns the dot graph conforming to the gui model.
+     * @param writer The writer to which the dot graph is written.
+     * @throws IOException If writing fails.
      */
-    private static String toDOT(IGUIModel guiModel, TestCase testCase) {
-        final StringBuilder builder = new StringBuilder();
-        builder.append("digraph g {\n");
-        builder.append(toDotNodes(guiModel));
-        builder.append(toDotEdges(guiModel, testCase));
-        builder.append("}\n");
-        return builder.toString();
+    private static void toDOT(IGUIModel guiModel, TestCase testCase, Writer writer)
+            throws IOException {
+        writer.append("digraph g {\n");
+        toDotNodes(guiModel, writer);
+        toDotEdges(guiModel, testCase, writer);
+        writer.append("}\n");
     }
 
     /**
-     * Converts the screen states of the given gui model to dot graph nodes.
+     * Writes the screen states of the given gui model as dot graph nodes.
      *
      * @param guiModel The gui model containing all the screen states.
-     * @return Returns a string representation of the nodes in the dot graph.
+     * @param writer The writer to which the nodes are written.
+     * @throws IOException If writing fails.
      */
-    private static String toDotNodes(final IGUIModel guiModel) {
-
-        final StringBuilder builder = new StringBuilder();
+    private static void toDotNodes(final IGUIModel guiModel, final Writer writer)
+            throws IOException {
 
         for (IScreenState state : guiModel.getStates()) {
 
             String stateId = state.getId();
-            builder.append(stateId);
-            builder.append(" [label=\"");
+            writer.append(stateId);
+            writer.append(" [label=\"");
 
             if (Properties.DOT_GRAPH_WITH_SCREENSHOTS()) {
 
                 if (stateId.equals(FSMModel.VIRTUAL_ROOT_STATE_ID)) {
-                    builder.append("Root\", ");
-                    builder.append("fontsize=250");
+                    writer.append("Root\", ");
+                    writer.append("fontsize=250");
                 } else {
-                    builder.append("\", "); // empty label for screenshots
-                    builder.append("image=\"../");
-                    builder.append(SCREENSHOTS_DIR);
-                    builder.append('/');
-                    builder.append(stateId);
-                    builder.append(".png\", ");
-                    builder.append("shape=\"box\"");
+                    writer.append("\", "); // empty label for screenshots
+                    writer.append("image=\"../");
+                    writer.append(SCREENSHOTS_DIR);
+                    writer.append('/');
+                    writer.append(stateId);
+                    writer.append(".png\", ");
+                    writer.append("shape=\"box\"");
                 }
             } else {
                 // no screenshots, use labels instead
                 if (stateId.equals(FSMModel.VIRTUAL_ROOT_STATE_ID)) {
-                    builder.append("Root");
+                    writer.append("Root");
                 } else {
-                    builder.append(stateId);
+                    writer.append(stateId);
                 }
 
-                builder.append("\"");
+                writer.append("\"");
             }
 
-            builder.append("]\n");
+            writer.append("]\n");
         }
-
-        return builder.toString();
     }
 
     /**
-     * Converts the edges of the final gui model to dot graph edges.
+     * Writes the edges of the final gui model as dot graph edges.
      *
      * @param guiModel The gui model containing all the edges.
-     * @return Returns a string representation for the edges in the dot graph.
+     * @param writer The writer to which the edges are written.
+     * @throws IOException If writing fails.
      */
-    private static String toDotEdgesFinal(final IGUIModel guiModel) {
-
-        // pre-compute once the action sets per test case
-        final List<Set<Action>> actionSets = new ArrayList<>(RECORDED_TEST_CASES.size());
-
-        for (int i = 0; i < RECORDED_TEST_CASES.size(); i++) {
-            final TestCase testCase = RECORDED_TEST_CASES.get(i);
-            actionSets.add(new HashSet<>(testCase.getActionSequence()));
-        }
+    private static void toDotEdgesFinal(final IGUIModel guiModel, final Writer writer)
+            throws IOException {
 
-        final StringBuilder builder = new StringBuilder();
+        // the colors only depend on the set of test cases, thus they are shared among edges
+        final Map<BitSet, String> colors = new HashMap<>();
         int edgeCounter = 0;
 
         for (Edge edge : guiModel.getEdges()) {
 
             final String source = edge.getSource().getId();
             final String target = edge.getTarget().getId();
-            final String color = getEdgeColor(edge, actionSets);
+            final BitSet testCases = RECORDED_TEST_CASES.get(edge.getAction());
+            final String color = testCases == null
+                    ? getEdgeColor(new BitSet()) : colors.computeIfAbsent(testCases,
+                        DotConverter::getEdgeColor);
 
-            builder.append(toDotEdge(source, target, edge.getAction().toShortString(), color,
-                    "lightgray", edgeCounter));
+            toDotEdge(source, target, edge.getAction().toShortString(), color,
+                    "lightgray", edgeCounter, writer);
             edgeCounter++;
         }
-
-        return builder.toString();
     }
 
     /**
-     * Converts the edges of the given gui model to dot graph edges. If a test case is supplied,
+     * Writes the edges of the given gui model as dot graph edges. If a test case is supplied,
      * its actions will be highlighted in the dot graph.
      *
      * @param guiModel The gui model containing all the edges.
      * @param testCase A test case that should be highlighted or {@code null} otherwise.
-     * @return Returns a string representation for the edges in the dot graph.
+     * @param writer The writer to which the edges are written.
+     * @throws IOException If writing fails.
      */
-    private static String toDotEdges(final IGUIModel guiModel, final TestCase testCase) {
-
-        final StringBuilder builder = new StringBuilder();
+    private static void toDotEdges(final IGUIModel guiModel, final TestCase testCase,
+                                   final Writer writer) throws IOException {
 
         final Set<Action> actionSet = testCase == null
                 ? new HashSet<>() : new HashSet<>(testCase.getActionSequence());
@@ -268,11 +275,9 @@ public final class DotConverter {
             final String edgeColor = representation.getEdgeColor();
             final String fillColor = representation.getFillColor();
 
-            builder.append(toDotEdge(source, target, actions, edgeColor, fillColor, edgeCounter));
+            toDotEdge(source, target, actions, edgeColor, fillColor, edgeCounter, writer);
             edgeCounter++;
         }
-
-        return builder.toString();
     }
 
     /**
@@ -307,7 +312,7 @@ public final class DotConverter {
     }
 
     /**
-     * Creates a dot representation of a single edge from the gui model. As a side effect, a dot
+     * Writes the dot representation of a single edge from the gui model. As a side effect, a dot
      * node is created for the actions.
      *
      * @param source The id of the source node.
@@ -316,80 +321,75 @@ public final class DotConverter {
      * @param edgeColor The edge color.
      * @param fillColor The fill color for the edge.
      * @param edgeId An unique id of the edge.
-     * @return Returns the dot representation of the edge.
+     * @param writer The writer to which the edge is written.
+     * @throws IOException If writing fails.
      */
-    private static String toDotEdge(final String source, final String target, final String actions,
-                                    final String edgeColor, final String fillColor, final int edgeId) {
+    private static void toDotEdge(final String source, final String target, final String actions,
+                                  final String edgeColor, final String fillColor, final int edgeId,
+                                  final Writer writer) throws IOException {
 
         // create an additional dot node for the actions
         final String edgeNode = "E" + edgeId;
-        final StringBuilder builder = new StringBuilder();
 
-        builder.append(edgeNode);
-        builder.append(" [label=\"");
-        builder.append(actions);
-        builder.append("\", fontcolor = \"black\", shape=\"box\", color=\"white\", " +
+        writer.append(edgeNode);
+        writer.append(" [label=\"");
+        writer.append(actions);
+        writer.append("\", fontcolor = \"black\", shape=\"box\", color=\"white\", " +
                 "style = \"filled\", fillcolor = \"");
-        builder.append(fillColor);
-        builder.append('\"');
+        writer.append(fillColor);
+        writer.append('\"');
 
         if (Properties.DOT_GRAPH_WITH_SCREENSHOTS()) {
-            builder.append(", fontsize=50");
+            writer.append(", fontsize=50");
         }
 
-        builder.append("];\n");
+        writer.append("];\n");
 
         // create an edge from source to actions node to target
-        builder.append(source);
-        builder.append("->");
-        builder.append(edgeNode);
-        builder.append(" [label=\"\", arrowhead=none, color=\"");
-        builder.append(edgeColor);
-        builder.append('\"');
+        writer.append(source);
+        writer.append("->");
+        writer.append(edgeNode);
+        writer.append(" [label=\"\", arrowhead=none, color=\"");
+        writer.append(edgeColor);
+        writer.append('\"');
 
         if (Properties.DOT_GRAPH_WITH_SCREENSHOTS()) {
-            builder.append(", fontsize=50, arrowsize=4, penwidth=5, minlen=5");
+            writer.append(", fontsize=50, arrowsize=4, penwidth=5, minlen=5");
         }
 
-        builder.append("];\n");
+        writer.append("];\n");
 
-        builder.append(edgeNode);
-        builder.append("->");
-        builder.append(target);
-        builder.append(" [label=\"\", color=\"");
-        builder.append(edgeColor);
-        builder.append('\"');
+        writer.append(edgeNode);
+        writer.append("->");
+        writer.append(target);
+        writer.append(" [label=\"\", color=\"");
+        writer.append(edgeColor);
+        writer.append('\"');
 
         if (Properties.DOT_GRAPH_WITH_SCREENSHOTS()) {
-            builder.append(", fontsize=50, arrowsize=4, penwidth=5, minlen=5");
+            writer.append(", fontsize=50, arrowsize=4, penwidth=5, minlen=5");
         }
 
-        builder.append("];\n");
-
-        return builder.toString();
+        writer.append("];\n");
     }
 
     /**
      * Determines the color for the given edge in the final dot graph. An edge can be traversed by
      * multiple test cases, thus it might be highlighted in multiple colors.
      *
-     * @param edge The edge for which the color should be determined.
-     * @param actionSets Contains for every test case (list entry) the set of actions.
+     * @param testCases The indices of the test cases that traversed the edge.
      * @return Returns the edge color.
      */
-    private static String getEdgeColor(final Edge edge, final List<Set<Action>> actionSets) {
+    private static String getEdgeColor(final BitSet testCases) {
 
         final StringBuilder colorOfEdge = new StringBuilder();
 
-        // check for each test case whether the edge was traversed
-        for (int i = 0; i < actionSets.size(); i++) {
-            if (actionSets.get(i).contains(edge.getAction())) {
-                // highlight edge with color corresponding to i-th test case
-                final int colorIndex = i % COLORS.length;
-                final String color = COLORS[colorIndex];
-                colorOfEdge.append(color);
-                colorOfEdge.append(':'); // there may follow further colors
-            }
+        for (int i = testCases.nextSetBit(0); i >= 0; i = testCases.nextSetBit(i + 1)) {
+            // highlight edge with color corresponding to i-th test case
+            final int colorIndex = i % COLORS.length;
+            final String color = COLORS[colorIndex];
+            colorOfEdge.append(color);
+            colorOfEdge.append(':'); // there may follow further colors
         }
 
         if (colorOfEdge.length() == 0) {
@@ -409,44 +409,41 @@ public final class DotConverter {
     }
 
     /**
-     * Creates the legend for the final dot graph.
+     * Writes the legend for the final dot graph.
      *
-     * @return Returns the legend for the final dot graph.
+     * @param writer The writer to which the legend is written.
+     * @throws IOException If writing fails.
      */
-    private static String toDotFinalLegend() {
-
-        final StringBuilder builder = new StringBuilder();
+    private static void toDotFinalLegend(final Writer writer) throws IOException {
 
-        builder.append("subgraph cluster_01 { \n \t label = \"Legend\";\n \tshape = rectangle;\n" +
+        writer.append("subgraph cluster_01 { \n \t label = \"Legend\";\n \tshape = rectangle;\n" +
                 "\tcolor = black;\n\t");
 
         // create for each legend entry a pair of invisible start and end nodes
-        for (int i = 0; i < RECORDED_TEST_CASES.size(); i++) {
-            builder.append(i);
-            builder.append("1 [style=invis]\n\t");
-            builder.append(i);
-            builder.append("2 [style=invis]\n\t");
+        for (int i = 0; i < recordedTestCases; i++) {
+            writer.append(String.valueOf(i));
+            writer.append("1 [style=invis]\n\t");
+            writer.append(String.valueOf(i));
+            writer.append("2 [style=invis]\n\t");
         }
 
         // create for each test case an entry in the legend (a mapping to a color)
-        for (int i = 0; i < RECORDED_TEST_CASES.size(); i++) {
+        for (int i = 0; i < recordedTestCases; i++) {
 
             final int colorIndex = i % COLORS.length;
             final String color = COLORS[colorIndex];
 
-            builder.append(i);
-            builder.append("1 -> ");
-            builder.append(i);
-            builder.append("2 [label=\"Testcase ");
-            builder.append(i);
-            builder.append("\", color=\"");
-            builder.append(color);
-            builder.append("\"] \n\t");
+            writer.append(String.valueOf(i));
+            writer.append("1 -> ");
+            writer.append(String.valueOf(i));
+            writer.append("2 [label=\"Testcase ");
+            writer.append(String.valueOf(i));
+            writer.append("\", color=\"");
+            writer.append(color);
+            writer.append("\"] \n\t");
         }
 
-        builder.append("\t }");
-
-        return builder.toString();
+        writer.append("\t }");
     }
 
     /**
@@ -459,6 +456,21 @@ public final class DotConverter {
         Registry.getEnvironmentManager().takeScreenshot(packageName, state);
     }
 
+    /**
+     * Writes the content of a dot file.
+     */
+    @FunctionalInterface
+    private interface DotContent {
+
+        /**
+         * Writes the content of a dot file to the given writer.
+         *
+         * @param writer The writer of the dot file.
+         * @throws IOException If writing fails.
+         */
+        void writeTo(Writer writer) throws IOException;
+    }
+
     /**
      * Describes the different conversion options.
      */
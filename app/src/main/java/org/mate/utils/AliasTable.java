@@ -0,0 +1,121 @@
+package org.mate.utils;
+
+import java.util.Random;
+
+/**
+ * Provides Walker's alias method (in the variant of Vose) for sampling from a discrete probability
+ * distribution in constant time. Building the table requires linear time in the number of
+ * outcomes, thus the table pays off if many samples are drawn from the same distribution, e.g.
+ * a roulette wheel that is spun multiple times per generation.
+ */
+public final class AliasTable {
+
+    /**
+     * The probability of each column to return its own outcome instead of the alias.
+     */
+    private final double[] probabilities;
+
+    /**
+     * The alias outcome of each column.
+     */
+    private final int[] aliases;
+
+    /**
+     * The sum of all weights.
+     */
+    private final double totalWeight;
+
+    /**
+     * Builds the alias table for the given non-negative weights. The probability of an outcome
+     * is its weight divided by the sum of all weights.
+     *
+     * @param weights The non-negative weights of the outcomes.
+     */
+    public AliasTable(final double[] weights) {
+
+        final int n = weights.length;
+        probabilities = new double[n];
+        aliases = new int[n];
+
+        double sum = 0.0;
+        for (final double weight : weights) {
+            if (weight < 0.0) {
+                throw new IllegalArgumentException("Negative weight " + weight + "!");
+            }
+            sum += weight;
+        }
+
+        if (n == 0 || sum <= 0.0) {
+            throw new IllegalArgumentException("The sum of the weights must be positive!");
+        }
+
+        totalWeight = sum;
+
+        // the scaled probabilities are split into columns below and above the average
+        final double[] scaled = new double[n];
+        final int[] small = new int[n];
+        final int[] large = new int[n];
+        int numberOfSmall = 0;
+        int numberOfLarge = 0;
+
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / sum;
+            if (scaled[i] < 1.0) {
+                small[numberOfSmall++] = i;
+            } else {
+                large[numberOfLarge++] = i;
+            }
+        }
+
+        // fill up each small column with the excess of a large column
+        while (numberOfSmall > 0 && numberOfLarge > 0) {
+
+            final int less = small[--numberOfSmall];
+            final int more = large[--numberOfLarge];
+
+            probabilities[less] = scaled[less];
+            aliases[less] = more;
+
+            scaled[more] = scaled[more] + scaled[less] - 1.0;
+
+            if (scaled[more] < 1.0) {
+                small[numberOfSmall++] = more;
+            } else {
+                large[numberOfLarge++] = more;
+            }
+        }
+
+        // the remaining columns are full up to rounding errors
+        while (numberOfLarge > 0) {
+            final int column = large[--numberOfLarge];
+            probabilities[column] = 1.0;
+            aliases[column] = column;
+        }
+
+        while (numberOfSmall > 0) {
+            final int column = small[--numberOfSmall];
+            probabilities[column] = 1.0;
+            aliases[column] = column;
+        }
+    }
+
+    /**
+     * Draws an outcome proportionate to its weight.
+     *
+     * @param random The random number generator.
+     * @return Returns the index of the drawn outcome.
+     */
+    public int sample(final Random random) {
+        final int column = random.nextInt(probabilities.length);
+        return random.nextDouble() < probabilities[column] ? column : aliases[column];
+    }
+
+    /**
+     * Returns the sum of all weights.
+     *
+     * @return Returns the sum of all weights.
+     */
+    public double getTotalWeight() {
+        return totalWeight;
+    }
+}
@@ -0,0 +1,291 @@
+package org.mate.utils;
+
+import org.mate.MATE;
+import org.mate.Properties;
+import org.mate.Registry;
+import org.mate.exploration.genetic.chromosome.Chromosome;
+import org.mate.exploration.genetic.chromosome.IChromosome;
+import org.mate.interaction.action.Action;
+import org.mate.model.TestCase;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Records the outcome of executed action sequences such that re-executing an identical action
+ * sequence from the same start state can be skipped, see {@link Properties#EXECUTION_MEMO()}.
+ * Crossover and mutation operators frequently reproduce an action sequence that has been already
+ * executed. In a deterministic AUT, re-running such a sequence only costs device time.
+ * <p>
+ * An execution is identified by the id of the start state, i.e. the screen state after resetting
+ * the app, and the planned action sequence. The recorded outcome only consists of the number of
+ * executed actions, the visited state and activity ids, the crash flag and the id of the executed
+ * test case, under which its coverage and fitness data are stored. Only executions that solely
+ * consist of the planned actions are recorded, since otherwise the outcome depends on randomly
+ * chosen actions.
+ */
+public final class ExecutionMemo {
+
+    /**
+     * The recorded executions in the order of their last access.
+     */
+    private static final Map<Key, Execution> executions
+            = new LinkedHashMap<Key, Execution>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Execution> eldest) {
+            return size() > Properties.EXECUTION_MEMO_SIZE();
+        }
+    };
+
+    /**
+     * The number of lookups.
+     */
+    private static int lookups = 0;
+
+    /**
+     * The number of lookups that could be answered by a recorded execution.
+     */
+    private static int hits = 0;
+
+    /**
+     * The number of recorded executions that have been verified by executing them again.
+     */
+    private static int verifications = 0;
+
+    /**
+     * The number of verifications that revealed a different outcome.
+     */
+    private static int mismatches = 0;
+
+    /**
+     * The device time in milliseconds that was saved by skipping executions.
+     */
+    private static long savedTime = 0;
+
+    private ExecutionMemo() {
+        throw new UnsupportedOperationException("Utility class!");
+    }
+
+    /**
+     * Creates the key for executing the given action sequence from the current screen state. The
+     * key must be created right before the execution starts, i.e. after the app has been reset.
+     *
+     * @param actions The planned action sequence.
+     * @return Returns the key describing the execution.
+     */
+    public static Key newKey(List<? extends Action> actions) {
+        final String startState = Registry.getUiAbstractionLayer().getLastScreenState().getId();
+        return new Key(startState, actions);
+    }
+
+    /**
+     * Looks up the recorded execution of the given key. With the probability
+     * {@link Properties#EXECUTION_MEMO_VERIFICATION_RATE()} a recorded execution is not returned
+     * but verified by the subsequent call of {@link #record(Key, IChromosome)}.
+     *
+     * @param key The key describing the execution.
+     * @return Returns a new test case chromosome describing the recorded execution or {@code null}
+     *          if the action sequence needs to be executed.
+     */
+    public static IChromosome<TestCase> lookup(Key key) {
+
+        lookups++;
+        final Execution execution = executions.get(key);
+
+        if (execution == null) {
+            return null;
+        }
+
+        if (Randomness.getRnd().nextDouble() < Properties.EXECUTION_MEMO_VERIFICATION_RATE()) {
+            key.recorded = execution;
+            return null;
+        }
+
+        hits++;
+        savedTime += execution.time;
+        MATE.log_debug("Skipping execution of test case, re-using " + execution.testCaseId + "!");
+
+        // the coverage and fitness data are retrieved via the id of the recorded test case
+        final TestCase testCase = TestCase.fromRecording(execution.testCaseId,
+                key.actions.subList(0, execution.numberOfActions), execution.stateSequence,
+                execution.activitySequence, execution.crashDetected);
+        return new Chromosome<>(testCase);
+    }
+
+    /**
+     * Records the execution of the given key. The execution is ignored if the executed test case
+     * deviates from the planned action sequence, e.g. because it was filled up with random actions.
+     *
+     * @param key The key describing the execution.
+     * @param chromosome The executed test case chromosome.
+     */
+    public static void record(Key key, IChromosome<TestCase> chromosome) {
+
+        final long time = System.currentTimeMillis() - key.creationTime;
+        final TestCase testCase = chromosome.getValue();
+
+        // the recorded execution is taken from the key, since a lookup would alter the access order
+        final Execution recorded = key.recorded;
+
+        if (recorded != null) {
+            verifications++;
+            if (!recorded.stateSequence.equals(testCase.getStateSequence())
+                    || recorded.crashDetected != testCase.hasCrashDetected()) {
+                mismatches++;
+                MATE.log_warn("Execution of test case " + testCase + " differs from recorded "
+                        + "execution " + recorded.testCaseId + "!");
+                // the AUT doesn't behave deterministically for this sequence
+                executions.remove(key);
+            }
+            return;
+        }
+
+        if (isPlannedExecution(key.actions, testCase)) {
+            executions.put(key, new Execution(testCase, time));
+        }
+    }
+
+    /**
+     * Checks whether the given test case solely executed the planned actions, i.e. it either
+     * executed the entire action sequence or a prefix of it until the AUT crashed or was left.
+     *
+     * @param actions The planned action sequence.
+     * @param testCase The executed test case.
+     * @return Returns {@code true} if the outcome only depends on the planned actions, otherwise
+     *          {@code false} is returned.
+     */
+    private static boolean isPlannedExecution(List<Action> actions, TestCase testCase) {
+
+        final List<Action> executed = testCase.getActionSequence();
+        final List<String> states = testCase.getStateSequence();
+
+        if (executed.size() > actions.size() || !actions.subList(0, executed.size()).equals(executed)) {
+            return false;
+        }
+
+        // the target state couldn't be derived, e.g. due to an UIAutomator issue
+        return states.isEmpty() || !"unknown".equals(states.get(states.size() - 1));
+    }
+
+    /**
+     * Discards all recorded executions and resets the statistics.
+     */
+    static void clear() {
+        executions.clear();
+        lookups = 0;
+        hits = 0;
+        verifications = 0;
+        mismatches = 0;
+        savedTime = 0;
+    }
+
+    /**
+     * Logs the hit rate of the execution memo and the saved device time.
+     */
+    public static void logStatistics() {
+        MATE.log_acc("Execution memo lookups: " + lookups);
+        MATE.log_acc("Execution memo hits: " + hits + " (" + String.format(Locale.US, "%.2f",
+                lookups == 0 ? 0.0 : 100.0 * hits / lookups) + "%)");
+        MATE.log_acc("Execution memo verifications: " + verifications
+                + ", mismatches: " + mismatches);
+        MATE.log_acc("Execution memo saved device time: "
+                + String.format(Locale.US, "%.1f", savedTime / 1000.0) + "s");
+    }
+
+    /**
+     * Identifies the execution of an action sequence from a start state.
+     */
+    public static final class Key {
+
+        /**
+         * The id of the start state.
+         */
+        private final String startState;
+
+        /**
+         * The planned action sequence.
+         */
+        private final List<Action> actions;
+
+        /**
+         * The time when the execution started.
+         */
+        private final long creationTime = System.currentTimeMillis();
+
+        /**
+         * The recorded execution that should be verified or {@code null} if there is none.
+         */
+        private Execution recorded = null;
+
+        Key(String startState, List<? extends Action> actions) {
+            this.startState = startState;
+            this.actions = new ArrayList<>(actions);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            } else if (o == null || getClass() != o.getClass()) {
+                return false;
+            } else {
+                Key other = (Key) o;
+                return startState.equals(other.startState) && actions.equals(other.actions);
+            }
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * startState.hashCode() + actions.hashCode();
+        }
+    }
+
+    /**
+     * The outcome of a recorded execution.
+     */
+    private static final class Execution {
+
+        /**
+         * The id of the executed test case, which identifies its coverage and fitness data.
+         */
+        private final String testCaseId;
+
+        /**
+         * The number of executed actions, i.e. the length of the executed prefix of the planned
+         * action sequence.
+         */
+        private final int numberOfActions;
+
+        /**
+         * The visited states (ids) in the order they were visited.
+         */
+        private final List<String> stateSequence;
+
+        /**
+         * The visited activities in the order they appeared.
+         */
+        private final List<String> activitySequence;
+
+        /**
+         * Whether the execution caused a crash.
+         */
+        private final boolean crashDetected;
+
+        /**
+         * The execution time in milliseconds.
+         */
+        private final long time;
+
+        private Execution(TestCase testCase, long time) {
+            this.testCaseId = testCase.getId();
+            this.numberOfActions = testCase.getActionSequence().size();
+            this.stateSequence = new ArrayList<>(testCase.getStateSequence());
+            this.activitySequence = new ArrayList<>(testCase.getActivitySequence());
+            this.crashDetected = testCase.hasCrashDetected();
+            this.time = time;
+        }
+    }
+}
@@ -262,6 +262,44 @@ public class FitnessUtils {
         return Registry.getEnvironmentManager().getLinePercentageVector(chromosome, numberOfLines);
     }
 
+    /**
+     * Retrieves the coverage vector for the given chromosome that is used by the local novelty
+     * computation, see {@link org.mate.exploration.genetic.util.novelty.CoverageNoveltyIndex}. A set
+     * bit indicates that the respective objective, e.g. a branch, has been covered.
+     *
+     * @param chromosome The chromosome for which the coverage vector should be retrieved.
+     * @param objective The kind of objectives, e.g. branches.
+     * @param numberOfObjectives The number of objectives.
+     * @param <T> The type wrapped by the chromosomes.
+     * @return Returns the coverage vector for the given chromosome.
+     */
+    public static <T> BitSet getNoveltyCoverageVector(IChromosome<T> chromosome, Objective objective,
+                                                      int numberOfObjectives) {
+
+        if (Arrays.stream(Properties.FITNESS_FUNCTIONS()).noneMatch(
+                fitnessFunction -> fitnessFunction == FitnessFunction.NOVELTY)) {
+            throw new IllegalStateException("Unexpected fitness function!");
+        }
+
+        if (objective == Objective.BRANCHES) {
+            return Registry.getEnvironmentManager().getBranchFitnessVector(chromosome, numberOfObjectives);
+        } else if (objective == Objective.BLOCKS) {
+            return Registry.getEnvironmentManager().getBasicBlockFitnessVector(chromosome, numberOfObjectives);
+        } else if (objective == Objective.LINES) {
+            final List<Float> linePercentages = Registry.getEnvironmentManager()
+                    .getLinePercentageVector(chromosome, numberOfObjectives);
+            final BitSet coverageVector = new BitSet(linePercentages.size());
+            for (int i = 0; i < linePercentages.size(); i++) {
+                if (linePercentages.get(i) > 0) {
+                    coverageVector.set(i);
+                }
+            }
+            return coverageVector;
+        } else {
+            throw new UnsupportedOperationException("Objective " + objective + " not yet supported!");
+        }
+    }
+
     /**
      * Retrieves the novelty vector for the given chromosomes.
      *
@@ -0,0 +1,214 @@
+package org.mate.utils;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A binary min heap over the indices {@code 0..capacity-1} that are prioritised by a numeric key.
+ * In contrast to {@link java.util.PriorityQueue}, the key of an index can be changed and an index
+ * can be removed in logarithmic time, since the position of each index in the heap is tracked.
+ * Indices with the same key are ordered by the index itself.
+ */
+public final class IndexedMinPriorityQueue {
+
+    /**
+     * The heap of indices.
+     */
+    private final int[] heap;
+
+    /**
+     * The position of each index in the heap or {@code -1} if the index is not contained.
+     */
+    private final int[] positions;
+
+    /**
+     * The key of each index.
+     */
+    private final double[] keys;
+
+    /**
+     * The number of contained indices.
+     */
+    private int size = 0;
+
+    /**
+     * Creates a new empty queue for the indices {@code 0..capacity-1}.
+     *
+     * @param capacity The number of indices.
+     */
+    public IndexedMinPriorityQueue(final int capacity) {
+        heap = new int[capacity];
+        positions = new int[capacity];
+        keys = new double[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    /**
+     * Checks whether the queue is empty.
+     *
+     * @return Returns {@code true} if the queue is empty, otherwise {@code false} is returned.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of contained indices.
+     *
+     * @return Returns the number of contained indices.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the given index is contained in the queue.
+     *
+     * @param index The given index.
+     * @return Returns {@code true} if the index is contained, otherwise {@code false} is returned.
+     */
+    public boolean contains(final int index) {
+        return positions[index] != -1;
+    }
+
+    /**
+     * Returns the index with the lowest key without removing it.
+     *
+     * @return Returns the index with the lowest key.
+     */
+    public int peek() {
+
+        if (size == 0) {
+            throw new NoSuchElementException("The queue is empty!");
+        }
+
+        return heap[0];
+    }
+
+    /**
+     * Returns the key of the given index.
+     *
+     * @param index The given index.
+     * @return Returns the key of the index, which is undefined if the index is not contained.
+     */
+    public double getKey(final int index) {
+        return keys[index];
+    }
+
+    /**
+     * Inserts the given index with the given key or updates the key if the index is already
+     * contained in the queue.
+     *
+     * @param index The given index.
+     * @param key The new key of the index.
+     */
+    public void put(final int index, final double key) {
+
+        if (contains(index)) {
+            final double oldKey = keys[index];
+            keys[index] = key;
+            if (key < oldKey) {
+                siftUp(positions[index]);
+            } else {
+                siftDown(positions[index]);
+            }
+        } else {
+            keys[index] = key;
+            heap[size] = index;
+            positions[index] = size;
+            siftUp(size++);
+        }
+    }
+
+    /**
+     * Removes the given index from the queue. Does nothing if the index is not contained.
+     *
+     * @param index The index to be removed.
+     */
+    public void remove(final int index) {
+
+        final int position = positions[index];
+
+        if (position == -1) {
+            return;
+        }
+
+        positions[index] = -1;
+        size--;
+
+        if (position != size) {
+            // move the last index into the gap and restore the heap property
+            final int moved = heap[size];
+            heap[position] = moved;
+            positions[moved] = position;
+            siftUp(position);
+            if (positions[moved] == position) {
+                siftDown(position);
+            }
+        }
+    }
+
+    /**
+     * Moves the index at the given heap position up until its parent is not greater.
+     *
+     * @param position The heap position.
+     */
+    private void siftUp(int position) {
+
+        final int index = heap[position];
+
+        while (position > 0) {
+            final int parent = (position - 1) >>> 1;
+            if (!less(index, heap[parent])) {
+                break;
+            }
+            heap[position] = heap[parent];
+            positions[heap[position]] = position;
+            position = parent;
+        }
+
+        heap[position] = index;
+        positions[index] = position;
+    }
+
+    /**
+     * Moves the index at the given heap position down until none of its children is smaller.
+     *
+     * @param position The heap position.
+     */
+    private void siftDown(int position) {
+
+        final int index = heap[position];
+
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && less(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!less(heap[child], index)) {
+                break;
+            }
+            heap[position] = heap[child];
+            positions[heap[position]] = position;
+            position = child;
+        }
+
+        heap[position] = index;
+        positions[index] = position;
+    }
+
+    /**
+     * Checks whether the first index precedes the second index.
+     *
+     * @param first The first index.
+     * @param second The second index.
+     * @return Returns {@code true} if the first index has a lower key or the same key and a lower
+     *          index, otherwise {@code false} is returned.
+     */
+    private boolean less(final int first, final int second) {
+        return keys[first] < keys[second] || (keys[first] == keys[second] && first < second);
+    }
+}
@@ -18,12 +18,37 @@ import java.util.concurrent.ThreadLocalRandom;
 public class Randomness {
 
     /**
-     * Retrieves the random number generator.
+     * The random number generators that are bound to a specific thread.
+     */
+    private static final ThreadLocal<Random> threadRandom = new ThreadLocal<>();
+
+    /**
+     * Retrieves the random number generator. If a random number generator has been registered for
+     * the calling thread, see {@link #registerThreadRandom(Random)}, this one is returned.
      *
      * @return Returns the random number generator.
      */
     public static Random getRnd() {
-        return Registry.getRandom();
+        final Random random = threadRandom.get();
+        return random != null ? random : Registry.getRandom();
+    }
+
+    /**
+     * Registers a random number generator for the calling thread. This keeps the sequence of
+     * random numbers of each thread, and thus a run with a fixed seed, reproducible when multiple
+     * threads request random numbers concurrently.
+     *
+     * @param random The random number generator of the calling thread.
+     */
+    public static void registerThreadRandom(Random random) {
+        threadRandom.set(random);
+    }
+
+    /**
+     * Unregisters the random number generator of the calling thread.
+     */
+    public static void unregisterThreadRandom() {
+        threadRandom.remove();
     }
 
     /**
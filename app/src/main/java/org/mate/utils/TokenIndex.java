@@ -0,0 +1,155 @@
+package org.mate.utils;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * An index over a fixed set of tokens, e.g. the stack trace tokens, that supports constant time
+ * look ups of (slightly divergent) tokens. The index is built once and then queried for every
+ * token of a widget. A widget token matches the index if either the normalized tokens are equal,
+ * the tokens only differ in a single leading or trailing character (this catches the plural of a
+ * token for instance) or if the stems of both tokens are equal.
+ */
+public final class TokenIndex {
+
+    /**
+     * The normalized tokens.
+     */
+    private final Set<String> tokens;
+
+    /**
+     * The normalized tokens where either the first or the last character has been removed.
+     */
+    private final Set<String> shortenedTokens;
+
+    /**
+     * The stems of the normalized tokens.
+     */
+    private final Set<String> stems;
+
+    /**
+     * Builds a new token index from the given tokens.
+     *
+     * @param tokens The tokens that should be indexed.
+     */
+    public TokenIndex(final Collection<String> tokens) {
+
+        this.tokens = new HashSet<>();
+        this.shortenedTokens = new HashSet<>();
+        this.stems = new HashSet<>();
+
+        for (final String token : tokens) {
+
+            final String normalized = normalize(token);
+
+            if (!normalized.isEmpty()) {
+                this.tokens.add(normalized);
+                stems.add(stem(normalized));
+
+                if (normalized.length() > 1) {
+                    shortenedTokens.add(normalized.substring(1));
+                    shortenedTokens.add(normalized.substring(0, normalized.length() - 1));
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether the given normalized token matches any indexed token.
+     *
+     * @param token The normalized token, see {@link #normalize(String)}.
+     * @return Returns {@code true} if the token matches an indexed token, otherwise {@code false}
+     *         is returned.
+     */
+    public boolean matches(final String token) {
+
+        if (token.isEmpty()) {
+            return false;
+        }
+
+        if (tokens.contains(token) || shortenedTokens.contains(token)) {
+            return true;
+        }
+
+        if (token.length() > 1 && (tokens.contains(token.substring(1))
+                || tokens.contains(token.substring(0, token.length() - 1)))) {
+            return true;
+        }
+
+        return stems.contains(stem(token));
+    }
+
+    /**
+     * Checks whether any of the given normalized tokens matches an indexed token.
+     *
+     * @param tokens The normalized tokens, see {@link #normalize(String)}.
+     * @return Returns {@code true} if any token matches an indexed token, otherwise {@code false}
+     *         is returned.
+     */
+    public boolean matchesAny(final Set<String> tokens) {
+
+        for (final String token : tokens) {
+            if (matches(token)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the normalized tokens contained in the index.
+     *
+     * @return Returns the normalized tokens.
+     */
+    public Set<String> getTokens() {
+        return Collections.unmodifiableSet(tokens);
+    }
+
+    /**
+     * Checks whether the index is empty.
+     *
+     * @return Returns {@code true} if no token is indexed, otherwise {@code false}.
+     */
+    public boolean isEmpty() {
+        return tokens.isEmpty();
+    }
+
+    /**
+     * Normalizes the given token, i.e. removes leading and trailing whitespace and converts it
+     * to lower case.
+     *
+     * @param token The token to be normalized.
+     * @return Returns the normalized token.
+     */
+    public static String normalize(final String token) {
+        return token.trim().toLowerCase();
+    }
+
+    /**
+     * Computes a (light-weight) stem of the given normalized token. We only strip the most common
+     * english plural suffixes here, since a more aggressive stemming would produce too many
+     * spurious matches with identifiers from the stack trace.
+     *
+     * @param token The normalized token.
+     * @return Returns the stem of the given token.
+     */
+    static String stem(final String token) {
+
+        final int length = token.length();
+
+        if (length > 4 && token.endsWith("ies")) {
+            return token.substring(0, length - 3) + "y";
+        } else if (length > 4 && (token.endsWith("sses") || token.endsWith("shes")
+                || token.endsWith("ches") || token.endsWith("xes") || token.endsWith("zes"))) {
+            return token.substring(0, length - 2);
+        } else if (length > 3 && token.endsWith("s") && !token.endsWith("ss")
+                && !token.endsWith("us") && !token.endsWith("is")) {
+            return token.substring(0, length - 1);
+        } else {
+            return token;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package org.mate.exploration.genetic.algorithm;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mate.MATE;
+import org.mate.Properties;
+import org.mate.Registry;
+import org.mate.exploration.genetic.chromosome.Chromosome;
+import org.mate.exploration.genetic.chromosome.IChromosome;
+import org.mate.exploration.genetic.crossover.ICrossOverFunction;
+import org.mate.exploration.genetic.fitness.IFitnessFunction;
+import org.mate.exploration.genetic.mutation.IMutationFunction;
+import org.mate.exploration.genetic.selection.ISelectionFunction;
+import org.mate.exploration.genetic.termination.IterTerminationCondition;
+import org.mate.utils.MersenneTwister;
+import org.mate.utils.coverage.Coverage;
+import org.mockito.MockedStatic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mockStatic;
+
+/**
+ * Tests the pipeline of the steady-state mode of the {@link StandardGeneticAlgorithm}, i.e. the
+ * order in which the breedings are prepared and their offsprings are inserted, the termination
+ * and the replacement of the worst chromosome.
+ */
+public class StandardGeneticAlgorithmTest {
+
+    private static final int POPULATION_SIZE = 12;
+
+    private static final int ITERATIONS = 10;
+
+    /**
+     * The fitness of a chromosome is its value, i.e. the most recently created chromosomes are
+     * the best ones.
+     */
+    private static final IFitnessFunction<Integer> FITNESS = new IFitnessFunction<Integer>() {
+
+        @Override
+        public double getFitness(IChromosome<Integer> chromosome) {
+            return chromosome.getValue();
+        }
+
+        @Override
+        public boolean isMaximizing() {
+            return true;
+        }
+
+        @Override
+        public double getNormalizedFitness(IChromosome<Integer> chromosome) {
+            return chromosome.getValue() / 10000.0;
+        }
+    };
+
+    /**
+     * The population seen by each parent selection.
+     */
+    private final List<Set<Integer>> selections = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * The offsprings created by each breeding.
+     */
+    private final List<List<Integer>> breedings = Collections.synchronizedList(new ArrayList<>());
+
+    private final AtomicInteger nextValue = new AtomicInteger();
+
+    @Before
+    public void registerProperties() {
+        // the bookkeeping thread isn't affected by the static mocks and uses the default properties
+        Registry.registerProperties(new Properties(new HashMap<>()));
+        Registry.registerRandom(new MersenneTwister(42));
+    }
+
+    @After
+    public void unregisterProperties() {
+        Registry.unregisterProperties();
+        Registry.unregisterRandom();
+    }
+
+    @Test
+    public void pipelineOrderTest() {
+
+        final StandardGeneticAlgorithm<Integer> algorithm = createAlgorithm(population -> {
+            selections.add(values(population));
+            return new ArrayList<>(population.subList(0, 2));
+        });
+
+        run(algorithm);
+
+        // one breeding per iteration, the two initial breedings are prepared upfront
+        assertEquals(ITERATIONS, breedings.size());
+        assertEquals(ITERATIONS + 2, selections.size());
+
+        for (int breeding = 0; breeding < ITERATIONS; breeding++) {
+
+            // the breeding i + 1 sees the offsprings of the breedings 0 to i - 1
+            final Set<Integer> population = selections.get(breeding + 1);
+
+            if (breeding >= 1) {
+                assertTrue(population.containsAll(breedings.get(breeding - 1)));
+            }
+
+            for (final int offspring : breedings.get(breeding)) {
+                assertFalse(population.contains(offspring));
+            }
+        }
+
+        // the offsprings are better than the initial chromosomes, thus the last offsprings survive
+        final Set<Integer> survivors = new HashSet<>();
+
+        for (int breeding = ITERATIONS - POPULATION_SIZE / 2; breeding < ITERATIONS; breeding++) {
+            survivors.addAll(breedings.get(breeding));
+        }
+
+        assertEquals(survivors, values(algorithm.getCurrentPopulation()));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void failingBookkeepingTest() {
+
+        final StandardGeneticAlgorithm<Integer> algorithm = createAlgorithm(population -> {
+            if (selections.size() == 4) {
+                throw new IllegalArgumentException("Selection failed!");
+            }
+            selections.add(values(population));
+            return new ArrayList<>(population.subList(0, 2));
+        });
+
+        // the failure of the bookkeeping thread must not block the execution of the offsprings
+        run(algorithm);
+    }
+
+    private static void run(final StandardGeneticAlgorithm<Integer> algorithm) {
+
+        try (MockedStatic<MATE> ignored = mockStatic(MATE.class);
+             MockedStatic<Properties> propertyMock = mockStatic(Properties.class)) {
+            propertyMock.when(Properties::ALGORITHM).thenReturn(Algorithm.STANDARD_GA);
+            propertyMock.when(Properties::STEADY_STATE).thenReturn(true);
+            propertyMock.when(Properties::COVERAGE).thenReturn(Coverage.NO_COVERAGE);
+            algorithm.run();
+        }
+    }
+
+    /**
+     * Provides the parent selection of the steady-state mode.
+     */
+    private interface Selection {
+        List<IChromosome<Integer>> select(List<IChromosome<Integer>> population);
+    }
+
+    private StandardGeneticAlgorithm<Integer> createAlgorithm(final Selection selection) {
+
+        final ISelectionFunction<Integer> selectionFunction
+                = (population, fitnessFunctions) -> selection.select(population);
+
+        // the crossover creates two new chromosomes, it is executed on the calling thread
+        final ICrossOverFunction<Integer> crossOverFunction = parents -> {
+            final List<IChromosome<Integer>> offsprings = Arrays.asList(
+                    chromosome(), chromosome());
+            breedings.add(Arrays.asList(offsprings.get(0).getValue(), offsprings.get(1).getValue()));
+            return offsprings;
+        };
+
+        final IMutationFunction<Integer> mutationFunction = chromosome -> chromosome;
+
+        return new StandardGeneticAlgorithm<>(
+                this::chromosome,
+                selectionFunction,
+                Collections.singletonList(crossOverFunction),
+                Collections.singletonList(mutationFunction),
+                Collections.singletonList(FITNESS),
+                new IterTerminationCondition(ITERATIONS),
+                POPULATION_SIZE,
+                2 * POPULATION_SIZE,
+                1.0,
+                0.0);
+    }
+
+    private IChromosome<Integer> chromosome() {
+        return new Chromosome<>(nextValue.getAndIncrement());
+    }
+
+    private static Set<Integer> values(final List<IChromosome<Integer>> population) {
+
+        final Set<Integer> values = new HashSet<>();
+
+        for (final IChromosome<Integer> chromosome : population) {
+            values.add(chromosome.getValue());
+        }
+
+        return values;
+    }
+}
@@ -0,0 +1,86 @@
+package org.mate.exploration.genetic.algorithm;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the heap of the {@link TargetPopulation} used by {@link MIO}, where the worst chromosome
+ * is kept at the root.
+ */
+public class TargetPopulationTest {
+
+    /**
+     * Orders by fitness first and by the size (a shorter chromosome is better) second, the worst
+     * chromosome compares least.
+     */
+    private static final Comparator<double[]> FITNESS_AND_SIZE
+            = Comparator.<double[]>comparingDouble(chromosome -> chromosome[0])
+            .thenComparing(Comparator.<double[]>comparingDouble(chromosome -> chromosome[1]).reversed());
+
+    @Test(expected = IllegalStateException.class)
+    public void worstOfEmptyPopulationTest() {
+        new TargetPopulation<>(FITNESS_AND_SIZE).getWorst();
+    }
+
+    @Test
+    public void worstByFitnessAndSizeTest() {
+
+        final TargetPopulation<double[]> population = new TargetPopulation<>(FITNESS_AND_SIZE);
+        final double[] worst = {0.2, 5};
+        final double[] longer = {0.2, 7};
+
+        population.add(new double[]{0.8, 1});
+        population.add(worst);
+        population.add(new double[]{0.5, 3});
+
+        assertSame(worst, population.getWorst());
+
+        // same fitness but longer, thus worse
+        population.add(longer);
+        assertSame(longer, population.getWorst());
+
+        population.removeWorst();
+        assertSame(worst, population.getWorst());
+        assertEquals(3, population.size());
+
+        population.clear();
+        assertTrue(population.isEmpty());
+    }
+
+    @Test
+    public void removeWorstInOrderTest() {
+
+        final Random random = new Random(42);
+
+        for (int run = 0; run < 100; run++) {
+
+            final TargetPopulation<double[]> population = new TargetPopulation<>(FITNESS_AND_SIZE);
+            final List<double[]> chromosomes = new ArrayList<>();
+
+            for (int i = random.nextInt(40); i > 0; i--) {
+                // few distinct values enforce ties
+                final double[] chromosome = {random.nextInt(4) / 4.0, random.nextInt(4)};
+                chromosomes.add(chromosome);
+                population.add(chromosome);
+            }
+
+            Collections.sort(chromosomes, FITNESS_AND_SIZE);
+
+            for (final double[] expected : chromosomes) {
+                assertEquals(0, FITNESS_AND_SIZE.compare(expected, population.getWorst()));
+                population.removeWorst();
+            }
+
+            assertTrue(population.isEmpty());
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package org.mate.exploration.genetic.algorithm;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mate.Registry;
+import org.mate.utils.MersenneTwister;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the selection of the target from whose population {@link MIO} samples the next
+ * chromosome.
+ */
+public class TargetSelectorTest {
+
+    @Before
+    public void registerRandom() {
+        Registry.registerRandom(new MersenneTwister());
+    }
+
+    @Test
+    public void lowestSamplingCounterTest() {
+
+        final TargetSelector targetSelector = new TargetSelector(4);
+
+        // target 3 has an empty population, thus it is never selected
+        for (int target = 0; target < 3; target++) {
+            targetSelector.resetSamplingCounter(target);
+        }
+
+        targetSelector.increaseSamplingCounter(0);
+        targetSelector.increaseSamplingCounter(0);
+        targetSelector.increaseSamplingCounter(2);
+
+        /*
+        * Regression test: the target with the lowest sampling counter c_k is selected, formerly
+        * the target with the highest sampling counter was selected.
+         */
+        assertEquals(1, targetSelector.getBestTarget());
+
+        targetSelector.increaseSamplingCounter(1);
+        targetSelector.increaseSamplingCounter(1);
+
+        // equal sampling counters are ordered by the target
+        assertEquals(2, targetSelector.getBestTarget());
+
+        // adding a chromosome to T_k resets the sampling counter
+        targetSelector.resetSamplingCounter(0);
+        assertEquals(0, targetSelector.getSamplingCounter(0));
+        assertEquals(0, targetSelector.getBestTarget());
+    }
+
+    @Test
+    public void coveredTargetsTest() {
+
+        final TargetSelector targetSelector = new TargetSelector(3);
+        targetSelector.resetSamplingCounter(0);
+        targetSelector.resetSamplingCounter(1);
+
+        targetSelector.cover(0);
+        assertTrue(targetSelector.isCovered(0));
+        assertFalse(targetSelector.isEveryTargetCovered());
+        assertEquals(1, targetSelector.getBestTarget());
+
+        // a covered target never becomes selectable as an uncovered target again
+        targetSelector.resetSamplingCounter(0);
+        targetSelector.increaseSamplingCounter(1);
+        assertEquals(1, targetSelector.getBestTarget());
+
+        // once every target is covered, a random covered target is selected
+        targetSelector.cover(1);
+        assertTrue(targetSelector.isEveryTargetCovered());
+
+        for (int i = 0; i < 20; i++) {
+            final int target = targetSelector.getBestTarget();
+            assertTrue(target == 0 || target == 1);
+        }
+    }
+}
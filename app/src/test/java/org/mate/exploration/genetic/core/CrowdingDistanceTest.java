@@ -0,0 +1,168 @@
+package org.mate.exploration.genetic.core;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+
+/**
+ * Tests the crowding distances and the survivor selection of {@link CrowdingDistance}.
+ */
+public class CrowdingDistanceTest {
+
+    private static final double INF = Double.POSITIVE_INFINITY;
+
+    @Test
+    public void singleSolutionTest() {
+        assertArrayEquals(new double[]{INF},
+                CrowdingDistance.getCrowdingDistances(new double[][]{{0.5, 0.5}}), 0.0);
+    }
+
+    @Test
+    public void twoSolutionsTest() {
+        assertArrayEquals(new double[]{INF, INF},
+                CrowdingDistance.getCrowdingDistances(new double[][]{{0.0, 1.0}, {1.0, 0.0}}), 0.0);
+    }
+
+    @Test
+    public void boundarySolutionsTest() {
+
+        final double[][] objectives = {{0.0}, {0.5}, {1.0}, {0.25}};
+
+        assertArrayEquals(new double[]{INF, 0.75, INF, 0.5},
+                CrowdingDistance.getCrowdingDistances(objectives), 0.0);
+    }
+
+    @Test
+    public void equalObjectiveValuesTest() {
+
+        // all solutions share the worst (and best) value
+        assertArrayEquals(new double[]{INF, INF, INF},
+                CrowdingDistance.getCrowdingDistances(new double[][]{{0.3}, {0.3}, {0.3}}), 0.0);
+
+        // all solutions sharing a boundary value are boundary solutions
+        final double[][] objectives = {{0.0}, {1.0}, {0.5}, {0.0}, {1.0}};
+
+        assertArrayEquals(new double[]{INF, INF, 1.0, INF, INF},
+                CrowdingDistance.getCrowdingDistances(objectives), 0.0);
+    }
+
+    @Test
+    public void subsetOfSolutionsTest() {
+
+        final double[][] objectives = {{0.0}, {0.9}, {0.4}, {1.0}, {0.6}};
+
+        // only the given rows are considered, the distances are in the order of the rows
+        assertArrayEquals(new double[]{1.0, INF, INF},
+                CrowdingDistance.getCrowdingDistances(objectives, new int[]{2, 3, 0}), 1e-9);
+    }
+
+    @Test
+    public void randomMatricesTest() {
+
+        final Random random = new Random(42);
+
+        for (int run = 0; run < 200; run++) {
+
+            final int size = 1 + random.nextInt(30);
+            final int numberOfObjectives = 1 + random.nextInt(4);
+            final double[][] objectives = new double[size][numberOfObjectives];
+
+            // distinct values, since the handling of ties depends on the sort order
+            for (final double[] solution : objectives) {
+                for (int objective = 0; objective < numberOfObjectives; objective++) {
+                    solution[objective] = random.nextDouble();
+                }
+            }
+
+            assertArrayEquals(getCrowdingDistances(objectives),
+                    CrowdingDistance.getCrowdingDistances(objectives), 1e-9);
+        }
+    }
+
+    @Test
+    public void allSolutionsSurviveTest() {
+
+        final int[] ranks = {2, 1, 2, 1};
+
+        // sorted by rank, the order within a rank is preserved
+        assertArrayEquals(new int[]{1, 3, 0, 2},
+                CrowdingDistance.getSurvivors(new double[4][1], ranks, 5));
+    }
+
+    @Test
+    public void fullFrontsSurviveTest() {
+
+        final int[] ranks = {3, 1, 3, 5, 1};
+
+        assertArrayEquals(new int[]{1, 4},
+                CrowdingDistance.getSurvivors(new double[5][1], ranks, 2));
+        assertArrayEquals(new int[]{1, 4, 0, 2, 3},
+                CrowdingDistance.getSurvivors(new double[5][1], ranks, 5));
+    }
+
+    @Test
+    public void leastCrowdedSurviveTest() {
+
+        final double[][] objectives = {
+                {0.0, 1.0}, {0.1, 0.9}, {0.5, 0.5}, {0.9, 0.1}, {1.0, 0.0}, {1.0, 1.0}
+        };
+        final int[] ranks = {2, 2, 2, 2, 2, 1};
+
+        // boundary solutions first, then the least crowded solution {0.5, 0.5}
+        assertArrayEquals(new int[]{5, 0, 4, 2},
+                CrowdingDistance.getSurvivors(objectives, ranks, 4));
+        assertArrayEquals(new int[]{5, 0},
+                CrowdingDistance.getSurvivors(objectives, ranks, 2));
+    }
+
+    @Test
+    public void smallLastFrontTest() {
+
+        final double[][] objectives = {{0.2}, {0.8}, {0.5}, {0.1}};
+
+        // a last front of size 1 and 2
+        assertArrayEquals(new int[]{0, 2, 3},
+                CrowdingDistance.getSurvivors(objectives, new int[]{1, 4, 1, 2}, 3));
+        assertArrayEquals(new int[]{1, 0},
+                CrowdingDistance.getSurvivors(objectives, new int[]{2, 1, 2, 3}, 2));
+    }
+
+    /**
+     * Computes the crowding distances as outlined in the NSGA-II paper by sorting the solutions for
+     * each objective. The solutions must have distinct objective values.
+     *
+     * @param objectives The objective matrix.
+     * @return Returns the crowding distance of each solution.
+     */
+    private static double[] getCrowdingDistances(final double[][] objectives) {
+
+        final int size = objectives.length;
+        final double[] distances = new double[size];
+        final Integer[] order = new Integer[size];
+
+        for (int objective = 0; objective < objectives[0].length; objective++) {
+
+            final int column = objective;
+
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+
+            Arrays.sort(order, Comparator.comparingDouble(i -> objectives[i][column]));
+
+            distances[order[0]] = INF;
+            distances[order[size - 1]] = INF;
+
+            for (int i = 1; i < size - 1; i++) {
+                distances[order[i]] += objectives[order[i + 1]][column]
+                        - objectives[order[i - 1]][column];
+            }
+        }
+
+        return distances;
+    }
+}
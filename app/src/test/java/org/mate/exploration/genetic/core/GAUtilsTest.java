@@ -0,0 +1,79 @@
+package org.mate.exploration.genetic.core;
+
+import org.junit.Test;
+import org.mate.exploration.genetic.chromosome.Chromosome;
+import org.mate.exploration.genetic.chromosome.IChromosome;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the survivor selection of {@link GAUtils#getSurvivors(List, double[][], int[], int)}.
+ */
+public class GAUtilsTest {
+
+    @Test
+    public void survivorsSortedByRankTest() {
+
+        final List<IChromosome<String>> population = population("a", "b", "c", "d", "e");
+
+        // non-contiguous ranks, the counting sort keeps the order of the population within a rank
+        final int[] ranks = {3, 1, 7, 3, 1};
+
+        assertEquals(chromosomes(population, 1, 4, 0, 3, 2),
+                GAUtils.getSurvivors(population, new double[5][1], ranks, 5));
+        assertEquals(chromosomes(population, 1, 4, 0, 3, 2),
+                GAUtils.getSurvivors(population, new double[5][1], ranks, 10));
+    }
+
+    @Test
+    public void survivorsOfLastFrontTest() {
+
+        final List<IChromosome<String>> population = population("a", "b", "c", "d");
+        final double[][] objectives = {{0.4}, {0.0}, {1.0}, {0.5}};
+        final int[] ranks = {1, 1, 1, 1};
+
+        // the boundary solutions have an infinite crowding distance
+        assertEquals(chromosomes(population, 1, 2),
+                GAUtils.getSurvivors(population, objectives, ranks, 2));
+
+        // the remaining solutions are ordered by their crowding distance, i.e. 0.6 before 0.5
+        assertEquals(chromosomes(population, 1, 2, 3),
+                GAUtils.getSurvivors(population, objectives, ranks, 3));
+    }
+
+    @Test
+    public void singleSurvivorTest() {
+
+        final List<IChromosome<String>> population = population("a");
+
+        assertEquals(population, GAUtils.getSurvivors(population, new double[1][1], new int[]{1}, 1));
+        assertTrue(GAUtils.getSurvivors(population, new double[1][1], new int[]{1}, 0).isEmpty());
+    }
+
+    private static List<IChromosome<String>> population(final String... values) {
+
+        final List<IChromosome<String>> population = new ArrayList<>();
+
+        for (final String value : values) {
+            population.add(new Chromosome<>(value));
+        }
+
+        return population;
+    }
+
+    private static List<IChromosome<String>> chromosomes(final List<IChromosome<String>> population,
+                                                         final int... indices) {
+
+        final List<IChromosome<String>> chromosomes = new ArrayList<>();
+
+        for (final int index : indices) {
+            chromosomes.add(population.get(index));
+        }
+
+        return chromosomes;
+    }
+}
@@ -0,0 +1,128 @@
+package org.mate.exploration.genetic.core;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+
+/**
+ * Compares the pareto fronts computed by {@link NonDominatedSorting} with the fronts obtained by
+ * repeatedly peeling off the non-dominated solutions based on a pairwise dominance check.
+ */
+public class NonDominatedSortingTest {
+
+    @Test
+    public void emptyMatrixTest() {
+        assertArrayEquals(new int[0], NonDominatedSorting.sort(new double[0][]));
+    }
+
+    @Test
+    public void singleObjectiveTest() {
+
+        final double[][] objectives = {{0.5}, {1.0}, {0.0}, {0.5}, {1.0}};
+
+        // equal values share a front
+        assertArrayEquals(new int[]{2, 1, 3, 2, 1}, NonDominatedSorting.sort(objectives));
+    }
+
+    @Test
+    public void duplicatesTest() {
+
+        final double[][] objectives = {{0.2, 0.8}, {0.2, 0.8}, {0.2, 0.8}};
+
+        // identical solutions don't dominate each other
+        assertArrayEquals(new int[]{1, 1, 1}, NonDominatedSorting.sort(objectives));
+    }
+
+    @Test
+    public void tiesTest() {
+
+        final double[][] objectives = {
+                {1.0, 0.0}, {0.0, 1.0}, {0.5, 0.5}, // first front
+                {0.5, 0.0}, {0.0, 0.5}, // dominated by the first front despite the ties
+                {0.0, 0.0} // dominated by all others
+        };
+
+        assertArrayEquals(new int[]{1, 1, 1, 2, 2, 3}, NonDominatedSorting.sort(objectives));
+    }
+
+    @Test
+    public void randomMatricesTest() {
+
+        final Random random = new Random(42);
+
+        for (int run = 0; run < 500; run++) {
+
+            final int size = random.nextInt(40);
+            final int numberOfObjectives = 1 + random.nextInt(4);
+            // few distinct values enforce ties and duplicates
+            final int distinctValues = 1 + random.nextInt(5);
+            final double[][] objectives = new double[size][numberOfObjectives];
+
+            for (final double[] solution : objectives) {
+                for (int objective = 0; objective < numberOfObjectives; objective++) {
+                    solution[objective] = (double) random.nextInt(distinctValues) / distinctValues;
+                }
+            }
+
+            assertArrayEquals(bruteForceSort(objectives), NonDominatedSorting.sort(objectives));
+        }
+    }
+
+    /**
+     * Assigns the ranks by repeatedly removing the solutions that are not dominated by any
+     * remaining solution.
+     *
+     * @param objectives The objective matrix.
+     * @return Returns the rank of each solution.
+     */
+    private static int[] bruteForceSort(final double[][] objectives) {
+
+        final int[] ranks = new int[objectives.length];
+        int assigned = 0;
+
+        for (int rank = 1; assigned < objectives.length; rank++) {
+
+            final boolean[] isInFront = new boolean[objectives.length];
+
+            for (int i = 0; i < objectives.length; i++) {
+
+                if (ranks[i] != 0) {
+                    continue;
+                }
+
+                boolean isDominated = false;
+
+                for (int j = 0; j < objectives.length && !isDominated; j++) {
+                    isDominated = ranks[j] == 0 && dominates(objectives[j], objectives[i]);
+                }
+
+                isInFront[i] = !isDominated;
+            }
+
+            for (int i = 0; i < objectives.length; i++) {
+                if (isInFront[i]) {
+                    ranks[i] = rank;
+                    assigned++;
+                }
+            }
+        }
+
+        return ranks;
+    }
+
+    private static boolean dominates(final double[] first, final double[] second) {
+
+        boolean isBetterInOneObjective = false;
+
+        for (int objective = 0; objective < first.length; objective++) {
+            if (first[objective] < second[objective]) {
+                return false;
+            }
+            isBetterInOneObjective |= first[objective] > second[objective];
+        }
+
+        return isBetterInOneObjective;
+    }
+}
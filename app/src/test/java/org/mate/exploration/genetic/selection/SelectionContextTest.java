@@ -0,0 +1,243 @@
+package org.mate.exploration.genetic.selection;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mate.Registry;
+import org.mate.exploration.genetic.chromosome.Chromosome;
+import org.mate.exploration.genetic.chromosome.IChromosome;
+import org.mate.exploration.genetic.fitness.IFitnessFunction;
+import org.mate.utils.MersenneTwister;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares the draws of the {@link SelectionContext}, i.e. the alias tables combined with the
+ * rejection of already selected chromosomes, with spinning a roulette wheel of the remaining
+ * chromosomes directly. For each case, the relative frequency of each ordered selection must be
+ * within five standard deviations of its exact probability.
+ */
+public class SelectionContextTest {
+
+    private static final int DRAWS = 100000;
+
+    @Before
+    public void registerRandom() {
+        Registry.registerRandom(new MersenneTwister(42));
+    }
+
+    @After
+    public void unregisterRandom() {
+        Registry.unregisterRandom();
+    }
+
+    @Test
+    public void fitnessProportionateTest() {
+        final double[] fitness = {0.1, 0.4, 0.2, 0.05, 0.25};
+        testSelectByFitness(fitness, true, 3);
+        testSelectByFitness(fitness, false, 3);
+    }
+
+    @Test
+    public void fitnessProportionateFallbackTest() {
+        // after selecting the first chromosome, most draws exceed the maximal number of rejections
+        testSelectByFitness(new double[]{0.97, 0.01, 0.01, 0.01}, true, 4);
+    }
+
+    @Test
+    public void zeroRemainingFitnessTest() {
+
+        // the remaining chromosomes are picked randomly once the first chromosome is selected
+        final Map<List<Integer>, Integer> counts
+                = testSelectByFitness(new double[]{0.0, 0.0, 0.8, 0.0}, true, 3);
+
+        for (final List<Integer> selection : counts.keySet()) {
+            assertEquals(2, (int) selection.get(0));
+        }
+
+        // all chromosomes have a fitness of zero
+        testSelectByFitness(new double[]{1.0, 1.0, 1.0}, false, 2);
+    }
+
+    @Test
+    public void rankTest() {
+        final double[] fitness = {0.3, 0.9, 0.1, 0.5, 0.7};
+        testSelectByRank(fitness, true, 2);
+        testSelectByRank(fitness, false, 3);
+    }
+
+    @Test
+    public void rankFallbackTest() {
+        // the last draws frequently reject the few remaining ranks
+        testSelectByRank(new double[]{0.3, 0.9, 0.1, 0.5}, true, 4);
+    }
+
+    /**
+     * Assigns the weight to each remaining chromosome of a roulette wheel.
+     */
+    private interface Wheel {
+        double weight(int chromosome, boolean[] isSelected);
+    }
+
+    private static Map<List<Integer>, Integer> testSelectByFitness(final double[] fitness,
+                                                                   final boolean isMaximizing,
+                                                                   final int size) {
+
+        final SelectionContext<Integer> context = context(fitness, isMaximizing);
+        final Map<List<Integer>, Integer> counts = new HashMap<>();
+
+        for (int draw = 0; draw < DRAWS; draw++) {
+            count(counts, context.selectByFitness(size));
+        }
+
+        final Wheel wheel = (chromosome, isSelected)
+                -> isMaximizing ? fitness[chromosome] : 1.0 - fitness[chromosome];
+
+        assertDistribution(getDistribution(fitness.length, size, wheel), counts);
+        return counts;
+    }
+
+    private static void testSelectByRank(final double[] fitness, final boolean isMaximizing,
+                                         final int size) {
+
+        final SelectionContext<Integer> context = context(fitness, isMaximizing);
+        final Map<List<Integer>, Integer> counts = new HashMap<>();
+
+        for (int draw = 0; draw < DRAWS; draw++) {
+            count(counts, context.selectByRank(size));
+        }
+
+        // the rank among the remaining chromosomes, the worst chromosome has rank 1
+        final Wheel wheel = (chromosome, isSelected) -> {
+            int rank = 1;
+            for (int other = 0; other < fitness.length; other++) {
+                if (!isSelected[other] && (isMaximizing
+                        ? fitness[other] < fitness[chromosome] : fitness[other] > fitness[chromosome])) {
+                    rank++;
+                }
+            }
+            return rank;
+        };
+
+        assertDistribution(getDistribution(fitness.length, size, wheel), counts);
+    }
+
+    private static SelectionContext<Integer> context(final double[] fitness,
+                                                     final boolean isMaximizing) {
+
+        final IFitnessFunction<Integer> fitnessFunction = new IFitnessFunction<Integer>() {
+
+            @Override
+            public double getFitness(IChromosome<Integer> chromosome) {
+                return fitness[chromosome.getValue()];
+            }
+
+            @Override
+            public boolean isMaximizing() {
+                return isMaximizing;
+            }
+
+            @Override
+            public double getNormalizedFitness(IChromosome<Integer> chromosome) {
+                return fitness[chromosome.getValue()];
+            }
+        };
+
+        final List<IChromosome<Integer>> population = new ArrayList<>();
+
+        for (int i = 0; i < fitness.length; i++) {
+            population.add(new Chromosome<>(i));
+        }
+
+        return SelectionContext.of(null, population, fitnessFunction);
+    }
+
+    private static void count(final Map<List<Integer>, Integer> counts, final int[] selection) {
+
+        final List<Integer> key = new ArrayList<>(selection.length);
+
+        for (final int chromosome : selection) {
+            key.add(chromosome);
+        }
+
+        counts.merge(key, 1, Integer::sum);
+    }
+
+    /**
+     * Computes the exact probability of each ordered selection when spinning the roulette wheel of
+     * the remaining chromosomes for each draw. If the remaining weights sum up to zero, a remaining
+     * chromosome is picked uniformly at random.
+     */
+    private static Map<List<Integer>, Double> getDistribution(final int populationSize,
+                                                              final int size, final Wheel wheel) {
+
+        final Map<List<Integer>, Double> distribution = new HashMap<>();
+        addSelections(distribution, new ArrayList<>(), new boolean[populationSize], 1.0, size, wheel);
+        return distribution;
+    }
+
+    private static void addSelections(final Map<List<Integer>, Double> distribution,
+                                      final List<Integer> selection, final boolean[] isSelected,
+                                      final double probability, final int size, final Wheel wheel) {
+
+        if (selection.size() == size) {
+            distribution.put(new ArrayList<>(selection), probability);
+            return;
+        }
+
+        final double[] weights = new double[isSelected.length];
+        double sum = 0.0;
+        int remaining = 0;
+
+        for (int i = 0; i < isSelected.length; i++) {
+            if (!isSelected[i]) {
+                weights[i] = wheel.weight(i, isSelected);
+                sum += weights[i];
+                remaining++;
+            }
+        }
+
+        for (int i = 0; i < isSelected.length; i++) {
+
+            if (isSelected[i]) {
+                continue;
+            }
+
+            final double p = sum == 0.0 ? 1.0 / remaining : weights[i] / sum;
+
+            if (p > 0.0) {
+                selection.add(i);
+                isSelected[i] = true;
+                addSelections(distribution, selection, isSelected, probability * p, size, wheel);
+                isSelected[i] = false;
+                selection.remove(selection.size() - 1);
+            }
+        }
+    }
+
+    private static void assertDistribution(final Map<List<Integer>, Double> expected,
+                                           final Map<List<Integer>, Integer> counts) {
+
+        for (final List<Integer> selection : counts.keySet()) {
+            assertTrue("Unexpected selection " + selection, expected.containsKey(selection));
+        }
+
+        for (final Map.Entry<List<Integer>, Double> entry : expected.entrySet()) {
+
+            final double p = entry.getValue();
+            final double frequency = counts.getOrDefault(entry.getKey(), 0) / (double) DRAWS;
+            final double tolerance = 5 * Math.sqrt(p * (1 - p) / DRAWS);
+
+            assertTrue("Selection " + entry.getKey() + " has frequency " + frequency
+                            + " but probability " + p + "!",
+                    Math.abs(frequency - p) <= tolerance + 1e-9);
+        }
+    }
+}
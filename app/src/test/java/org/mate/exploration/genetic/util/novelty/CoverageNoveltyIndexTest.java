@@ -0,0 +1,227 @@
+package org.mate.exploration.genetic.util.novelty;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mate.exploration.genetic.chromosome.Chromosome;
+import org.mate.exploration.genetic.chromosome.IChromosome;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the incrementally maintained nearest neighbours and archive novelty of the
+ * {@link CoverageNoveltyIndex} against a brute-force k-nearest-neighbour computation on the Jaccard
+ * distances of the coverage vectors.
+ */
+public class CoverageNoveltyIndexTest {
+
+    private static final int NEAREST_NEIGHBOURS = 3;
+    private static final int CAPACITY = 8;
+
+    /**
+     * The number of objectives spans multiple words of a packed coverage vector.
+     */
+    private static final int NUMBER_OF_OBJECTIVES = 150;
+
+    private static final double DELTA = 1e-9;
+
+    private final Map<IChromosome<String>, BitSet> coverage = new IdentityHashMap<>();
+    private final Random random = new Random(42);
+
+    private CoverageNoveltyIndex<String> index;
+
+    @Before
+    public void setUp() {
+        coverage.clear();
+        index = new CoverageNoveltyIndex<>(NEAREST_NEIGHBOURS, CAPACITY, coverage::get);
+    }
+
+    @Test
+    public void addAndReplaceTest() {
+
+        final List<IChromosome<String>> archive = new ArrayList<>();
+
+        for (int i = 0; i < CAPACITY; i++) {
+            final IChromosome<String> chromosome = newChromosome("a" + i);
+            assertEquals(i, index.add(chromosome));
+            archive.add(chromosome);
+            checkIndex(archive);
+        }
+
+        for (int i = 0; i < 50; i++) {
+            final int entry = random.nextInt(CAPACITY);
+            final IChromosome<String> chromosome = newChromosome("r" + i);
+            index.set(entry, chromosome);
+            archive.set(entry, chromosome);
+            checkIndex(archive);
+        }
+    }
+
+    @Test
+    public void replaceWithDuplicatesTest() {
+
+        final List<IChromosome<String>> archive = new ArrayList<>();
+        final BitSet shared = randomCoverage(0.3);
+
+        for (int i = 0; i < CAPACITY; i++) {
+            final IChromosome<String> chromosome = newChromosome("a" + i, (BitSet) shared.clone());
+            index.add(chromosome);
+            archive.add(chromosome);
+        }
+
+        checkIndex(archive);
+
+        // replacing the entries one by one turns the ties into distinct distances and back again
+        for (int i = 0; i < 3 * CAPACITY; i++) {
+            final int entry = i % CAPACITY;
+            final BitSet bits = i < CAPACITY ? randomCoverage(0.3) : (BitSet) shared.clone();
+            final IChromosome<String> chromosome = newChromosome("r" + i, bits);
+            index.set(entry, chromosome);
+            archive.set(entry, chromosome);
+            checkIndex(archive);
+        }
+    }
+
+    @Test
+    public void emptyCoverageTest() {
+
+        final IChromosome<String> empty = newChromosome("empty", new BitSet());
+        final IChromosome<String> other = newChromosome("other", new BitSet());
+
+        assertEquals(1.0, index.getNovelty(empty, new ArrayList<>()), DELTA);
+
+        index.add(empty);
+        assertEquals(1.0, index.getArchiveNovelty(0), DELTA);
+
+        // two empty coverage vectors are considered equal
+        index.add(other);
+        checkIndex(Arrays.asList(empty, other));
+        assertEquals(0.0, index.getArchiveNovelty(0), DELTA);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void addToFullArchiveTest() {
+        for (int i = 0; i <= CAPACITY; i++) {
+            index.add(newChromosome("a" + i));
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void replaceMissingEntryTest() {
+        index.add(newChromosome("a"));
+        index.set(1, newChromosome("b"));
+    }
+
+    /**
+     * Checks the archive novelty, the least novel entry and the novelty of fresh chromosomes
+     * against the brute-force computation.
+     *
+     * @param archive The expected archive entries.
+     */
+    private void checkIndex(final List<IChromosome<String>> archive) {
+
+        assertEquals(archive.size(), index.size());
+
+        double leastNovelty = Double.POSITIVE_INFINITY;
+
+        for (int i = 0; i < archive.size(); i++) {
+            final List<IChromosome<String>> others = new ArrayList<>(archive);
+            others.remove(i);
+            final double novelty = bruteForceNovelty(archive.get(i), others);
+            assertEquals("Archive novelty of entry " + i, novelty, index.getArchiveNovelty(i), DELTA);
+            leastNovelty = Math.min(leastNovelty, novelty);
+        }
+
+        // ties may be broken arbitrarily
+        assertEquals(leastNovelty, index.getArchiveNovelty(index.getLeastNovelArchiveEntry()), DELTA);
+
+        final List<IChromosome<String>> population = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            population.add(newChromosome("p" + i));
+        }
+
+        final IChromosome<String> chromosome = population.get(0);
+        final List<IChromosome<String>> neighbours = new ArrayList<>(population);
+        neighbours.addAll(archive);
+
+        assertEquals(bruteForceNovelty(chromosome, neighbours),
+                index.getNovelty(chromosome, population), DELTA);
+    }
+
+    /**
+     * Computes the average Jaccard distance of the given chromosome to its k nearest neighbours.
+     *
+     * @param chromosome The given chromosome.
+     * @param neighbours The potential neighbours.
+     * @return Returns the novelty of the chromosome or {@code 1} if there are no neighbours.
+     */
+    private double bruteForceNovelty(final IChromosome<String> chromosome,
+                                     final List<IChromosome<String>> neighbours) {
+
+        if (neighbours.isEmpty()) {
+            return 1.0;
+        }
+
+        final double[] distances = new double[neighbours.size()];
+
+        for (int i = 0; i < distances.length; i++) {
+            distances[i] = jaccardDistance(coverage.get(chromosome), coverage.get(neighbours.get(i)));
+        }
+
+        Arrays.sort(distances);
+
+        final int k = Math.min(NEAREST_NEIGHBOURS, distances.length);
+        double sum = 0.0;
+        for (int i = 0; i < k; i++) {
+            sum += distances[i];
+        }
+
+        return sum / k;
+    }
+
+    private static double jaccardDistance(final BitSet first, final BitSet second) {
+
+        final BitSet intersection = (BitSet) first.clone();
+        intersection.and(second);
+
+        final BitSet union = (BitSet) first.clone();
+        union.or(second);
+
+        return union.isEmpty() ? 0.0
+                : 1.0 - (double) intersection.cardinality() / union.cardinality();
+    }
+
+    private IChromosome<String> newChromosome(final String name) {
+        // vary the density, such that some chromosomes are much closer than others
+        return newChromosome(name, randomCoverage(0.05 + 0.5 * random.nextDouble()));
+    }
+
+    private IChromosome<String> newChromosome(final String name, final BitSet bits) {
+        final IChromosome<String> chromosome = new Chromosome<>(name);
+        coverage.put(chromosome, bits);
+        return chromosome;
+    }
+
+    private BitSet randomCoverage(final double density) {
+
+        final BitSet bits = new BitSet(NUMBER_OF_OBJECTIVES);
+
+        // trailing objectives are often uncovered, which shortens the packed vectors
+        final int objectives = 1 + random.nextInt(NUMBER_OF_OBJECTIVES);
+
+        for (int i = 0; i < objectives; i++) {
+            if (random.nextDouble() < density) {
+                bits.set(i);
+            }
+        }
+
+        return bits;
+    }
+}
@@ -0,0 +1,304 @@
+package org.mate.model.fsm;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mate.Properties;
+import org.mate.interaction.action.ui.ActionType;
+import org.mate.interaction.action.ui.PrimitiveAction;
+import org.mate.state.IScreenState;
+import org.mockito.MockedStatic;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the transition indices of the {@link FSM} and the shortest path trees cached by the
+ * {@link NavigationCache} against a fresh BFS traversal after interleaved additions and removals
+ * of transitions.
+ */
+public class FSMTest {
+
+    private static final String PACKAGE_NAME = "org.example.app";
+
+    private static final int NUMBER_OF_STATES = 12;
+
+    private static final int NUMBER_OF_ACTIVITIES = 4;
+
+    private MockedStatic<Properties> propertyMock;
+
+    private final Random random = new Random(42);
+
+    private final List<State> states = new ArrayList<>();
+
+    private final Set<Transition> transitions = new HashSet<>();
+
+    private FSM fsm;
+
+    @Before
+    public void setUp() {
+
+        propertyMock = mockStatic(Properties.class);
+
+        fsm = new FSM(newState(0), PACKAGE_NAME);
+        states.add(fsm.getRootState());
+
+        for (int id = 1; id < NUMBER_OF_STATES; id++) {
+            states.add(newState(id));
+        }
+    }
+
+    @After
+    public void tearDown() {
+        propertyMock.close();
+    }
+
+    @Test
+    public void shortestPathAfterAddAndRemoveTest() {
+
+        for (int step = 0; step < 500; step++) {
+
+            if (transitions.isEmpty() || random.nextDouble() < 0.7) {
+                addRandomTransition();
+            } else {
+                removeRandomTransition();
+            }
+
+            checkIndices();
+
+            // more sources than cached trees, such that trees are evicted and computed again
+            for (int query = 0; query < 3; query++) {
+                final State from = states.get(random.nextInt(2 * NUMBER_OF_STATES / 3));
+                final State to = states.get(1 + random.nextInt(NUMBER_OF_STATES - 1));
+                checkShortestPath(from, to);
+                checkShortestPathToActivity(from, activity(random.nextInt(NUMBER_OF_ACTIVITIES)));
+            }
+        }
+    }
+
+    @Test
+    public void shortcutRelaxesCachedTreeTest() {
+
+        // a chain S0 -> S1 -> ... -> S5
+        for (int id = 0; id < 5; id++) {
+            addTransition(states.get(id), states.get(id + 1), id);
+        }
+
+        assertEquals(5, fsm.shortestPath(states.get(0), states.get(5)).get().size());
+
+        // the shortcut S1 -> S4 shortens the cached tree of S0
+        addTransition(states.get(1), states.get(4), 10);
+        checkShortestPath(states.get(0), states.get(5));
+        assertEquals(3, fsm.shortestPath(states.get(0), states.get(5)).get().size());
+
+        // removing the shortcut lengthens the path again
+        fsm.removeFromTransitions(new Transition(states.get(1), states.get(4), action(10)));
+        transitions.remove(new Transition(states.get(1), states.get(4), action(10)));
+        checkShortestPath(states.get(0), states.get(5));
+
+        // removing a chain transition makes the target unreachable
+        fsm.removeFromTransitions(new Transition(states.get(2), states.get(3), action(2)));
+        transitions.remove(new Transition(states.get(2), states.get(3), action(2)));
+        assertFalse(fsm.shortestPath(states.get(0), states.get(5)).isPresent());
+    }
+
+    @Test
+    public void retainTransitionsTest() {
+
+        for (int i = 0; i < 40; i++) {
+            addRandomTransition();
+        }
+
+        // cache some trees before most transitions are removed
+        for (int id = 0; id < NUMBER_OF_STATES; id++) {
+            fsm.shortestPath(states.get(id), states.get(NUMBER_OF_STATES - 1));
+        }
+
+        final Set<Transition> retained = new HashSet<>();
+        for (final Transition transition : transitions) {
+            if (random.nextBoolean()) {
+                retained.add(transition);
+            }
+        }
+
+        fsm.retainTransitions(retained);
+        transitions.retainAll(retained);
+        checkIndices();
+
+        for (final State from : states) {
+            for (final State to : states) {
+                if (to != fsm.getRootState()) {
+                    checkShortestPath(from, to);
+                }
+            }
+        }
+    }
+
+    private void addRandomTransition() {
+        final State source = states.get(random.nextInt(NUMBER_OF_STATES));
+        final State target = states.get(1 + random.nextInt(NUMBER_OF_STATES - 1));
+        // few distinct actions, such that transitions are added repeatedly
+        addTransition(source, target, random.nextInt(3));
+    }
+
+    private void addTransition(final State source, final State target, final int action) {
+        final Transition transition = new Transition(source, target, action(action));
+        fsm.addTransition(transition);
+        transitions.add(transition);
+    }
+
+    private void removeRandomTransition() {
+        final List<Transition> candidates = new ArrayList<>(transitions);
+        final Transition transition = candidates.get(random.nextInt(candidates.size()));
+        assertTrue(fsm.removeFromTransitions(transition));
+        transitions.remove(transition);
+    }
+
+    /**
+     * Checks the transition indices of the FSM against the expected transitions.
+     */
+    private void checkIndices() {
+
+        assertEquals(transitions, fsm.getTransitions());
+
+        for (final State state : states) {
+
+            final Set<Transition> outgoing = new HashSet<>();
+            for (final Transition transition : transitions) {
+                if (transition.getSource().equals(state)) {
+                    outgoing.add(transition);
+                }
+            }
+
+            assertEquals(outgoing, fsm.getOutgoingTransitions(state));
+        }
+    }
+
+    /**
+     * Checks that the path returned by the FSM is a shortest path between the given states.
+     *
+     * @param from The source state.
+     * @param to The target state.
+     */
+    private void checkShortestPath(final State from, final State to) {
+
+        final Map<State, Integer> distances = breadthFirstSearch(from);
+        final Optional<List<Transition>> path = fsm.shortestPath(from, to);
+
+        assertEquals("Reachability of " + to + " from " + from,
+                distances.containsKey(to), path.isPresent());
+
+        if (path.isPresent()) {
+            checkPath(from, path.get());
+            assertEquals(to, end(from, path.get()));
+            assertEquals((int) distances.get(to), path.get().size());
+        }
+    }
+
+    /**
+     * Checks that the path returned by the FSM leads to a nearest state of the given activity.
+     *
+     * @param from The source state.
+     * @param activity The target activity.
+     */
+    private void checkShortestPathToActivity(final State from, final String activity) {
+
+        final Map<State, Integer> distances = breadthFirstSearch(from);
+        int nearest = Integer.MAX_VALUE;
+
+        for (final Map.Entry<State, Integer> entry : distances.entrySet()) {
+            if (entry.getKey() != fsm.getRootState()
+                    && entry.getKey().getScreenState().getActivityName().equals(activity)) {
+                nearest = Math.min(nearest, entry.getValue());
+            }
+        }
+
+        final Optional<List<Transition>> path = fsm.shortestPathToActivity(from, activity);
+        assertEquals(nearest != Integer.MAX_VALUE, path.isPresent());
+
+        if (path.isPresent()) {
+            checkPath(from, path.get());
+            assertEquals(activity, end(from, path.get()).getScreenState().getActivityName());
+            assertEquals(nearest, path.get().size());
+        }
+    }
+
+    /**
+     * Checks that the given path is a chain of existing transitions starting in the given state.
+     */
+    private void checkPath(final State from, final List<Transition> path) {
+
+        State state = from;
+
+        for (final Transition transition : path) {
+            assertTrue("Removed transition on path: " + transition, transitions.contains(transition));
+            assertEquals(state, transition.getSource());
+            state = transition.getTarget();
+        }
+    }
+
+    private static State end(final State from, final List<Transition> path) {
+        return path.isEmpty() ? from : path.get(path.size() - 1).getTarget();
+    }
+
+    /**
+     * Computes the distances of all states reachable from the given state by a fresh BFS over the
+     * expected transitions.
+     */
+    private Map<State, Integer> breadthFirstSearch(final State from) {
+
+        final Map<State, List<State>> successors = new HashMap<>();
+        for (final Transition transition : transitions) {
+            successors.computeIfAbsent(transition.getSource(), s -> new ArrayList<>())
+                    .add(transition.getTarget());
+        }
+
+        final Map<State, Integer> distances = new HashMap<>();
+        final Queue<State> queue = new LinkedList<>();
+        distances.put(from, 0);
+        queue.add(from);
+
+        while (!queue.isEmpty()) {
+            final State state = queue.poll();
+            for (final State successor : successors.getOrDefault(state, Collections.emptyList())) {
+                if (!distances.containsKey(successor)) {
+                    distances.put(successor, distances.get(state) + 1);
+                    queue.add(successor);
+                }
+            }
+        }
+
+        return distances;
+    }
+
+    private static State newState(final int id) {
+        final IScreenState screenState = mock(IScreenState.class);
+        when(screenState.getActivityName()).thenReturn(activity(id % NUMBER_OF_ACTIVITIES));
+        when(screenState.getPackageName()).thenReturn(PACKAGE_NAME);
+        return new State(id, screenState);
+    }
+
+    private static String activity(final int index) {
+        return PACKAGE_NAME + ".Activity" + index;
+    }
+
+    private static PrimitiveAction action(final int index) {
+        return new PrimitiveAction(index, index, ActionType.CLICK, activity(0));
+    }
+}
@@ -0,0 +1,212 @@
+package org.mate.model.fsm.snapshot;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mate.MATE;
+import org.mate.Properties;
+import org.mate.interaction.action.Action;
+import org.mate.interaction.action.ActionResult;
+import org.mate.interaction.action.ui.ActionType;
+import org.mate.interaction.action.ui.PrimitiveAction;
+import org.mate.model.fsm.State;
+import org.mate.state.IScreenState;
+import org.mockito.MockedStatic;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+
+/**
+ * Writes GUI model journals and reads them back as {@link GUIModelSnapshot}, in particular
+ * journals whose last record has been only partially written before a new run appended to them.
+ */
+public class GUIModelJournalTest {
+
+    private static final String PACKAGE_NAME = "org.example.app";
+
+    private static final Action CLICK = new PrimitiveAction(1, 1, ActionType.CLICK, "main");
+
+    private static final Action LONG_CLICK
+            = new PrimitiveAction(1, 1, ActionType.LONG_CLICK, "main");
+
+    private static final Action BACK = new PrimitiveAction(0, 0, ActionType.BACK, "second");
+
+    private File directory;
+
+    private MockedStatic<MATE> mateMock;
+
+    private MockedStatic<Properties> propertyMock;
+
+    private State first;
+
+    private State second;
+
+    @Before
+    public void init() throws IOException {
+        directory = Files.createTempDirectory("gui_models").toFile();
+        mateMock = mockStatic(MATE.class);
+        propertyMock = mockStatic(Properties.class);
+        propertyMock.when(Properties::GUI_MODEL_SNAPSHOT_MAX_SIZE).thenReturn(1024);
+        first = new State(0, mockScreenState("main", Arrays.asList(CLICK, LONG_CLICK)));
+        second = new State(1, mockScreenState("second", Collections.singletonList(BACK)));
+    }
+
+    @After
+    public void cleanup() {
+        propertyMock.close();
+        mateMock.close();
+        for (final File file : directory.listFiles()) {
+            file.delete();
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void roundTripTest() {
+
+        final GUIModelJournal journal = GUIModelJournal.open(PACKAGE_NAME, directory).get();
+        journal.record(first, 1L, second, 2L, CLICK, ActionResult.SUCCESS,
+                Arrays.asList("a", "b"));
+        journal.record(second, 2L, first, 1L, BACK, null, Collections.emptyList());
+        journal.record(first, 1L, second, 2L, CLICK, ActionResult.SUCCESS,
+                Arrays.asList("b", "a"));
+        journal.close();
+
+        final GUIModelSnapshot snapshot = load();
+
+        final CompactScreenState state = snapshot.getState(1L);
+        assertNotNull(state);
+        assertEquals("main", state.getActivityName());
+        assertEquals(0, state.getWidgetCount());
+        assertEquals(Arrays.asList(ScreenFingerprint.signatureOf(CLICK),
+                ScreenFingerprint.signatureOf(LONG_CLICK)), state.getActionSignatures());
+
+        // identical transitions are merged
+        final List<GUIModelSnapshot.TransitionRecord> outgoing = snapshot.getOutgoingTransitions(1L);
+        assertEquals(1, outgoing.size());
+        assertEquals(2, outgoing.get(0).getFrequency());
+        assertEquals(ScreenFingerprint.signatureOf(CLICK), outgoing.get(0).getAction());
+        assertEquals(2L, outgoing.get(0).getTarget());
+        assertEquals(ActionResult.SUCCESS, outgoing.get(0).getActionResult());
+        assertEquals(new HashSet<>(Arrays.asList("a", "b")), outgoing.get(0).getTraces());
+
+        final List<GUIModelSnapshot.TransitionRecord> incoming = snapshot.getIncomingTransitions(1L);
+        assertEquals(1, incoming.size());
+        assertNull(incoming.get(0).getActionResult());
+        assertTrue(incoming.get(0).getTraces().isEmpty());
+    }
+
+    @Test
+    public void truncatedThenAppendedTest() throws IOException {
+
+        GUIModelJournal journal = GUIModelJournal.open(PACKAGE_NAME, directory).get();
+        journal.record(first, 1L, second, 2L, CLICK, ActionResult.SUCCESS,
+                Collections.singletonList("a"));
+        journal.record(second, 2L, first, 1L, BACK, ActionResult.SUCCESS,
+                Collections.singletonList("b"));
+        journal.close();
+
+        // the run was killed while the last transition was written
+        final File file = GUIModelJournal.getFile(directory, PACKAGE_NAME);
+        try (RandomAccessFile journalFile = new RandomAccessFile(file, "rw")) {
+            journalFile.setLength(file.length() - 5);
+        }
+
+        // the next run appends a new segment
+        journal = GUIModelJournal.open(PACKAGE_NAME, directory).get();
+        journal.record(first, 1L, second, 2L, LONG_CLICK, ActionResult.SUCCESS_OUTBOUND,
+                Collections.singletonList("c"));
+        journal.close();
+
+        final GUIModelSnapshot snapshot = load();
+
+        assertEquals(2, snapshot.getOutgoingTransitions(1L).size());
+        assertTrue(snapshot.getOutgoingTransitions(2L).isEmpty());
+        assertNotNull(snapshot.getState(2L));
+
+        for (final GUIModelSnapshot.TransitionRecord transition
+                : snapshot.getOutgoingTransitions(1L)) {
+            if (transition.getAction().equals(ScreenFingerprint.signatureOf(LONG_CLICK))) {
+                assertEquals(Collections.singleton("c"), transition.getTraces());
+            } else {
+                assertEquals(Collections.singleton("a"), transition.getTraces());
+            }
+        }
+    }
+
+    @Test
+    public void corruptedRecordTest() throws IOException {
+
+        final GUIModelJournal journal = GUIModelJournal.open(PACKAGE_NAME, directory).get();
+        journal.record(first, 1L, second, 2L, CLICK, ActionResult.SUCCESS,
+                Collections.singletonList("a"));
+        journal.close();
+
+        final File file = GUIModelJournal.getFile(directory, PACKAGE_NAME);
+        final long length = file.length();
+
+        // a transition referring to an action that has not been interned
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file, true))) {
+            out.writeByte(GUIModelJournal.TRANSITION);
+            out.writeLong(2L);
+            out.writeInt(42);
+            out.writeLong(1L);
+            out.writeByte(0);
+            out.writeShort(-1);
+        }
+
+        final GUIModelSnapshot snapshot = load();
+        assertEquals(1, snapshot.getOutgoingTransitions(1L).size());
+        assertTrue(snapshot.getOutgoingTransitions(2L).isEmpty());
+        assertEquals(length, GUIModelSnapshot.getReadableLength(file));
+
+        // the corrupted record is dropped before the next segment is appended
+        GUIModelJournal.open(PACKAGE_NAME, directory).get().close();
+        assertTrue(file.length() > length);
+        assertEquals(file.length(), GUIModelSnapshot.getReadableLength(file));
+    }
+
+    @Test
+    public void missingSegmentHeaderTest() throws IOException {
+
+        final File file = GUIModelJournal.getFile(directory, PACKAGE_NAME);
+
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file))) {
+            out.writeByte(GUIModelJournal.ACTION);
+            out.writeUTF("CLICK@main");
+        }
+
+        assertEquals(0, GUIModelSnapshot.getReadableLength(file));
+        assertTrue(load().getOutgoingTransitions(1L).isEmpty());
+    }
+
+    private GUIModelSnapshot load() {
+        return GUIModelSnapshot.load(GUIModelJournal.getRotatedFile(directory, PACKAGE_NAME),
+                GUIModelJournal.getFile(directory, PACKAGE_NAME)).get();
+    }
+
+    private static IScreenState mockScreenState(final String activityName,
+                                                final List<Action> actions) {
+        final IScreenState screenState = mock(IScreenState.class);
+        when(screenState.getActivityName()).thenReturn(activityName);
+        when(screenState.getWidgets()).thenReturn(Collections.emptyList());
+        when(screenState.getActions()).thenReturn(actions);
+        return screenState;
+    }
+}
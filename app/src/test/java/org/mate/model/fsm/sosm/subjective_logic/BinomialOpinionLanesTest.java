@@ -0,0 +1,369 @@
+package org.mate.model.fsm.sosm.subjective_logic;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.mate.MATE;
+import org.mate.model.fsm.sosm.SOSMModel;
+import org.mate.model.fsm.sosm.Trace;
+import org.mate.model.fsm.sosm.novelty.AverageSLNovelty;
+import org.mate.model.fsm.sosm.novelty.INoveltyEstimator;
+import org.mate.model.fsm.sosm.novelty.MaxNovelPrefix;
+import org.mate.model.fsm.sosm.novelty.MaxNovelSubsequence;
+import org.mate.model.fsm.sosm.novelty.MultiSourceFusionEstimator;
+import org.mate.model.fsm.sosm.novelty.SOSMNovelty;
+import org.mockito.MockedStatic;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+
+/**
+ * Checks that the primitive {@link BinomialOpinionLanes} compute the same values as the
+ * {@link RawBinomialOpinion} operations, both directly and within the novelty estimators that
+ * operate on the lanes.
+ */
+public class BinomialOpinionLanesTest {
+
+    /**
+     * The weight factor of the disbelief in the novelty score.
+     */
+    private static final double ALPHA = 0.5;
+
+    /**
+     * The minimal prefix length considered by {@link MaxNovelPrefix}.
+     */
+    private static final int MIN_PREFIX_LENGTH = 5;
+
+    /**
+     * The trace lengths the estimators are checked on, including traces shorter than the minimal
+     * prefix and subsequence lengths.
+     */
+    private static final int[] TRACE_LENGTHS = {1, 2, 3, 5, 6, 10, 100, 250};
+
+    /**
+     * The file the benchmark writes the measured per-trace times to.
+     */
+    private static final String BENCHMARK_REPORT
+            = "build/reports/benchmarks/binomial-opinion-lanes.csv";
+
+    /**
+     * Generates random valid binomial opinions.
+     *
+     * @param random The random number generator.
+     * @param count The number of opinions.
+     * @return Returns the generated binomial opinions.
+     */
+    private static List<RawBinomialOpinion> randomOpinions(final Random random, final int count) {
+
+        final List<RawBinomialOpinion> opinions = new ArrayList<>(count);
+
+        for (int i = 0; i < count; ++i) {
+            final double belief = random.nextDouble() * 0.5;
+            final double disbelief = random.nextDouble() * 0.5;
+            final double apriori = 0.05 + random.nextDouble() * 0.9;
+            opinions.add(new RawBinomialOpinion(belief, disbelief, 1.0 - belief - disbelief,
+                    apriori));
+        }
+
+        return opinions;
+    }
+
+    /**
+     * Fills the given lanes with the given binomial opinions.
+     *
+     * @param lanes The lanes to be filled.
+     * @param opinions The binomial opinions.
+     */
+    private static void fill(final BinomialOpinionLanes lanes,
+                             final List<RawBinomialOpinion> opinions) {
+        lanes.clear();
+        for (final RawBinomialOpinion opinion : opinions) {
+            lanes.add(opinion);
+        }
+    }
+
+    /**
+     * Creates a SOSM model that hands out the given opinions as the coarsened opinions of any
+     * trace.
+     *
+     * @param opinions The binomial opinions of a trace.
+     * @return Returns the mocked SOSM model.
+     */
+    private static SOSMModel sosmModel(final List<RawBinomialOpinion> opinions) {
+
+        final SOSMModel sosmModel = mock(SOSMModel.class);
+        doAnswer(invocation -> {
+            fill(invocation.getArgument(1), opinions);
+            return null;
+        }).when(sosmModel).loadCoarsenedBinomialOpinionsFor(any(Trace.class),
+                any(BinomialOpinionLanes.class));
+
+        return sosmModel;
+    }
+
+    /**
+     * Estimates the novelty of a trace with the given estimator.
+     *
+     * @param estimator The novelty estimator.
+     * @return Returns the estimated novelty.
+     */
+    private static double estimate(final INoveltyEstimator estimator) {
+        try (MockedStatic<MATE> ignored = mockStatic(MATE.class)) {
+            return estimator.estimateNovelty(new Trace());
+        }
+    }
+
+    /**
+     * Computes the novelty score of the given binomial opinion.
+     *
+     * @param opinion The binomial opinion.
+     * @return Returns the novelty score.
+     */
+    private static double score(final RawBinomialOpinion opinion) {
+        return ALPHA * opinion.getDisbelief() + opinion.getUncertainty();
+    }
+
+    /**
+     * The max novel subsequence score computed via the binomial opinion objects, which serves as
+     * the reference for {@link MaxNovelSubsequence#estimateNovelty(Trace)}.
+     *
+     * @param opinions The binomial opinions of a trace.
+     * @param minLength The minimal length of a subsequence.
+     * @return Returns the best score.
+     */
+    private static double maxNovelSubsequence(final List<RawBinomialOpinion> opinions,
+                                              final int minLength) {
+
+        double bestScore = -1.0;
+
+        for (int i = 0; i <= opinions.size() - minLength; ++i) {
+            RawBinomialOpinion opinion
+                    = RawBinomialOpinion.multiply(opinions.subList(i, i + minLength));
+            bestScore = Math.max(bestScore, score(opinion));
+
+            for (int j = i + minLength; j < opinions.size(); ++j) {
+                opinion = opinion.multiply(opinions.get(j));
+                bestScore = Math.max(bestScore, score(opinion));
+            }
+        }
+
+        return bestScore;
+    }
+
+    /**
+     * The max novel prefix score computed via the binomial opinion objects, which serves as the
+     * reference for {@link MaxNovelPrefix#estimateNovelty(Trace)}.
+     *
+     * @param opinions The binomial opinions of a trace.
+     * @return Returns the best score.
+     */
+    private static double maxNovelPrefix(final List<RawBinomialOpinion> opinions) {
+
+        RawBinomialOpinion opinion = RawBinomialOpinion.multiply(
+                opinions.subList(0, Math.min(opinions.size(), MIN_PREFIX_LENGTH)));
+        double bestScore = score(opinion);
+
+        for (int i = MIN_PREFIX_LENGTH; i < opinions.size(); ++i) {
+            opinion = opinion.multiply(opinions.get(i));
+            bestScore = Math.max(bestScore, score(opinion));
+        }
+
+        return bestScore;
+    }
+
+    /**
+     * The average opinion score computed via the binomial opinion objects, which serves as the
+     * reference for {@link AverageSLNovelty#estimateNovelty(Trace)}.
+     *
+     * @param opinions The binomial opinions of a trace.
+     * @return Returns the score of the average opinion.
+     */
+    private static double averageOpinion(final List<RawBinomialOpinion> opinions) {
+
+        double disbelief = 0.0;
+        double uncertainty = 0.0;
+
+        for (final RawBinomialOpinion opinion : opinions) {
+            disbelief += opinion.getDisbelief();
+            uncertainty += opinion.getUncertainty();
+        }
+
+        return ALPHA * (disbelief / opinions.size()) + uncertainty / opinions.size();
+    }
+
+    @Test
+    public void multiplyTest() {
+
+        final List<RawBinomialOpinion> opinions = randomOpinions(new Random(42), 50);
+        final BinomialOpinionLanes lanes = new BinomialOpinionLanes();
+        fill(lanes, opinions);
+        lanes.multiplyAll();
+
+        final RawBinomialOpinion expected = RawBinomialOpinion.multiply(opinions);
+        assertEquals(expected.getBelief(), lanes.getBelief(), 0.0);
+        assertEquals(expected.getDisbelief(), lanes.getDisbelief(), 0.0);
+        assertEquals(expected.getUncertainty(), lanes.getUncertainty(), 0.0);
+        assertEquals(expected.getApriori(), lanes.getApriori(), 0.0);
+    }
+
+    @Test
+    public void multiSourceFusionTest() {
+
+        final List<RawBinomialOpinion> opinions = randomOpinions(new Random(42), 50);
+        final BinomialOpinionLanes lanes = new BinomialOpinionLanes();
+        fill(lanes, opinions);
+        lanes.multiSourceFusion();
+
+        final RawBinomialOpinion expected = RawBinomialOpinion.multiSourceFusion(opinions);
+        assertEquals(expected.getBelief(), lanes.getBelief(), 0.0);
+        assertEquals(expected.getDisbelief(), lanes.getDisbelief(), 0.0);
+        assertEquals(expected.getUncertainty(), lanes.getUncertainty(), 0.0);
+        assertEquals(expected.getApriori(), lanes.getApriori(), 0.0);
+    }
+
+    @Test
+    public void maxNovelSubsequenceTest() {
+
+        final Random random = new Random(42);
+
+        for (final int length : TRACE_LENGTHS) {
+            final List<RawBinomialOpinion> opinions = randomOpinions(random, length);
+            final int minLength = Math.min(Math.max((int) Math.ceil(length * 0.2), 3), length);
+            assertEquals(maxNovelSubsequence(opinions, minLength),
+                    estimate(new MaxNovelSubsequence(sosmModel(opinions), ALPHA)), 0.0);
+        }
+    }
+
+    @Test
+    public void maxNovelPrefixTest() {
+
+        final Random random = new Random(42);
+
+        for (final int length : TRACE_LENGTHS) {
+            final List<RawBinomialOpinion> opinions = randomOpinions(random, length);
+            assertEquals(maxNovelPrefix(opinions),
+                    estimate(new MaxNovelPrefix(sosmModel(opinions), ALPHA)), 0.0);
+        }
+    }
+
+    @Test
+    public void averageSLNoveltyTest() {
+
+        final Random random = new Random(42);
+
+        for (final int length : TRACE_LENGTHS) {
+            final List<RawBinomialOpinion> opinions = randomOpinions(random, length);
+            assertEquals(averageOpinion(opinions),
+                    estimate(new AverageSLNovelty(sosmModel(opinions), ALPHA)), 0.0);
+        }
+    }
+
+    @Test
+    public void sosmNoveltyTest() {
+
+        final Random random = new Random(42);
+
+        for (final int length : TRACE_LENGTHS) {
+            final List<RawBinomialOpinion> opinions = randomOpinions(random, length);
+            assertEquals(score(RawBinomialOpinion.multiply(opinions)),
+                    estimate(new SOSMNovelty(sosmModel(opinions), ALPHA)), 0.0);
+        }
+    }
+
+    @Test
+    public void multiSourceFusionEstimatorTest() {
+
+        final Random random = new Random(42);
+
+        for (final int length : TRACE_LENGTHS) {
+            final List<RawBinomialOpinion> opinions = randomOpinions(random, length);
+            assertEquals(score(RawBinomialOpinion.multiSourceFusion(opinions)),
+                    estimate(new MultiSourceFusionEstimator(sosmModel(opinions), ALPHA)), 0.0);
+        }
+    }
+
+    @Test
+    public void emptyTraceTest() {
+
+        final List<RawBinomialOpinion> opinions = new ArrayList<>();
+
+        assertEquals(0.0, estimate(new MaxNovelSubsequence(sosmModel(opinions), ALPHA)), 0.0);
+        assertEquals(0.0, estimate(new MaxNovelPrefix(sosmModel(opinions), ALPHA)), 0.0);
+        assertEquals(0.0, estimate(new AverageSLNovelty(sosmModel(opinions), ALPHA)), 0.0);
+    }
+
+    /**
+     * Compares the per-trace cost of the max novel subsequence computation via the lanes with the
+     * computation via the binomial opinion objects on traces of 100 to 1000 steps. Each variant is
+     * timed in several rounds after a warm-up and the fastest round counts. The per-trace times are
+     * written to {@link #BENCHMARK_REPORT}.
+     *
+     * @throws IOException If the report can't be written.
+     */
+    @Ignore("Benchmark")
+    @Test
+    public void maxNovelSubsequenceBenchmark() throws IOException {
+
+        final Random random = new Random(42);
+        final Trace trace = new Trace();
+        final int rounds = 5;
+        final int repetitions = 20;
+        final StringBuilder report = new StringBuilder("steps,objects_us,lanes_us\n");
+
+        try (MockedStatic<MATE> ignored = mockStatic(MATE.class)) {
+
+            for (int length = 100; length <= 1000; length += 100) {
+
+                final List<RawBinomialOpinion> opinions = randomOpinions(random, length);
+                final int minLength = Math.min(Math.max((int) Math.ceil(length * 0.2), 3), length);
+                final INoveltyEstimator estimator
+                        = new MaxNovelSubsequence(sosmModel(opinions), ALPHA);
+
+                double checksum = 0.0;
+                long objectTime = Long.MAX_VALUE;
+                long lanesTime = Long.MAX_VALUE;
+
+                // the first round warms up both variants
+                for (int round = 0; round <= rounds; ++round) {
+
+                    long start = System.nanoTime();
+                    for (int i = 0; i < repetitions; ++i) {
+                        checksum += maxNovelSubsequence(opinions, minLength);
+                    }
+                    final long objectRoundTime = (System.nanoTime() - start) / repetitions;
+
+                    start = System.nanoTime();
+                    for (int i = 0; i < repetitions; ++i) {
+                        checksum -= estimator.estimateNovelty(trace);
+                    }
+                    final long lanesRoundTime = (System.nanoTime() - start) / repetitions;
+
+                    if (round > 0) {
+                        objectTime = Math.min(objectTime, objectRoundTime);
+                        lanesTime = Math.min(lanesTime, lanesRoundTime);
+                    }
+                }
+
+                // both variants need to compute the same scores
+                assertEquals(0.0, checksum, 1e-6);
+                report.append(length).append(',').append(objectTime / 1000.0).append(',')
+                        .append(lanesTime / 1000.0).append('\n');
+            }
+        }
+
+        final File file = new File(BENCHMARK_REPORT);
+        assertTrue(file.getParentFile().isDirectory() || file.getParentFile().mkdirs());
+        Files.write(file.toPath(), report.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,195 @@
+package org.mate.utils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mate.MATE;
+import org.mate.Properties;
+import org.mate.Registry;
+import org.mate.exploration.genetic.chromosome.Chromosome;
+import org.mate.exploration.genetic.chromosome.IChromosome;
+import org.mate.interaction.action.Action;
+import org.mate.interaction.action.ui.ActionType;
+import org.mate.interaction.action.ui.PrimitiveAction;
+import org.mate.model.TestCase;
+import org.mockito.MockedStatic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mockStatic;
+
+/**
+ * Tests the keys, the LRU eviction and the verification of the {@link ExecutionMemo}.
+ */
+public class ExecutionMemoTest {
+
+    private static final Action A = new PrimitiveAction(1, 1, ActionType.CLICK, "main");
+
+    private static final Action B = new PrimitiveAction(2, 2, ActionType.CLICK, "main");
+
+    private static final Action C = new PrimitiveAction(3, 3, ActionType.LONG_CLICK, "main");
+
+    private MockedStatic<MATE> mateMock;
+
+    private MockedStatic<Properties> propertyMock;
+
+    @Before
+    public void init() {
+        Registry.registerRandom(new MersenneTwister(42));
+        mateMock = mockStatic(MATE.class);
+        propertyMock = mockStatic(Properties.class);
+        propertyMock.when(Properties::EXECUTION_MEMO_SIZE).thenReturn(2);
+        propertyMock.when(Properties::EXECUTION_MEMO_VERIFICATION_RATE).thenReturn(0.0);
+        ExecutionMemo.clear();
+    }
+
+    @After
+    public void cleanup() {
+        ExecutionMemo.clear();
+        propertyMock.close();
+        mateMock.close();
+        Registry.unregisterRandom();
+    }
+
+    @Test
+    public void keyTest() {
+
+        final List<Action> actions = new ArrayList<>(Arrays.asList(A, B));
+        final ExecutionMemo.Key key = new ExecutionMemo.Key("s0", actions);
+
+        assertEquals(key, new ExecutionMemo.Key("s0", Arrays.asList(A, B)));
+        assertEquals(key.hashCode(), new ExecutionMemo.Key("s0", Arrays.asList(A, B)).hashCode());
+
+        // the start state, the order and the length of the actions matter
+        assertNotEquals(key, new ExecutionMemo.Key("s1", Arrays.asList(A, B)));
+        assertNotEquals(key, new ExecutionMemo.Key("s0", Arrays.asList(B, A)));
+        assertNotEquals(key, new ExecutionMemo.Key("s0", Collections.singletonList(A)));
+
+        // the key doesn't depend on later changes of the action list
+        actions.add(C);
+        assertEquals(key, new ExecutionMemo.Key("s0", Arrays.asList(A, B)));
+    }
+
+    @Test
+    public void recordAndLookupTest() {
+
+        final IChromosome<TestCase> executed
+                = execution("tc", Arrays.asList(A, B), Arrays.asList("s0", "s1", "s2"), false);
+
+        assertNull(ExecutionMemo.lookup(key(A, B)));
+        ExecutionMemo.record(key(A, B), executed);
+
+        final IChromosome<TestCase> recorded = ExecutionMemo.lookup(key(A, B));
+        assertNotNull(recorded);
+
+        // a fresh test case sharing the id and thus the coverage and fitness data
+        assertNotSame(executed.getValue(), recorded.getValue());
+        assertEquals("tc", recorded.getValue().getId());
+        assertEquals(Arrays.asList(A, B), recorded.getValue().getActionSequence());
+        assertEquals(Arrays.asList("s0", "s1", "s2"), recorded.getValue().getStateSequence());
+        assertFalse(recorded.getValue().hasCrashDetected());
+    }
+
+    @Test
+    public void crashingPrefixTest() {
+
+        // the AUT crashed after the first action, the outcome still only depends on the plan
+        ExecutionMemo.record(key(A, B),
+                execution("tc", Collections.singletonList(A), Arrays.asList("s0", "s1"), true));
+
+        final IChromosome<TestCase> recorded = ExecutionMemo.lookup(key(A, B));
+        assertNotNull(recorded);
+        assertEquals(Collections.singletonList(A), recorded.getValue().getActionSequence());
+        assertTrue(recorded.getValue().hasCrashDetected());
+    }
+
+    @Test
+    public void unplannedExecutionTest() {
+
+        // the test case was filled up with a random action
+        ExecutionMemo.record(key(A, B),
+                execution("tc", Arrays.asList(A, C), Arrays.asList("s0", "s1", "s2"), false));
+        assertNull(ExecutionMemo.lookup(key(A, B)));
+
+        // the target state couldn't be derived
+        ExecutionMemo.record(key(A, B),
+                execution("tc", Arrays.asList(A, B), Arrays.asList("s0", "s1", "unknown"), false));
+        assertNull(ExecutionMemo.lookup(key(A, B)));
+    }
+
+    @Test
+    public void leastRecentlyUsedEvictionTest() {
+
+        ExecutionMemo.record(key(A), execution("a", Collections.singletonList(A)));
+        ExecutionMemo.record(key(B), execution("b", Collections.singletonList(B)));
+
+        // the lookup makes A the most recently used execution
+        assertNotNull(ExecutionMemo.lookup(key(A)));
+
+        ExecutionMemo.record(key(C), execution("c", Collections.singletonList(C)));
+
+        assertNull(ExecutionMemo.lookup(key(B)));
+        assertNotNull(ExecutionMemo.lookup(key(A)));
+        assertNotNull(ExecutionMemo.lookup(key(C)));
+    }
+
+    @Test
+    public void verificationTest() {
+
+        ExecutionMemo.record(key(A, B),
+                execution("tc", Arrays.asList(A, B), Arrays.asList("s0", "s1", "s2"), false));
+
+        propertyMock.when(Properties::EXECUTION_MEMO_VERIFICATION_RATE).thenReturn(1.0);
+
+        // the same outcome confirms the recorded execution
+        ExecutionMemo.Key key = key(A, B);
+        assertNull(ExecutionMemo.lookup(key));
+        ExecutionMemo.record(key,
+                execution("tc2", Arrays.asList(A, B), Arrays.asList("s0", "s1", "s2"), false));
+
+        propertyMock.when(Properties::EXECUTION_MEMO_VERIFICATION_RATE).thenReturn(0.0);
+        assertEquals("tc", ExecutionMemo.lookup(key(A, B)).getValue().getId());
+
+        // a different outcome discards the recorded execution
+        propertyMock.when(Properties::EXECUTION_MEMO_VERIFICATION_RATE).thenReturn(1.0);
+        key = key(A, B);
+        assertNull(ExecutionMemo.lookup(key));
+        ExecutionMemo.record(key,
+                execution("tc3", Arrays.asList(A, B), Arrays.asList("s0", "s1", "s3"), false));
+
+        propertyMock.when(Properties::EXECUTION_MEMO_VERIFICATION_RATE).thenReturn(0.0);
+        assertNull(ExecutionMemo.lookup(key(A, B)));
+    }
+
+    private static ExecutionMemo.Key key(final Action... actions) {
+        return new ExecutionMemo.Key("s0", Arrays.asList(actions));
+    }
+
+    private static IChromosome<TestCase> execution(final String id, final List<Action> actions) {
+
+        final List<String> states = new ArrayList<>();
+
+        for (int i = 0; i <= actions.size(); i++) {
+            states.add("s" + i);
+        }
+
+        return execution(id, actions, states, false);
+    }
+
+    private static IChromosome<TestCase> execution(final String id, final List<Action> actions,
+                                                   final List<String> states,
+                                                   final boolean crashDetected) {
+        final List<String> activities = Collections.nCopies(states.size(), "main");
+        return new Chromosome<>(TestCase.fromRecording(id, actions, states, activities, crashDetected));
+    }
+}
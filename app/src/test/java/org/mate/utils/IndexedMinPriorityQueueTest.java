@@ -0,0 +1,126 @@
+package org.mate.utils;
+
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link IndexedMinPriorityQueue} against a linear scan over the contained indices.
+ */
+public class IndexedMinPriorityQueueTest {
+
+    @Test(expected = NoSuchElementException.class)
+    public void peekEmptyQueueTest() {
+        new IndexedMinPriorityQueue(4).peek();
+    }
+
+    @Test
+    public void pollInKeyOrderTest() {
+
+        final IndexedMinPriorityQueue queue = new IndexedMinPriorityQueue(6);
+        final double[] keys = {5.0, 1.0, 3.0, 1.0, 0.5, 3.0};
+
+        for (int index = 0; index < keys.length; index++) {
+            queue.put(index, keys[index]);
+        }
+
+        // equal keys are ordered by the index
+        final int[] expected = {4, 1, 3, 2, 5, 0};
+
+        for (final int index : expected) {
+            assertEquals(index, queue.peek());
+            queue.remove(index);
+        }
+
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void decreaseAndIncreaseKeyTest() {
+
+        final IndexedMinPriorityQueue queue = new IndexedMinPriorityQueue(4);
+
+        for (int index = 0; index < 4; index++) {
+            queue.put(index, index + 1);
+        }
+
+        queue.put(3, 0.0);
+        assertEquals(3, queue.peek());
+        assertEquals(0.0, queue.getKey(3), 0.0);
+
+        queue.put(3, 10.0);
+        assertEquals(0, queue.peek());
+        assertEquals(4, queue.size());
+    }
+
+    @Test
+    public void removeTest() {
+
+        final IndexedMinPriorityQueue queue = new IndexedMinPriorityQueue(4);
+        queue.put(0, 1.0);
+        queue.put(2, 2.0);
+
+        // removing a missing index has no effect
+        queue.remove(1);
+        assertEquals(2, queue.size());
+
+        queue.remove(0);
+        assertFalse(queue.contains(0));
+        assertEquals(2, queue.peek());
+
+        // a removed index can be inserted again
+        queue.put(0, 3.0);
+        assertTrue(queue.contains(0));
+        assertEquals(2, queue.peek());
+    }
+
+    @Test
+    public void randomOperationsTest() {
+
+        final Random random = new Random(42);
+        final int capacity = 50;
+        final IndexedMinPriorityQueue queue = new IndexedMinPriorityQueue(capacity);
+        final double[] keys = new double[capacity];
+        final boolean[] contained = new boolean[capacity];
+        int size = 0;
+
+        for (int operation = 0; operation < 20000; operation++) {
+
+            final int index = random.nextInt(capacity);
+
+            if (random.nextInt(3) == 0) {
+                queue.remove(index);
+                size -= contained[index] ? 1 : 0;
+                contained[index] = false;
+            } else {
+                // few distinct keys enforce ties
+                keys[index] = random.nextInt(10);
+                queue.put(index, keys[index]);
+                size += contained[index] ? 0 : 1;
+                contained[index] = true;
+            }
+
+            assertEquals(size, queue.size());
+            assertEquals(contained[index], queue.contains(index));
+
+            int min = -1;
+
+            for (int i = 0; i < capacity; i++) {
+                if (contained[i] && (min == -1 || keys[i] < keys[min])) {
+                    min = i;
+                }
+            }
+
+            if (min == -1) {
+                assertTrue(queue.isEmpty());
+            } else {
+                assertEquals(min, queue.peek());
+            }
+        }
+    }
+}